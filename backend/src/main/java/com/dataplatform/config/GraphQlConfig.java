@@ -12,6 +12,7 @@ public class GraphQlConfig {
     public RuntimeWiringConfigurer runtimeWiringConfigurer() {
         return wiringBuilder -> wiringBuilder
                 .scalar(ExtendedScalars.DateTime)
-                .scalar(ExtendedScalars.Date);
+                .scalar(ExtendedScalars.Date)
+                .scalar(ExtendedScalars.GraphQLLong);
     }
 }
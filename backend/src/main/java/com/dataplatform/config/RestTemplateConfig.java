@@ -1,18 +1,162 @@
 package com.dataplatform.config;
 
+import com.dataplatform.integration.CompressedResponseInterceptor;
+import com.dataplatform.integration.ConnectionPoolMonitor;
+import com.dataplatform.integration.IntegrationMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Slf4j
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${integration.http.max-connections}")
+    private int maxConnections;
+
+    @Value("${integration.http.default-max-per-route}")
+    private int defaultMaxPerRoute;
+
+    @Value("${integration.http.keep-alive-seconds}")
+    private long keepAliveSeconds;
+
+    @Value("${integration.http.connect-timeout-ms}")
+    private long connectTimeoutMs;
+
+    @Value("${integration.http.read-timeout-ms}")
+    private long readTimeoutMs;
+
+    @Value("${integration.http.pool-acquire-timeout-ms}")
+    private long poolAcquireTimeoutMs;
+
+    @Value("${integration.crm.base-url}")
+    private String crmBaseUrl;
+
+    @Value("${integration.crm.max-connections}")
+    private int crmMaxConnections;
+
+    @Value("${integration.erp.base-url}")
+    private String erpBaseUrl;
+
+    @Value("${integration.erp.max-connections}")
+    private int erpMaxConnections;
+
+    @Value("${integration.accounting.base-url}")
+    private String accountingBaseUrl;
+
+    @Value("${integration.accounting.max-connections}")
+    private int accountingMaxConnections;
+
+    @Value("${integration.salesforce.login-url}")
+    private String salesforceLoginUrl;
+
+    @Value("${integration.salesforce.max-connections}")
+    private int salesforceMaxConnections;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager integrationConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(defaultMaxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .build();
+
+        Map<String, Integer> limits = sourceLimits();
+        sourceRoutes().forEach((source, route) -> {
+            // Sources sharing a host (e.g. a single mock server) share a route; keep the largest limit
+            int limit = Math.max(limits.get(source), connectionManager.getMaxPerRoute(route));
+            connectionManager.setMaxPerRoute(route, limit);
+        });
+        log.info("Integration connection pool: maxTotal={}, defaultMaxPerRoute={}, routes={}",
+                maxConnections, defaultMaxPerRoute, sourceRoutes());
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient integrationHttpClient(PoolingHttpClientConnectionManager integrationConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(integrationConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setConnectionKeepAlive(TimeValue.ofSeconds(keepAliveSeconds))
+                        .build())
+                // Decompression happens in CompressedResponseInterceptor so wire bytes can be counted
+                .disableContentCompression()
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(keepAliveSeconds))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate crmRestTemplate(CloseableHttpClient integrationHttpClient, IntegrationMetrics metrics) {
+        return sourceRestTemplate("CRM", integrationHttpClient, metrics);
+    }
+
+    @Bean
+    public RestTemplate erpRestTemplate(CloseableHttpClient integrationHttpClient, IntegrationMetrics metrics) {
+        return sourceRestTemplate("ERP", integrationHttpClient, metrics);
+    }
+
+    @Bean
+    public RestTemplate accountingRestTemplate(CloseableHttpClient integrationHttpClient, IntegrationMetrics metrics) {
+        return sourceRestTemplate("ACCOUNTING", integrationHttpClient, metrics);
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000);
-        factory.setReadTimeout(10000);
-        return new RestTemplate(factory);
+    public RestTemplate salesforceRestTemplate(CloseableHttpClient integrationHttpClient, IntegrationMetrics metrics) {
+        return sourceRestTemplate("SALESFORCE", integrationHttpClient, metrics);
+    }
+
+    @Bean
+    public ConnectionPoolMonitor connectionPoolMonitor(PoolingHttpClientConnectionManager integrationConnectionManager) {
+        return new ConnectionPoolMonitor(integrationConnectionManager, sourceRoutes(), sourceLimits());
+    }
+
+    private RestTemplate sourceRestTemplate(String sourceName,
+                                            CloseableHttpClient httpClient,
+                                            IntegrationMetrics metrics) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        restTemplate.getInterceptors().add(new CompressedResponseInterceptor(sourceName, metrics));
+        return restTemplate;
+    }
+
+    private Map<String, Integer> sourceLimits() {
+        return Map.of(
+                "CRM", crmMaxConnections,
+                "ERP", erpMaxConnections,
+                "ACCOUNTING", accountingMaxConnections,
+                "SALESFORCE", salesforceMaxConnections);
+    }
+
+    /**
+     * Salesforce starts out on the login host; SalesforceAuthService registers the instance host
+     * its data calls go to once a token names it.
+     */
+    private Map<String, HttpRoute> sourceRoutes() {
+        Map<String, HttpRoute> routes = new LinkedHashMap<>();
+        routes.put("CRM", ConnectionPoolMonitor.routeFor(crmBaseUrl));
+        routes.put("ERP", ConnectionPoolMonitor.routeFor(erpBaseUrl));
+        routes.put("ACCOUNTING", ConnectionPoolMonitor.routeFor(accountingBaseUrl));
+        routes.put("SALESFORCE", ConnectionPoolMonitor.routeFor(salesforceLoginUrl));
+        return routes;
     }
 }
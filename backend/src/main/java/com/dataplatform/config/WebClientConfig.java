@@ -0,0 +1,154 @@
+package com.dataplatform.config;
+
+import com.dataplatform.integration.CompressedResponseFilter;
+import com.dataplatform.integration.IntegrationMetrics;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * WebClients for REACTIVE sources, on one Reactor Netty pool with the same per-source connection limits.
+ */
+@Slf4j
+@Configuration
+public class WebClientConfig {
+
+    @Value("${integration.http.max-connections}")
+    private int maxConnections;
+
+    @Value("${integration.http.default-max-per-route}")
+    private int defaultMaxPerRoute;
+
+    @Value("${integration.http.keep-alive-seconds}")
+    private long keepAliveSeconds;
+
+    @Value("${integration.http.connect-timeout-ms}")
+    private int connectTimeoutMs;
+
+    @Value("${integration.http.read-timeout-ms}")
+    private long readTimeoutMs;
+
+    @Value("${integration.http.pool-acquire-timeout-ms}")
+    private long poolAcquireTimeoutMs;
+
+    @Value("${integration.http.max-response-bytes}")
+    private int maxResponseBytes;
+
+    @Value("${integration.crm.base-url}")
+    private String crmBaseUrl;
+
+    @Value("${integration.crm.max-connections}")
+    private int crmMaxConnections;
+
+    @Value("${integration.erp.base-url}")
+    private String erpBaseUrl;
+
+    @Value("${integration.erp.max-connections}")
+    private int erpMaxConnections;
+
+    @Value("${integration.accounting.base-url}")
+    private String accountingBaseUrl;
+
+    @Value("${integration.accounting.max-connections}")
+    private int accountingMaxConnections;
+
+    @Value("${integration.salesforce.max-connections}")
+    private int salesforceMaxConnections;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider integrationConnectionProvider() {
+        Map<SocketAddress, Integer> limits = new LinkedHashMap<>();
+        // Sources sharing a host (e.g. a single mock server) share a pool; keep the largest limit
+        limits.merge(addressFor(crmBaseUrl), crmMaxConnections, Math::max);
+        limits.merge(addressFor(erpBaseUrl), erpMaxConnections, Math::max);
+        limits.merge(addressFor(accountingBaseUrl), accountingMaxConnections, Math::max);
+
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("integration")
+                .maxConnections(defaultMaxPerRoute)
+                .pendingAcquireTimeout(Duration.ofMillis(poolAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(keepAliveSeconds));
+        limits.forEach((address, limit) -> builder.forRemoteHost(address, spec -> spec.maxConnections(limit)));
+        log.info("Integration WebClient pool: defaultMaxPerHost={}, hosts={}", defaultMaxPerRoute, limits);
+        return builder.build();
+    }
+
+    /**
+     * Salesforce's data host is the instance URL handed out with the OAuth token, so it cannot be
+     * listed up front; a pool of its own caps every host it talks to at the Salesforce limit.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider salesforceConnectionProvider() {
+        log.info("Salesforce WebClient pool: maxPerHost={}", salesforceMaxConnections);
+        return ConnectionProvider.builder("salesforce")
+                .maxConnections(salesforceMaxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(poolAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(keepAliveSeconds))
+                .build();
+    }
+
+    @Bean
+    public HttpClient integrationReactorHttpClient(ConnectionProvider integrationConnectionProvider) {
+        return httpClient(integrationConnectionProvider);
+    }
+
+    @Bean
+    public HttpClient salesforceReactorHttpClient(ConnectionProvider salesforceConnectionProvider) {
+        return httpClient(salesforceConnectionProvider);
+    }
+
+    private HttpClient httpClient(ConnectionProvider connectionProvider) {
+        return HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs))
+                // Decompression happens in CompressedResponseFilter so wire bytes can be counted
+                .compress(false);
+    }
+
+    @Bean
+    public WebClient crmWebClient(HttpClient integrationReactorHttpClient, IntegrationMetrics metrics) {
+        return sourceWebClient("CRM", integrationReactorHttpClient, metrics);
+    }
+
+    @Bean
+    public WebClient erpWebClient(HttpClient integrationReactorHttpClient, IntegrationMetrics metrics) {
+        return sourceWebClient("ERP", integrationReactorHttpClient, metrics);
+    }
+
+    @Bean
+    public WebClient accountingWebClient(HttpClient integrationReactorHttpClient, IntegrationMetrics metrics) {
+        return sourceWebClient("ACCOUNTING", integrationReactorHttpClient, metrics);
+    }
+
+    @Bean
+    public WebClient salesforceWebClient(HttpClient salesforceReactorHttpClient, IntegrationMetrics metrics) {
+        return sourceWebClient("SALESFORCE", salesforceReactorHttpClient, metrics);
+    }
+
+    private WebClient sourceWebClient(String sourceName, HttpClient httpClient, IntegrationMetrics metrics) {
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(new CompressedResponseFilter(sourceName, metrics))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxResponseBytes))
+                .build();
+    }
+
+    static SocketAddress addressFor(String baseUrl) {
+        URI uri = URI.create(baseUrl);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : (secure ? 443 : 80);
+        return InetSocketAddress.createUnresolved(uri.getHost(), port);
+    }
+}
@@ -0,0 +1,21 @@
+package com.dataplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CircuitBreakerStateDTO {
+
+    private String sourceName;
+    private String state;
+    private int consecutiveFailures;
+    private OffsetDateTime openedAt;
+    private OffsetDateTime retryAt;
+}
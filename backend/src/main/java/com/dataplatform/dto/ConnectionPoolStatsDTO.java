@@ -0,0 +1,20 @@
+package com.dataplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConnectionPoolStatsDTO {
+
+    private String sourceName;
+    private String route;
+    private int leased;
+    private int pending;
+    private int available;
+    private int max;
+}
@@ -0,0 +1,16 @@
+package com.dataplatform.dto;
+
+/**
+ * A customer on its way to the pipeline: the raw JSON and, when the connector bound it, the parsed object.
+ */
+public record CustomerRecord(String externalId, String rawData, CrmCustomerResponse customer) {
+
+    public static CustomerRecord of(RawRecord record) {
+        CrmCustomerResponse customer = record.getItem() instanceof CrmCustomerResponse bound ? bound : null;
+        return new CustomerRecord(record.getExternalId(), record.getRawData(), customer);
+    }
+
+    public RawRecord toRawRecord() {
+        return new RawRecord(externalId, rawData);
+    }
+}
@@ -0,0 +1,23 @@
+package com.dataplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One element of a source page: its {@code id} and the exact JSON the source sent.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RawRecord {
+
+    private String externalId;
+    private String rawData;
+    // The element bound to the source's DTO while parsing, when the caller asked for it; never staged
+    private Object item;
+
+    public RawRecord(String externalId, String rawData) {
+        this(externalId, rawData, null);
+    }
+}
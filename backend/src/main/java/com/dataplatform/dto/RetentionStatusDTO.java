@@ -0,0 +1,25 @@
+package com.dataplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RetentionStatusDTO {
+
+    private String tableName;
+    private int retentionDays;
+    private LocalDateTime lastRunAt;
+    private long lastRunRows;
+    private long lastRunMs;
+    private long totalRows;
+    private Double rowsPerSecond;
+    private long pendingJobs;
+    private long lagSeconds;
+}
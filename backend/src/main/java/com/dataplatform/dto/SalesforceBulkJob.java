@@ -0,0 +1,25 @@
+package com.dataplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bulk API 2.0 query job, as returned when the job is created and when it is polled.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SalesforceBulkJob {
+
+    private String id;
+    private String operation;
+    private String query;
+    private String state;
+    private Long numberRecordsProcessed;
+    private String errorMessage;
+}
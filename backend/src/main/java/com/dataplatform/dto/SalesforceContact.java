@@ -43,4 +43,7 @@ public class SalesforceContact {
 
     @JsonProperty("LastModifiedDate")
     private String lastModifiedDate;
+
+    @JsonProperty("SystemModstamp")
+    private String systemModstamp;
 }
@@ -22,4 +22,10 @@ public class SalesforceTokenResponse {
 
     @JsonProperty("token_type")
     private String tokenType;
+
+    @JsonProperty("issued_at")
+    private String issuedAt;
+
+    @JsonProperty("expires_in")
+    private Long expiresIn;
 }
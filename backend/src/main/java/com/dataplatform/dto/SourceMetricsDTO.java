@@ -0,0 +1,24 @@
+package com.dataplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SourceMetricsDTO {
+
+    private String sourceName;
+    private long responses;
+    private long compressedResponses;
+    private long wireBytes;
+    private long decodedBytes;
+    private Double compressionRatio;
+    private long throttledRequests;
+    private long limiterWaitMs;
+    private long tokenRefreshes;
+    private int tokenRefreshesLastHour;
+}
@@ -22,7 +22,20 @@ public class SyncJobDTO {
     private LocalDateTime endTime;
     private Integer recordsProcessed;
     private Integer recordsFailed;
+    private Integer errorsLost;
     private String errorMessage;
+    private Integer pageSize;
+    private String pageSizeLog;
+    private LocalDateTime modifiedSince;
+    private LocalDateTime highWaterMark;
+    private Integer pageCacheHits;
+    private Integer pageCacheMisses;
+    private Double stagingRowsPerSecond;
+    private Long stagingRawBytes;
+    private Long stagingStoredBytes;
+    private Integer recordsNew;
+    private Integer recordsChanged;
+    private Integer recordsUnchanged;
     private LocalDateTime createdAt;
 
     public static SyncJobDTO fromEntity(SyncJob job) {
@@ -35,7 +48,20 @@ public class SyncJobDTO {
                 .endTime(job.getEndTime())
                 .recordsProcessed(job.getRecordsProcessed())
                 .recordsFailed(job.getRecordsFailed())
+                .errorsLost(job.getErrorsLost())
                 .errorMessage(job.getErrorMessage())
+                .pageSize(job.getPageSize())
+                .pageSizeLog(job.getPageSizeLog())
+                .modifiedSince(job.getModifiedSince())
+                .highWaterMark(job.getHighWaterMark())
+                .pageCacheHits(job.getPageCacheHits())
+                .pageCacheMisses(job.getPageCacheMisses())
+                .stagingRowsPerSecond(job.getStagingRowsPerSecond())
+                .stagingRawBytes(job.getStagingRawBytes())
+                .stagingStoredBytes(job.getStagingStoredBytes())
+                .recordsNew(job.getRecordsNew())
+                .recordsChanged(job.getRecordsChanged())
+                .recordsUnchanged(job.getRecordsUnchanged())
                 .createdAt(job.getCreatedAt())
                 .build();
     }
@@ -0,0 +1,15 @@
+package com.dataplatform.exception;
+
+public class CircuitOpenException extends IntegrationException {
+
+    private final String sourceName;
+
+    public CircuitOpenException(String sourceName, String message) {
+        super(message);
+        this.sourceName = sourceName;
+    }
+
+    public String getSourceName() {
+        return sourceName;
+    }
+}
@@ -0,0 +1,45 @@
+package com.dataplatform.graphql;
+
+import com.dataplatform.dto.CircuitBreakerStateDTO;
+import com.dataplatform.dto.ConnectionPoolStatsDTO;
+import com.dataplatform.dto.RetentionStatusDTO;
+import com.dataplatform.dto.SourceMetricsDTO;
+import com.dataplatform.integration.CircuitBreakerRegistry;
+import com.dataplatform.integration.ConnectionPoolMonitor;
+import com.dataplatform.integration.IntegrationMetrics;
+import com.dataplatform.service.RetentionPurgeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+
+@Controller
+@RequiredArgsConstructor
+public class IntegrationQueryResolver {
+
+    private final ConnectionPoolMonitor connectionPoolMonitor;
+    private final IntegrationMetrics integrationMetrics;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RetentionPurgeService retentionPurgeService;
+
+    @QueryMapping
+    public List<ConnectionPoolStatsDTO> connectionPoolStats() {
+        return connectionPoolMonitor.getStats();
+    }
+
+    @QueryMapping
+    public List<SourceMetricsDTO> sourceMetrics() {
+        return integrationMetrics.getMetrics();
+    }
+
+    @QueryMapping
+    public List<CircuitBreakerStateDTO> circuitBreakers() {
+        return circuitBreakerRegistry.getStates();
+    }
+
+    @QueryMapping
+    public List<RetentionStatusDTO> retentionStatus() {
+        return retentionPurgeService.getStatus();
+    }
+}
@@ -3,6 +3,7 @@ package com.dataplatform.graphql;
 import com.dataplatform.model.*;
 import com.dataplatform.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
@@ -18,9 +19,12 @@ public class SyncJobQueryResolver {
 
     private final SyncJobRepository syncJobRepository;
     private final SyncErrorRepository syncErrorRepository;
+    private final SyncErrorSummaryRepository syncErrorSummaryRepository;
+    private final SyncErrorWriter syncErrorWriter;
     private final RawCustomerRepository rawCustomerRepository;
     private final RawProductRepository rawProductRepository;
     private final RawInvoiceRepository rawInvoiceRepository;
+    private final StagedRecordReader stagedRecordReader;
 
     @QueryMapping
     public SyncJob syncJob(@Argument Long id) {
@@ -123,48 +127,69 @@ public class SyncJobQueryResolver {
         return (double) job.getRecordsProcessed() / total * 100.0;
     }
 
+    @SchemaMapping(typeName = "SyncJob", field = "pageCacheHitRate")
+    public Double pageCacheHitRate(SyncJob job) {
+        if (job.getPageCacheHits() == null || job.getPageCacheMisses() == null) return null;
+        int total = job.getPageCacheHits() + job.getPageCacheMisses();
+        if (total == 0) return null;
+        return (double) job.getPageCacheHits() / total * 100.0;
+    }
+
+    @SchemaMapping(typeName = "SyncJob", field = "stagingSavingsRate")
+    public Double stagingSavingsRate(SyncJob job) {
+        if (job.getStagingRawBytes() == null || job.getStagingStoredBytes() == null || job.getStagingRawBytes() == 0) {
+            return null;
+        }
+        return (1.0 - (double) job.getStagingStoredBytes() / job.getStagingRawBytes()) * 100.0;
+    }
+
     @SchemaMapping(typeName = "SyncJob", field = "errors")
     public List<SyncError> errors(SyncJob job, @Argument Integer limit) {
-        List<SyncError> errors = syncErrorRepository.findBySyncJobIdOrderByOccurredAtDesc(job.getId());
         int effectiveLimit = limit != null ? limit : 10;
-        return errors.stream().limit(effectiveLimit).collect(Collectors.toList());
+        return syncErrorRepository.findBySyncJobIdOrderByOccurredAtDesc(job.getId(),
+                PageRequest.of(0, Math.max(1, effectiveLimit)));
+    }
+
+    @SchemaMapping(typeName = "SyncJob", field = "errorSummaries")
+    public List<SyncErrorSummary> errorSummaries(SyncJob job, @Argument Integer limit) {
+        int effectiveLimit = limit != null ? limit : 20;
+        return syncErrorSummaryRepository.findBySyncJobIdOrderByErrorCountDesc(job.getId(),
+                PageRequest.of(0, Math.max(1, effectiveLimit)));
     }
 
     @SchemaMapping(typeName = "SyncJob", field = "stagingRecords")
-    public List<com.dataplatform.dto.StagingRecordDTO> stagingRecords(SyncJob job, @Argument Integer limit) {
+    public List<com.dataplatform.dto.StagingRecordDTO> stagingRecords(SyncJob job,
+                                                                      @Argument Integer limit,
+                                                                      @Argument Long afterId) {
         int effectiveLimit = limit != null ? limit : 10;
-        List<com.dataplatform.dto.StagingRecordDTO> records;
 
-        switch (job.getSourceName() != null ? job.getSourceName() : "") {
-            case "ERP" -> records = rawProductRepository.findBySyncJobId(job.getId()).stream()
+        // Only the requested page is read, so only its rows are decompressed
+        return switch (job.getSourceName() != null ? job.getSourceName() : "") {
+            case "ERP" -> stagedRecordReader.page(rawProductRepository, job.getId(), afterId, effectiveLimit).stream()
                     .map(com.dataplatform.dto.StagingRecordDTO::fromRawProduct)
                     .collect(Collectors.toList());
-            case "ACCOUNTING" -> records = rawInvoiceRepository.findBySyncJobId(job.getId()).stream()
+            case "ACCOUNTING" -> stagedRecordReader.page(rawInvoiceRepository, job.getId(), afterId, effectiveLimit)
+                    .stream()
                     .map(com.dataplatform.dto.StagingRecordDTO::fromRawInvoice)
                     .collect(Collectors.toList());
-            case "SALESFORCE", "CRM" -> records = rawCustomerRepository.findBySyncJobId(job.getId()).stream()
-                    .map(com.dataplatform.dto.StagingRecordDTO::fromRawCustomer)
-                    .collect(Collectors.toList());
-            default -> records = rawCustomerRepository.findBySyncJobId(job.getId()).stream()
+            default -> stagedRecordReader.page(rawCustomerRepository, job.getId(), afterId, effectiveLimit).stream()
                     .map(com.dataplatform.dto.StagingRecordDTO::fromRawCustomer)
                     .collect(Collectors.toList());
-        }
-
-        return records.stream().limit(effectiveLimit).collect(Collectors.toList());
+        };
     }
 
     @SchemaMapping(typeName = "SyncJob", field = "validationStats")
     public Map<String, Object> validationStats(SyncJob job) {
-        List<SyncError> errors = syncErrorRepository.findBySyncJobIdOrderByOccurredAtDesc(job.getId());
         int totalRecords = job.getRecordsProcessed() + job.getRecordsFailed();
         int failedValidation = job.getRecordsFailed();
         int passedValidation = job.getRecordsProcessed();
 
-        Map<String, Long> errorCounts = errors.stream()
-                .filter(e -> e.getErrorType() != null)
-                .collect(Collectors.groupingBy(SyncError::getErrorType, Collectors.counting()));
-
-        List<Map<String, Object>> topErrors = errorCounts.entrySet().stream()
+        // Counted per error type from the job's error summaries, plus counts not written to them yet
+        Map<String, Long> countsByType = new HashMap<>(syncErrorWriter.unwrittenCounts(job.getId()));
+        for (Object[] row : syncErrorSummaryRepository.countByErrorType(job.getId())) {
+            countsByType.merge((String) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+        List<Map<String, Object>> topErrors = countsByType.entrySet().stream()
                 .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
                 .limit(5)
                 .map(entry -> Map.<String, Object>of(
@@ -176,7 +201,8 @@ public class SyncJobQueryResolver {
                 "totalRecords", totalRecords,
                 "passedValidation", passedValidation,
                 "failedValidation", failedValidation,
-                "topErrors", topErrors
+                "topErrors", topErrors,
+                "lostErrors", job.getErrorsLost() == null ? 0 : job.getErrorsLost()
         );
     }
 
@@ -0,0 +1,112 @@
+package com.dataplatform.integration;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Halves or doubles the page size of one fetch run, within its bounds, as pages come back slow, large or fast.
+ */
+@Slf4j
+public final class AdaptivePageSizer {
+
+    private static final int HEALTHY_PAGES_BEFORE_GROWTH = 2;
+
+    @FunctionalInterface
+    public interface Listener {
+        void onPageSizeChange(int pageSize, String reason);
+    }
+
+    /**
+     * Page {@code page} of {@code size} records, of which the first {@code skip} were already
+     * fetched and are to be dropped.
+     */
+    record PageRequest(int page, int size, int skip) {
+    }
+
+    private final String sourceName;
+    private final int minSize;
+    private final int maxSize;
+    private final long targetLatencyMs;
+    private final long maxPageBytes;
+    private final Listener listener;
+    private final AtomicInteger failedRequests = new AtomicInteger();
+
+    private int size;
+    private int healthyPages;
+
+    AdaptivePageSizer(String sourceName,
+                      int initialSize,
+                      int minSize,
+                      int maxSize,
+                      long targetLatencyMs,
+                      long maxPageBytes,
+                      Listener listener) {
+        this.sourceName = sourceName;
+        this.minSize = Math.max(1, Math.min(minSize, initialSize));
+        this.maxSize = Math.max(maxSize, initialSize);
+        this.targetLatencyMs = targetLatencyMs;
+        this.maxPageBytes = maxPageBytes;
+        this.listener = listener;
+        this.size = initialSize;
+        listener.onPageSizeChange(size, "initial size");
+    }
+
+    static AdaptivePageSizer fixed(String sourceName, int size) {
+        return new AdaptivePageSizer(sourceName, size, size, size, Long.MAX_VALUE, Long.MAX_VALUE, (s, r) -> { });
+    }
+
+    /**
+     * The page to request at {@code offset}: one of the current size, or of the largest smaller
+     * size down to {@code minSize}, that starts at {@code offset}. If there is none, the page of
+     * the current size containing {@code offset}, skipping the records before it; the request
+     * after that is on a boundary of the current size again.
+     */
+    synchronized PageRequest requestAt(long offset) {
+        for (int candidate = size; candidate >= minSize; candidate--) {
+            if (offset % candidate == 0) {
+                return new PageRequest((int) (offset / candidate), candidate, 0);
+            }
+        }
+        return new PageRequest((int) (offset / size), size, (int) (offset % size));
+    }
+
+    void recordFailure() {
+        failedRequests.incrementAndGet();
+    }
+
+    synchronized void recordPage(int requestedSize, long latencyMs, long payloadBytes) {
+        int failures = failedRequests.getAndSet(0);
+        if (failures > 0) {
+            shrink(String.format("%d failed request(s)", failures));
+        } else if (latencyMs > targetLatencyMs) {
+            shrink(String.format("page of %d took %dms (target %dms)", requestedSize, latencyMs, targetLatencyMs));
+        } else if (payloadBytes > maxPageBytes) {
+            shrink(String.format("page of %d was %d bytes (limit %d)", requestedSize, payloadBytes, maxPageBytes));
+        } else if (requestedSize == size && latencyMs * 2 <= targetLatencyMs && payloadBytes * 2 <= maxPageBytes) {
+            if (++healthyPages >= HEALTHY_PAGES_BEFORE_GROWTH) {
+                grow(String.format("page of %d took %dms and %d bytes", requestedSize, latencyMs, payloadBytes));
+            }
+        } else {
+            healthyPages = 0;
+        }
+    }
+
+    private void shrink(String reason) {
+        change(Math.max(minSize, size / 2), reason);
+    }
+
+    private void grow(String reason) {
+        change((int) Math.min(maxSize, size * 2L), reason);
+    }
+
+    private void change(int newSize, String reason) {
+        healthyPages = 0;
+        if (newSize == size) {
+            return;
+        }
+        log.info("{} page size {} -> {}: {}", sourceName, size, newSize, reason);
+        size = newSize;
+        listener.onPageSizeChange(newSize, reason);
+    }
+}
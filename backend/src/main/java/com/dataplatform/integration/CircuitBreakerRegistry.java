@@ -0,0 +1,55 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.CircuitBreakerStateDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link SourceCircuitBreaker} per integration source, shared by every job for that source.
+ */
+@Component
+public class CircuitBreakerRegistry {
+
+    static final List<String> SOURCES = List.of("CRM", "ERP", "ACCOUNTING", "SALESFORCE");
+
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final Clock clock;
+    private final Map<String, SourceCircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public CircuitBreakerRegistry(
+            @Value("${integration.circuit-breaker.failure-threshold}") int failureThreshold,
+            @Value("${integration.circuit-breaker.open-duration-ms}") long openDurationMs) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+        this.clock = Clock.systemUTC();
+        SOURCES.forEach(this::forSource);
+    }
+
+    public SourceCircuitBreaker forSource(String sourceName) {
+        return breakers.computeIfAbsent(sourceName,
+                name -> new SourceCircuitBreaker(name, failureThreshold, openDurationMs, clock));
+    }
+
+    public List<CircuitBreakerStateDTO> getStates() {
+        return breakers.values().stream()
+                .map(SourceCircuitBreaker::snapshot)
+                .sorted((a, b) -> Integer.compare(order(a.getSourceName()), order(b.getSourceName())))
+                .toList();
+    }
+
+    public CircuitBreakerStateDTO getState(String sourceName) {
+        SourceCircuitBreaker breaker = breakers.get(sourceName);
+        return breaker != null ? breaker.snapshot() : null;
+    }
+
+    private static int order(String sourceName) {
+        int index = SOURCES.indexOf(sourceName);
+        return index >= 0 ? index : SOURCES.size();
+    }
+}
@@ -0,0 +1,86 @@
+package com.dataplatform.integration;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * WebClient counterpart of {@link CompressedResponseInterceptor}.
+ */
+public class CompressedResponseFilter implements ExchangeFilterFunction {
+
+    private final String sourceName;
+    private final IntegrationMetrics metrics;
+
+    public CompressedResponseFilter(String sourceName, IntegrationMetrics metrics) {
+        this.sourceName = sourceName;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        ClientRequest withEncoding = request.headers().containsKey(HttpHeaders.ACCEPT_ENCODING)
+                ? request
+                : ClientRequest.from(request)
+                        .header(HttpHeaders.ACCEPT_ENCODING, CompressedResponseInterceptor.ACCEPT_ENCODING)
+                        .build();
+        return next.exchange(withEncoding).map(this::decode);
+    }
+
+    private ClientResponse decode(ClientResponse response) {
+        String encoding = response.headers().asHttpHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        boolean compressed = "gzip".equalsIgnoreCase(encoding)
+                || "x-gzip".equalsIgnoreCase(encoding)
+                || "deflate".equalsIgnoreCase(encoding);
+        metrics.recordResponse(sourceName, compressed);
+        if (!compressed) {
+            return response.mutate()
+                    .body(body -> body.doOnNext(buffer -> {
+                        metrics.addWireBytes(sourceName, buffer.readableByteCount());
+                        metrics.addDecodedBytes(sourceName, buffer.readableByteCount());
+                    }))
+                    .build();
+        }
+        String codec = encoding.toLowerCase();
+        // Body is handed on decoded, so the original encoding and length no longer apply
+        return response.mutate()
+                .headers(headers -> {
+                    headers.remove(HttpHeaders.CONTENT_ENCODING);
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                })
+                // An empty body (e.g. 204/304) has no compressed stream to decode and joins to nothing
+                .body(body -> DataBufferUtils.join(body).map(buffer -> inflate(buffer, codec)).flux())
+                .build();
+    }
+
+    private DataBuffer inflate(DataBuffer wire, String codec) {
+        byte[] wireBytes = new byte[wire.readableByteCount()];
+        wire.read(wireBytes);
+        DataBufferUtils.release(wire);
+        metrics.addWireBytes(sourceName, wireBytes.length);
+        if (wireBytes.length == 0) {
+            return DefaultDataBufferFactory.sharedInstance.wrap(wireBytes);
+        }
+        try (InputStream decoded = "deflate".equals(codec)
+                ? CompressedResponseInterceptor.inflate(new ByteArrayInputStream(wireBytes))
+                : new GZIPInputStream(new ByteArrayInputStream(wireBytes))) {
+            byte[] decodedBytes = decoded.readAllBytes();
+            metrics.addDecodedBytes(sourceName, decodedBytes.length);
+            return DefaultDataBufferFactory.sharedInstance.wrap(decodedBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode " + codec + " response from " + sourceName, e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.dataplatform.integration;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Decodes gzip/deflate source responses, counting wire and decoded bytes separately.
+ */
+public class CompressedResponseInterceptor implements ClientHttpRequestInterceptor {
+
+    static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private final String sourceName;
+    private final IntegrationMetrics metrics;
+
+    public CompressedResponseInterceptor(String sourceName, IntegrationMetrics metrics) {
+        this.sourceName = sourceName;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+            request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, ACCEPT_ENCODING);
+        }
+        ClientHttpResponse response = execution.execute(request, body);
+
+        String encoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        boolean compressed = "gzip".equalsIgnoreCase(encoding)
+                || "x-gzip".equalsIgnoreCase(encoding)
+                || "deflate".equalsIgnoreCase(encoding);
+        metrics.recordResponse(sourceName, compressed);
+        return new DecodingResponse(response, compressed ? encoding.toLowerCase() : null);
+    }
+
+    private class DecodingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final String encoding;
+        private HttpHeaders headers;
+        private InputStream body;
+
+        DecodingResponse(ClientHttpResponse delegate, String encoding) {
+            this.delegate = delegate;
+            this.encoding = encoding;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            if (headers == null) {
+                if (encoding == null) {
+                    headers = delegate.getHeaders();
+                } else {
+                    // Body is handed on decoded, so the original encoding and length no longer apply
+                    HttpHeaders copy = new HttpHeaders();
+                    copy.putAll(delegate.getHeaders());
+                    copy.remove(HttpHeaders.CONTENT_ENCODING);
+                    copy.remove(HttpHeaders.CONTENT_LENGTH);
+                    headers = HttpHeaders.readOnlyHttpHeaders(copy);
+                }
+            }
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                InputStream wire = new CountingInputStream(delegate.getBody(),
+                        n -> metrics.addWireBytes(sourceName, n));
+                String codec = encoding == null ? "" : encoding;
+                if (!codec.isEmpty()) {
+                    // An empty body (e.g. 204/304) has no compressed stream to decode
+                    PushbackInputStream peeked = new PushbackInputStream(wire);
+                    int first = peeked.read();
+                    if (first == -1) {
+                        codec = "";
+                    } else {
+                        peeked.unread(first);
+                    }
+                    wire = peeked;
+                }
+                InputStream decoded = switch (codec) {
+                    case "gzip", "x-gzip" -> new GZIPInputStream(wire);
+                    case "deflate" -> inflate(wire);
+                    default -> wire;
+                };
+                body = new CountingInputStream(decoded, n -> metrics.addDecodedBytes(sourceName, n));
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+
+    /**
+     * HTTP "deflate" is specified as zlib-wrapped, but some servers send a raw deflate stream.
+     * A zlib stream starts with a CMF byte whose low nibble is 8 and a header checksum that is a
+     * multiple of 31.
+     */
+    static InputStream inflate(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        buffered.mark(2);
+        int cmf = buffered.read();
+        int flg = buffered.read();
+        buffered.reset();
+        boolean zlibWrapped = cmf != -1 && flg != -1
+                && (cmf & 0x0F) == 8
+                && ((cmf << 8) | flg) % 31 == 0;
+        return new InflaterInputStream(buffered, new Inflater(!zlibWrapped));
+    }
+
+    static class CountingInputStream extends FilterInputStream {
+
+        private final LongConsumer counter;
+
+        CountingInputStream(InputStream in, LongConsumer counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                counter.accept(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                counter.accept(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            if (skipped > 0) {
+                counter.accept(skipped);
+            }
+            return skipped;
+        }
+    }
+}
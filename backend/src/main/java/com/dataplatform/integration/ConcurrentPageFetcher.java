@@ -0,0 +1,186 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.PaginatedResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Walks a page/size endpoint with up to {@code concurrency} requests in flight, handing pages over in order.
+ */
+@Slf4j
+final class ConcurrentPageFetcher {
+
+    /**
+     * A single attempt at one page; retries are the fetcher's concern.
+     */
+    @FunctionalInterface
+    interface PageFetcher<T> {
+        PaginatedResponse<T> fetch(int page, int size);
+    }
+
+    private record FetchedPage<T>(PaginatedResponse<T> response, int size, int skip, long latencyMs) {
+    }
+
+    private ConcurrentPageFetcher() {
+    }
+
+    static <T> List<T> fetchAll(SourceRetrier retrier,
+                                String itemName,
+                                int concurrency,
+                                AdaptivePageSizer sizer,
+                                PageFetcher<T> pageFetcher) {
+        List<T> allItems = new ArrayList<>();
+        forEachPage(retrier, itemName, concurrency, sizer, pageFetcher, item -> 0L, allItems::addAll);
+        return allItems;
+    }
+
+    static <T> int forEachPage(SourceRetrier retrier,
+                               String itemName,
+                               int concurrency,
+                               AdaptivePageSizer sizer,
+                               PageFetcher<T> pageFetcher,
+                               ToLongFunction<T> itemBytes,
+                               Consumer<List<T>> pageHandler) {
+        Walk<T> walk = new Walk<>(retrier.sourceLabel() + " " + itemName, sizer, itemBytes, pageHandler);
+        if (!walk.accept(fetchNext(retrier, pageFetcher, walk))) {
+            return 0;
+        }
+
+        if (concurrency <= 1) {
+            while (walk.hasMore()) {
+                if (!walk.accept(fetchNext(retrier, pageFetcher, walk))) {
+                    break;
+                }
+            }
+            return walk.fetched;
+        }
+        if (walk.hasMore()) {
+            return fetchConcurrently(retrier, concurrency, pageFetcher, walk);
+        }
+        return walk.fetched;
+    }
+
+    private static <T> FetchedPage<T> fetchNext(SourceRetrier retrier, PageFetcher<T> pageFetcher, Walk<T> walk) {
+        AdaptivePageSizer.PageRequest request = walk.claim();
+        return retrier.execute(walk.operation(request.page()), () -> attempt(pageFetcher, walk.sizer, request));
+    }
+
+    private static <T> int fetchConcurrently(SourceRetrier retrier,
+                                             int concurrency,
+                                             PageFetcher<T> pageFetcher,
+                                             Walk<T> walk) {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency,
+                new CustomizableThreadFactory(retrier.sourceLabel().toLowerCase() + "-fetch-"));
+        try {
+            Deque<CompletableFuture<FetchedPage<T>>> inFlight = new ArrayDeque<>();
+            while (walk.hasMore() && inFlight.size() < concurrency) {
+                inFlight.add(submitNext(retrier, executor, pageFetcher, walk));
+            }
+
+            while (!inFlight.isEmpty()) {
+                if (!walk.accept(RetryScheduler.await(inFlight.poll(), walk.itemLabel + " pages"))) {
+                    break;
+                }
+                while (walk.hasMore() && inFlight.size() < concurrency) {
+                    inFlight.add(submitNext(retrier, executor, pageFetcher, walk));
+                }
+            }
+            return walk.fetched;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> CompletableFuture<FetchedPage<T>> submitNext(SourceRetrier retrier,
+                                                                    ExecutorService executor,
+                                                                    PageFetcher<T> pageFetcher,
+                                                                    Walk<T> walk) {
+        AdaptivePageSizer.PageRequest request = walk.claim();
+        return retrier.submit(walk.operation(request.page()), executor,
+                () -> attempt(pageFetcher, walk.sizer, request));
+    }
+
+    private static <T> FetchedPage<T> attempt(PageFetcher<T> pageFetcher,
+                                              AdaptivePageSizer sizer,
+                                              AdaptivePageSizer.PageRequest request) {
+        long start = System.nanoTime();
+        try {
+            PaginatedResponse<T> response = pageFetcher.fetch(request.page(), request.size());
+            return new FetchedPage<>(response, request.size(), request.skip(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            sizer.recordFailure();
+            throw ex;
+        }
+    }
+
+    /**
+     * Offset bookkeeping for one run. Only touched from the calling thread.
+     */
+    private static final class Walk<T> {
+        private final String itemLabel;
+        private final AdaptivePageSizer sizer;
+        private final ToLongFunction<T> itemBytes;
+        private final Consumer<List<T>> pageHandler;
+        private long nextOffset;
+        private long totalElements;
+        private int pages;
+        private int fetched;
+
+        Walk(String itemLabel, AdaptivePageSizer sizer, ToLongFunction<T> itemBytes, Consumer<List<T>> pageHandler) {
+            this.itemLabel = itemLabel;
+            this.sizer = sizer;
+            this.itemBytes = itemBytes;
+            this.pageHandler = pageHandler;
+        }
+
+        String operation(int page) {
+            return itemLabel + " page " + page;
+        }
+
+        boolean hasMore() {
+            return nextOffset < totalElements;
+        }
+
+        AdaptivePageSizer.PageRequest claim() {
+            AdaptivePageSizer.PageRequest request = sizer.requestAt(nextOffset);
+            nextOffset += request.size() - request.skip();
+            return request;
+        }
+
+        boolean accept(FetchedPage<T> page) {
+            PaginatedResponse<T> response = page.response();
+            if (response == null || response.getContent() == null) {
+                return false;
+            }
+            List<T> content = response.getContent();
+            boolean notModified = ConditionalPages.isNotModified(response);
+            if (!notModified) {
+                sizer.recordPage(page.size(), page.latencyMs(), content.stream().mapToLong(itemBytes).sum());
+            }
+            content = content.subList(Math.min(page.skip(), content.size()), content.size());
+            pageHandler.accept(content);
+            fetched += content.size();
+            pages++;
+            // A 304 carries no totals; those of the pages actually downloaded stand
+            if (!notModified) {
+                // Fall back to totalPages for sources that do not report totalElements
+                totalElements = response.getTotalElements() > 0
+                        ? response.getTotalElements()
+                        : (long) response.getTotalPages() * page.size();
+            }
+            log.info("Fetched page {} ({}/{} {} so far)", pages, fetched, totalElements, itemLabel);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.PaginatedResponse;
+import com.dataplatform.dto.RawRecord;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Conditional GETs of raw pages for the page/size connectors, blocking and reactive.
+ */
+final class ConditionalPages {
+
+    /**
+     * A page the source answered with 304. It has no content and no totals, and is not an
+     * observation for the {@link AdaptivePageSizer}.
+     */
+    static final class NotModifiedPage<T> extends PaginatedResponse<T> {
+        NotModifiedPage(int page, int size) {
+            super(List.of(), page, size, 0, 0);
+        }
+    }
+
+    private ConditionalPages() {
+    }
+
+    static PaginatedResponse<RawRecord> fetch(RestTemplate restTemplate,
+                                              String baseUrl,
+                                              String pageKey,
+                                              int page,
+                                              int size,
+                                              PageCache cache,
+                                              ObjectReader itemReader) {
+        PageCache.Validators cached = lookup(cache, pageKey, page);
+        return restTemplate.execute(baseUrl + pageKey, HttpMethod.GET,
+                request -> addValidators(request.getHeaders(), cached),
+                response -> {
+                    if (cached != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        cache.notModified(pageKey);
+                        return new NotModifiedPage<>(page, size);
+                    }
+                    PaginatedResponse<RawRecord> parsed = RawPageParser.parse(response.getBody(), itemReader);
+                    remember(cache, pageKey, response.getHeaders(), parsed);
+                    return parsed;
+                });
+    }
+
+    static Mono<PaginatedResponse<RawRecord>> fetch(WebClient webClient,
+                                                    String baseUrl,
+                                                    String pageKey,
+                                                    int page,
+                                                    int size,
+                                                    PageCache cache,
+                                                    ObjectReader itemReader) {
+        return Mono.defer(() -> {
+            PageCache.Validators cached = lookup(cache, pageKey, page);
+            return webClient.get()
+                    .uri(baseUrl + pageKey)
+                    .headers(headers -> addValidators(headers, cached))
+                    .exchangeToMono(response -> {
+                        if (cached != null && response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                            cache.notModified(pageKey);
+                            return response.releaseBody().thenReturn(new NotModifiedPage<RawRecord>(page, size));
+                        }
+                        if (response.statusCode().isError()) {
+                            return response.createError();
+                        }
+                        HttpHeaders headers = response.headers().asHttpHeaders();
+                        return response.bodyToMono(byte[].class)
+                                .flatMap(body -> Mono.fromCallable(() -> {
+                                    PaginatedResponse<RawRecord> parsed = RawPageParser.parse(body, itemReader);
+                                    remember(cache, pageKey, headers, parsed);
+                                    return parsed;
+                                }));
+                    });
+        });
+    }
+
+    static boolean isNotModified(PaginatedResponse<?> response) {
+        return response instanceof NotModifiedPage;
+    }
+
+    private static PageCache.Validators lookup(PageCache cache, String pageKey, int page) {
+        if (page == 0) {
+            return null;
+        }
+        PageCache.Validators cached = cache.lookup(pageKey);
+        return cached != null && cached.isPresent() ? cached : null;
+    }
+
+    private static void addValidators(HttpHeaders headers, PageCache.Validators cached) {
+        if (cached == null) {
+            return;
+        }
+        if (cached.etag() != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, cached.etag());
+        }
+        if (cached.lastModified() != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+        }
+    }
+
+    private static void remember(PageCache cache,
+                                 String pageKey,
+                                 HttpHeaders headers,
+                                 PaginatedResponse<RawRecord> parsed) {
+        if (parsed != null) {
+            cache.modified(pageKey, new PageCache.Validators(headers.getETag(),
+                    headers.getFirst(HttpHeaders.LAST_MODIFIED)));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.ConnectionPoolStatsDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.pool.PoolStats;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports the integration connection pool per source route, including routes registered at runtime.
+ */
+@Slf4j
+public class ConnectionPoolMonitor {
+
+    public static final String TOTAL = "TOTAL";
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final Map<String, HttpRoute> sourceRoutes;
+    private final Map<String, Integer> sourceLimits;
+
+    public ConnectionPoolMonitor(PoolingHttpClientConnectionManager connectionManager,
+                                 Map<String, HttpRoute> sourceRoutes) {
+        this(connectionManager, sourceRoutes, Map.of());
+    }
+
+    public ConnectionPoolMonitor(PoolingHttpClientConnectionManager connectionManager,
+                                 Map<String, HttpRoute> sourceRoutes,
+                                 Map<String, Integer> sourceLimits) {
+        this.connectionManager = connectionManager;
+        this.sourceRoutes = new ConcurrentHashMap<>(sourceRoutes);
+        this.sourceLimits = Map.copyOf(sourceLimits);
+    }
+
+    /**
+     * Points {@code sourceName} at the host of {@code baseUrl}, raising that route's limit to the
+     * source's if it is lower. Registering the same host again does nothing.
+     */
+    public void registerRoute(String sourceName, String baseUrl) {
+        HttpRoute route = routeFor(baseUrl);
+        if (route.equals(sourceRoutes.get(sourceName))) {
+            return;
+        }
+        Integer limit = sourceLimits.get(sourceName);
+        if (limit != null && limit > connectionManager.getMaxPerRoute(route)) {
+            connectionManager.setMaxPerRoute(route, limit);
+        }
+        sourceRoutes.put(sourceName, route);
+        log.info("{} connections now go to {} (max {})", sourceName, route.getTargetHost().toURI(),
+                connectionManager.getMaxPerRoute(route));
+    }
+
+    public static HttpRoute routeFor(String baseUrl) {
+        URI uri = URI.create(baseUrl);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(uri.getScheme(), uri.getHost(), port), null, secure);
+    }
+
+    public List<ConnectionPoolStatsDTO> getStats() {
+        List<ConnectionPoolStatsDTO> stats = new ArrayList<>();
+        sourceRoutes.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> stats.add(toDto(entry.getKey(),
+                        entry.getValue().getTargetHost().toURI(),
+                        connectionManager.getStats(entry.getValue()))));
+        stats.add(toDto(TOTAL, null, connectionManager.getTotalStats()));
+        return stats;
+    }
+
+    public ConnectionPoolStatsDTO getStats(String sourceName) {
+        HttpRoute route = sourceRoutes.get(sourceName);
+        if (route == null) {
+            return null;
+        }
+        return toDto(sourceName, route.getTargetHost().toURI(), connectionManager.getStats(route));
+    }
+
+    private ConnectionPoolStatsDTO toDto(String sourceName, String route, PoolStats poolStats) {
+        return ConnectionPoolStatsDTO.builder()
+                .sourceName(sourceName)
+                .route(route)
+                .leased(poolStats.getLeased())
+                .pending(poolStats.getPending())
+                .available(poolStats.getAvailable())
+                .max(poolStats.getMax())
+                .build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.exception.IntegrationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Walks a cursor or next-page-URL endpoint, prefetching up to {@code maxBufferedPages} pages.
+ */
+@Slf4j
+final class CursorPageFetcher {
+
+    /**
+     * One page and the cursor of the next, null on the last page.
+     */
+    record CursorPage<T, C>(List<T> items, C next, long totalSize) {
+    }
+
+    /**
+     * A single attempt at the page at {@code cursor}; null ends the walk.
+     */
+    @FunctionalInterface
+    interface PageFetcher<T, C> {
+        CursorPage<T, C> fetch(C cursor);
+    }
+
+    /**
+     * A single attempt at the page at {@code cursor}; an empty result ends the walk.
+     */
+    @FunctionalInterface
+    interface ReactivePageFetcher<T, C> {
+        Mono<CursorPage<T, C>> fetch(C cursor);
+    }
+
+    private record Batch<T>(CursorPage<T, ?> page, RuntimeException error) {
+    }
+
+    private CursorPageFetcher() {
+    }
+
+    static <T, C> int forEachPage(SourceRetrier retrier,
+                                  String itemName,
+                                  C first,
+                                  int maxBufferedPages,
+                                  PageFetcher<T, C> pageFetcher,
+                                  Consumer<List<T>> pageHandler) {
+        String itemLabel = retrier.sourceLabel() + " " + itemName;
+        BlockingQueue<Batch<T>> ready = new LinkedBlockingQueue<>();
+        Semaphore buffered = new Semaphore(Math.max(1, maxBufferedPages));
+        CustomizableThreadFactory threads =
+                new CustomizableThreadFactory(retrier.sourceLabel().toLowerCase() + "-prefetch-");
+        threads.setDaemon(true);
+        ExecutorService prefetcher = Executors.newSingleThreadExecutor(threads);
+        try {
+            prefetcher.execute(() -> prefetch(retrier, itemLabel, first, pageFetcher, ready, buffered));
+
+            int fetched = 0;
+            while (true) {
+                Batch<T> batch = take(ready, itemLabel);
+                if (batch.error() != null) {
+                    throw batch.error();
+                }
+                if (batch.page() == null) {
+                    break;
+                }
+                try {
+                    pageHandler.accept(batch.page().items());
+                } finally {
+                    buffered.release();
+                }
+                fetched += batch.page().items().size();
+                log.info("Fetched {} {} so far (totalSize={})", fetched, itemLabel, batch.page().totalSize());
+            }
+            return fetched;
+        } finally {
+            prefetcher.shutdownNow();
+        }
+    }
+
+    /**
+     * Non-blocking walk: the next cursor is only followed once the subscriber has asked for
+     * another page.
+     */
+    static <T, C> Flux<List<T>> pages(SourceRetrier retrier,
+                                      String itemName,
+                                      Mono<C> first,
+                                      ReactivePageFetcher<T, C> pageFetcher) {
+        String itemLabel = retrier.sourceLabel() + " " + itemName;
+        return first.flatMapMany(cursor -> fetch(retrier, itemLabel, pageFetcher, cursor)
+                        .expand(page -> page.next() == null
+                                ? Mono.empty()
+                                : fetch(retrier, itemLabel, pageFetcher, page.next())))
+                .map(CursorPage::items);
+    }
+
+    private static <T, C> Mono<CursorPage<T, C>> fetch(SourceRetrier retrier,
+                                                       String itemLabel,
+                                                       ReactivePageFetcher<T, C> pageFetcher,
+                                                       C cursor) {
+        return retrier.mono(itemLabel, () -> pageFetcher.fetch(cursor));
+    }
+
+    private static <T, C> void prefetch(SourceRetrier retrier,
+                                        String itemLabel,
+                                        C first,
+                                        PageFetcher<T, C> pageFetcher,
+                                        BlockingQueue<Batch<T>> ready,
+                                        Semaphore buffered) {
+        try {
+            C next = first;
+            while (next != null) {
+                buffered.acquire();
+                C cursor = next;
+                CursorPage<T, C> page = retrier.execute(itemLabel, () -> pageFetcher.fetch(cursor));
+                if (page == null || page.items() == null) {
+                    break;
+                }
+                next = page.next();
+                ready.add(new Batch<>(page, null));
+            }
+            ready.add(new Batch<>(null, null));
+        } catch (InterruptedException ex) {
+            // The caller stopped consuming
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            ready.add(new Batch<>(null, ex));
+        }
+    }
+
+    private static <T> Batch<T> take(BlockingQueue<Batch<T>> ready, String itemLabel) {
+        try {
+            return ready.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationException("Interrupted while fetching " + itemLabel, ex);
+        }
+    }
+}
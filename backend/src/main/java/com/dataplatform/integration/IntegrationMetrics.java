@@ -0,0 +1,107 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.SourceMetricsDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory traffic counters per integration source, reset on restart.
+ */
+@Component
+public class IntegrationMetrics {
+
+    private static final long ONE_HOUR_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final Map<String, SourceCounters> counters = new ConcurrentHashMap<>();
+
+    public void recordResponse(String sourceName, boolean compressed) {
+        SourceCounters c = countersFor(sourceName);
+        c.responses.increment();
+        if (compressed) {
+            c.compressedResponses.increment();
+        }
+    }
+
+    public void addWireBytes(String sourceName, long bytes) {
+        countersFor(sourceName).wireBytes.add(bytes);
+    }
+
+    public void addDecodedBytes(String sourceName, long bytes) {
+        countersFor(sourceName).decodedBytes.add(bytes);
+    }
+
+    /**
+     * Time a request spent waiting for a rate-limit permit, kept apart from source latency.
+     */
+    public void recordLimiterWait(String sourceName, long waitNanos) {
+        SourceCounters c = countersFor(sourceName);
+        c.throttledRequests.increment();
+        c.limiterWaitNanos.add(waitNanos);
+    }
+
+    public void recordTokenRefresh(String sourceName) {
+        SourceCounters c = countersFor(sourceName);
+        c.tokenRefreshes.increment();
+        long now = System.currentTimeMillis();
+        c.recentTokenRefreshes.add(now);
+        pruneOlderThanAnHour(c, now);
+    }
+
+    public List<SourceMetricsDTO> getMetrics() {
+        return counters.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> toDto(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    public SourceMetricsDTO getMetrics(String sourceName) {
+        return toDto(sourceName, countersFor(sourceName));
+    }
+
+    private SourceCounters countersFor(String sourceName) {
+        return counters.computeIfAbsent(sourceName, k -> new SourceCounters());
+    }
+
+    private static void pruneOlderThanAnHour(SourceCounters c, long now) {
+        Long oldest;
+        while ((oldest = c.recentTokenRefreshes.peekFirst()) != null && oldest < now - ONE_HOUR_MS) {
+            c.recentTokenRefreshes.pollFirst();
+        }
+    }
+
+    private SourceMetricsDTO toDto(String sourceName, SourceCounters c) {
+        pruneOlderThanAnHour(c, System.currentTimeMillis());
+        long wireBytes = c.wireBytes.sum();
+        long decodedBytes = c.decodedBytes.sum();
+        return SourceMetricsDTO.builder()
+                .sourceName(sourceName)
+                .responses(c.responses.sum())
+                .compressedResponses(c.compressedResponses.sum())
+                .wireBytes(wireBytes)
+                .decodedBytes(decodedBytes)
+                .compressionRatio(wireBytes > 0 ? (double) decodedBytes / wireBytes : null)
+                .throttledRequests(c.throttledRequests.sum())
+                .limiterWaitMs(TimeUnit.NANOSECONDS.toMillis(c.limiterWaitNanos.sum()))
+                .tokenRefreshes(c.tokenRefreshes.sum())
+                .tokenRefreshesLastHour(c.recentTokenRefreshes.size())
+                .build();
+    }
+
+    private static final class SourceCounters {
+        private final LongAdder responses = new LongAdder();
+        private final LongAdder compressedResponses = new LongAdder();
+        private final LongAdder wireBytes = new LongAdder();
+        private final LongAdder decodedBytes = new LongAdder();
+        private final LongAdder throttledRequests = new LongAdder();
+        private final LongAdder limiterWaitNanos = new LongAdder();
+        private final LongAdder tokenRefreshes = new LongAdder();
+        private final Deque<Long> recentTokenRefreshes = new ConcurrentLinkedDeque<>();
+    }
+}
@@ -0,0 +1,41 @@
+package com.dataplatform.integration;
+
+/**
+ * Validators remembered for a source's pages; called from event-loop threads, so must not block.
+ */
+public interface PageCache {
+
+    PageCache NONE = new PageCache() {
+        @Override
+        public Validators lookup(String pageKey) {
+            return null;
+        }
+
+        @Override
+        public void modified(String pageKey, Validators validators) {
+        }
+
+        @Override
+        public void notModified(String pageKey) {
+        }
+    };
+
+    /**
+     * Validators to send for {@code pageKey}, or null to fetch the page unconditionally.
+     */
+    Validators lookup(String pageKey);
+
+    /**
+     * The page was downloaded; either validator may be null if the source did not send it.
+     */
+    void modified(String pageKey, Validators validators);
+
+    void notModified(String pageKey);
+
+    record Validators(String etag, String lastModified) {
+
+        public boolean isPresent() {
+            return etag != null || lastModified != null;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.PaginatedResponse;
+import com.dataplatform.dto.RawRecord;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Shared engine for page/size endpoints, over the RestTemplate or the WebClient.
+ */
+@Slf4j
+public class PagedSourceConnector<T> implements SourceConnector<T> {
+
+    private final SourceEndpoint<T> endpoint;
+    private final RestTemplate restTemplate;
+    private final WebClient webClient;
+    private final SourceSettings settings;
+    private final SourceRetrier retrier;
+    private final boolean reactive;
+    private final ObjectReader itemReader;
+
+    public PagedSourceConnector(SourceEndpoint<T> endpoint,
+                                RestTemplate restTemplate,
+                                WebClient webClient,
+                                RetryScheduler retryScheduler,
+                                SourceSettings settings) {
+        this.endpoint = endpoint;
+        this.restTemplate = restTemplate;
+        this.webClient = webClient;
+        this.settings = settings;
+        this.retrier = retryScheduler.forSource(endpoint.sourceName(), endpoint.label(), settings.maxRetries());
+        this.reactive = ReactivePageFetcher.isReactive(settings.clientMode());
+        this.itemReader = RawPageParser.itemReader(endpoint.itemType());
+    }
+
+    @Override
+    public String getSourceName() {
+        return endpoint.sourceName();
+    }
+
+    /**
+     * Whether the source is configured for the REACTIVE client mode, i.e. staging should
+     * subscribe to {@link #rawPages} rather than call {@link #forEachRawPage}.
+     */
+    public boolean isReactive() {
+        return reactive;
+    }
+
+    public PaginatedResponse<T> fetchPage(int page) {
+        String url = settings.baseUrl() + endpoint.pageKey(page, settings.pageSize());
+        log.debug("Fetching {} {}: {}", endpoint.label(), endpoint.itemName(), url);
+
+        return restTemplate.exchange(url, HttpMethod.GET, null, endpoint.pageType()).getBody();
+    }
+
+    public List<T> fetchAll() {
+        List<T> items = ConcurrentPageFetcher.fetchAll(
+                retrier, endpoint.itemName(), settings.fetchConcurrency(), fixedSizer(),
+                (page, size) -> fetchPage(page));
+
+        log.info("Fetched {} total {} from {} API", items.size(), endpoint.itemName(), endpoint.label());
+        return items;
+    }
+
+    @Override
+    public int forEachPage(Consumer<List<T>> pageHandler) {
+        int total = ConcurrentPageFetcher.forEachPage(
+                retrier, endpoint.itemName(), settings.fetchConcurrency(), fixedSizer(),
+                (page, size) -> fetchPage(page),
+                item -> 0L, pageHandler);
+
+        log.info("Streamed {} total {} from {} API", total, endpoint.itemName(), endpoint.label());
+        return total;
+    }
+
+    public PaginatedResponse<RawRecord> fetchRawPage(int page, int size) {
+        return fetchRawPage(page, size, PageCache.NONE);
+    }
+
+    public PaginatedResponse<RawRecord> fetchRawPage(int page, int size, PageCache pageCache) {
+        return fetchRawPage(page, size, pageCache, false);
+    }
+
+    /**
+     * With {@code bindItems} each record also carries its element bound to the endpoint's DTO.
+     */
+    public PaginatedResponse<RawRecord> fetchRawPage(int page, int size, PageCache pageCache, boolean bindItems) {
+        String pageKey = endpoint.pageKey(page, size);
+        log.debug("Fetching raw {} {}: {}{}", endpoint.label(), endpoint.itemName(), settings.baseUrl(), pageKey);
+
+        return ConditionalPages.fetch(restTemplate, settings.baseUrl(), pageKey, page, size, pageCache,
+                bindItems ? itemReader : null);
+    }
+
+    public Mono<PaginatedResponse<RawRecord>> fetchRawPageReactive(int page, int size, PageCache pageCache,
+                                                                   boolean bindItems) {
+        String pageKey = endpoint.pageKey(page, size);
+        log.debug("Fetching raw {} {}: {}{}", endpoint.label(), endpoint.itemName(), settings.baseUrl(), pageKey);
+
+        return ConditionalPages.fetch(webClient, settings.baseUrl(), pageKey, page, size, pageCache,
+                bindItems ? itemReader : null);
+    }
+
+    public int forEachRawPage(Consumer<List<RawRecord>> pageHandler, AdaptivePageSizer.Listener pageSizeListener) {
+        return forEachRawPage(pageHandler, pageSizeListener, PageCache.NONE);
+    }
+
+    /**
+     * Raw pages over the RestTemplate, whatever the client mode, handed to {@code pageHandler} on
+     * the calling thread. Pages answered with 304 Not Modified reach it with no content.
+     */
+    public int forEachRawPage(Consumer<List<RawRecord>> pageHandler,
+                              AdaptivePageSizer.Listener pageSizeListener,
+                              PageCache pageCache) {
+        return forEachRawPage(pageHandler, pageSizeListener, pageCache, false);
+    }
+
+    public int forEachRawPage(Consumer<List<RawRecord>> pageHandler,
+                              AdaptivePageSizer.Listener pageSizeListener,
+                              PageCache pageCache,
+                              boolean bindItems) {
+        int total = ConcurrentPageFetcher.forEachPage(
+                retrier, endpoint.itemName(), settings.fetchConcurrency(), adaptiveSizer(pageSizeListener),
+                (page, size) -> fetchRawPage(page, size, pageCache, bindItems),
+                record -> record.getRawData().length(), pageHandler);
+
+        log.info("Streamed {} total raw {} from {} API", total, endpoint.itemName(), endpoint.label());
+        return total;
+    }
+
+    public Flux<List<RawRecord>> rawPages(AdaptivePageSizer.Listener pageSizeListener) {
+        return rawPages(pageSizeListener, PageCache.NONE);
+    }
+
+    /**
+     * Raw pages over the WebClient, whatever the client mode; further pages are only requested
+     * as the subscriber takes them. Pages answered with 304 Not Modified have no content.
+     */
+    public Flux<List<RawRecord>> rawPages(AdaptivePageSizer.Listener pageSizeListener, PageCache pageCache) {
+        return rawPages(pageSizeListener, pageCache, false);
+    }
+
+    public Flux<List<RawRecord>> rawPages(AdaptivePageSizer.Listener pageSizeListener,
+                                          PageCache pageCache,
+                                          boolean bindItems) {
+        return ReactivePageFetcher.pages(
+                retrier, endpoint.itemName(), settings.fetchConcurrency(), adaptiveSizer(pageSizeListener),
+                (page, size) -> fetchRawPageReactive(page, size, pageCache, bindItems),
+                record -> record.getRawData().length());
+    }
+
+    private AdaptivePageSizer fixedSizer() {
+        return AdaptivePageSizer.fixed(endpoint.sourceName(), settings.pageSize());
+    }
+
+    private AdaptivePageSizer adaptiveSizer(AdaptivePageSizer.Listener pageSizeListener) {
+        return new AdaptivePageSizer(endpoint.sourceName(), settings.pageSize(), settings.minPageSize(),
+                settings.maxPageSize(), settings.targetPageLatencyMs(), settings.maxPageBytes(), pageSizeListener);
+    }
+}
@@ -0,0 +1,43 @@
+package com.dataplatform.integration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * One {@link SourceRateLimiter} per integration source, shared by every job for that source.
+ */
+@Component
+public class RateLimiterRegistry {
+
+    private final Map<String, SourceRateLimiter> limiters;
+
+    public RateLimiterRegistry(
+            @Value("${integration.crm.rate-limit-per-second}") double crmPermitsPerSecond,
+            @Value("${integration.crm.rate-limit-burst}") int crmBurst,
+            @Value("${integration.erp.rate-limit-per-second}") double erpPermitsPerSecond,
+            @Value("${integration.erp.rate-limit-burst}") int erpBurst,
+            @Value("${integration.accounting.rate-limit-per-second}") double accountingPermitsPerSecond,
+            @Value("${integration.accounting.rate-limit-burst}") int accountingBurst,
+            @Value("${integration.salesforce.rate-limit-per-second}") double salesforcePermitsPerSecond,
+            @Value("${integration.salesforce.rate-limit-burst}") int salesforceBurst) {
+        this.limiters = Map.of(
+                "CRM", limiter("CRM", crmPermitsPerSecond, crmBurst),
+                "ERP", limiter("ERP", erpPermitsPerSecond, erpBurst),
+                "ACCOUNTING", limiter("ACCOUNTING", accountingPermitsPerSecond, accountingBurst),
+                "SALESFORCE", limiter("SALESFORCE", salesforcePermitsPerSecond, salesforceBurst));
+    }
+
+    /**
+     * Returns the source's limiter; sources without one are not limited.
+     */
+    public SourceRateLimiter forSource(String sourceName) {
+        SourceRateLimiter limiter = limiters.get(sourceName);
+        return limiter != null ? limiter : limiter(sourceName, 0, 1);
+    }
+
+    private static SourceRateLimiter limiter(String sourceName, double permitsPerSecond, int burst) {
+        return new SourceRateLimiter(sourceName, permitsPerSecond, burst, System::nanoTime);
+    }
+}
@@ -0,0 +1,126 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.PaginatedResponse;
+import com.dataplatform.dto.RawRecord;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams a page/size response, slicing out each {@code content} element's JSON as-is with its {@code id}.
+ */
+final class RawPageParser {
+
+    private static final ObjectMapper ITEM_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final JsonFactory JSON_FACTORY = ITEM_MAPPER.getFactory();
+
+    private RawPageParser() {
+    }
+
+    static ObjectReader itemReader(Type itemType) {
+        return ITEM_MAPPER.readerFor(ITEM_MAPPER.getTypeFactory().constructType(itemType));
+    }
+
+    static PaginatedResponse<RawRecord> parse(InputStream body, ObjectReader itemReader) throws IOException {
+        return parse(body.readAllBytes(), itemReader);
+    }
+
+    static PaginatedResponse<RawRecord> parse(byte[] bytes) throws IOException {
+        return parse(bytes, null);
+    }
+
+    /**
+     * With a null {@code itemReader} the records carry no item.
+     */
+    static PaginatedResponse<RawRecord> parse(byte[] bytes, ObjectReader itemReader) throws IOException {
+        PaginatedResponse<RawRecord> page = new PaginatedResponse<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(bytes)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a paginated response object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "content" -> page.setContent(readContent(parser, bytes, itemReader));
+                    case "page" -> page.setPage(parser.getValueAsInt());
+                    case "size" -> page.setSize(parser.getValueAsInt());
+                    case "totalElements" -> page.setTotalElements(parser.getValueAsLong());
+                    case "totalPages" -> page.setTotalPages(parser.getValueAsInt());
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return page;
+    }
+
+    private static List<RawRecord> readContent(JsonParser parser, byte[] bytes, ObjectReader itemReader)
+            throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected 'content' to be an array");
+        }
+
+        List<RawRecord> records = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            int start = (int) parser.currentTokenLocation().getByteOffset();
+            String externalId = null;
+            Object item = null;
+            if (parser.currentToken() == JsonToken.START_OBJECT && itemReader != null) {
+                JsonNode element = itemReader.readTree(parser);
+                JsonNode id = element.get("id");
+                if (id != null && id.isValueNode() && !id.isNull()) {
+                    externalId = id.asText();
+                }
+                item = bind(itemReader, element);
+            } else if (parser.currentToken() == JsonToken.START_OBJECT) {
+                externalId = readIdAndSkip(parser);
+            } else {
+                parser.skipChildren();
+            }
+            int end = (int) parser.currentLocation().getByteOffset();
+            records.add(new RawRecord(externalId, new String(bytes, start, end - start, StandardCharsets.UTF_8), item));
+        }
+        return records;
+    }
+
+    /**
+     * Null if the element does not fit the DTO; transforming its raw JSON reports that per record.
+     */
+    private static Object bind(ObjectReader itemReader, JsonNode element) {
+        try {
+            return itemReader.readValue(element);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private static String readIdAndSkip(JsonParser parser) throws IOException {
+        String externalId = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("id".equals(field) && value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                externalId = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return externalId;
+    }
+}
@@ -0,0 +1,163 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.PaginatedResponse;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * WebClient counterpart of {@link ConcurrentPageFetcher}, requesting pages only as the subscriber takes them.
+ */
+@Slf4j
+final class ReactivePageFetcher {
+
+    static final String CLIENT_MODE_BLOCKING = "BLOCKING";
+    static final String CLIENT_MODE_REACTIVE = "REACTIVE";
+
+    /**
+     * A single attempt at one page; retries are the fetcher's concern.
+     */
+    @FunctionalInterface
+    interface PageFetcher<T> {
+        Mono<PaginatedResponse<T>> fetch(int page, int size);
+    }
+
+    private record FetchedPage<T>(PaginatedResponse<T> response, int size, int skip, long latencyMs) {
+    }
+
+    private ReactivePageFetcher() {
+    }
+
+    static boolean isReactive(String clientMode) {
+        return CLIENT_MODE_REACTIVE.equalsIgnoreCase(clientMode);
+    }
+
+    static <T> Flux<List<T>> pages(SourceRetrier retrier,
+                                   String itemName,
+                                   int concurrency,
+                                   AdaptivePageSizer sizer,
+                                   PageFetcher<T> pageFetcher,
+                                   ToLongFunction<T> itemBytes) {
+        return Flux.defer(() -> {
+            Walk<T> walk = new Walk<>(retrier.sourceLabel() + " " + itemName, sizer, itemBytes);
+            return fetch(retrier, pageFetcher, walk, walk.claim())
+                    .flatMapMany(first -> {
+                        List<T> firstPage = walk.accept(first);
+                        if (firstPage == null) {
+                            return Flux.empty();
+                        }
+                        Flux<List<T>> rest = Flux.<AdaptivePageSizer.PageRequest>generate(sink -> {
+                                    AdaptivePageSizer.PageRequest claim = walk.hasMore() ? walk.claim() : null;
+                                    if (claim != null) {
+                                        sink.next(claim);
+                                    } else {
+                                        sink.complete();
+                                    }
+                                })
+                                .flatMapSequential(claim -> fetch(retrier, pageFetcher, walk, claim),
+                                        Math.max(1, concurrency), 1)
+                                .handle((page, sink) -> {
+                                    List<T> content = walk.accept(page);
+                                    if (content != null) {
+                                        sink.next(content);
+                                    } else {
+                                        sink.complete();
+                                    }
+                                });
+                        return Flux.just(firstPage).concatWith(rest);
+                    });
+        });
+    }
+
+    private static <T> Mono<FetchedPage<T>> fetch(SourceRetrier retrier,
+                                                  PageFetcher<T> pageFetcher,
+                                                  Walk<T> walk,
+                                                  AdaptivePageSizer.PageRequest claim) {
+        return retrier.mono(walk.operation(claim.page()), () -> attempt(pageFetcher, walk.sizer, claim))
+                // Signal off the event loop: accepting a page notifies the page-size listener, which persists
+                .publishOn(Schedulers.boundedElastic());
+    }
+
+    private static <T> Mono<FetchedPage<T>> attempt(PageFetcher<T> pageFetcher,
+                                                    AdaptivePageSizer sizer,
+                                                    AdaptivePageSizer.PageRequest request) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return pageFetcher.fetch(request.page(), request.size())
+                    .map(response -> new FetchedPage<>(response, request.size(), request.skip(), elapsedMs(start)))
+                    // An empty body ends the walk, as a null body does for the blocking fetcher
+                    .switchIfEmpty(Mono.fromSupplier(
+                            () -> new FetchedPage<T>(null, request.size(), request.skip(), elapsedMs(start))))
+                    .doOnError(ex -> sizer.recordFailure());
+        });
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Offset bookkeeping for one subscription. Claims and accepts are serialized by the
+     * operators; the lock only makes the hand-off between threads visible.
+     */
+    private static final class Walk<T> {
+        private final String itemLabel;
+        private final AdaptivePageSizer sizer;
+        private final ToLongFunction<T> itemBytes;
+        private long nextOffset;
+        private long totalElements;
+        private int pages;
+        private int fetched;
+
+        Walk(String itemLabel, AdaptivePageSizer sizer, ToLongFunction<T> itemBytes) {
+            this.itemLabel = itemLabel;
+            this.sizer = sizer;
+            this.itemBytes = itemBytes;
+        }
+
+        String operation(int page) {
+            return itemLabel + " page " + page;
+        }
+
+        synchronized boolean hasMore() {
+            return nextOffset < totalElements;
+        }
+
+        synchronized AdaptivePageSizer.PageRequest claim() {
+            AdaptivePageSizer.PageRequest request = sizer.requestAt(nextOffset);
+            nextOffset += request.size() - request.skip();
+            return request;
+        }
+
+        /**
+         * Records the page and returns its content, or null if the source returned no content.
+         */
+        synchronized List<T> accept(FetchedPage<T> page) {
+            PaginatedResponse<T> response = page.response();
+            if (response == null || response.getContent() == null) {
+                return null;
+            }
+            List<T> content = response.getContent();
+            boolean notModified = ConditionalPages.isNotModified(response);
+            if (!notModified) {
+                sizer.recordPage(page.size(), page.latencyMs(), content.stream().mapToLong(itemBytes).sum());
+            }
+            content = content.subList(Math.min(page.skip(), content.size()), content.size());
+            fetched += content.size();
+            pages++;
+            // A 304 carries no totals; those of the pages actually downloaded stand
+            if (!notModified) {
+                // Fall back to totalPages for sources that do not report totalElements
+                totalElements = response.getTotalElements() > 0
+                        ? response.getTotalElements()
+                        : (long) response.getTotalPages() * page.size();
+            }
+            log.info("Fetched page {} ({}/{} {} so far)", pages, fetched, totalElements, itemLabel);
+            return content;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.SalesforceContact;
+import com.dataplatform.dto.SalesforceQueryResult;
+import com.dataplatform.exception.IntegrationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * WebClient Salesforce query connector that follows {@code nextRecordsUrl} on demand.
+ */
+@Slf4j
+@Component
+public class ReactiveSalesforceApiClient {
+
+    private final WebClient webClient;
+    private final SalesforceAuthService authService;
+    private final String apiVersion;
+    private final SourceRetrier retrier;
+
+    public ReactiveSalesforceApiClient(
+            @Qualifier("salesforceWebClient") WebClient webClient,
+            SalesforceAuthService authService,
+            RetryScheduler retryScheduler,
+            @Value("${integration.salesforce.api-version}") String apiVersion,
+            @Value("${integration.salesforce.max-retries}") int maxRetries) {
+        this.webClient = webClient;
+        this.authService = authService;
+        this.apiVersion = apiVersion;
+        this.retrier = retryScheduler.forSource("SALESFORCE", "Salesforce", maxRetries);
+    }
+
+    public Flux<List<SalesforceContact>> contactPages(String soql) {
+        return blocking(authService::getInstanceUrl)
+                .flatMapMany(instanceUrl -> CursorPageFetcher.pages(retrier, "contacts",
+                        Mono.just(queryUri(instanceUrl, soql)),
+                        uri -> executeQuery(uri).mapNotNull(result -> SalesforceApiClient.toPage(result, instanceUrl))));
+    }
+
+    private Mono<SalesforceQueryResult> executeQuery(URI url) {
+        return blocking(authService::getAccessToken)
+                .flatMap(token -> exchange(url, token)
+                        .onErrorResume(WebClientResponseException.Unauthorized.class, ex -> {
+                            log.warn("Salesforce 401 — refreshing token and retrying");
+                            return blocking(() -> authService.refreshToken(token))
+                                    .flatMap(refreshed -> exchange(url, refreshed))
+                                    .onErrorMap(WebClientResponseException.Unauthorized.class,
+                                            again -> new IntegrationException(
+                                                    "Salesforce authentication failed after token refresh", again));
+                        }));
+    }
+
+    private Mono<SalesforceQueryResult> exchange(URI url, String token) {
+        return webClient.get()
+                .uri(url)
+                .headers(headers -> headers.setBearerAuth(token))
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(SalesforceQueryResult.class);
+    }
+
+    private URI queryUri(String instanceUrl, String soql) {
+        return UriComponentsBuilder
+                .fromHttpUrl(instanceUrl + "/services/data/" + apiVersion + "/query")
+                .queryParam("q", soql)
+                .build()
+                .encode()
+                .toUri();
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        // A token request is a blocking RestTemplate call and must not run on the event loop
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
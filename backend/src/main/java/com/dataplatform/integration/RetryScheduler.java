@@ -0,0 +1,344 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.exception.CircuitOpenException;
+import com.dataplatform.exception.IntegrationException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Retries source attempts after a backoff that waits on a timer thread rather than a fetch worker.
+ */
+@Slf4j
+@Component
+public class RetryScheduler {
+
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final double jitter;
+    private final long maxRetryAfterMs;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final RateLimiterRegistry rateLimiters;
+    private final IntegrationMetrics metrics;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService retryExecutor;
+
+    public RetryScheduler(
+            @Value("${integration.retry.initial-backoff-ms}") long initialBackoffMs,
+            @Value("${integration.retry.max-backoff-ms}") long maxBackoffMs,
+            @Value("${integration.retry.jitter}") double jitter,
+            @Value("${integration.retry.max-retry-after-ms}") long maxRetryAfterMs,
+            CircuitBreakerRegistry circuitBreakers,
+            RateLimiterRegistry rateLimiters,
+            IntegrationMetrics metrics) {
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.jitter = jitter;
+        this.maxRetryAfterMs = maxRetryAfterMs;
+        this.circuitBreakers = circuitBreakers;
+        this.rateLimiters = rateLimiters;
+        this.metrics = metrics;
+        CustomizableThreadFactory timerThreads = new CustomizableThreadFactory("integration-retry-timer-");
+        timerThreads.setDaemon(true);
+        this.timer = Executors.newSingleThreadScheduledExecutor(timerThreads);
+        CustomizableThreadFactory retryThreads = new CustomizableThreadFactory("integration-retry-");
+        retryThreads.setDaemon(true);
+        this.retryExecutor = Executors.newCachedThreadPool(retryThreads);
+    }
+
+    public SourceRetrier forSource(String sourceName, String sourceLabel, int maxAttempts) {
+        return new SourceRetrier(this, circuitBreakers.forSource(sourceName), rateLimiters.forSource(sourceName),
+                sourceLabel, maxAttempts);
+    }
+
+    /**
+     * Runs {@code attempt} on {@code executor}, retrying on the timer until it succeeds, fails
+     * with a non-retryable error or {@code maxAttempts} is reached.
+     */
+    <T> CompletableFuture<T> submit(SourceCircuitBreaker breaker,
+                                    SourceRateLimiter limiter,
+                                    String sourceLabel,
+                                    String operation,
+                                    int maxAttempts,
+                                    Executor executor,
+                                    Supplier<T> attempt) {
+        Attempt<T> state = new Attempt<>(breaker, limiter, sourceLabel, operation, maxAttempts, executor,
+                blocking(attempt));
+        dispatch(state);
+        return state.future;
+    }
+
+    /**
+     * Non-blocking variant: {@code attempt} starts a request and returns its pending result.
+     * Attempts, including retries, are started on the thread that dispatches them (the caller,
+     * then the timer), so {@code attempt} must not block.
+     */
+    <T> CompletableFuture<T> submitAsync(SourceCircuitBreaker breaker,
+                                         SourceRateLimiter limiter,
+                                         String sourceLabel,
+                                         String operation,
+                                         int maxAttempts,
+                                         Supplier<? extends CompletionStage<T>> attempt) {
+        Attempt<T> state = new Attempt<>(breaker, limiter, sourceLabel, operation, maxAttempts, Runnable::run,
+                attempt);
+        dispatch(state);
+        return state.future;
+    }
+
+    /**
+     * Blocking variant for callers that need the result on the current thread. The first attempt
+     * runs inline; retries run on a shared pool.
+     */
+    <T> T execute(SourceCircuitBreaker breaker,
+                  SourceRateLimiter limiter,
+                  String sourceLabel,
+                  String operation,
+                  int maxAttempts,
+                  Supplier<T> attempt) {
+        Attempt<T> state = new Attempt<>(breaker, limiter, sourceLabel, operation, maxAttempts, retryExecutor,
+                blocking(attempt));
+        run(state);
+        return await(state.future, operation);
+    }
+
+    static <T> T await(CompletableFuture<T> future, String operation) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new IntegrationException("Interrupted while fetching " + operation, ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IntegrationException("Failed to fetch " + operation + ": " + ex.getCause().getMessage(),
+                    ex.getCause());
+        }
+    }
+
+    private static <T> Supplier<CompletionStage<T>> blocking(Supplier<T> attempt) {
+        return () -> CompletableFuture.completedFuture(attempt.get());
+    }
+
+    private <T> void dispatch(Attempt<T> state) {
+        if (state.future.isDone()) {
+            return;
+        }
+        try {
+            state.executor.execute(() -> run(state));
+        } catch (RejectedExecutionException ex) {
+            state.future.completeExceptionally(
+                    new IntegrationException("Fetch of " + state.operation + " was cancelled", ex));
+        }
+    }
+
+    private <T> void run(Attempt<T> state) {
+        if (state.future.isDone()) {
+            return;
+        }
+        if (!state.permitReserved) {
+            long waitNanos = state.limiter.reserve();
+            if (waitNanos > 0) {
+                metrics.recordLimiterWait(state.limiter.getSourceName(), waitNanos);
+                state.permitReserved = true;
+                schedule(state, waitNanos, TimeUnit.NANOSECONDS);
+                return;
+            }
+        }
+        // Every attempt, including each retry, spends its own permit
+        state.permitReserved = false;
+        try {
+            state.breaker.acquirePermission();
+        } catch (CircuitOpenException ex) {
+            state.future.completeExceptionally(ex);
+            return;
+        }
+        CompletionStage<T> pending;
+        try {
+            state.attempt++;
+            pending = state.supplier.get();
+        } catch (RuntimeException ex) {
+            onFailure(state, ex);
+            return;
+        }
+        pending.whenComplete((result, error) -> {
+            if (error != null) {
+                onFailure(state, unwrap(error, state.operation));
+                return;
+            }
+            state.breaker.recordSuccess();
+            state.future.complete(result);
+        });
+    }
+
+    private static RuntimeException unwrap(Throwable error, String operation) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof RuntimeException runtimeException
+                ? runtimeException
+                : new IntegrationException("Failed to fetch " + operation + ": " + cause.getMessage(), cause);
+    }
+
+    private <T> void onFailure(Attempt<T> state, RuntimeException ex) {
+        if (!isRetryable(ex)) {
+            // A 4xx still means the source answered; anything else is not a health signal
+            if (statusOf(ex) != null) {
+                state.breaker.recordSuccess();
+            } else {
+                state.breaker.release();
+            }
+            state.future.completeExceptionally(ex instanceof RestClientException || ex instanceof WebClientException
+                    ? new IntegrationException("Failed to fetch " + state.operation + ": " + ex.getMessage(), ex)
+                    : ex);
+            return;
+        }
+        state.breaker.recordFailure();
+        if (state.attempt >= state.maxAttempts) {
+            log.warn("{} API request failed ({}, attempt {}/{}): {}",
+                    state.sourceLabel, state.operation, state.attempt, state.maxAttempts, ex.getMessage());
+            state.future.completeExceptionally(new IntegrationException(
+                    String.format("Failed to fetch %s after %d attempts", state.operation, state.maxAttempts), ex));
+            return;
+        }
+
+        long delayMs = delayFor(state.attempt, ex);
+        log.warn("{} API request failed ({}, attempt {}/{}), retrying in {}ms: {}",
+                state.sourceLabel, state.operation, state.attempt, state.maxAttempts, delayMs, ex.getMessage());
+        schedule(state, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private <T> void schedule(Attempt<T> state, long delay, TimeUnit unit) {
+        try {
+            timer.schedule(() -> dispatch(state), delay, unit);
+        } catch (RejectedExecutionException rejected) {
+            state.future.completeExceptionally(
+                    new IntegrationException("Fetch of " + state.operation + " was cancelled", rejected));
+        }
+    }
+
+    static boolean isRetryable(RuntimeException ex) {
+        HttpStatusCode statusCode = statusOf(ex);
+        if (statusCode != null) {
+            int status = statusCode.value();
+            return status == HttpStatus.REQUEST_TIMEOUT.value()
+                    || status == HttpStatus.TOO_MANY_REQUESTS.value()
+                    || statusCode.is5xxServerError();
+        }
+        return ex instanceof RestClientException || ex instanceof WebClientRequestException;
+    }
+
+    /**
+     * The response status of a RestTemplate or WebClient error, or null if no response arrived.
+     */
+    private static HttpStatusCode statusOf(RuntimeException ex) {
+        if (ex instanceof HttpStatusCodeException statusEx) {
+            return statusEx.getStatusCode();
+        }
+        if (ex instanceof WebClientResponseException responseEx) {
+            return responseEx.getStatusCode();
+        }
+        return null;
+    }
+
+    long delayFor(int failedAttempts, RuntimeException ex) {
+        Long retryAfterMs = retryAfterMs(ex);
+        if (retryAfterMs != null) {
+            return Math.min(retryAfterMs, maxRetryAfterMs);
+        }
+        long backoff = initialBackoffMs << Math.min(failedAttempts - 1, 30);
+        backoff = Math.min(backoff, maxBackoffMs);
+        // Jitter spreads retries from concurrent fetches so they do not hit the source in lockstep
+        long spread = (long) (backoff * jitter);
+        return backoff - (spread > 0 ? ThreadLocalRandom.current().nextLong(spread + 1) : 0);
+    }
+
+    static Long retryAfterMs(RuntimeException ex) {
+        HttpStatusCode statusCode = statusOf(ex);
+        if (statusCode == null) {
+            return null;
+        }
+        int status = statusCode.value();
+        if (status != HttpStatus.TOO_MANY_REQUESTS.value() && status != HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            return null;
+        }
+        HttpHeaders headers = ex instanceof HttpStatusCodeException statusEx
+                ? statusEx.getResponseHeaders()
+                : ((WebClientResponseException) ex).getHeaders();
+        String value = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()) * 1000);
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis());
+            } catch (DateTimeParseException notDate) {
+                return null;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        retryExecutor.shutdownNow();
+    }
+
+    private static final class Attempt<T> {
+        private final SourceCircuitBreaker breaker;
+        private final SourceRateLimiter limiter;
+        private final String sourceLabel;
+        private final String operation;
+        private final int maxAttempts;
+        private final Executor executor;
+        private final Supplier<? extends CompletionStage<T>> supplier;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private volatile int attempt;
+        private volatile boolean permitReserved;
+
+        private Attempt(SourceCircuitBreaker breaker,
+                        SourceRateLimiter limiter,
+                        String sourceLabel,
+                        String operation,
+                        int maxAttempts,
+                        Executor executor,
+                        Supplier<? extends CompletionStage<T>> supplier) {
+            this.breaker = breaker;
+            this.limiter = limiter;
+            this.sourceLabel = sourceLabel;
+            this.operation = operation;
+            this.maxAttempts = maxAttempts;
+            this.executor = executor;
+            this.supplier = supplier;
+        }
+    }
+}
@@ -4,111 +4,245 @@ import com.dataplatform.dto.SalesforceContact;
 import com.dataplatform.dto.SalesforceQueryResult;
 import com.dataplatform.exception.IntegrationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Slf4j
 @Component
-public class SalesforceApiClient {
+public class SalesforceApiClient implements SourceConnector<SalesforceContact> {
+
+    static final String MODE_AUTO = "AUTO";
+    static final String MODE_REST = "REST";
+    static final String MODE_BULK = "BULK";
 
     private final RestTemplate restTemplate;
     private final SalesforceAuthService authService;
+    private final SalesforceBulkQueryClient bulkQueryClient;
     private final String apiVersion;
-    private final int maxRetries;
+    private final String extractionMode;
+    private final long bulkThresholdRecords;
+    private final int maxBufferedBatches;
+    private final SourceRetrier retrier;
+    private final ReactiveSalesforceApiClient reactiveClient;
+    private final boolean reactive;
 
     private static final String SOQL_QUERY = "SELECT Id, FirstName, LastName, Email, Phone, " +
-            "MailingStreet, MailingCity, MailingState, MailingPostalCode, LastModifiedDate FROM Contact";
+            "MailingStreet, MailingCity, MailingState, MailingPostalCode, LastModifiedDate, SystemModstamp " +
+            "FROM Contact";
+    private static final String COUNT_QUERY = "SELECT COUNT() FROM Contact";
+
+    // SystemModstamp is indexed and also moves on system-driven changes, unlike LastModifiedDate
+    private static final String MODIFIED_SINCE_FILTER = " WHERE SystemModstamp >= ";
+    private static final DateTimeFormatter SOQL_DATE_TIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+    private static final DateTimeFormatter SALESFORCE_TIMESTAMP = new DateTimeFormatterBuilder()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+            .appendPattern("[XXX][XX][X]")
+            .toFormatter();
 
     public SalesforceApiClient(
-            RestTemplate restTemplate,
+            @Qualifier("salesforceRestTemplate") RestTemplate restTemplate,
             SalesforceAuthService authService,
+            SalesforceBulkQueryClient bulkQueryClient,
+            RetryScheduler retryScheduler,
             @Value("${integration.salesforce.api-version}") String apiVersion,
-            @Value("${integration.salesforce.max-retries}") int maxRetries) {
+            @Value("${integration.salesforce.max-retries}") int maxRetries,
+            @Value("${integration.salesforce.extraction-mode}") String extractionMode,
+            @Value("${integration.salesforce.bulk.threshold-records}") long bulkThresholdRecords,
+            @Value("${integration.salesforce.max-buffered-batches}") int maxBufferedBatches,
+            ReactiveSalesforceApiClient reactiveClient,
+            @Value("${integration.salesforce.client-mode}") String clientMode) {
         this.restTemplate = restTemplate;
         this.authService = authService;
+        this.bulkQueryClient = bulkQueryClient;
         this.apiVersion = apiVersion;
-        this.maxRetries = maxRetries;
+        this.extractionMode = extractionMode.toUpperCase();
+        this.bulkThresholdRecords = bulkThresholdRecords;
+        this.maxBufferedBatches = Math.max(1, maxBufferedBatches);
+        this.retrier = retryScheduler.forSource("SALESFORCE", "Salesforce", maxRetries);
+        this.reactiveClient = reactiveClient;
+        this.reactive = ReactivePageFetcher.isReactive(clientMode);
     }
 
     public List<SalesforceContact> fetchContacts() {
         List<SalesforceContact> allContacts = new ArrayList<>();
+        fetchContactPages(allContacts::addAll);
+        return allContacts;
+    }
+
+    public int fetchContactPages(Consumer<List<SalesforceContact>> pageHandler) {
+        return fetchContactPages(null, pageHandler);
+    }
+
+    @Override
+    public String getSourceName() {
+        return "SALESFORCE";
+    }
+
+    @Override
+    public int forEachPage(Consumer<List<SalesforceContact>> pageHandler) {
+        return fetchContactPages(pageHandler);
+    }
+
+    /**
+     * Streams every Contact to {@code pageHandler}, or with {@code modifiedSince} (UTC) only those
+     * whose SystemModstamp is at or after it. Contacts come through a Bulk API 2.0 query job when
+     * the extraction mode is BULK, or when it is AUTO and at least {@code bulk.threshold-records}
+     * Contacts match; otherwise through the REST query endpoint over the RestTemplate, for which
+     * {@link #contactPages} is the WebClient counterpart.
+     */
+    public int fetchContactPages(LocalDateTime modifiedSince, Consumer<List<SalesforceContact>> pageHandler) {
+        if (extractsInBulk(modifiedSince)) {
+            return fetchContactPagesInBulk(modifiedSince, pageHandler);
+        }
+        return fetchContactPagesByQuery(SOQL_QUERY + filter(modifiedSince), pageHandler);
+    }
+
+    /**
+     * Whether {@link #fetchContactPages(LocalDateTime, Consumer)} would extract through a Bulk API
+     * job; in AUTO mode this counts the matching Contacts.
+     */
+    public boolean extractsInBulk(LocalDateTime modifiedSince) {
+        return useBulk(filter(modifiedSince));
+    }
+
+    public int fetchContactPagesInBulk(LocalDateTime modifiedSince, Consumer<List<SalesforceContact>> pageHandler) {
+        return bulkQueryClient.fetchContactPages(SOQL_QUERY + filter(modifiedSince), pageHandler);
+    }
+
+    public boolean isReactive() {
+        return reactive;
+    }
+
+    /**
+     * REST query batches over the WebClient, whatever the client mode, with at most
+     * {@code max-buffered-batches} fetched ahead of the subscriber. Bulk extraction has no
+     * WebClient counterpart.
+     */
+    public Flux<List<SalesforceContact>> contactPages(LocalDateTime modifiedSince) {
+        return reactiveClient.contactPages(SOQL_QUERY + filter(modifiedSince))
+                .limitRate(maxBufferedBatches);
+    }
+
+    public long countContacts(LocalDateTime modifiedSince) {
+        return countContacts(filter(modifiedSince));
+    }
+
+    private static String filter(LocalDateTime modifiedSince) {
+        return modifiedSince != null ? MODIFIED_SINCE_FILTER + SOQL_DATE_TIME.format(modifiedSince) : "";
+    }
+
+    /**
+     * Parses a Salesforce datetime such as {@code 2024-01-15T10:30:00.000+0000} to UTC.
+     */
+    public static LocalDateTime parseTimestamp(String timestamp) {
+        if (timestamp == null || timestamp.isBlank()) {
+            return null;
+        }
+        return OffsetDateTime.parse(timestamp, SALESFORCE_TIMESTAMP)
+                .withOffsetSameInstant(ZoneOffset.UTC)
+                .toLocalDateTime();
+    }
+
+    private long countContacts(String filter) {
+        SalesforceQueryResult result = executeQueryWithRetry(queryUri(COUNT_QUERY + filter));
+        return result != null ? result.getTotalSize() : 0;
+    }
+
+    private boolean useBulk(String filter) {
+        if (MODE_BULK.equals(extractionMode)) {
+            return true;
+        }
+        if (!MODE_AUTO.equals(extractionMode)) {
+            return false;
+        }
+        long count = countContacts(filter);
+        boolean bulk = count >= bulkThresholdRecords;
+        log.info("{} Salesforce contacts to extract; using {} extraction (bulk threshold {})",
+                count, bulk ? MODE_BULK : MODE_REST, bulkThresholdRecords);
+        return bulk;
+    }
+
+    /**
+     * Follows {@code nextRecordsUrl} through the cursor engine, so batch N+1 is in flight while
+     * batch N is being staged, with at most {@code maxBufferedBatches} batches not yet staged.
+     */
+    private int fetchContactPagesByQuery(String soql, Consumer<List<SalesforceContact>> pageHandler) {
         String instanceUrl = authService.getInstanceUrl();
-        URI uri = UriComponentsBuilder
-                .fromHttpUrl(instanceUrl + "/services/data/" + apiVersion + "/query")
-                .queryParam("q", SOQL_QUERY)
-                .build()
-                .encode()
-                .toUri();
+        int fetched = CursorPageFetcher.forEachPage(retrier, "contacts", queryUri(soql), maxBufferedBatches,
+                uri -> toPage(executeQuery(uri), instanceUrl), pageHandler);
 
-        boolean hasMore = true;
-        String nextUrl = null;
-        while (hasMore) {
-            SalesforceQueryResult result = executeQueryWithRetry(nextUrl != null ? URI.create(nextUrl) : uri);
-            if (result == null || result.getRecords() == null) {
-                break;
-            }
-            allContacts.addAll(result.getRecords());
-            log.info("Fetched {} contacts so far (totalSize={})", allContacts.size(), result.getTotalSize());
-
-            if (result.isDone() || result.getNextRecordsUrl() == null) {
-                hasMore = false;
-            } else {
-                nextUrl = instanceUrl + result.getNextRecordsUrl();
-            }
+        log.info("Fetched {} total contacts from Salesforce", fetched);
+        return fetched;
+    }
+
+    /**
+     * A query batch as a cursor page; the cursor is the absolute {@code nextRecordsUrl}.
+     */
+    static CursorPageFetcher.CursorPage<SalesforceContact, URI> toPage(SalesforceQueryResult result,
+                                                                        String instanceUrl) {
+        if (result == null || result.getRecords() == null) {
+            return null;
         }
+        URI next = result.isDone() || result.getNextRecordsUrl() == null
+                ? null
+                : URI.create(instanceUrl + result.getNextRecordsUrl());
+        return new CursorPageFetcher.CursorPage<>(result.getRecords(), next, result.getTotalSize());
+    }
 
-        log.info("Fetched {} total contacts from Salesforce", allContacts.size());
-        return allContacts;
+    private URI queryUri(String soql) {
+        return UriComponentsBuilder
+                .fromHttpUrl(authService.getInstanceUrl() + "/services/data/" + apiVersion + "/query")
+                .queryParam("q", soql)
+                .build()
+                .encode()
+                .toUri();
     }
 
     private SalesforceQueryResult executeQueryWithRetry(URI url) {
-        boolean retried401 = false;
-
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
-            try {
-                HttpHeaders headers = new HttpHeaders();
-                headers.setBearerAuth(authService.getAccessToken());
-                headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-                HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-                ResponseEntity<SalesforceQueryResult> response = restTemplate.exchange(
-                        url, HttpMethod.GET, entity, SalesforceQueryResult.class);
-                return response.getBody();
-
-            } catch (HttpClientErrorException.Unauthorized ex) {
-                if (!retried401) {
-                    log.warn("Salesforce 401 — refreshing token and retrying");
-                    authService.refreshToken();
-                    retried401 = true;
-                    continue;
-                }
-                throw new IntegrationException("Salesforce authentication failed after token refresh", ex);
-
-            } catch (RestClientException ex) {
-                log.warn("Salesforce API request failed (attempt={}/{}): {}",
-                        attempt, maxRetries, ex.getMessage());
-                if (attempt == maxRetries) {
-                    throw new IntegrationException(
-                            "Failed to fetch Salesforce contacts after " + maxRetries + " attempts", ex);
-                }
-                try {
-                    Thread.sleep(1000L * attempt);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new IntegrationException("Interrupted during retry backoff", ie);
-                }
-            }
+        return retrier.execute("Salesforce contacts", () -> executeQuery(url));
+    }
+
+    private SalesforceQueryResult executeQuery(URI url) {
+        String token = authService.getAccessToken();
+        try {
+            return exchange(url, token);
+        } catch (HttpClientErrorException.Unauthorized ex) {
+            log.warn("Salesforce 401 — refreshing token and retrying");
+            token = authService.refreshToken(token);
+        }
+        try {
+            return exchange(url, token);
+        } catch (HttpClientErrorException.Unauthorized ex) {
+            throw new IntegrationException("Salesforce authentication failed after token refresh", ex);
         }
-        throw new IntegrationException("Failed to fetch Salesforce contacts");
+    }
+
+    private SalesforceQueryResult exchange(URI url, String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        HttpEntity<Void> entity = new HttpEntity<>(headers);
+
+        ResponseEntity<SalesforceQueryResult> response = restTemplate.exchange(
+                url, HttpMethod.GET, entity, SalesforceQueryResult.class);
+        return response.getBody();
     }
 }
@@ -3,6 +3,7 @@ package com.dataplatform.integration;
 import com.dataplatform.dto.SalesforceTokenResponse;
 import com.dataplatform.exception.IntegrationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -13,45 +14,137 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Holds the shared Salesforce OAuth token and refreshes it ahead of expiry, one request at a time.
+ */
 @Slf4j
 @Service
 public class SalesforceAuthService {
 
+    private static final String SOURCE_NAME = "SALESFORCE";
+
     private final RestTemplate restTemplate;
+    private final IntegrationMetrics metrics;
+    private final ConnectionPoolMonitor connectionPoolMonitor;
     private final String loginUrl;
     private final String clientId;
     private final String clientSecret;
+    private final Duration tokenTtl;
+    private final Duration refreshAhead;
+    private Clock clock = Clock.systemUTC();
 
-    private String cachedAccessToken;
-    private String cachedInstanceUrl;
+    private final Object lock = new Object();
+    private volatile Token token;
+    private CompletableFuture<Token> inFlight;
 
     public SalesforceAuthService(
-            RestTemplate restTemplate,
+            @Qualifier("salesforceRestTemplate") RestTemplate restTemplate,
+            IntegrationMetrics metrics,
+            ConnectionPoolMonitor connectionPoolMonitor,
             @Value("${integration.salesforce.login-url}") String loginUrl,
             @Value("${integration.salesforce.client-id}") String clientId,
-            @Value("${integration.salesforce.client-secret}") String clientSecret) {
+            @Value("${integration.salesforce.client-secret}") String clientSecret,
+            @Value("${integration.salesforce.token-ttl-seconds}") long tokenTtlSeconds,
+            @Value("${integration.salesforce.token-refresh-ahead-seconds}") long refreshAheadSeconds) {
         this.restTemplate = restTemplate;
+        this.metrics = metrics;
+        this.connectionPoolMonitor = connectionPoolMonitor;
         this.loginUrl = loginUrl;
         this.clientId = clientId;
         this.clientSecret = clientSecret;
+        this.tokenTtl = Duration.ofSeconds(tokenTtlSeconds);
+        this.refreshAhead = Duration.ofSeconds(refreshAheadSeconds);
     }
 
     public String getAccessToken() {
-        if (cachedAccessToken != null) {
-            return cachedAccessToken;
-        }
-        return refreshToken();
+        return currentToken().accessToken();
     }
 
     public String getInstanceUrl() {
-        if (cachedInstanceUrl != null) {
-            return cachedInstanceUrl;
-        }
-        refreshToken();
-        return cachedInstanceUrl;
+        return currentToken().instanceUrl();
     }
 
+    /**
+     * Forces a new token, joining a refresh that is already in flight.
+     */
     public String refreshToken() {
+        return refresh(token, true).accessToken();
+    }
+
+    /**
+     * Called after {@code rejectedToken} got a 401. If another caller has already replaced it,
+     * the newer token is returned without another request to Salesforce.
+     */
+    public String refreshToken(String rejectedToken) {
+        Token current = token;
+        if (current != null && !current.accessToken().equals(rejectedToken) && !current.isExpired(clock.instant())) {
+            return current.accessToken();
+        }
+        return refresh(current, true).accessToken();
+    }
+
+    private Token currentToken() {
+        Token current = token;
+        Instant now = clock.instant();
+        if (current != null && !current.isRefreshDue(now)) {
+            return current;
+        }
+        if (current != null && !current.isExpired(now)) {
+            // Refresh ahead of expiry: one caller refreshes, the rest keep using the valid token
+            try {
+                return refresh(current, false);
+            } catch (IntegrationException ex) {
+                log.warn("Early Salesforce token refresh failed, using current token until it expires: {}",
+                        ex.getMessage());
+                return current;
+            }
+        }
+        return refresh(current, true);
+    }
+
+    /**
+     * Replaces {@code stale} with a new token. Returns early if another caller already has.
+     */
+    private Token refresh(Token stale, boolean wait) {
+        CompletableFuture<Token> flight;
+        boolean leader = false;
+        synchronized (lock) {
+            Token current = token;
+            if (current != null && current != stale && !current.isRefreshDue(clock.instant())) {
+                return current;
+            }
+            if (inFlight == null) {
+                inFlight = new CompletableFuture<>();
+                leader = true;
+            } else if (!wait && current != null) {
+                return current;
+            }
+            flight = inFlight;
+        }
+
+        if (leader) {
+            try {
+                Token fresh = requestToken();
+                token = fresh;
+                flight.complete(fresh);
+            } catch (RuntimeException ex) {
+                flight.completeExceptionally(ex);
+            } finally {
+                synchronized (lock) {
+                    inFlight = null;
+                }
+            }
+        }
+        return await(flight);
+    }
+
+    private Token requestToken() {
         log.info("Requesting new Salesforce OAuth token from {}", loginUrl);
 
         HttpHeaders headers = new HttpHeaders();
@@ -64,30 +157,78 @@ public class SalesforceAuthService {
 
         HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(params, headers);
 
+        SalesforceTokenResponse response;
         try {
-            SalesforceTokenResponse response = restTemplate.postForObject(
+            response = restTemplate.postForObject(
                     loginUrl + "/services/oauth2/token",
                     request,
                     SalesforceTokenResponse.class);
+        } catch (RestClientException ex) {
+            throw new IntegrationException("Failed to obtain Salesforce OAuth token: " + ex.getMessage(), ex);
+        }
+        if (response == null || response.getAccessToken() == null) {
+            throw new IntegrationException("Salesforce OAuth response missing access_token");
+        }
+        metrics.recordTokenRefresh(SOURCE_NAME);
 
-            if (response == null || response.getAccessToken() == null) {
-                throw new IntegrationException("Salesforce OAuth response missing access_token");
+        Instant issuedAt = issuedAt(response);
+        Duration ttl = response.getExpiresIn() != null ? Duration.ofSeconds(response.getExpiresIn()) : tokenTtl;
+        Instant expiresAt = issuedAt.plus(ttl);
+        log.info("Salesforce OAuth token obtained, instance_url={}, expires at {}",
+                response.getInstanceUrl(), expiresAt);
+        if (response.getInstanceUrl() != null) {
+            // Data calls go to the instance host, so that is where the connection limit belongs
+            connectionPoolMonitor.registerRoute(SOURCE_NAME, response.getInstanceUrl());
+        }
+        return new Token(response.getAccessToken(), response.getInstanceUrl(),
+                expiresAt.minus(refreshAhead), expiresAt);
+    }
+
+    private Instant issuedAt(SalesforceTokenResponse response) {
+        // issued_at is epoch milliseconds as a string
+        if (response.getIssuedAt() != null) {
+            try {
+                return Instant.ofEpochMilli(Long.parseLong(response.getIssuedAt()));
+            } catch (NumberFormatException ex) {
+                log.debug("Ignoring unparseable Salesforce issued_at '{}'", response.getIssuedAt());
             }
+        }
+        return clock.instant();
+    }
 
-            cachedAccessToken = response.getAccessToken();
-            cachedInstanceUrl = response.getInstanceUrl();
-            log.info("Salesforce OAuth token obtained, instance_url={}", cachedInstanceUrl);
-            return cachedAccessToken;
-        } catch (RestClientException ex) {
-            cachedAccessToken = null;
-            cachedInstanceUrl = null;
-            throw new IntegrationException("Failed to obtain Salesforce OAuth token: " + ex.getMessage(), ex);
+    private static Token await(CompletableFuture<Token> flight) {
+        try {
+            return flight.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationException("Interrupted while waiting for a Salesforce OAuth token", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IntegrationException("Failed to obtain Salesforce OAuth token: " + ex.getCause().getMessage(),
+                    ex.getCause());
         }
     }
 
     // Visible for testing
     void clearCache() {
-        cachedAccessToken = null;
-        cachedInstanceUrl = null;
+        token = null;
+    }
+
+    // Visible for testing
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    private record Token(String accessToken, String instanceUrl, Instant refreshAt, Instant expiresAt) {
+
+        boolean isRefreshDue(Instant now) {
+            return !now.isBefore(refreshAt);
+        }
+
+        boolean isExpired(Instant now) {
+            return !now.isBefore(expiresAt);
+        }
     }
 }
@@ -0,0 +1,261 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.SalesforceBulkJob;
+import com.dataplatform.dto.SalesforceContact;
+import com.dataplatform.exception.IntegrationException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Extracts Contacts through a Bulk API 2.0 query job, streaming its CSV result sets to the page handler.
+ */
+@Slf4j
+@Component
+public class SalesforceBulkQueryClient {
+
+    static final String JOB_COMPLETE = "JobComplete";
+    static final String FAILED = "Failed";
+    static final String ABORTED = "Aborted";
+
+    private static final String LOCATOR_HEADER = "Sforce-Locator";
+    private static final int BATCH_SIZE = 2000;
+    private static final ObjectMapper CONTACT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final RestTemplate restTemplate;
+    private final SalesforceAuthService authService;
+    private final String apiVersion;
+    private final long pollIntervalMs;
+    private final long timeoutMs;
+    private final int maxRecordsPerResult;
+    private final SourceRetrier retrier;
+
+    public SalesforceBulkQueryClient(
+            @Qualifier("salesforceRestTemplate") RestTemplate restTemplate,
+            SalesforceAuthService authService,
+            RetryScheduler retryScheduler,
+            @Value("${integration.salesforce.api-version}") String apiVersion,
+            @Value("${integration.salesforce.max-retries}") int maxRetries,
+            @Value("${integration.salesforce.bulk.poll-interval-ms}") long pollIntervalMs,
+            @Value("${integration.salesforce.bulk.timeout-ms}") long timeoutMs,
+            @Value("${integration.salesforce.bulk.max-records-per-result}") int maxRecordsPerResult) {
+        this.restTemplate = restTemplate;
+        this.authService = authService;
+        this.apiVersion = apiVersion;
+        this.pollIntervalMs = pollIntervalMs;
+        this.timeoutMs = timeoutMs;
+        this.maxRecordsPerResult = maxRecordsPerResult;
+        this.retrier = retryScheduler.forSource("SALESFORCE", "Salesforce", maxRetries);
+    }
+
+    public int fetchContactPages(String soql, Consumer<List<SalesforceContact>> pageHandler) {
+        String jobsUrl = authService.getInstanceUrl() + "/services/data/" + apiVersion + "/jobs/query";
+
+        SalesforceBulkJob job = retrier.execute("Salesforce bulk query job",
+                () -> withTokenRefresh(token -> createJob(jobsUrl, soql, token)));
+        if (job == null || job.getId() == null) {
+            throw new IntegrationException("Salesforce did not return a bulk query job id");
+        }
+        log.info("Created Salesforce bulk query job {}", job.getId());
+
+        String jobUrl = jobsUrl + "/" + job.getId();
+        SalesforceBulkJob completed = awaitCompletion(jobUrl);
+        log.info("Salesforce bulk query job {} completed with {} records",
+                completed.getId(), completed.getNumberRecordsProcessed());
+
+        int fetched = 0;
+        int resultSets = 0;
+        String locator = null;
+        do {
+            ResultSet resultSet = new ResultSet(resultsUri(jobUrl, locator), pageHandler);
+            locator = retrier.execute("Salesforce bulk results " + job.getId() + " set " + (resultSets + 1),
+                    () -> withTokenRefresh(resultSet::read));
+            fetched += resultSet.emitted;
+            resultSets++;
+            log.info("Fetched Salesforce bulk result set {} ({} contacts so far)", resultSets, fetched);
+        } while (locator != null);
+
+        log.info("Fetched {} total contacts from Salesforce bulk job {}", fetched, job.getId());
+        return fetched;
+    }
+
+    private SalesforceBulkJob awaitCompletion(String jobUrl) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (true) {
+            SalesforceBulkJob job = retrier.execute("Salesforce bulk job status",
+                    () -> withTokenRefresh(token -> getJob(jobUrl, token)));
+            String state = job != null ? job.getState() : null;
+            if (JOB_COMPLETE.equals(state)) {
+                return job;
+            }
+            if (FAILED.equals(state) || ABORTED.equals(state)) {
+                throw new IntegrationException(String.format("Salesforce bulk query job %s %s: %s",
+                        job.getId(), state.toLowerCase(), job.getErrorMessage()));
+            }
+            if (System.nanoTime() >= deadline) {
+                abortQuietly(jobUrl);
+                throw new IntegrationException(String.format(
+                        "Salesforce bulk query job did not complete within %dms (last state %s)", timeoutMs, state));
+            }
+            log.debug("Salesforce bulk query job is {}, polling again in {}ms", state, pollIntervalMs);
+            try {
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                abortQuietly(jobUrl);
+                throw new IntegrationException("Interrupted while waiting for Salesforce bulk query job", ex);
+            }
+        }
+    }
+
+    private SalesforceBulkJob createJob(String jobsUrl, String soql, String token) {
+        HttpEntity<Map<String, String>> request = new HttpEntity<>(
+                Map.of("operation", "query", "query", soql), jsonHeaders(token));
+        return restTemplate.exchange(URI.create(jobsUrl), HttpMethod.POST, request, SalesforceBulkJob.class)
+                .getBody();
+    }
+
+    private SalesforceBulkJob getJob(String jobUrl, String token) {
+        HttpEntity<Void> request = new HttpEntity<>(jsonHeaders(token));
+        return restTemplate.exchange(URI.create(jobUrl), HttpMethod.GET, request, SalesforceBulkJob.class)
+                .getBody();
+    }
+
+    private void abortQuietly(String jobUrl) {
+        try {
+            HttpEntity<Map<String, String>> request = new HttpEntity<>(
+                    Map.of("state", ABORTED), jsonHeaders(authService.getAccessToken()));
+            restTemplate.exchange(URI.create(jobUrl), HttpMethod.PATCH, request, SalesforceBulkJob.class);
+        } catch (RestClientException | IntegrationException ex) {
+            log.warn("Failed to abort Salesforce bulk query job {}: {}", jobUrl, ex.getMessage());
+        }
+    }
+
+    private URI resultsUri(String jobUrl, String locator) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(jobUrl + "/results")
+                .queryParam("maxRecords", maxRecordsPerResult);
+        if (locator != null) {
+            builder.queryParam("locator", locator);
+        }
+        return builder.build().encode().toUri();
+    }
+
+    private <T> T withTokenRefresh(Function<String, T> call) {
+        String token = authService.getAccessToken();
+        try {
+            return call.apply(token);
+        } catch (HttpClientErrorException.Unauthorized ex) {
+            log.warn("Salesforce 401 — refreshing token and retrying");
+        }
+        try {
+            return call.apply(authService.refreshToken(token));
+        } catch (HttpClientErrorException.Unauthorized ex) {
+            throw new IntegrationException("Salesforce authentication failed after token refresh", ex);
+        }
+    }
+
+    private static HttpHeaders jsonHeaders(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        return headers;
+    }
+
+    static SalesforceContact toContact(List<String> header, List<String> values) {
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            // Bulk results carry null as an empty field
+            String value = values.get(i);
+            fields.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        return CONTACT_MAPPER.convertValue(fields, SalesforceContact.class);
+    }
+
+    /**
+     * One result set. {@link #emitted} survives retries so rows already handed over are skipped.
+     */
+    private final class ResultSet {
+        private final URI uri;
+        private final Consumer<List<SalesforceContact>> pageHandler;
+        private int emitted;
+
+        private ResultSet(URI uri, Consumer<List<SalesforceContact>> pageHandler) {
+            this.uri = uri;
+            this.pageHandler = pageHandler;
+        }
+
+        String read(String token) {
+            return restTemplate.execute(uri, HttpMethod.GET,
+                    request -> {
+                        request.getHeaders().setBearerAuth(token);
+                        request.getHeaders().setAccept(List.of(new MediaType("text", "csv")));
+                    },
+                    this::extract);
+        }
+
+        private String extract(ClientHttpResponse response) throws IOException {
+            try (BufferedReader body = new BufferedReader(
+                    new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                SalesforceCsvReader csv = new SalesforceCsvReader(body);
+                List<String> header = csv.nextRow();
+                if (header != null) {
+                    List<SalesforceContact> batch = new ArrayList<>(BATCH_SIZE);
+                    int row = 0;
+                    List<String> values;
+                    while ((values = csv.nextRow()) != null) {
+                        if (values.size() == 1 && values.get(0).isEmpty()) {
+                            continue;
+                        }
+                        if (row++ < emitted) {
+                            continue;
+                        }
+                        batch.add(toContact(header, values));
+                        if (batch.size() == BATCH_SIZE) {
+                            flush(batch);
+                        }
+                    }
+                    flush(batch);
+                }
+            }
+            String locator = response.getHeaders().getFirst(LOCATOR_HEADER);
+            // The last result set reports the literal string "null"
+            return locator == null || locator.isBlank() || "null".equals(locator) ? null : locator;
+        }
+
+        private void flush(List<SalesforceContact> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            pageHandler.accept(List.copyOf(batch));
+            emitted += batch.size();
+            batch.clear();
+        }
+    }
+}
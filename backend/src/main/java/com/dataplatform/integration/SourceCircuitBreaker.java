@@ -0,0 +1,111 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.CircuitBreakerStateDTO;
+import com.dataplatform.exception.CircuitOpenException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Fails a source's attempts fast for a while after {@code failureThreshold} consecutive transient failures.
+ */
+@Slf4j
+public class SourceCircuitBreaker {
+
+    public static final String CLOSED = "CLOSED";
+    public static final String OPEN = "OPEN";
+    public static final String HALF_OPEN = "HALF_OPEN";
+
+    private final String sourceName;
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final Clock clock;
+
+    private String state = CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean probeInFlight;
+
+    SourceCircuitBreaker(String sourceName, int failureThreshold, long openDurationMs, Clock clock) {
+        this.sourceName = sourceName;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationMs = openDurationMs;
+        this.clock = clock;
+    }
+
+    public String getSourceName() {
+        return sourceName;
+    }
+
+    public synchronized String getState() {
+        return state;
+    }
+
+    /**
+     * Throws {@link CircuitOpenException} unless an attempt against the source may be made now.
+     */
+    public synchronized void acquirePermission() {
+        if (OPEN.equals(state) && !clock.instant().isBefore(retryAt())) {
+            transition(HALF_OPEN, "open duration elapsed");
+        }
+        if (OPEN.equals(state) || (HALF_OPEN.equals(state) && probeInFlight)) {
+            throw new CircuitOpenException(sourceName, String.format(
+                    "%s circuit is open after %d consecutive failures; next attempt allowed at %s",
+                    sourceName, consecutiveFailures, retryAt()));
+        }
+        if (HALF_OPEN.equals(state)) {
+            probeInFlight = true;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        if (!CLOSED.equals(state)) {
+            openedAt = null;
+            transition(CLOSED, "probe succeeded");
+        }
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        probeInFlight = false;
+        if (HALF_OPEN.equals(state) || (CLOSED.equals(state) && consecutiveFailures >= failureThreshold)) {
+            openedAt = clock.instant();
+            transition(OPEN, consecutiveFailures + " consecutive failures");
+        }
+    }
+
+    /**
+     * Ends an attempt that says nothing about the source's health, freeing a HALF_OPEN probe slot.
+     */
+    public synchronized void release() {
+        probeInFlight = false;
+    }
+
+    public synchronized CircuitBreakerStateDTO snapshot() {
+        return CircuitBreakerStateDTO.builder()
+                .sourceName(sourceName)
+                .state(state)
+                .consecutiveFailures(consecutiveFailures)
+                .openedAt(openedAt != null ? OffsetDateTime.ofInstant(openedAt, ZoneOffset.UTC) : null)
+                .retryAt(openedAt != null ? OffsetDateTime.ofInstant(retryAt(), ZoneOffset.UTC) : null)
+                .build();
+    }
+
+    private Instant retryAt() {
+        return openedAt.plusMillis(openDurationMs);
+    }
+
+    private void transition(String newState, String reason) {
+        if (OPEN.equals(newState)) {
+            log.warn("{} circuit {} -> {}: {}", sourceName, state, newState, reason);
+        } else {
+            log.info("{} circuit {} -> {}: {}", sourceName, state, newState, reason);
+        }
+        state = newState;
+    }
+}
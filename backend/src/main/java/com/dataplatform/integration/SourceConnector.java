@@ -0,0 +1,20 @@
+package com.dataplatform.integration;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A source the pipeline extracts from.
+ */
+public interface SourceConnector<T> {
+
+    /**
+     * Registry name the source's retries, rate limit and circuit breaker are keyed by.
+     */
+    String getSourceName();
+
+    /**
+     * Streams every item to {@code pageHandler} one page at a time and returns how many there were.
+     */
+    int forEachPage(Consumer<List<T>> pageHandler);
+}
@@ -0,0 +1,28 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.PaginatedResponse;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Declares a page/size endpoint: source name, item label, path and page DTO.
+ */
+public record SourceEndpoint<T>(String sourceName,
+                                String label,
+                                String itemName,
+                                String path,
+                                ParameterizedTypeReference<PaginatedResponse<T>> pageType) {
+
+    /**
+     * Path and query of one page, also the key its conditional GET validators are stored under.
+     */
+    String pageKey(int page, int size) {
+        return String.format("%s?page=%d&size=%d", path, page, size);
+    }
+
+    Type itemType() {
+        return ((ParameterizedType) pageType.getType()).getActualTypeArguments()[0];
+    }
+}
@@ -0,0 +1,53 @@
+package com.dataplatform.integration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket for one source; a rate of zero or less disables limiting.
+ */
+public final class SourceRateLimiter {
+
+    private final String sourceName;
+    private final double permitsPerSecond;
+    private final double burst;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    SourceRateLimiter(String sourceName, double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        this.sourceName = sourceName;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.nanoClock = nanoClock;
+        this.tokens = this.burst;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    public String getSourceName() {
+        return sourceName;
+    }
+
+    public boolean isLimited() {
+        return permitsPerSecond > 0;
+    }
+
+    /**
+     * Takes one permit and returns how many nanoseconds the caller must wait before using it.
+     */
+    public synchronized long reserve() {
+        if (!isLimited()) {
+            return 0;
+        }
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerSecond / TimeUnit.SECONDS.toNanos(1));
+        lastRefillNanos = now;
+        // Taken even from an empty bucket, so later requests queue up behind this one
+        tokens -= 1;
+        if (tokens >= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(-tokens / permitsPerSecond * TimeUnit.SECONDS.toNanos(1));
+    }
+}
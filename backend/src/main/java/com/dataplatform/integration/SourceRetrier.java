@@ -0,0 +1,51 @@
+package com.dataplatform.integration;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * {@link RetryScheduler} bound to one source's circuit breaker, rate limiter, label and attempt limit.
+ */
+public final class SourceRetrier {
+
+    private final RetryScheduler scheduler;
+    private final SourceCircuitBreaker breaker;
+    private final SourceRateLimiter limiter;
+    private final String sourceLabel;
+    private final int maxAttempts;
+
+    SourceRetrier(RetryScheduler scheduler,
+                  SourceCircuitBreaker breaker,
+                  SourceRateLimiter limiter,
+                  String sourceLabel,
+                  int maxAttempts) {
+        this.scheduler = scheduler;
+        this.breaker = breaker;
+        this.limiter = limiter;
+        this.sourceLabel = sourceLabel;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    String sourceLabel() {
+        return sourceLabel;
+    }
+
+    <T> CompletableFuture<T> submit(String operation, Executor executor, Supplier<T> attempt) {
+        return scheduler.submit(breaker, limiter, sourceLabel, operation, maxAttempts, executor, attempt);
+    }
+
+    <T> T execute(String operation, Supplier<T> attempt) {
+        return scheduler.execute(breaker, limiter, sourceLabel, operation, maxAttempts, attempt);
+    }
+
+    /**
+     * Retries a non-blocking request; each subscription starts a fresh run of attempts.
+     */
+    <T> Mono<T> mono(String operation, Supplier<Mono<T>> attempt) {
+        return Mono.defer(() -> Mono.fromFuture(scheduler.submitAsync(breaker, limiter, sourceLabel, operation,
+                maxAttempts, () -> attempt.get().toFuture())));
+    }
+}
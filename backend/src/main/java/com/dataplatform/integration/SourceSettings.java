@@ -0,0 +1,31 @@
+package com.dataplatform.integration;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-source paging and client settings from {@code integration.<key>.*} and {@code integration.paging.*}.
+ */
+public record SourceSettings(String baseUrl,
+                             int pageSize,
+                             int minPageSize,
+                             int maxPageSize,
+                             long targetPageLatencyMs,
+                             long maxPageBytes,
+                             int maxRetries,
+                             int fetchConcurrency,
+                             String clientMode) {
+
+    public static SourceSettings from(Environment environment, String key) {
+        String prefix = "integration." + key + ".";
+        return new SourceSettings(
+                environment.getRequiredProperty(prefix + "base-url"),
+                environment.getRequiredProperty(prefix + "page-size", Integer.class),
+                environment.getRequiredProperty(prefix + "min-page-size", Integer.class),
+                environment.getRequiredProperty(prefix + "max-page-size", Integer.class),
+                environment.getRequiredProperty("integration.paging.target-latency-ms", Long.class),
+                environment.getRequiredProperty("integration.paging.max-page-bytes", Long.class),
+                environment.getRequiredProperty(prefix + "max-retries", Integer.class),
+                environment.getRequiredProperty(prefix + "fetch-concurrency", Integer.class),
+                environment.getRequiredProperty(prefix + "client-mode"));
+    }
+}
@@ -0,0 +1,33 @@
+package com.dataplatform.model;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduces an error message to the part that is the same for every record failing the same way.
+ */
+public final class ErrorMessageTemplate {
+
+    public static final int MAX_LENGTH = 500;
+
+    private static final Pattern QUOTED = Pattern.compile("'[^']*'|\"[^\"]*\"");
+    private static final Pattern EMAIL = Pattern.compile("[\\w.+-]+@[\\w-]+(\\.[\\w-]+)*");
+    private static final Pattern UUID = Pattern.compile(
+            "\\b[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}\\b");
+    private static final Pattern WITH_DIGIT = Pattern.compile("[\\w.:/-]*\\d[\\w.:/-]*");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private ErrorMessageTemplate() {
+    }
+
+    public static String of(String message) {
+        if (message == null || message.isBlank()) {
+            return "";
+        }
+        String template = QUOTED.matcher(message).replaceAll("'?'");
+        template = EMAIL.matcher(template).replaceAll("<email>");
+        template = UUID.matcher(template).replaceAll("<id>");
+        template = WITH_DIGIT.matcher(template).replaceAll("<n>");
+        template = WHITESPACE.matcher(template).replaceAll(" ").trim();
+        return template.length() > MAX_LENGTH ? template.substring(0, MAX_LENGTH) : template;
+    }
+}
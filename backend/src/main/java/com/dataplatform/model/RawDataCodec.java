@@ -0,0 +1,78 @@
+package com.dataplatform.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Encodes a staged record's raw JSON, plain in {@code raw_data} or compressed in {@code raw_data_compressed}.
+ */
+public final class RawDataCodec {
+
+    public static final String NONE = "NONE";
+    public static final String GZIP = "GZIP";
+    // zlib framing: 6 bytes of header and checksum per row against gzip's 18
+    public static final String DEFLATE = "DEFLATE";
+
+    private RawDataCodec() {
+    }
+
+    /**
+     * The stored form of {@code json}. Records that would not get smaller are kept as plain text.
+     */
+    public static Encoded encode(String json, String codec) {
+        int rawBytes = json == null ? 0 : json.getBytes(StandardCharsets.UTF_8).length;
+        if (json == null || !(GZIP.equals(codec) || DEFLATE.equals(codec))) {
+            return new Encoded(json, null, null, rawBytes, rawBytes);
+        }
+        byte[] compressed = compress(json, codec);
+        if (compressed.length >= rawBytes) {
+            return new Encoded(json, null, null, rawBytes, rawBytes);
+        }
+        return new Encoded(null, compressed, codec, rawBytes, compressed.length);
+    }
+
+    /**
+     * The raw JSON of a stored row, whichever form it was stored in.
+     */
+    public static String decode(String rawData, byte[] compressed, String codec) {
+        if (codec == null || NONE.equals(codec)) {
+            return rawData;
+        }
+        if (!GZIP.equals(codec) && !DEFLATE.equals(codec)) {
+            throw new IllegalStateException("Unknown raw_data codec " + codec);
+        }
+        try (InputStream in = GZIP.equals(codec)
+                ? new GZIPInputStream(new ByteArrayInputStream(compressed))
+                : new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Corrupt " + codec.toLowerCase() + " raw_data", ex);
+        }
+    }
+
+    private static byte[] compress(String json, String codec) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length() / 4 + 32);
+        try (DeflaterOutputStream out = GZIP.equals(codec)
+                ? new GZIPOutputStream(bytes)
+                : new DeflaterOutputStream(bytes)) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Column values for one row plus its size before and after encoding.
+     */
+    public record Encoded(String rawData, byte[] compressed, String codec, int rawBytes, int storedBytes) {
+    }
+}
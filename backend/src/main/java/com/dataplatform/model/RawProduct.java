@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class RawProduct {
+public class RawProduct implements StagedRecord {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,9 +28,23 @@ public class RawProduct {
     @Column(name = "raw_data", columnDefinition = "VARCHAR(MAX)")
     private String rawData;
 
+    // Set instead of raw_data when the row was staged compressed
+    @Column(name = "raw_data_compressed", columnDefinition = "VARBINARY(MAX)")
+    private byte[] rawDataCompressed;
+
+    @Column(name = "raw_data_codec", length = 10)
+    private String rawDataCodec;
+
     @Column(name = "received_at")
     private LocalDateTime receivedAt;
 
+    /**
+     * The raw JSON, decompressed if the row was staged compressed.
+     */
+    public String getRawData() {
+        return RawDataCodec.decode(rawData, rawDataCompressed, rawDataCodec);
+    }
+
     @PrePersist
     protected void onCreate() {
         if (receivedAt == null) {
@@ -0,0 +1,43 @@
+package com.dataplatform.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "record_fingerprints", schema = "audit")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecordFingerprint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "source_name", nullable = false, length = 100)
+    private String sourceName;
+
+    @Column(name = "external_id", nullable = false, length = 100)
+    private String externalId;
+
+    // SHA-256 of the raw JSON last loaded for the record, hex encoded
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    // Job that last loaded the record; no foreign key so purging old jobs keeps the index
+    @Column(name = "sync_job_id")
+    private Long syncJobId;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,46 @@
+package com.dataplatform.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "source_page_validators", schema = "audit")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SourcePageValidator {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "source_name", nullable = false, length = 100)
+    private String sourceName;
+
+    @Column(name = "page_key", nullable = false, length = 400)
+    private String pageKey;
+
+    @Column(name = "etag", length = 400)
+    private String etag;
+
+    @Column(name = "last_modified", length = 100)
+    private String lastModified;
+
+    // Job that last downloaded the page
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sync_job_id", nullable = false)
+    private SyncJob syncJob;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,13 @@
+package com.dataplatform.model;
+
+/**
+ * A row of one of the staging.raw_* tables.
+ */
+public interface StagedRecord {
+
+    Long getId();
+
+    String getExternalId();
+
+    String getRawData();
+}
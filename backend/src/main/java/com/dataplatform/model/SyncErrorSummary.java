@@ -0,0 +1,48 @@
+package com.dataplatform.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * How often one error type and {@link ErrorMessageTemplate message template} occurred in a job.
+ */
+@Entity
+@Table(name = "sync_error_summaries", schema = "audit")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncErrorSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sync_job_id", nullable = false)
+    private Long syncJobId;
+
+    @Column(name = "error_type", nullable = false, length = 100)
+    private String errorType;
+
+    @Column(name = "message_template", nullable = false, length = 500)
+    private String messageTemplate;
+
+    @Column(name = "error_count", nullable = false)
+    private Integer errorCount;
+
+    // Occurrences also written to audit.sync_errors
+    @Column(name = "sample_count", nullable = false)
+    private Integer sampleCount;
+
+    @Column(name = "example_message", columnDefinition = "VARCHAR(MAX)")
+    private String exampleMessage;
+
+    @Column(name = "first_occurred_at")
+    private LocalDateTime firstOccurredAt;
+
+    @Column(name = "last_occurred_at")
+    private LocalDateTime lastOccurredAt;
+}
@@ -41,9 +41,69 @@ public class SyncJob {
     @Builder.Default
     private Integer recordsFailed = 0;
 
+    // Errors recorded for the job that could not be written to the error tables
+    @Column(name = "errors_lost")
+    private Integer errorsLost;
+
     @Column(name = "error_message", columnDefinition = "VARCHAR(MAX)")
     private String errorMessage;
 
+    @Column(name = "page_size")
+    private Integer pageSize;
+
+    @Column(name = "page_size_log", columnDefinition = "VARCHAR(MAX)")
+    private String pageSizeLog;
+
+    // UTC; lower bound of an incremental extract
+    @Column(name = "modified_since")
+    private LocalDateTime modifiedSince;
+
+    // UTC; newest source modification stamp staged by this job
+    @Column(name = "high_water_mark")
+    private LocalDateTime highWaterMark;
+
+    // Pages the source answered with 304 Not Modified
+    @Column(name = "page_cache_hits")
+    private Integer pageCacheHits;
+
+    // Pages downloaded in full
+    @Column(name = "page_cache_misses")
+    private Integer pageCacheMisses;
+
+    // Raw rows staged per second spent writing them
+    @Column(name = "staging_rows_per_second")
+    private Double stagingRowsPerSecond;
+
+    // Staged raw JSON before compression, and as stored
+    @Column(name = "staging_raw_bytes")
+    private Long stagingRawBytes;
+
+    @Column(name = "staging_stored_bytes")
+    private Long stagingStoredBytes;
+
+    // Staged records by fingerprint: not seen before, different from the last load, identical to it
+    @Column(name = "records_new")
+    private Integer recordsNew;
+
+    @Column(name = "records_changed")
+    private Integer recordsChanged;
+
+    @Column(name = "records_unchanged")
+    private Integer recordsUnchanged;
+
+    // Set once retention has purged the job's staged rows / sync errors / summaries / page validators
+    @Column(name = "staging_purged_at")
+    private LocalDateTime stagingPurgedAt;
+
+    @Column(name = "errors_purged_at")
+    private LocalDateTime errorsPurgedAt;
+
+    @Column(name = "error_summaries_purged_at")
+    private LocalDateTime errorSummariesPurgedAt;
+
+    @Column(name = "page_validators_purged_at")
+    private LocalDateTime pageValidatorsPurgedAt;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
@@ -7,7 +7,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface RawCustomerRepository extends JpaRepository<RawCustomer, Long> {
+public interface RawCustomerRepository extends JpaRepository<RawCustomer, Long>, StagedRecordRepository<RawCustomer> {
 
     List<RawCustomer> findBySyncJobId(Long syncJobId);
 }
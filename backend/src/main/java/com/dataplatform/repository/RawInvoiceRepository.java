@@ -7,7 +7,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface RawInvoiceRepository extends JpaRepository<RawInvoice, Long> {
+public interface RawInvoiceRepository extends JpaRepository<RawInvoice, Long>, StagedRecordRepository<RawInvoice> {
 
     List<RawInvoice> findBySyncJobId(Long syncJobId);
 }
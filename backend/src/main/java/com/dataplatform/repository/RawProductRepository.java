@@ -7,7 +7,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface RawProductRepository extends JpaRepository<RawProduct, Long> {
+public interface RawProductRepository extends JpaRepository<RawProduct, Long>, StagedRecordRepository<RawProduct> {
 
     List<RawProduct> findBySyncJobId(Long syncJobId);
 }
@@ -0,0 +1,14 @@
+package com.dataplatform.repository;
+
+import com.dataplatform.model.RecordFingerprint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RecordFingerprintRepository extends JpaRepository<RecordFingerprint, Long> {
+
+    List<RecordFingerprint> findBySourceNameAndExternalIdIn(String sourceName, Collection<String> externalIds);
+}
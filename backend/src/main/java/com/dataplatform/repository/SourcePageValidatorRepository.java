@@ -0,0 +1,21 @@
+package com.dataplatform.repository;
+
+import com.dataplatform.model.SourcePageValidator;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SourcePageValidatorRepository extends JpaRepository<SourcePageValidator, Long> {
+
+    List<SourcePageValidator> findBySourceName(String sourceName);
+
+    /**
+     * Validators whose last download was by a job in {@code status} with {@code recordsFailed}
+     * failed records, filtered in the query so the jobs need not be loaded one by one.
+     */
+    List<SourcePageValidator> findBySourceNameAndSyncJobStatusAndSyncJobRecordsFailed(String sourceName,
+                                                                                      String status,
+                                                                                      Integer recordsFailed);
+}
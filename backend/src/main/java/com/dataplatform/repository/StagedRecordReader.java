@@ -0,0 +1,61 @@
+package com.dataplatform.repository;
+
+import com.dataplatform.model.StagedRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads a job's staged rows in keyset chunks of {@code fetch-size} over the (sync_job_id, id) index.
+ */
+@Component
+public class StagedRecordReader {
+
+    private final int fetchSize;
+
+    public StagedRecordReader(@Value("${app.pipeline.staged-fetch-size}") int fetchSize) {
+        this.fetchSize = Math.max(1, fetchSize);
+    }
+
+    /**
+     * Hands the job's staged rows to {@code chunk} in id order and returns how many were read.
+     */
+    public <T extends StagedRecord> long forEachChunk(StagedRecordRepository<T> repository,
+                                                      Long syncJobId,
+                                                      Consumer<List<T>> chunk) {
+        PageRequest page = PageRequest.of(0, fetchSize);
+        long read = 0;
+        Long afterId = 0L;
+        List<T> records;
+        do {
+            records = repository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(syncJobId, afterId, page);
+            if (records.isEmpty()) {
+                break;
+            }
+            chunk.accept(records);
+            read += records.size();
+            afterId = records.get(records.size() - 1).getId();
+        } while (records.size() == fetchSize);
+        return read;
+    }
+
+    /**
+     * Up to {@code limit} of the job's staged rows after {@code afterId}, in id order, capped at
+     * {@code fetch-size}.
+     */
+    public <T extends StagedRecord> List<T> page(StagedRecordRepository<T> repository,
+                                                 Long syncJobId,
+                                                 Long afterId,
+                                                 int limit) {
+        int size = Math.max(1, Math.min(limit, fetchSize));
+        return repository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(syncJobId, afterId != null ? afterId : 0L,
+                PageRequest.of(0, size));
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+}
@@ -0,0 +1,19 @@
+package com.dataplatform.repository;
+
+import com.dataplatform.model.StagedRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+/**
+ * Keyset access to a job's staged rows over the (sync_job_id, id) index.
+ */
+@NoRepositoryBean
+public interface StagedRecordRepository<T extends StagedRecord> extends Repository<T, Long> {
+
+    List<T> findBySyncJobIdAndIdGreaterThanOrderByIdAsc(Long syncJobId, Long afterId, Pageable page);
+
+    boolean existsBySyncJobId(Long syncJobId);
+}
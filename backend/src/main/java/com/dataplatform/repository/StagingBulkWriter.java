@@ -0,0 +1,282 @@
+package com.dataplatform.repository;
+
+import com.dataplatform.dto.RawRecord;
+import com.dataplatform.model.RawDataCodec;
+import com.dataplatform.model.SyncJob;
+import com.microsoft.sqlserver.jdbc.ISQLServerBulkData;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopy;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopyOptions;
+import com.microsoft.sqlserver.jdbc.SQLServerConnection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+/**
+ * Inserts raw staging rows a chunk at a time, falling back to row by row when a chunk fails.
+ */
+@Slf4j
+@Repository
+public class StagingBulkWriter {
+
+    public static final String MODE_AUTO = "AUTO";
+    public static final String MODE_JDBC = "JDBC";
+    public static final String MODE_BULK_COPY = "BULK_COPY";
+
+    @FunctionalInterface
+    public interface FailureHandler {
+        void onFailure(RawRecord record, Exception ex);
+    }
+
+    /**
+     * Told which records of a chunk made it into the staging table, once they are committed.
+     */
+    @FunctionalInterface
+    public interface WrittenHandler {
+        void onWritten(List<RawRecord> records);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final String mode;
+    private final String compression;
+    private volatile Boolean bulkCopy;
+
+    public StagingBulkWriter(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.staging.chunk-size}") int chunkSize,
+                             @Value("${app.staging.writer}") String mode,
+                             @Value("${app.staging.compression}") String compression) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.mode = mode.toUpperCase();
+        this.compression = compression.toUpperCase();
+    }
+
+    public StagingSession open(StagingTable table, SyncJob job, FailureHandler onFailure) {
+        return open(table, job, onFailure, records -> { });
+    }
+
+    public StagingSession open(StagingTable table, SyncJob job, FailureHandler onFailure, WrittenHandler onWritten) {
+        return new StagingSession(this, table, job.getId(), chunkSize, onFailure, onWritten, null);
+    }
+
+    /**
+     * A session that writes on a background thread while the caller keeps going; {@code onFailure}
+     * is called on that thread.
+     */
+    public StagingSession openAsync(StagingTable table, SyncJob job, FailureHandler onFailure) {
+        return openAsync(table, job, onFailure, records -> { });
+    }
+
+    /**
+     * As {@link #openAsync(StagingTable, SyncJob, FailureHandler)}; {@code onWritten} is called on
+     * the background thread as well.
+     */
+    public StagingSession openAsync(StagingTable table, SyncJob job, FailureHandler onFailure,
+                                    WrittenHandler onWritten) {
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("staging-" + job.getId() + "-");
+        threads.setDaemon(true);
+        return new StagingSession(this, table, job.getId(), chunkSize, onFailure, onWritten,
+                Executors.newSingleThreadExecutor(threads));
+    }
+
+    /**
+     * Writes {@code chunk}; rows that cannot be inserted go to {@code onFailure}.
+     */
+    ChunkResult writeChunk(StagingTable table, long syncJobId, List<RawRecord> chunk, FailureHandler onFailure) {
+        Timestamp receivedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<StagedRow> rows = new ArrayList<>(chunk.size());
+        for (RawRecord record : chunk) {
+            rows.add(new StagedRow(record, RawDataCodec.encode(record.getRawData(), compression)));
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(table, syncJobId, rows, receivedAt));
+            log.debug("Staged {} rows into {} for job {}", rows.size(), table.getTableName(), syncJobId);
+            return ChunkResult.of(rows);
+        } catch (RuntimeException ex) {
+            log.warn("Staging a chunk of {} rows into {} failed, inserting them one by one: {}",
+                    rows.size(), table.getTableName(), ex.getMessage());
+        }
+        List<StagedRow> written = new ArrayList<>(rows.size());
+        for (StagedRow row : rows) {
+            try {
+                RawDataCodec.Encoded data = row.data();
+                jdbcTemplate.update(insertSql(table), syncJobId, row.record().getExternalId(),
+                        data.rawData(), data.compressed(), data.codec(), receivedAt);
+                written.add(row);
+            } catch (RuntimeException ex) {
+                onFailure.onFailure(row.record(), ex);
+            }
+        }
+        return ChunkResult.of(written);
+    }
+
+    private void insert(StagingTable table, long syncJobId, List<StagedRow> rows, Timestamp receivedAt) {
+        if (useBulkCopy()) {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                bulkCopy(connection, table, new RawRecordBulkData(syncJobId, rows, receivedAt));
+                return null;
+            });
+            return;
+        }
+        jdbcTemplate.batchUpdate(insertSql(table), rows, rows.size(), (statement, row) -> {
+            statement.setLong(1, syncJobId);
+            statement.setString(2, row.record().getExternalId());
+            statement.setString(3, row.data().rawData());
+            statement.setBytes(4, row.data().compressed());
+            statement.setString(5, row.data().codec());
+            statement.setTimestamp(6, receivedAt);
+        });
+    }
+
+    private static void bulkCopy(Connection connection, StagingTable table, RawRecordBulkData rows)
+            throws SQLException {
+        try (SQLServerBulkCopy bulkCopy = new SQLServerBulkCopy(connection.unwrap(SQLServerConnection.class))) {
+            SQLServerBulkCopyOptions options = new SQLServerBulkCopyOptions();
+            // Part of the surrounding transaction, and still checked against the sync_jobs foreign key
+            options.setUseInternalTransaction(false);
+            options.setCheckConstraints(true);
+            options.setBatchSize(rows.size());
+            bulkCopy.setBulkCopyOptions(options);
+            bulkCopy.setDestinationTableName(table.getTableName());
+            for (int column = 1; column <= RawRecordBulkData.COLUMNS.length; column++) {
+                bulkCopy.addColumnMapping(column, RawRecordBulkData.COLUMNS[column - 1]);
+            }
+            bulkCopy.writeToServer(rows);
+        }
+    }
+
+    private boolean useBulkCopy() {
+        if (bulkCopy == null) {
+            boolean sqlServer = MODE_BULK_COPY.equals(mode) || (MODE_AUTO.equals(mode) && isSqlServer());
+            log.info("Staging writer uses {}", sqlServer ? "SQLServerBulkCopy" : "JDBC batches");
+            bulkCopy = sqlServer;
+        }
+        return bulkCopy;
+    }
+
+    private boolean isSqlServer() {
+        Boolean sqlServer = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                connection.getMetaData().getDatabaseProductName().startsWith("Microsoft SQL Server"));
+        return Boolean.TRUE.equals(sqlServer);
+    }
+
+    private static String insertSql(StagingTable table) {
+        return "INSERT INTO " + table.getTableName()
+                + " (sync_job_id, external_id, raw_data, raw_data_compressed, raw_data_codec, received_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?)";
+    }
+
+    record StagedRow(RawRecord record, RawDataCodec.Encoded data) {
+    }
+
+    /**
+     * Rows written from a chunk and their JSON size before and after encoding.
+     */
+    record ChunkResult(List<RawRecord> records, long rawBytes, long storedBytes) {
+
+        static ChunkResult of(List<StagedRow> written) {
+            List<RawRecord> records = new ArrayList<>(written.size());
+            long rawBytes = 0;
+            long storedBytes = 0;
+            for (StagedRow row : written) {
+                records.add(row.record());
+                rawBytes += row.data().rawBytes();
+                storedBytes += row.data().storedBytes();
+            }
+            return new ChunkResult(records, rawBytes, storedBytes);
+        }
+
+        int rows() {
+            return records.size();
+        }
+    }
+
+    /**
+     * A chunk of staged rows as a bulk copy source, in {@link #COLUMNS} order.
+     */
+    static final class RawRecordBulkData implements ISQLServerBulkData {
+
+        static final String[] COLUMNS =
+                {"sync_job_id", "external_id", "raw_data", "raw_data_compressed", "raw_data_codec", "received_at"};
+        private static final int[] TYPES = {Types.BIGINT, Types.VARCHAR, Types.LONGVARCHAR, Types.LONGVARBINARY,
+                Types.VARCHAR, Types.TIMESTAMP};
+        private static final int[] PRECISIONS = {19, 100, Integer.MAX_VALUE, Integer.MAX_VALUE, 10, 27};
+        private static final int[] SCALES = {0, 0, 0, 0, 0, 7};
+
+        private final long syncJobId;
+        private final List<StagedRow> rows;
+        private final Timestamp receivedAt;
+        private transient Iterator<StagedRow> cursor;
+        private transient StagedRow current;
+
+        RawRecordBulkData(long syncJobId, List<StagedRow> rows, Timestamp receivedAt) {
+            this.syncJobId = syncJobId;
+            this.rows = rows;
+            this.receivedAt = receivedAt;
+        }
+
+        int size() {
+            return rows.size();
+        }
+
+        @Override
+        public Set<Integer> getColumnOrdinals() {
+            return Set.of(1, 2, 3, 4, 5, 6);
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column - 1];
+        }
+
+        @Override
+        public int getColumnType(int column) {
+            return TYPES[column - 1];
+        }
+
+        @Override
+        public int getPrecision(int column) {
+            return PRECISIONS[column - 1];
+        }
+
+        @Override
+        public int getScale(int column) {
+            return SCALES[column - 1];
+        }
+
+        @Override
+        public Object[] getRowData() {
+            RawDataCodec.Encoded data = current.data();
+            return new Object[]{syncJobId, current.record().getExternalId(), data.rawData(), data.compressed(),
+                    data.codec(), receivedAt};
+        }
+
+        @Override
+        public boolean next() {
+            if (cursor == null) {
+                cursor = rows.iterator();
+            }
+            current = cursor.hasNext() ? cursor.next() : null;
+            return current != null;
+        }
+    }
+}
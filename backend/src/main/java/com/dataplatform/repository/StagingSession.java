@@ -0,0 +1,176 @@
+package com.dataplatform.repository;
+
+import com.dataplatform.dto.RawRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Buffers one job's raw records for a staging table; not thread-safe.
+ */
+public class StagingSession implements AutoCloseable {
+
+    static final int MAX_PENDING_CHUNKS = 4;
+
+    private final StagingBulkWriter writer;
+    private final StagingTable table;
+    private final long syncJobId;
+    private final int chunkSize;
+    private final StagingBulkWriter.FailureHandler onFailure;
+    private final StagingBulkWriter.WrittenHandler onWritten;
+    private final List<RawRecord> buffer = new ArrayList<>();
+    private final ExecutorService background;
+    private final Semaphore pendingChunks = new Semaphore(MAX_PENDING_CHUNKS);
+    private final AtomicReference<RuntimeException> backgroundFailure = new AtomicReference<>();
+    private Future<?> lastWrite;
+    private int rowsWritten;
+    private int rowsFailed;
+    private long rawBytes;
+    private long storedBytes;
+    private long writeNanos;
+
+    StagingSession(StagingBulkWriter writer,
+                   StagingTable table,
+                   long syncJobId,
+                   int chunkSize,
+                   StagingBulkWriter.FailureHandler onFailure,
+                   StagingBulkWriter.WrittenHandler onWritten,
+                   ExecutorService background) {
+        this.writer = writer;
+        this.table = table;
+        this.syncJobId = syncJobId;
+        this.chunkSize = chunkSize;
+        this.onFailure = onFailure;
+        this.onWritten = onWritten;
+        this.background = background;
+    }
+
+    public void add(List<RawRecord> records) {
+        for (RawRecord record : records) {
+            buffer.add(record);
+            if (buffer.size() >= chunkSize) {
+                writeBuffer();
+            }
+        }
+    }
+
+    /**
+     * Writes whatever is buffered and, for an asynchronous session, waits for every chunk handed
+     * to the background thread.
+     */
+    public void flush() {
+        writeBuffer();
+        if (lastWrite != null) {
+            try {
+                lastWrite.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for staging writes", ex);
+            } catch (ExecutionException ex) {
+                // A runtime failure is already recorded, and may come from an earlier chunk than this one
+                backgroundFailure.compareAndSet(null, new IllegalStateException(ex.getCause()));
+            }
+        }
+        throwIfFailed();
+    }
+
+    private void throwIfFailed() {
+        RuntimeException failure = backgroundFailure.get();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void writeBuffer() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        List<RawRecord> chunk = new ArrayList<>(buffer);
+        buffer.clear();
+        if (background == null) {
+            write(chunk);
+            return;
+        }
+        throwIfFailed();
+        try {
+            pendingChunks.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to stage a chunk", ex);
+        }
+        lastWrite = background.submit(() -> {
+            try {
+                // Once a chunk has failed, later ones are not written
+                if (backgroundFailure.get() == null) {
+                    write(chunk);
+                }
+            } catch (RuntimeException ex) {
+                backgroundFailure.compareAndSet(null, ex);
+                throw ex;
+            } finally {
+                pendingChunks.release();
+            }
+        });
+    }
+
+    private void write(List<RawRecord> chunk) {
+        long start = System.nanoTime();
+        StagingBulkWriter.ChunkResult written = writer.writeChunk(table, syncJobId, chunk, onFailure);
+        writeNanos += System.nanoTime() - start;
+        rowsWritten += written.rows();
+        rowsFailed += chunk.size() - written.rows();
+        rawBytes += written.rawBytes();
+        storedBytes += written.storedBytes();
+        if (!written.records().isEmpty()) {
+            onWritten.onWritten(written.records());
+        }
+    }
+
+    public int getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public int getRowsFailed() {
+        return rowsFailed;
+    }
+
+    /**
+     * UTF-8 size of the JSON written, before compression.
+     */
+    public long getRawBytes() {
+        return rawBytes;
+    }
+
+    /**
+     * Size of raw_data as stored, compressed or not.
+     */
+    public long getStoredBytes() {
+        return storedBytes;
+    }
+
+    /**
+     * Rows written per second of time spent writing, or null if nothing was written.
+     */
+    public Double getRowsPerSecond() {
+        if (rowsWritten == 0 || writeNanos == 0) {
+            return null;
+        }
+        return rowsWritten * 1_000_000_000.0 / writeNanos;
+    }
+
+    @Override
+    public void close() {
+        try {
+            flush();
+        } finally {
+            if (background != null) {
+                background.shutdown();
+            }
+        }
+    }
+}
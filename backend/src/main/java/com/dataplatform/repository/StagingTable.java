@@ -0,0 +1,32 @@
+package com.dataplatform.repository;
+
+import java.util.List;
+
+/**
+ * Raw staging tables; all share the columns sync_job_id, external_id, raw_data and received_at.
+ */
+public enum StagingTable {
+
+    RAW_CUSTOMERS("staging.raw_customers", List.of("CRM", "SALESFORCE")),
+    RAW_PRODUCTS("staging.raw_products", List.of("ERP")),
+    RAW_INVOICES("staging.raw_invoices", List.of("ACCOUNTING"));
+
+    private final String tableName;
+    private final List<String> sourceNames;
+
+    StagingTable(String tableName, List<String> sourceNames) {
+        this.tableName = tableName;
+        this.sourceNames = sourceNames;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Sources whose jobs stage into this table.
+     */
+    public List<String> getSourceNames() {
+        return sourceNames;
+    }
+}
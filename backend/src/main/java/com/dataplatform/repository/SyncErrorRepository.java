@@ -1,6 +1,7 @@
 package com.dataplatform.repository;
 
 import com.dataplatform.model.SyncError;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +11,6 @@ import java.util.List;
 public interface SyncErrorRepository extends JpaRepository<SyncError, Long> {
 
     List<SyncError> findBySyncJobIdOrderByOccurredAtDesc(Long syncJobId);
+
+    List<SyncError> findBySyncJobIdOrderByOccurredAtDesc(Long syncJobId, Pageable page);
 }
@@ -0,0 +1,23 @@
+package com.dataplatform.repository;
+
+import com.dataplatform.model.SyncErrorSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SyncErrorSummaryRepository extends JpaRepository<SyncErrorSummary, Long> {
+
+    List<SyncErrorSummary> findBySyncJobIdOrderByErrorCountDesc(Long syncJobId, Pageable page);
+
+    /**
+     * Error count per error type for the job, largest first: rows of {errorType, count}.
+     */
+    @Query("SELECT s.errorType, SUM(s.errorCount) FROM SyncErrorSummary s WHERE s.syncJobId = :syncJobId "
+            + "GROUP BY s.errorType ORDER BY SUM(s.errorCount) DESC")
+    List<Object[]> countByErrorType(@Param("syncJobId") Long syncJobId);
+}
@@ -0,0 +1,390 @@
+package com.dataplatform.repository;
+
+import com.dataplatform.model.ErrorMessageTemplate;
+import com.dataplatform.model.SyncError;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts {@link SyncError}s per job, type and message template and writes them, with a few samples each, in batches.
+ */
+@Slf4j
+@Repository
+public class SyncErrorWriter {
+
+    public static final String OTHER_MESSAGES = "(other messages)";
+
+    static final int MAX_ATTEMPTS = 3;
+    static final int MAX_ERROR_TYPE_LENGTH = 100;
+
+    private static final String UNKNOWN_TYPE = "UNKNOWN";
+    private static final String INSERT_SQL = "INSERT INTO audit.sync_errors "
+            + "(sync_job_id, error_type, error_message, failed_record, occurred_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_SUMMARY_SQL = "UPDATE audit.sync_error_summaries "
+            + "SET error_count = error_count + ?, sample_count = ?, last_occurred_at = ? "
+            + "WHERE sync_job_id = ? AND error_type = ? AND message_template = ?";
+    private static final String INSERT_SUMMARY_SQL = "INSERT INTO audit.sync_error_summaries "
+            + "(sync_job_id, error_type, message_template, error_count, sample_count, example_message, "
+            + "first_occurred_at, last_occurred_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxPending;
+    private final int samplesPerTemplate;
+    private final int maxTemplatesPerJob;
+    private final ConcurrentLinkedQueue<PendingError> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Map<Long, Map<SummaryKey, Summary>> summaries = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Object writeLock = new Object();
+    private final ScheduledExecutorService flusher;
+
+    public SyncErrorWriter(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.sync-errors.batch-size}") int batchSize,
+                           @Value("${app.sync-errors.flush-interval-ms}") long flushIntervalMs,
+                           @Value("${app.sync-errors.max-pending}") int maxPending,
+                           @Value("${app.sync-errors.samples-per-template}") int samplesPerTemplate,
+                           @Value("${app.sync-errors.max-templates-per-job}") int maxTemplatesPerJob) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Independent of any transaction the flushing caller is in, e.g. completing the job
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxPending = Math.max(this.batchSize, maxPending);
+        this.samplesPerTemplate = Math.max(0, samplesPerTemplate);
+        this.maxTemplatesPerJob = Math.max(1, maxTemplatesPerJob);
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("sync-error-writer-");
+        threads.setDaemon(true);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(threads);
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Counts {@code error} and queues it for writing if it is one of the first samples of its
+     * kind. Its job must already be saved.
+     */
+    public void record(SyncError error) {
+        if (error.getOccurredAt() == null) {
+            error.setOccurredAt(LocalDateTime.now());
+        }
+        if (!summarize(error)) {
+            return;
+        }
+        queue.add(new PendingError(error, 0));
+        int waiting = pending.incrementAndGet();
+        if (waiting > maxPending) {
+            log.warn("{} sync errors waiting to be written, writing on the calling thread", waiting);
+            flush();
+        } else if (waiting >= batchSize && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushRequested.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    /**
+     * Writes every error and count recorded before this call; those that fail are kept for the
+     * next flush.
+     */
+    public void flush() {
+        synchronized (writeLock) {
+            // Only what is queued now, so errors put back for a retry wait for the next flush
+            int remaining = pending.get();
+            while (remaining > 0) {
+                List<PendingError> batch = new ArrayList<>(Math.min(batchSize, remaining));
+                PendingError next;
+                while (batch.size() < batchSize && batch.size() < remaining && (next = queue.poll()) != null) {
+                    batch.add(next);
+                }
+                if (batch.isEmpty()) {
+                    break;
+                }
+                pending.addAndGet(-batch.size());
+                remaining -= batch.size();
+                write(batch);
+            }
+            writeSummaries();
+        }
+    }
+
+    /**
+     * Writes and forgets everything recorded for a finished job, returning how many of its errors
+     * could not be written after {@link #MAX_ATTEMPTS} flushes; those are logged and dropped.
+     */
+    public long drain(Long syncJobId) {
+        synchronized (writeLock) {
+            flush();
+            for (int attempt = 1; attempt < MAX_ATTEMPTS && hasUnwritten(syncJobId); attempt++) {
+                flush();
+            }
+            long unwrittenSamples = 0;
+            for (PendingError pendingError : queue) {
+                if (syncJobId.equals(pendingError.error().getSyncJob().getId()) && queue.remove(pendingError)) {
+                    pending.decrementAndGet();
+                    unwrittenSamples++;
+                    logLost(pendingError.error());
+                }
+            }
+            Map<SummaryKey, Summary> jobSummaries = summaries.remove(syncJobId);
+            long unwrittenCounts = 0;
+            if (jobSummaries != null) {
+                for (Summary summary : jobSummaries.values()) {
+                    int unwritten = summary.unwritten();
+                    if (unwritten > 0) {
+                        unwrittenCounts += unwritten;
+                        log.error("Could not write error count after {} attempts: job={}, type={}, template={}, "
+                                + "count={}", MAX_ATTEMPTS, syncJobId, summary.key.errorType(),
+                                summary.key.messageTemplate(), unwritten);
+                    }
+                }
+            }
+            return Math.max(unwrittenSamples, unwrittenCounts);
+        }
+    }
+
+    /**
+     * Occurrences per error type recorded for the job but not yet in audit.sync_error_summaries,
+     * including any being written right now.
+     */
+    public Map<String, Long> unwrittenCounts(Long syncJobId) {
+        Map<SummaryKey, Summary> jobSummaries = summaries.get(syncJobId);
+        if (jobSummaries == null) {
+            return Map.of();
+        }
+        Map<String, Long> counts = new HashMap<>();
+        for (Summary summary : jobSummaries.values()) {
+            int unwritten = summary.unwritten();
+            if (unwritten > 0) {
+                counts.merge(summary.key.errorType(), (long) unwritten, Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    public int getPending() {
+        return pending.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush();
+        if (pending.get() > 0) {
+            // Retries still owed at shutdown get one last attempt
+            flush();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.error("Writing sync errors failed", ex);
+        }
+    }
+
+    /**
+     * Adds {@code error} to its summary and returns whether it should also be kept as a sample.
+     */
+    private boolean summarize(SyncError error) {
+        Long syncJobId = error.getSyncJob().getId();
+        Map<SummaryKey, Summary> jobSummaries = summaries.computeIfAbsent(syncJobId, id -> new ConcurrentHashMap<>());
+        String errorType = error.getErrorType() != null ? truncate(error.getErrorType()) : UNKNOWN_TYPE;
+        SummaryKey key = new SummaryKey(errorType, ErrorMessageTemplate.of(error.getErrorMessage()));
+        Summary summary = jobSummaries.get(key);
+        if (summary == null) {
+            if (jobSummaries.size() >= maxTemplatesPerJob) {
+                key = new SummaryKey(errorType, OTHER_MESSAGES);
+            }
+            summary = jobSummaries.computeIfAbsent(key, k -> new Summary(syncJobId, k));
+        }
+        return summary.add(error, samplesPerTemplate);
+    }
+
+    private void write(List<PendingError> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(),
+                    (ps, pendingError) -> {
+                        Object[] values = values(pendingError.error());
+                        for (int i = 0; i < values.length; i++) {
+                            ps.setObject(i + 1, values[i]);
+                        }
+                    }));
+            log.debug("Wrote {} sync errors", batch.size());
+            return;
+        } catch (RuntimeException ex) {
+            log.warn("Writing a batch of {} sync errors failed, writing them one by one: {}",
+                    batch.size(), ex.getMessage());
+        }
+        for (PendingError pendingError : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(
+                        status -> jdbcTemplate.update(INSERT_SQL, values(pendingError.error())));
+            } catch (RuntimeException ex) {
+                retryLater(pendingError, ex);
+            }
+        }
+    }
+
+    private void writeSummaries() {
+        for (Map.Entry<Long, Map<SummaryKey, Summary>> job : summaries.entrySet()) {
+            for (Summary summary : job.getValue().values()) {
+                Summary.Delta delta = summary.takeDelta();
+                if (delta == null) {
+                    continue;
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(status -> writeSummary(summary, delta));
+                    summary.written(delta);
+                } catch (RuntimeException ex) {
+                    summary.failed(delta);
+                    log.warn("Writing the {} error count for job {} failed, keeping it for the next flush: {}",
+                            summary.key.errorType(), summary.syncJobId, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private boolean hasUnwritten(Long syncJobId) {
+        Map<SummaryKey, Summary> jobSummaries = summaries.get(syncJobId);
+        if (jobSummaries != null && !jobSummaries.values().stream().allMatch(Summary::isWritten)) {
+            return true;
+        }
+        return queue.stream().anyMatch(pendingError -> syncJobId.equals(pendingError.error().getSyncJob().getId()));
+    }
+
+    private void writeSummary(Summary summary, Summary.Delta delta) {
+        Timestamp lastOccurredAt = Timestamp.valueOf(delta.lastOccurredAt());
+        int updated = jdbcTemplate.update(UPDATE_SUMMARY_SQL, delta.count(), delta.sampleCount(), lastOccurredAt,
+                summary.syncJobId, summary.key.errorType(), summary.key.messageTemplate());
+        if (updated == 0) {
+            jdbcTemplate.update(INSERT_SUMMARY_SQL, summary.syncJobId, summary.key.errorType(),
+                    summary.key.messageTemplate(), delta.count(), delta.sampleCount(), summary.exampleMessage,
+                    Timestamp.valueOf(summary.firstOccurredAt), lastOccurredAt);
+        }
+    }
+
+    private void retryLater(PendingError pendingError, RuntimeException ex) {
+        SyncError error = pendingError.error();
+        log.warn("Writing a sync error for job {} failed (attempt {}), keeping it for the next flush: {}",
+                error.getSyncJob().getId(), pendingError.attempts() + 1, ex.getMessage());
+        queue.add(new PendingError(error, pendingError.attempts() + 1));
+        pending.incrementAndGet();
+    }
+
+    private static void logLost(SyncError error) {
+        log.error("Could not write sync error after {} attempts: job={}, type={}, record={}, occurredAt={}, message={}",
+                MAX_ATTEMPTS, error.getSyncJob().getId(), error.getErrorType(), error.getFailedRecord(),
+                error.getOccurredAt(), error.getErrorMessage());
+    }
+
+    private static Object[] values(SyncError error) {
+        return new Object[]{error.getSyncJob().getId(), truncate(error.getErrorType()), error.getErrorMessage(),
+                error.getFailedRecord(), Timestamp.valueOf(error.getOccurredAt())};
+    }
+
+    private static String truncate(String errorType) {
+        return errorType != null && errorType.length() > MAX_ERROR_TYPE_LENGTH
+                ? errorType.substring(0, MAX_ERROR_TYPE_LENGTH)
+                : errorType;
+    }
+
+    private record PendingError(SyncError error, int attempts) {
+    }
+
+    private record SummaryKey(String errorType, String messageTemplate) {
+    }
+
+    /**
+     * Occurrences of one kind of error in a job, and how many of them are not written yet.
+     */
+    private static final class Summary {
+
+        private final Long syncJobId;
+        private final SummaryKey key;
+        private String exampleMessage;
+        private LocalDateTime firstOccurredAt;
+        private LocalDateTime lastOccurredAt;
+        private int samples;
+        private int unwrittenCount;
+        private int writingCount;
+
+        private Summary(Long syncJobId, SummaryKey key) {
+            this.syncJobId = syncJobId;
+            this.key = key;
+        }
+
+        private synchronized boolean add(SyncError error, int samplesPerTemplate) {
+            if (firstOccurredAt == null) {
+                firstOccurredAt = error.getOccurredAt();
+                exampleMessage = error.getErrorMessage();
+            }
+            if (lastOccurredAt == null || error.getOccurredAt().isAfter(lastOccurredAt)) {
+                lastOccurredAt = error.getOccurredAt();
+            }
+            unwrittenCount++;
+            if (samples < samplesPerTemplate) {
+                samples++;
+                return true;
+            }
+            return false;
+        }
+
+        private synchronized Delta takeDelta() {
+            if (unwrittenCount == 0) {
+                return null;
+            }
+            Delta delta = new Delta(unwrittenCount, samples, lastOccurredAt);
+            writingCount += unwrittenCount;
+            unwrittenCount = 0;
+            return delta;
+        }
+
+        private synchronized void written(Delta delta) {
+            writingCount -= delta.count();
+        }
+
+        /**
+         * Puts a delta that failed to write back for the next flush.
+         */
+        private synchronized void failed(Delta delta) {
+            writingCount -= delta.count();
+            unwrittenCount += delta.count();
+        }
+
+        private synchronized int unwritten() {
+            return unwrittenCount + writingCount;
+        }
+
+        private synchronized boolean isWritten() {
+            return unwrittenCount == 0 && writingCount == 0;
+        }
+
+        private record Delta(int count, int sampleCount, LocalDateTime lastOccurredAt) {
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.dataplatform.repository;
 
 import com.dataplatform.model.SyncJob;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SyncJobRepository extends JpaRepository<SyncJob, Long> {
@@ -16,4 +20,27 @@ public interface SyncJobRepository extends JpaRepository<SyncJob, Long> {
     List<SyncJob> findBySourceNameOrderByStartTimeDesc(String sourceName);
 
     List<SyncJob> findAllByOrderByStartTimeDesc();
+
+    Optional<SyncJob> findFirstBySourceNameAndStatusAndHighWaterMarkNotNullOrderByHighWaterMarkDesc(
+            String sourceName, String status);
+
+    List<SyncJob> findBySourceNameInAndStagingPurgedAtIsNullAndEndTimeBeforeOrderByEndTimeAsc(
+            Collection<String> sourceNames, LocalDateTime endedBefore, Pageable page);
+
+    long countBySourceNameInAndStagingPurgedAtIsNullAndEndTimeBefore(Collection<String> sourceNames,
+                                                                    LocalDateTime endedBefore);
+
+    List<SyncJob> findByErrorsPurgedAtIsNullAndEndTimeBeforeOrderByEndTimeAsc(LocalDateTime endedBefore, Pageable page);
+
+    long countByErrorsPurgedAtIsNullAndEndTimeBefore(LocalDateTime endedBefore);
+
+    List<SyncJob> findByErrorSummariesPurgedAtIsNullAndEndTimeBeforeOrderByEndTimeAsc(LocalDateTime endedBefore,
+                                                                                      Pageable page);
+
+    long countByErrorSummariesPurgedAtIsNullAndEndTimeBefore(LocalDateTime endedBefore);
+
+    List<SyncJob> findByPageValidatorsPurgedAtIsNullAndEndTimeBeforeOrderByEndTimeAsc(LocalDateTime endedBefore,
+                                                                                      Pageable page);
+
+    long countByPageValidatorsPurgedAtIsNullAndEndTimeBefore(LocalDateTime endedBefore);
 }
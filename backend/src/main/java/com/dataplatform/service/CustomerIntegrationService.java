@@ -1,19 +1,24 @@
 package com.dataplatform.service;
 
-import com.dataplatform.dto.CrmCustomerResponse;
+import com.dataplatform.dto.CustomerRecord;
+import com.dataplatform.dto.RawRecord;
 import com.dataplatform.dto.SyncJobDTO;
+import com.dataplatform.exception.CircuitOpenException;
 import com.dataplatform.integration.CrmApiClient;
-import com.dataplatform.model.RawCustomer;
+import com.dataplatform.integration.PageCache;
 import com.dataplatform.model.SyncError;
 import com.dataplatform.model.SyncJob;
-import com.dataplatform.repository.RawCustomerRepository;
-import com.dataplatform.repository.SyncErrorRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dataplatform.repository.StagingBulkWriter;
+import com.dataplatform.repository.StagingSession;
+import com.dataplatform.repository.StagingTable;
+import com.dataplatform.repository.SyncErrorWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -22,9 +27,9 @@ public class CustomerIntegrationService {
 
     private final CrmApiClient crmApiClient;
     private final SyncJobService syncJobService;
-    private final RawCustomerRepository rawCustomerRepository;
-    private final SyncErrorRepository syncErrorRepository;
-    private final ObjectMapper objectMapper;
+    private final StagingBulkWriter stagingWriter;
+    private final SyncErrorWriter syncErrorWriter;
+    private final PageCacheService pageCacheService;
 
     public SyncJobDTO syncCustomers() {
         SyncJob job = syncJobService.createJob("CRM", "FULL");
@@ -32,46 +37,69 @@ public class CustomerIntegrationService {
     }
 
     public SyncJobDTO syncCustomersForJob(SyncJob job) {
-        List<CrmCustomerResponse> customers;
-        try {
-            customers = crmApiClient.fetchAllCustomers();
+        return syncCustomersForJob(job, null);
+    }
+
+    /**
+     * Stages customers for {@code job} and, if {@code downstream} is given, also hands it each page,
+     * bound to objects, as it arrives while the page is written to staging on a background thread.
+     * Should staging then miss any record handed on, the job fails.
+     */
+    public SyncJobDTO syncCustomersForJob(SyncJob job, Consumer<List<CustomerRecord>> downstream) {
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger handedOn = new AtomicInteger();
+        StagingBulkWriter.FailureHandler onFailure = (record, ex) -> recordStagingFailure(job, record, ex, failed);
+        StagingSession staging = downstream == null
+                ? stagingWriter.open(StagingTable.RAW_CUSTOMERS, job, onFailure)
+                : stagingWriter.openAsync(StagingTable.RAW_CUSTOMERS, job, onFailure);
+        try (staging) {
+            PageCache pageCache = pageCacheService.open(job);
+            SourcePages.forEachRawPage(crmApiClient,
+                    page -> {
+                        staging.add(page);
+                        if (downstream != null) {
+                            downstream.accept(page.stream().map(CustomerRecord::of).toList());
+                            handedOn.addAndGet(page.size());
+                        }
+                    },
+                    (pageSize, reason) -> syncJobService.recordPageSize(job, pageSize, reason),
+                    pageCache,
+                    downstream != null);
+            staging.flush();
+            pageCacheService.save(pageCache);
+            syncJobService.recordStaging(job, staging);
+        } catch (CircuitOpenException ex) {
+            log.warn("Skipping CRM fetch for job {}: {}", job.getId(), ex.getMessage());
+            syncJobService.failJob(job, "CIRCUIT_OPEN", ex.getMessage());
+            return SyncJobDTO.fromEntity(job);
         } catch (Exception ex) {
+            if (handedOn.get() > staging.getRowsWritten()) {
+                syncJobService.failStagingMismatch(job, handedOn.get(), staging.getRowsWritten(), ex);
+                return SyncJobDTO.fromEntity(job);
+            }
             log.error("Failed to fetch customers from CRM API", ex);
             syncJobService.failJob(job, "CRM API fetch failed: " + ex.getMessage());
             return SyncJobDTO.fromEntity(job);
         }
-
-        int processed = 0;
-        int failed = 0;
-
-        for (CrmCustomerResponse customer : customers) {
-            try {
-                String rawJson = objectMapper.writeValueAsString(customer);
-                RawCustomer rawCustomer = RawCustomer.builder()
-                        .syncJob(job)
-                        .externalId(customer.getId())
-                        .rawData(rawJson)
-                        .build();
-                rawCustomerRepository.save(rawCustomer);
-                processed++;
-            } catch (Exception ex) {
-                failed++;
-                log.warn("Failed to stage customer {}: {}", customer.getId(), ex.getMessage());
-                try {
-                    SyncError error = SyncError.builder()
-                            .syncJob(job)
-                            .errorType("STAGING_ERROR")
-                            .errorMessage(ex.getMessage())
-                            .failedRecord(customer.getId())
-                            .build();
-                    syncErrorRepository.save(error);
-                } catch (Exception errorEx) {
-                    log.error("Failed to log sync error for customer {}", customer.getId(), errorEx);
-                }
-            }
+        if (handedOn.get() > staging.getRowsWritten()) {
+            syncJobService.failStagingMismatch(job, handedOn.get(), staging.getRowsWritten(), null);
+            return SyncJobDTO.fromEntity(job);
         }
 
-        log.info("Customer staging completed for job {}: processed={}, failed={}", job.getId(), processed, failed);
+        log.info("Customer staging completed for job {}: processed={}, failed={}",
+                job.getId(), staging.getRowsWritten(), failed.get());
         return SyncJobDTO.fromEntity(job);
     }
+
+    private void recordStagingFailure(SyncJob job, RawRecord customer, Exception ex, AtomicInteger failed) {
+        failed.incrementAndGet();
+        log.warn("Failed to stage customer {}: {}", customer.getExternalId(), ex.getMessage());
+        SyncError error = SyncError.builder()
+                .syncJob(job)
+                .errorType("STAGING_ERROR")
+                .errorMessage(ex.getMessage())
+                .failedRecord(customer.getExternalId())
+                .build();
+        syncErrorWriter.record(error);
+    }
 }
@@ -1,5 +1,7 @@
 package com.dataplatform.service;
 
+import com.dataplatform.dto.CrmCustomerResponse;
+import com.dataplatform.dto.CustomerRecord;
 import com.dataplatform.dto.SyncJobDTO;
 import com.dataplatform.dto.TransformedCustomer;
 import com.dataplatform.dto.ValidationResult;
@@ -7,18 +9,23 @@ import com.dataplatform.model.RawCustomer;
 import com.dataplatform.model.SyncError;
 import com.dataplatform.model.SyncJob;
 import com.dataplatform.repository.RawCustomerRepository;
-import com.dataplatform.repository.SyncErrorRepository;
+import com.dataplatform.repository.StagedRecordReader;
+import com.dataplatform.repository.SyncErrorWriter;
 import com.dataplatform.transformer.CustomerTransformationService;
 import com.dataplatform.validator.CustomerValidationService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+/**
+ * Runs customers through transform, validation and load, from staging or straight from the source.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CustomerPipelineService {
 
     private final CustomerIntegrationService customerIntegrationService;
@@ -27,8 +34,35 @@ public class CustomerPipelineService {
     private final CustomerValidationService validationService;
     private final CustomerLoadService loadService;
     private final SyncJobService syncJobService;
+    private final RecordFingerprintService fingerprintService;
     private final RawCustomerRepository rawCustomerRepository;
-    private final SyncErrorRepository syncErrorRepository;
+    private final StagedRecordReader stagedRecordReader;
+    private final SyncErrorWriter syncErrorWriter;
+    private final boolean fastPath;
+
+    public CustomerPipelineService(CustomerIntegrationService customerIntegrationService,
+                                   SalesforceIntegrationService salesforceIntegrationService,
+                                   CustomerTransformationService transformationService,
+                                   CustomerValidationService validationService,
+                                   CustomerLoadService loadService,
+                                   SyncJobService syncJobService,
+                                   RecordFingerprintService fingerprintService,
+                                   RawCustomerRepository rawCustomerRepository,
+                                   StagedRecordReader stagedRecordReader,
+                                   SyncErrorWriter syncErrorWriter,
+                                   @Value("${app.pipeline.fast-path}") boolean fastPath) {
+        this.customerIntegrationService = customerIntegrationService;
+        this.salesforceIntegrationService = salesforceIntegrationService;
+        this.transformationService = transformationService;
+        this.validationService = validationService;
+        this.loadService = loadService;
+        this.syncJobService = syncJobService;
+        this.fingerprintService = fingerprintService;
+        this.rawCustomerRepository = rawCustomerRepository;
+        this.stagedRecordReader = stagedRecordReader;
+        this.syncErrorWriter = syncErrorWriter;
+        this.fastPath = fastPath;
+    }
 
     public SyncJobDTO runFullPipeline() {
         SyncJobDTO stagingResult = customerIntegrationService.syncCustomers();
@@ -43,65 +77,121 @@ public class CustomerPipelineService {
 
     public SyncJobDTO runPipelineForJob(Long jobId) {
         SyncJob job = syncJobService.getJobEntity(jobId);
+        try {
+            return runPipeline(job);
+        } finally {
+            // Frees what the error writer still holds for the job should it end without completing or failing
+            syncErrorWriter.drain(job.getId());
+        }
+    }
+
+    private SyncJobDTO runPipeline(SyncJob job) {
+        String sourceSystem = job.getSourceName() != null ? job.getSourceName() : "CRM";
 
         // If job doesn't have staging data yet, run staging first
-        List<RawCustomer> rawCustomers = rawCustomerRepository.findBySyncJobId(job.getId());
-        if (rawCustomers.isEmpty() && "RUNNING".equals(job.getStatus())) {
-            SyncJobDTO stagingResult = runStaging(job);
+        if (!rawCustomerRepository.existsBySyncJobId(job.getId()) && "RUNNING".equals(job.getStatus())) {
+            if (fastPath) {
+                return runFastPath(job, sourceSystem);
+            }
+            SyncJobDTO stagingResult = runStaging(job, null);
             if ("FAILED".equals(stagingResult.getStatus())) {
-                log.warn("Staging failed for job {}, skipping pipeline", jobId);
+                log.warn("Staging failed for job {}, skipping pipeline", job.getId());
                 return stagingResult;
             }
-            rawCustomers = rawCustomerRepository.findBySyncJobId(job.getId());
         }
 
-        String sourceSystem = job.getSourceName() != null ? job.getSourceName() : "CRM";
+        RecordFingerprints fingerprints = fingerprintService.open(job);
+        Tally tally = new Tally();
+        stagedRecordReader.forEachChunk(rawCustomerRepository, job.getId(), chunk -> {
+            fingerprints.prepare(chunk.stream().map(RawCustomer::getExternalId).toList());
+            for (RawCustomer raw : chunk) {
+                process(job, sourceSystem, raw.getExternalId(), raw::getRawData, null, fingerprints, tally);
+            }
+        });
+        return complete(job, fingerprints, tally);
+    }
+
+    private SyncJobDTO runFastPath(SyncJob job, String sourceSystem) {
+        RecordFingerprints fingerprints = fingerprintService.open(job);
+        Tally tally = new Tally();
+        SyncJobDTO stagingResult = runStaging(job, page -> {
+            fingerprints.prepare(page.stream().map(CustomerRecord::externalId).toList());
+            for (CustomerRecord record : page) {
+                process(job, sourceSystem, record.externalId(), record::rawData, record.customer(), fingerprints, tally);
+            }
+        });
+        if ("FAILED".equals(stagingResult.getStatus())) {
+            log.warn("Staging failed for job {} after loading {} customer(s) on the fast path",
+                    job.getId(), tally.loaded);
+            return stagingResult;
+        }
+        return complete(job, fingerprints, tally);
+    }
 
-        int loaded = 0;
-        int failed = 0;
-
-        for (RawCustomer raw : rawCustomers) {
-            try {
-                TransformedCustomer transformed = transformationService.transform(raw.getRawData());
-
-                ValidationResult validationResult = validationService.validate(transformed);
-                if (!validationResult.isValid()) {
-                    failed++;
-                    log.warn("Validation failed for customer {}: {}", raw.getExternalId(), validationResult.getErrors());
-                    SyncError error = SyncError.builder()
-                            .syncJob(job)
-                            .errorType("VALIDATION_ERROR")
-                            .errorMessage(String.join("; ", validationResult.getErrors()))
-                            .failedRecord(raw.getExternalId())
-                            .build();
-                    syncErrorRepository.save(error);
-                    continue;
-                }
-
-                loadService.loadCustomer(transformed, sourceSystem);
-                loaded++;
-            } catch (Exception ex) {
-                failed++;
-                log.error("Pipeline error for customer {}: {}", raw.getExternalId(), ex.getMessage());
+    private void process(SyncJob job,
+                         String sourceSystem,
+                         String externalId,
+                         Supplier<String> rawData,
+                         CrmCustomerResponse parsed,
+                         RecordFingerprints fingerprints,
+                         Tally tally) {
+        try {
+            String json = rawData.get();
+            if (RecordFingerprints.UNCHANGED.equals(fingerprints.classify(externalId, json))) {
+                return;
+            }
+            TransformedCustomer transformed = parsed != null
+                    ? transformationService.transform(parsed)
+                    : transformationService.transform(json);
+
+            ValidationResult validationResult = validationService.validate(transformed);
+            if (!validationResult.isValid()) {
+                tally.failed++;
+                log.warn("Validation failed for customer {}: {}", externalId, validationResult.getErrors());
                 SyncError error = SyncError.builder()
                         .syncJob(job)
-                        .errorType("PIPELINE_ERROR")
-                        .errorMessage(ex.getMessage())
-                        .failedRecord(raw.getExternalId())
+                        .errorType("VALIDATION_ERROR")
+                        .errorMessage(String.join("; ", validationResult.getErrors()))
+                        .failedRecord(externalId)
                         .build();
-                syncErrorRepository.save(error);
+                syncErrorWriter.record(error);
+                return;
             }
+
+            loadService.loadCustomer(transformed, sourceSystem);
+            fingerprints.loaded(externalId);
+            tally.loaded++;
+        } catch (Exception ex) {
+            tally.failed++;
+            log.error("Pipeline error for customer {}: {}", externalId, ex.getMessage());
+            SyncError error = SyncError.builder()
+                    .syncJob(job)
+                    .errorType("PIPELINE_ERROR")
+                    .errorMessage(ex.getMessage())
+                    .failedRecord(externalId)
+                    .build();
+            syncErrorWriter.record(error);
         }
+    }
 
-        syncJobService.completeJob(job, loaded, failed);
-        log.info("Pipeline completed for job {}: loaded={}, failed={}", jobId, loaded, failed);
+    private SyncJobDTO complete(SyncJob job, RecordFingerprints fingerprints, Tally tally) {
+        fingerprintService.save(fingerprints);
+        int unchanged = fingerprints.getUnchangedRecords();
+        syncJobService.completeJob(job, tally.loaded + unchanged, tally.failed);
+        log.info("Pipeline completed for job {}: loaded={}, unchanged={}, failed={}",
+                job.getId(), tally.loaded, unchanged, tally.failed);
         return SyncJobDTO.fromEntity(job);
     }
 
-    private SyncJobDTO runStaging(SyncJob job) {
+    private SyncJobDTO runStaging(SyncJob job, Consumer<List<CustomerRecord>> downstream) {
         if ("SALESFORCE".equals(job.getSourceName())) {
-            return salesforceIntegrationService.syncContactsForJob(job);
+            return salesforceIntegrationService.syncContactsForJob(job, downstream);
         }
-        return customerIntegrationService.syncCustomersForJob(job);
+        return customerIntegrationService.syncCustomersForJob(job, downstream);
+    }
+
+    private static final class Tally {
+        private int loaded;
+        private int failed;
     }
 }
@@ -1,19 +1,21 @@
 package com.dataplatform.service;
 
-import com.dataplatform.dto.AccountingInvoiceResponse;
+import com.dataplatform.dto.RawRecord;
 import com.dataplatform.dto.SyncJobDTO;
+import com.dataplatform.exception.CircuitOpenException;
 import com.dataplatform.integration.AccountingApiClient;
-import com.dataplatform.model.RawInvoice;
+import com.dataplatform.integration.PageCache;
 import com.dataplatform.model.SyncError;
 import com.dataplatform.model.SyncJob;
-import com.dataplatform.repository.RawInvoiceRepository;
-import com.dataplatform.repository.SyncErrorRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dataplatform.repository.StagingBulkWriter;
+import com.dataplatform.repository.StagingSession;
+import com.dataplatform.repository.StagingTable;
+import com.dataplatform.repository.SyncErrorWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Service
@@ -22,9 +24,9 @@ public class InvoiceIntegrationService {
 
     private final AccountingApiClient accountingApiClient;
     private final SyncJobService syncJobService;
-    private final RawInvoiceRepository rawInvoiceRepository;
-    private final SyncErrorRepository syncErrorRepository;
-    private final ObjectMapper objectMapper;
+    private final StagingBulkWriter stagingWriter;
+    private final SyncErrorWriter syncErrorWriter;
+    private final PageCacheService pageCacheService;
 
     public SyncJobDTO syncInvoices() {
         SyncJob job = syncJobService.createJob("ACCOUNTING", "FULL");
@@ -32,46 +34,44 @@ public class InvoiceIntegrationService {
     }
 
     public SyncJobDTO syncInvoicesForJob(SyncJob job) {
-        List<AccountingInvoiceResponse> invoices;
-        try {
-            invoices = accountingApiClient.fetchAllInvoices();
+        AtomicInteger failed = new AtomicInteger();
+        int processed;
+        try (StagingSession staging = stagingWriter.open(StagingTable.RAW_INVOICES, job,
+                (record, ex) -> recordStagingFailure(job, record, ex, failed))) {
+            PageCache pageCache = pageCacheService.open(job);
+            SourcePages.forEachRawPage(accountingApiClient,
+                    staging::add,
+                    (pageSize, reason) -> syncJobService.recordPageSize(job, pageSize, reason),
+                    pageCache,
+                    false);
+            staging.flush();
+            pageCacheService.save(pageCache);
+            processed = staging.getRowsWritten();
+            syncJobService.recordStaging(job, staging);
+        } catch (CircuitOpenException ex) {
+            log.warn("Skipping Accounting fetch for job {}: {}", job.getId(), ex.getMessage());
+            syncJobService.failJob(job, "CIRCUIT_OPEN", ex.getMessage());
+            return SyncJobDTO.fromEntity(job);
         } catch (Exception ex) {
             log.error("Failed to fetch invoices from Accounting API", ex);
             syncJobService.failJob(job, "Accounting API fetch failed: " + ex.getMessage());
             return SyncJobDTO.fromEntity(job);
         }
 
-        int processed = 0;
-        int failed = 0;
-
-        for (AccountingInvoiceResponse invoice : invoices) {
-            try {
-                String rawJson = objectMapper.writeValueAsString(invoice);
-                RawInvoice rawInvoice = RawInvoice.builder()
-                        .syncJob(job)
-                        .externalId(invoice.getId())
-                        .rawData(rawJson)
-                        .build();
-                rawInvoiceRepository.save(rawInvoice);
-                processed++;
-            } catch (Exception ex) {
-                failed++;
-                log.warn("Failed to stage invoice {}: {}", invoice.getId(), ex.getMessage());
-                try {
-                    SyncError error = SyncError.builder()
-                            .syncJob(job)
-                            .errorType("STAGING_ERROR")
-                            .errorMessage(ex.getMessage())
-                            .failedRecord(invoice.getId())
-                            .build();
-                    syncErrorRepository.save(error);
-                } catch (Exception errorEx) {
-                    log.error("Failed to log sync error for invoice {}", invoice.getId(), errorEx);
-                }
-            }
-        }
-
-        log.info("Invoice staging completed for job {}: processed={}, failed={}", job.getId(), processed, failed);
+        log.info("Invoice staging completed for job {}: processed={}, failed={}",
+                job.getId(), processed, failed.get());
         return SyncJobDTO.fromEntity(job);
     }
+
+    private void recordStagingFailure(SyncJob job, RawRecord invoice, Exception ex, AtomicInteger failed) {
+        failed.incrementAndGet();
+        log.warn("Failed to stage invoice {}: {}", invoice.getExternalId(), ex.getMessage());
+        SyncError error = SyncError.builder()
+                .syncJob(job)
+                .errorType("STAGING_ERROR")
+                .errorMessage(ex.getMessage())
+                .failedRecord(invoice.getExternalId())
+                .build();
+        syncErrorWriter.record(error);
+    }
 }
@@ -7,15 +7,14 @@ import com.dataplatform.model.RawInvoice;
 import com.dataplatform.model.SyncError;
 import com.dataplatform.model.SyncJob;
 import com.dataplatform.repository.RawInvoiceRepository;
-import com.dataplatform.repository.SyncErrorRepository;
+import com.dataplatform.repository.StagedRecordReader;
+import com.dataplatform.repository.SyncErrorWriter;
 import com.dataplatform.transformer.InvoiceTransformationService;
 import com.dataplatform.validator.InvoiceValidationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -26,8 +25,10 @@ public class InvoicePipelineService {
     private final InvoiceValidationService validationService;
     private final InvoiceLoadService loadService;
     private final SyncJobService syncJobService;
+    private final RecordFingerprintService fingerprintService;
     private final RawInvoiceRepository rawInvoiceRepository;
-    private final SyncErrorRepository syncErrorRepository;
+    private final StagedRecordReader stagedRecordReader;
+    private final SyncErrorWriter syncErrorWriter;
 
     public SyncJobDTO runFullPipeline() {
         SyncJobDTO stagingResult = invoiceIntegrationService.syncInvoices();
@@ -42,55 +43,81 @@ public class InvoicePipelineService {
 
     public SyncJobDTO runPipelineForJob(Long jobId) {
         SyncJob job = syncJobService.getJobEntity(jobId);
+        try {
+            return runPipeline(job);
+        } finally {
+            // Frees what the error writer still holds for the job should it end without completing or failing
+            syncErrorWriter.drain(job.getId());
+        }
+    }
 
-        List<RawInvoice> rawInvoices = rawInvoiceRepository.findBySyncJobId(job.getId());
-        if (rawInvoices.isEmpty() && "RUNNING".equals(job.getStatus())) {
+    private SyncJobDTO runPipeline(SyncJob job) {
+
+        if (!rawInvoiceRepository.existsBySyncJobId(job.getId()) && "RUNNING".equals(job.getStatus())) {
             SyncJobDTO stagingResult = invoiceIntegrationService.syncInvoicesForJob(job);
             if ("FAILED".equals(stagingResult.getStatus())) {
-                log.warn("Staging failed for job {}, skipping pipeline", jobId);
+                log.warn("Staging failed for job {}, skipping pipeline", job.getId());
                 return stagingResult;
             }
-            rawInvoices = rawInvoiceRepository.findBySyncJobId(job.getId());
         }
 
-        int loaded = 0;
-        int failed = 0;
+        RecordFingerprints fingerprints = fingerprintService.open(job);
+        Tally tally = new Tally();
+        stagedRecordReader.forEachChunk(rawInvoiceRepository, job.getId(), chunk -> {
+            fingerprints.prepare(chunk.stream().map(RawInvoice::getExternalId).toList());
+            for (RawInvoice raw : chunk) {
+                process(job, raw, fingerprints, tally);
+            }
+        });
 
-        for (RawInvoice raw : rawInvoices) {
-            try {
-                TransformedInvoice transformed = transformationService.transform(raw.getRawData());
+        fingerprintService.save(fingerprints);
+        int unchanged = fingerprints.getUnchangedRecords();
+        syncJobService.completeJob(job, tally.loaded + unchanged, tally.failed);
+        log.info("Pipeline completed for job {}: loaded={}, unchanged={}, failed={}",
+                job.getId(), tally.loaded, unchanged, tally.failed);
+        return SyncJobDTO.fromEntity(job);
+    }
 
-                ValidationResult validationResult = validationService.validate(transformed);
-                if (!validationResult.isValid()) {
-                    failed++;
-                    log.warn("Validation failed for invoice {}: {}", raw.getExternalId(), validationResult.getErrors());
-                    SyncError error = SyncError.builder()
-                            .syncJob(job)
-                            .errorType("VALIDATION_ERROR")
-                            .errorMessage(String.join("; ", validationResult.getErrors()))
-                            .failedRecord(raw.getExternalId())
-                            .build();
-                    syncErrorRepository.save(error);
-                    continue;
-                }
+    private void process(SyncJob job, RawInvoice raw, RecordFingerprints fingerprints, Tally tally) {
+        try {
+            String rawData = raw.getRawData();
+            if (RecordFingerprints.UNCHANGED.equals(fingerprints.classify(raw.getExternalId(), rawData))) {
+                return;
+            }
+            TransformedInvoice transformed = transformationService.transform(rawData);
 
-                loadService.loadInvoice(transformed);
-                loaded++;
-            } catch (Exception ex) {
-                failed++;
-                log.error("Pipeline error for invoice {}: {}", raw.getExternalId(), ex.getMessage());
+            ValidationResult validationResult = validationService.validate(transformed);
+            if (!validationResult.isValid()) {
+                tally.failed++;
+                log.warn("Validation failed for invoice {}: {}", raw.getExternalId(), validationResult.getErrors());
                 SyncError error = SyncError.builder()
                         .syncJob(job)
-                        .errorType("PIPELINE_ERROR")
-                        .errorMessage(ex.getMessage())
+                        .errorType("VALIDATION_ERROR")
+                        .errorMessage(String.join("; ", validationResult.getErrors()))
                         .failedRecord(raw.getExternalId())
                         .build();
-                syncErrorRepository.save(error);
+                syncErrorWriter.record(error);
+                return;
             }
+
+            loadService.loadInvoice(transformed);
+            fingerprints.loaded(raw.getExternalId());
+            tally.loaded++;
+        } catch (Exception ex) {
+            tally.failed++;
+            log.error("Pipeline error for invoice {}: {}", raw.getExternalId(), ex.getMessage());
+            SyncError error = SyncError.builder()
+                    .syncJob(job)
+                    .errorType("PIPELINE_ERROR")
+                    .errorMessage(ex.getMessage())
+                    .failedRecord(raw.getExternalId())
+                    .build();
+            syncErrorWriter.record(error);
         }
+    }
 
-        syncJobService.completeJob(job, loaded, failed);
-        log.info("Pipeline completed for job {}: loaded={}, failed={}", jobId, loaded, failed);
-        return SyncJobDTO.fromEntity(job);
+    private static final class Tally {
+        private int loaded;
+        private int failed;
     }
 }
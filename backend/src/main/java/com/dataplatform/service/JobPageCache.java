@@ -0,0 +1,57 @@
+package com.dataplatform.service;
+
+import com.dataplatform.integration.PageCache;
+import com.dataplatform.model.SyncJob;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The page validators and 304 hit and miss counts of one sync job.
+ */
+public final class JobPageCache implements PageCache {
+
+    private final SyncJob job;
+    private final Map<String, Validators> trusted;
+    private final Map<String, Validators> downloaded = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    JobPageCache(SyncJob job, Map<String, Validators> trusted) {
+        this.job = job;
+        this.trusted = trusted;
+    }
+
+    @Override
+    public Validators lookup(String pageKey) {
+        return trusted.get(pageKey);
+    }
+
+    @Override
+    public void modified(String pageKey, Validators validators) {
+        misses.incrementAndGet();
+        downloaded.put(pageKey, validators);
+    }
+
+    @Override
+    public void notModified(String pageKey) {
+        hits.incrementAndGet();
+    }
+
+    SyncJob getJob() {
+        return job;
+    }
+
+    Map<String, Validators> getDownloaded() {
+        return downloaded;
+    }
+
+    int getHits() {
+        return hits.get();
+    }
+
+    int getMisses() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,88 @@
+package com.dataplatform.service;
+
+import com.dataplatform.integration.PageCache;
+import com.dataplatform.model.SourcePageValidator;
+import com.dataplatform.model.SyncJob;
+import com.dataplatform.repository.SourcePageValidatorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Persists the validators of source pages between sync jobs.
+ */
+@Slf4j
+@Service
+public class PageCacheService {
+
+    private final SourcePageValidatorRepository validatorRepository;
+    private final SyncJobService syncJobService;
+    private final boolean enabled;
+
+    public PageCacheService(SourcePageValidatorRepository validatorRepository,
+                            SyncJobService syncJobService,
+                            @Value("${integration.paging.conditional-requests}") boolean enabled) {
+        this.validatorRepository = validatorRepository;
+        this.syncJobService = syncJobService;
+        this.enabled = enabled;
+    }
+
+    /**
+     * The page cache for {@code job}, or {@link PageCache#NONE} when conditional requests are off.
+     */
+    @Transactional(readOnly = true)
+    public PageCache open(SyncJob job) {
+        if (!enabled) {
+            return PageCache.NONE;
+        }
+        // A 304 skips staging the page, which is only safe once all its records have been loaded
+        Map<String, PageCache.Validators> trusted = new HashMap<>();
+        for (SourcePageValidator validator
+                : validatorRepository.findBySourceNameAndSyncJobStatusAndSyncJobRecordsFailed(
+                        job.getSourceName(), "COMPLETED", 0)) {
+            trusted.put(validator.getPageKey(), new PageCache.Validators(validator.getEtag(), validator.getLastModified()));
+        }
+        log.debug("Loaded validators for {} page(s) of {} for job {}", trusted.size(), job.getSourceName(), job.getId());
+        return new JobPageCache(job, trusted);
+    }
+
+    /**
+     * Saves the validators of the pages {@code cache} downloaded and records its hit and miss
+     * counts on the job.
+     */
+    @Transactional
+    public void save(PageCache cache) {
+        if (!(cache instanceof JobPageCache jobCache)) {
+            return;
+        }
+        SyncJob job = jobCache.getJob();
+        Map<String, PageCache.Validators> downloaded = jobCache.getDownloaded();
+        if (!downloaded.isEmpty()) {
+            Map<String, SourcePageValidator> existing = validatorRepository.findBySourceName(job.getSourceName())
+                    .stream()
+                    .collect(Collectors.toMap(SourcePageValidator::getPageKey, Function.identity()));
+            List<SourcePageValidator> rows = downloaded.entrySet().stream()
+                    .map(entry -> {
+                        SourcePageValidator row = existing.getOrDefault(entry.getKey(),
+                                SourcePageValidator.builder()
+                                        .sourceName(job.getSourceName())
+                                        .pageKey(entry.getKey())
+                                        .build());
+                        row.setEtag(entry.getValue().etag());
+                        row.setLastModified(entry.getValue().lastModified());
+                        row.setSyncJob(job);
+                        return row;
+                    })
+                    .collect(Collectors.toList());
+            validatorRepository.saveAll(rows);
+        }
+        syncJobService.recordPageCache(job, jobCache.getHits(), jobCache.getMisses());
+    }
+}
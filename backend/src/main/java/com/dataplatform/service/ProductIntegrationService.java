@@ -1,19 +1,21 @@
 package com.dataplatform.service;
 
-import com.dataplatform.dto.ErpProductResponse;
+import com.dataplatform.dto.RawRecord;
 import com.dataplatform.dto.SyncJobDTO;
+import com.dataplatform.exception.CircuitOpenException;
 import com.dataplatform.integration.ErpApiClient;
-import com.dataplatform.model.RawProduct;
+import com.dataplatform.integration.PageCache;
 import com.dataplatform.model.SyncError;
 import com.dataplatform.model.SyncJob;
-import com.dataplatform.repository.RawProductRepository;
-import com.dataplatform.repository.SyncErrorRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dataplatform.repository.StagingBulkWriter;
+import com.dataplatform.repository.StagingSession;
+import com.dataplatform.repository.StagingTable;
+import com.dataplatform.repository.SyncErrorWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Service
@@ -22,9 +24,9 @@ public class ProductIntegrationService {
 
     private final ErpApiClient erpApiClient;
     private final SyncJobService syncJobService;
-    private final RawProductRepository rawProductRepository;
-    private final SyncErrorRepository syncErrorRepository;
-    private final ObjectMapper objectMapper;
+    private final StagingBulkWriter stagingWriter;
+    private final SyncErrorWriter syncErrorWriter;
+    private final PageCacheService pageCacheService;
 
     public SyncJobDTO syncProducts() {
         SyncJob job = syncJobService.createJob("ERP", "FULL");
@@ -32,46 +34,44 @@ public class ProductIntegrationService {
     }
 
     public SyncJobDTO syncProductsForJob(SyncJob job) {
-        List<ErpProductResponse> products;
-        try {
-            products = erpApiClient.fetchAllProducts();
+        AtomicInteger failed = new AtomicInteger();
+        int processed;
+        try (StagingSession staging = stagingWriter.open(StagingTable.RAW_PRODUCTS, job,
+                (record, ex) -> recordStagingFailure(job, record, ex, failed))) {
+            PageCache pageCache = pageCacheService.open(job);
+            SourcePages.forEachRawPage(erpApiClient,
+                    staging::add,
+                    (pageSize, reason) -> syncJobService.recordPageSize(job, pageSize, reason),
+                    pageCache,
+                    false);
+            staging.flush();
+            pageCacheService.save(pageCache);
+            processed = staging.getRowsWritten();
+            syncJobService.recordStaging(job, staging);
+        } catch (CircuitOpenException ex) {
+            log.warn("Skipping ERP fetch for job {}: {}", job.getId(), ex.getMessage());
+            syncJobService.failJob(job, "CIRCUIT_OPEN", ex.getMessage());
+            return SyncJobDTO.fromEntity(job);
         } catch (Exception ex) {
             log.error("Failed to fetch products from ERP API", ex);
             syncJobService.failJob(job, "ERP API fetch failed: " + ex.getMessage());
             return SyncJobDTO.fromEntity(job);
         }
 
-        int processed = 0;
-        int failed = 0;
-
-        for (ErpProductResponse product : products) {
-            try {
-                String rawJson = objectMapper.writeValueAsString(product);
-                RawProduct rawProduct = RawProduct.builder()
-                        .syncJob(job)
-                        .externalId(product.getId())
-                        .rawData(rawJson)
-                        .build();
-                rawProductRepository.save(rawProduct);
-                processed++;
-            } catch (Exception ex) {
-                failed++;
-                log.warn("Failed to stage product {}: {}", product.getId(), ex.getMessage());
-                try {
-                    SyncError error = SyncError.builder()
-                            .syncJob(job)
-                            .errorType("STAGING_ERROR")
-                            .errorMessage(ex.getMessage())
-                            .failedRecord(product.getId())
-                            .build();
-                    syncErrorRepository.save(error);
-                } catch (Exception errorEx) {
-                    log.error("Failed to log sync error for product {}", product.getId(), errorEx);
-                }
-            }
-        }
-
-        log.info("Product staging completed for job {}: processed={}, failed={}", job.getId(), processed, failed);
+        log.info("Product staging completed for job {}: processed={}, failed={}",
+                job.getId(), processed, failed.get());
         return SyncJobDTO.fromEntity(job);
     }
+
+    private void recordStagingFailure(SyncJob job, RawRecord product, Exception ex, AtomicInteger failed) {
+        failed.incrementAndGet();
+        log.warn("Failed to stage product {}: {}", product.getExternalId(), ex.getMessage());
+        SyncError error = SyncError.builder()
+                .syncJob(job)
+                .errorType("STAGING_ERROR")
+                .errorMessage(ex.getMessage())
+                .failedRecord(product.getExternalId())
+                .build();
+        syncErrorWriter.record(error);
+    }
 }
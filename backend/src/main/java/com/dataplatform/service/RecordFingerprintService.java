@@ -0,0 +1,96 @@
+package com.dataplatform.service;
+
+import com.dataplatform.model.RecordFingerprint;
+import com.dataplatform.model.SyncJob;
+import com.dataplatform.repository.RecordFingerprintRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Persists per-source content hashes across sync jobs so unchanged records skip the pipeline.
+ */
+@Slf4j
+@Service
+public class RecordFingerprintService {
+
+    // SQL Server accepts at most 2100 parameters per statement
+    static final int LOOKUP_BATCH = 1000;
+    static final int SAVE_BATCH = 1000;
+
+    private static final String MERGE_SQL = "MERGE INTO audit.record_fingerprints AS t "
+            + "USING (VALUES (?, ?, ?, ?, ?)) AS s (source_name, external_id, content_hash, sync_job_id, updated_at) "
+            + "ON t.source_name = s.source_name AND t.external_id = s.external_id "
+            + "WHEN MATCHED THEN UPDATE SET content_hash = s.content_hash, sync_job_id = s.sync_job_id, "
+            + "updated_at = s.updated_at "
+            + "WHEN NOT MATCHED THEN INSERT (source_name, external_id, content_hash, sync_job_id, updated_at) "
+            + "VALUES (s.source_name, s.external_id, s.content_hash, s.sync_job_id, s.updated_at);";
+
+    private final RecordFingerprintRepository fingerprintRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SyncJobService syncJobService;
+    private final boolean enabled;
+
+    public RecordFingerprintService(RecordFingerprintRepository fingerprintRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    SyncJobService syncJobService,
+                                    @Value("${app.pipeline.skip-unchanged}") boolean enabled) {
+        this.fingerprintRepository = fingerprintRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.syncJobService = syncJobService;
+        this.enabled = enabled;
+    }
+
+    public RecordFingerprints open(SyncJob job) {
+        if (!enabled || job.getSourceName() == null) {
+            return new RecordFingerprints(job, false, externalIds -> Map.of());
+        }
+        return new RecordFingerprints(job, true, externalIds -> lookup(job.getSourceName(), externalIds));
+    }
+
+    /**
+     * Saves the hashes of the records the job loaded and records its new, changed and unchanged
+     * counts on the job.
+     */
+    @Transactional
+    public void save(RecordFingerprints fingerprints) {
+        SyncJob job = fingerprints.getJob();
+        if (fingerprints.isEnabled() && !fingerprints.getLoaded().isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(MERGE_SQL, fingerprints.getLoaded().entrySet(), SAVE_BATCH, (ps, loaded) -> {
+                ps.setString(1, job.getSourceName());
+                ps.setString(2, loaded.getKey());
+                ps.setString(3, loaded.getValue());
+                ps.setObject(4, job.getId());
+                ps.setTimestamp(5, now);
+            });
+            log.debug("Saved {} record fingerprint(s) of {} for job {}",
+                    fingerprints.getLoaded().size(), job.getSourceName(), job.getId());
+        }
+        syncJobService.recordChangeCounts(job, fingerprints.getNewRecords(), fingerprints.getChangedRecords(),
+                fingerprints.getUnchangedRecords());
+    }
+
+    private Map<String, String> lookup(String sourceName, Collection<String> externalIds) {
+        List<String> ids = externalIds.stream().filter(Objects::nonNull).distinct().toList();
+        Map<String, String> known = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LOOKUP_BATCH) {
+            List<String> batch = new ArrayList<>(ids.subList(from, Math.min(ids.size(), from + LOOKUP_BATCH)));
+            for (RecordFingerprint fingerprint : fingerprintRepository.findBySourceNameAndExternalIdIn(sourceName, batch)) {
+                known.put(fingerprint.getExternalId(), fingerprint.getContentHash());
+            }
+        }
+        return known;
+    }
+}
@@ -0,0 +1,116 @@
+package com.dataplatform.service;
+
+import com.dataplatform.model.SyncJob;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The fingerprint index of one sync job's source, read a chunk at a time.
+ */
+public final class RecordFingerprints {
+
+    public static final String NEW = "NEW";
+    public static final String CHANGED = "CHANGED";
+    public static final String UNCHANGED = "UNCHANGED";
+
+    private final SyncJob job;
+    private final boolean enabled;
+    private final Function<Collection<String>, Map<String, String>> lookup;
+    private Map<String, String> known = Map.of();
+    private final Map<String, String> pending = new HashMap<>();
+    private final Map<String, String> loaded = new HashMap<>();
+    private int newRecords;
+    private int changedRecords;
+    private int unchangedRecords;
+
+    RecordFingerprints(SyncJob job, boolean enabled, Function<Collection<String>, Map<String, String>> lookup) {
+        this.job = job;
+        this.enabled = enabled;
+        this.lookup = lookup;
+    }
+
+    /**
+     * Reads the last loaded hashes of the next records to classify, replacing those of the
+     * previous chunk.
+     */
+    public void prepare(Collection<String> externalIds) {
+        if (enabled) {
+            known = lookup.apply(externalIds);
+        }
+    }
+
+    /**
+     * Whether the record is NEW, CHANGED or UNCHANGED since it was last loaded. With the index
+     * disabled every record is NEW. Records without an external id cannot be tracked and are
+     * always NEW.
+     */
+    public String classify(String externalId, String rawData) {
+        if (!enabled || externalId == null || rawData == null) {
+            newRecords++;
+            return NEW;
+        }
+        String hash = hash(rawData);
+        String previous = known.get(externalId);
+        if (hash.equals(previous)) {
+            unchangedRecords++;
+            return UNCHANGED;
+        }
+        pending.put(externalId, hash);
+        if (previous == null) {
+            newRecords++;
+            return NEW;
+        }
+        changedRecords++;
+        return CHANGED;
+    }
+
+    /**
+     * Marks a NEW or CHANGED record as loaded, so its hash is saved with the job.
+     */
+    public void loaded(String externalId) {
+        String hash = externalId == null ? null : pending.remove(externalId);
+        if (hash != null) {
+            loaded.put(externalId, hash);
+        }
+    }
+
+    SyncJob getJob() {
+        return job;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    Map<String, String> getLoaded() {
+        return loaded;
+    }
+
+    public int getNewRecords() {
+        return newRecords;
+    }
+
+    public int getChangedRecords() {
+        return changedRecords;
+    }
+
+    public int getUnchangedRecords() {
+        return unchangedRecords;
+    }
+
+    static String hash(String rawData) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawData.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
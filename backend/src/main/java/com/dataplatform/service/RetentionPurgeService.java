@@ -0,0 +1,243 @@
+package com.dataplatform.service;
+
+import com.dataplatform.dto.RetentionStatusDTO;
+import com.dataplatform.model.SyncJob;
+import com.dataplatform.repository.StagingTable;
+import com.dataplatform.repository.SyncJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Deletes finished jobs' rows from each per-job table in small batches once past retention.
+ */
+@Slf4j
+@Service
+public class RetentionPurgeService {
+
+    public static final String SYNC_ERRORS_TABLE = "audit.sync_errors";
+    public static final String SYNC_ERROR_SUMMARIES_TABLE = "audit.sync_error_summaries";
+    public static final String PAGE_VALIDATORS_TABLE = "audit.source_page_validators";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SyncJobRepository syncJobRepository;
+    private final boolean enabled;
+    private final long intervalMs;
+    private final int batchSize;
+    private final long batchPauseMs;
+    private final int maxJobsPerRun;
+    private final List<Target> targets = new ArrayList<>();
+    private ScheduledExecutorService scheduler;
+
+    public RetentionPurgeService(JdbcTemplate jdbcTemplate,
+                                 SyncJobRepository syncJobRepository,
+                                 @Value("${app.retention.enabled}") boolean enabled,
+                                 @Value("${app.retention.interval-ms}") long intervalMs,
+                                 @Value("${app.retention.batch-size}") int batchSize,
+                                 @Value("${app.retention.batch-pause-ms}") long batchPauseMs,
+                                 @Value("${app.retention.max-jobs-per-run}") int maxJobsPerRun,
+                                 @Value("${app.retention.raw-customers-days}") int rawCustomersDays,
+                                 @Value("${app.retention.raw-products-days}") int rawProductsDays,
+                                 @Value("${app.retention.raw-invoices-days}") int rawInvoicesDays,
+                                 @Value("${app.retention.sync-errors-days}") int syncErrorsDays,
+                                 @Value("${app.retention.sync-error-summaries-days}") int syncErrorSummariesDays,
+                                 @Value("${app.retention.page-validators-days}") int pageValidatorsDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.syncJobRepository = syncJobRepository;
+        this.enabled = enabled;
+        this.intervalMs = intervalMs;
+        this.batchSize = Math.max(1, batchSize);
+        this.batchPauseMs = batchPauseMs;
+        this.maxJobsPerRun = Math.max(1, maxJobsPerRun);
+        targets.add(staging(StagingTable.RAW_CUSTOMERS, rawCustomersDays));
+        targets.add(staging(StagingTable.RAW_PRODUCTS, rawProductsDays));
+        targets.add(staging(StagingTable.RAW_INVOICES, rawInvoicesDays));
+        targets.add(new Target(SYNC_ERRORS_TABLE, "errors_purged_at", syncErrorsDays,
+                syncJobRepository::findByErrorsPurgedAtIsNullAndEndTimeBeforeOrderByEndTimeAsc,
+                syncJobRepository::countByErrorsPurgedAtIsNullAndEndTimeBefore));
+        targets.add(new Target(SYNC_ERROR_SUMMARIES_TABLE, "error_summaries_purged_at", syncErrorSummariesDays,
+                syncJobRepository::findByErrorSummariesPurgedAtIsNullAndEndTimeBeforeOrderByEndTimeAsc,
+                syncJobRepository::countByErrorSummariesPurgedAtIsNullAndEndTimeBefore));
+        targets.add(new Target(PAGE_VALIDATORS_TABLE, "page_validators_purged_at", pageValidatorsDays,
+                syncJobRepository::findByPageValidatorsPurgedAtIsNullAndEndTimeBeforeOrderByEndTimeAsc,
+                syncJobRepository::countByPageValidatorsPurgedAtIsNullAndEndTimeBefore));
+    }
+
+    private Target staging(StagingTable table, int retentionDays) {
+        return new Target(table.getTableName(), "staging_purged_at", retentionDays,
+                (cutoff, page) -> syncJobRepository
+                        .findBySourceNameInAndStagingPurgedAtIsNullAndEndTimeBeforeOrderByEndTimeAsc(
+                                table.getSourceNames(), cutoff, page),
+                cutoff -> syncJobRepository.countBySourceNameInAndStagingPurgedAtIsNullAndEndTimeBefore(
+                        table.getSourceNames(), cutoff));
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Retention purge disabled");
+            return;
+        }
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("retention-purge-");
+        threads.setDaemon(true);
+        scheduler = Executors.newSingleThreadScheduledExecutor(threads);
+        scheduler.scheduleWithFixedDelay(this::runSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Purges every table with a positive retention once, up to {@code max-jobs-per-run} jobs per
+     * table, and returns the number of rows deleted.
+     */
+    public long runOnce() {
+        long deleted = 0;
+        for (Target target : targets) {
+            if (target.retentionDays > 0) {
+                deleted += purge(target, LocalDateTime.now());
+            }
+        }
+        return deleted;
+    }
+
+    public List<RetentionStatusDTO> getStatus() {
+        List<RetentionStatusDTO> status = new ArrayList<>(targets.size());
+        for (Target target : targets) {
+            synchronized (target) {
+                status.add(RetentionStatusDTO.builder()
+                        .tableName(target.tableName)
+                        .retentionDays(target.retentionDays)
+                        .lastRunAt(target.lastRunAt)
+                        .lastRunRows(target.lastRunRows)
+                        .lastRunMs(target.lastRunMs)
+                        .totalRows(target.totalRows)
+                        .rowsPerSecond(target.lastRunMs > 0 ? target.lastRunRows * 1000.0 / target.lastRunMs : null)
+                        .pendingJobs(target.pendingJobs)
+                        .lagSeconds(target.lagSeconds)
+                        .build());
+            }
+        }
+        return status;
+    }
+
+    private void runSafely() {
+        try {
+            long deleted = runOnce();
+            if (deleted > 0) {
+                log.info("Retention purge deleted {} rows", deleted);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Retention purge failed", ex);
+        }
+    }
+
+    private long purge(Target target, LocalDateTime now) {
+        LocalDateTime cutoff = now.minusDays(target.retentionDays);
+        long start = System.nanoTime();
+        long deleted = 0;
+        List<SyncJob> jobs = target.candidates.apply(cutoff, PageRequest.of(0, maxJobsPerRun));
+        for (SyncJob job : jobs) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            deleted += purgeJob(target, job.getId());
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Lag: how far past its retention the oldest job still waiting for a purge is
+        List<SyncJob> oldest = target.candidates.apply(cutoff, PageRequest.of(0, 1));
+        long pendingJobs = oldest.isEmpty() ? 0 : target.count.apply(cutoff);
+        long lagSeconds = oldest.isEmpty() ? 0
+                : Math.max(0, Duration.between(oldest.get(0).getEndTime(), cutoff).getSeconds());
+        synchronized (target) {
+            target.lastRunAt = now;
+            target.lastRunRows = deleted;
+            target.lastRunMs = elapsedMs;
+            target.totalRows += deleted;
+            target.pendingJobs = pendingJobs;
+            target.lagSeconds = lagSeconds;
+        }
+        if (deleted > 0) {
+            log.debug("Purged {} rows of {} jobs from {} in {}ms", deleted, jobs.size(), target.tableName, elapsedMs);
+        }
+        return deleted;
+    }
+
+    private long purgeJob(Target target, Long jobId) {
+        String delete = "DELETE TOP (" + batchSize + ") FROM " + target.tableName + " WHERE sync_job_id = ?";
+        long deleted = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update(delete, jobId);
+            deleted += batch;
+            if (batch == batchSize && !pause()) {
+                // Interrupted mid-job: leave it unmarked so the next run picks it up again
+                return deleted;
+            }
+        } while (batch == batchSize);
+        jdbcTemplate.update("UPDATE audit.sync_jobs SET " + target.markerColumn + " = ? WHERE id = ?",
+                LocalDateTime.now(), jobId);
+        return deleted;
+    }
+
+    private boolean pause() {
+        if (batchPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class Target {
+
+        private final String tableName;
+        private final String markerColumn;
+        private final int retentionDays;
+        private final BiFunction<LocalDateTime, Pageable, List<SyncJob>> candidates;
+        private final Function<LocalDateTime, Long> count;
+        private LocalDateTime lastRunAt;
+        private long lastRunRows;
+        private long lastRunMs;
+        private long totalRows;
+        private long pendingJobs;
+        private long lagSeconds;
+
+        private Target(String tableName,
+                       String markerColumn,
+                       int retentionDays,
+                       BiFunction<LocalDateTime, Pageable, List<SyncJob>> candidates,
+                       Function<LocalDateTime, Long> count) {
+            this.tableName = tableName;
+            this.markerColumn = markerColumn;
+            this.retentionDays = retentionDays;
+            this.candidates = candidates;
+            this.count = count;
+        }
+    }
+}
@@ -1,20 +1,30 @@
 package com.dataplatform.service;
 
 import com.dataplatform.dto.CrmCustomerResponse;
+import com.dataplatform.dto.CustomerRecord;
 import com.dataplatform.dto.SalesforceContact;
 import com.dataplatform.dto.SyncJobDTO;
+import com.dataplatform.exception.CircuitOpenException;
 import com.dataplatform.integration.SalesforceApiClient;
-import com.dataplatform.model.RawCustomer;
 import com.dataplatform.model.SyncError;
 import com.dataplatform.model.SyncJob;
-import com.dataplatform.repository.RawCustomerRepository;
-import com.dataplatform.repository.SyncErrorRepository;
+import com.dataplatform.repository.StagingBulkWriter;
+import com.dataplatform.repository.StagingSession;
+import com.dataplatform.repository.StagingTable;
+import com.dataplatform.repository.SyncErrorWriter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -22,54 +32,135 @@ import java.util.List;
 public class SalesforceIntegrationService {
 
     private final SalesforceApiClient salesforceApiClient;
-    private final RawCustomerRepository rawCustomerRepository;
-    private final SyncErrorRepository syncErrorRepository;
+    private final StagingBulkWriter stagingWriter;
+    private final SyncErrorWriter syncErrorWriter;
     private final SyncJobService syncJobService;
     private final ObjectMapper objectMapper;
 
+    private static final String SOURCE_NAME = "SALESFORCE";
+
+    /**
+     * Stages Salesforce Contacts for {@code job}. An INCREMENTAL job only extracts Contacts
+     * changed since the high-water mark of the last completed Salesforce job; the newest
+     * SystemModstamp among the rows staging confirms as written becomes this job's high-water mark.
+     */
     public SyncJobDTO syncContactsForJob(SyncJob job) {
-        List<SalesforceContact> contacts;
-        try {
-            contacts = salesforceApiClient.fetchContacts();
+        return syncContactsForJob(job, null);
+    }
+
+    /**
+     * As {@link #syncContactsForJob(SyncJob)}, also handing each page of normalized contacts to
+     * {@code downstream} as it arrives while the page is written to staging on a background thread.
+     * Should staging then miss any contact handed on, the job fails.
+     */
+    public SyncJobDTO syncContactsForJob(SyncJob job, Consumer<List<CustomerRecord>> downstream) {
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger handedOn = new AtomicInteger();
+        LocalDateTime modifiedSince = incrementalSince(job);
+        AtomicReference<LocalDateTime> highWaterMark = new AtomicReference<>(modifiedSince);
+        // Modstamps of contacts handed to staging, until it reports them written or failed
+        Map<String, LocalDateTime> unconfirmed = new ConcurrentHashMap<>();
+        StagingBulkWriter.FailureHandler onFailure = (record, ex) -> {
+            unconfirmed.remove(record.getExternalId());
+            recordStagingFailure(job, record.getExternalId(), ex, failed);
+        };
+        StagingBulkWriter.WrittenHandler onWritten = records -> records.forEach(record ->
+                advance(highWaterMark, unconfirmed.remove(record.getExternalId())));
+        StagingSession staging = downstream == null
+                ? stagingWriter.open(StagingTable.RAW_CUSTOMERS, job, onFailure, onWritten)
+                : stagingWriter.openAsync(StagingTable.RAW_CUSTOMERS, job, onFailure, onWritten);
+        try (staging) {
+            Consumer<List<SalesforceContact>> pageHandler = page -> {
+                List<CustomerRecord> records = normalizePage(job, page, failed, unconfirmed);
+                staging.add(records.stream().map(CustomerRecord::toRawRecord).toList());
+                if (downstream != null) {
+                    downstream.accept(records);
+                    handedOn.addAndGet(records.size());
+                }
+            };
+            if (!salesforceApiClient.isReactive()) {
+                salesforceApiClient.fetchContactPages(modifiedSince, pageHandler);
+            } else if (salesforceApiClient.extractsInBulk(modifiedSince)) {
+                // Bulk API jobs only run over the RestTemplate
+                salesforceApiClient.fetchContactPagesInBulk(modifiedSince, pageHandler);
+            } else {
+                SourcePages.forEach(salesforceApiClient.contactPages(modifiedSince), pageHandler);
+            }
+            staging.flush();
+            syncJobService.recordStaging(job, staging);
+        } catch (CircuitOpenException ex) {
+            log.warn("Skipping Salesforce fetch for job {}: {}", job.getId(), ex.getMessage());
+            syncJobService.failJob(job, "CIRCUIT_OPEN", ex.getMessage());
+            return SyncJobDTO.fromEntity(job);
         } catch (Exception ex) {
+            if (handedOn.get() > staging.getRowsWritten()) {
+                syncJobService.failStagingMismatch(job, handedOn.get(), staging.getRowsWritten(), ex);
+                return SyncJobDTO.fromEntity(job);
+            }
             log.error("Failed to fetch contacts from Salesforce API", ex);
             syncJobService.failJob(job, "Salesforce API fetch failed: " + ex.getMessage());
             return SyncJobDTO.fromEntity(job);
         }
 
-        int processed = 0;
-        int failed = 0;
+        if (handedOn.get() > staging.getRowsWritten()) {
+            syncJobService.failStagingMismatch(job, handedOn.get(), staging.getRowsWritten(), null);
+            return SyncJobDTO.fromEntity(job);
+        }
+
+        syncJobService.recordWatermark(job, modifiedSince, highWaterMark.get());
+        log.info("Salesforce staging completed for job {}: processed={}, failed={}",
+                job.getId(), staging.getRowsWritten(), failed.get());
+        return SyncJobDTO.fromEntity(job);
+    }
+
+    private LocalDateTime incrementalSince(SyncJob job) {
+        if (!"INCREMENTAL".equals(job.getSyncType())) {
+            return null;
+        }
+        LocalDateTime since = syncJobService.findHighWaterMark(SOURCE_NAME).orElse(null);
+        if (since == null) {
+            log.info("No Salesforce high-water mark yet; job {} extracts all contacts", job.getId());
+        }
+        return since;
+    }
 
+    private List<CustomerRecord> normalizePage(SyncJob job,
+                                               List<SalesforceContact> contacts,
+                                               AtomicInteger failed,
+                                               Map<String, LocalDateTime> unconfirmed) {
+        List<CustomerRecord> records = new ArrayList<>(contacts.size());
         for (SalesforceContact contact : contacts) {
             try {
                 CrmCustomerResponse normalized = normalizeToCrmFormat(contact);
-                String rawJson = objectMapper.writeValueAsString(normalized);
-                RawCustomer rawCustomer = RawCustomer.builder()
-                        .syncJob(job)
-                        .externalId(contact.getId())
-                        .rawData(rawJson)
-                        .build();
-                rawCustomerRepository.save(rawCustomer);
-                processed++;
-            } catch (Exception ex) {
-                failed++;
-                log.warn("Failed to stage Salesforce contact {}: {}", contact.getId(), ex.getMessage());
-                try {
-                    SyncError error = SyncError.builder()
-                            .syncJob(job)
-                            .errorType("STAGING_ERROR")
-                            .errorMessage(ex.getMessage())
-                            .failedRecord(contact.getId())
-                            .build();
-                    syncErrorRepository.save(error);
-                } catch (Exception errorEx) {
-                    log.error("Failed to log sync error for contact {}", contact.getId(), errorEx);
+                records.add(new CustomerRecord(contact.getId(), objectMapper.writeValueAsString(normalized), normalized));
+                LocalDateTime modstamp = SalesforceApiClient.parseTimestamp(contact.getSystemModstamp());
+                if (contact.getId() != null && modstamp != null) {
+                    unconfirmed.put(contact.getId(), modstamp);
                 }
+            } catch (Exception ex) {
+                recordStagingFailure(job, contact.getId(), ex, failed);
             }
         }
+        return records;
+    }
 
-        log.info("Salesforce staging completed for job {}: processed={}, failed={}", job.getId(), processed, failed);
-        return SyncJobDTO.fromEntity(job);
+    private void recordStagingFailure(SyncJob job, String contactId, Exception ex, AtomicInteger failed) {
+        failed.incrementAndGet();
+        log.warn("Failed to stage Salesforce contact {}: {}", contactId, ex.getMessage());
+        SyncError error = SyncError.builder()
+                .syncJob(job)
+                .errorType("STAGING_ERROR")
+                .errorMessage(ex.getMessage())
+                .failedRecord(contactId)
+                .build();
+        syncErrorWriter.record(error);
+    }
+
+    private void advance(AtomicReference<LocalDateTime> highWaterMark, LocalDateTime modstamp) {
+        if (modstamp != null) {
+            highWaterMark.accumulateAndGet(modstamp,
+                    (current, candidate) -> current == null || candidate.isAfter(current) ? candidate : current);
+        }
     }
 
     CrmCustomerResponse normalizeToCrmFormat(SalesforceContact contact) {
@@ -0,0 +1,53 @@
+package com.dataplatform.service;
+
+import com.dataplatform.dto.RawRecord;
+import com.dataplatform.integration.AdaptivePageSizer;
+import com.dataplatform.integration.PageCache;
+import com.dataplatform.integration.PagedSourceConnector;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hands a source's pages to the staging page handler, WebClient pages one at a time off the event loop.
+ */
+final class SourcePages {
+
+    private SourcePages() {
+    }
+
+    /**
+     * With {@code bindItems} each record also carries its element bound to the connector's DTO.
+     */
+    static int forEachRawPage(PagedSourceConnector<?> connector,
+                              Consumer<List<RawRecord>> pageHandler,
+                              AdaptivePageSizer.Listener pageSizeListener,
+                              PageCache pageCache,
+                              boolean bindItems) {
+        if (connector.isReactive()) {
+            return forEach(connector.rawPages(pageSizeListener, pageCache, bindItems), pageHandler);
+        }
+        return connector.forEachRawPage(pageHandler, pageSizeListener, pageCache, bindItems);
+    }
+
+    /**
+     * Returns the number of items handled once every page has been, so the job's thread waits for
+     * the whole extract rather than for each page. A failing handler cancels the pages still in
+     * flight and its exception is rethrown.
+     */
+    static <T> int forEach(Flux<List<T>> pages, Consumer<List<T>> pageHandler) {
+        Integer total = pages
+                .concatMap(page -> Mono.fromCallable(() -> {
+                            pageHandler.accept(page);
+                            return page.size();
+                        })
+                        // The handler writes to the database, so it must not run on an event loop
+                        .subscribeOn(Schedulers.boundedElastic()), 1)
+                .reduce(0, Integer::sum)
+                .block();
+        return total != null ? total : 0;
+    }
+}
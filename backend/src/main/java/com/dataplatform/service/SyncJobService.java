@@ -4,8 +4,11 @@ import com.dataplatform.dto.SyncErrorDTO;
 import com.dataplatform.dto.SyncJobDTO;
 import com.dataplatform.exception.ResourceNotFoundException;
 import com.dataplatform.graphql.SyncJobEventPublisher;
+import com.dataplatform.model.SyncError;
 import com.dataplatform.model.SyncJob;
+import com.dataplatform.repository.StagingSession;
 import com.dataplatform.repository.SyncErrorRepository;
+import com.dataplatform.repository.SyncErrorWriter;
 import com.dataplatform.repository.SyncJobRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -22,6 +26,7 @@ public class SyncJobService {
 
     private final SyncJobRepository syncJobRepository;
     private final SyncErrorRepository syncErrorRepository;
+    private final SyncErrorWriter syncErrorWriter;
     private final SyncJobEventPublisher eventPublisher;
 
     @Transactional
@@ -38,12 +43,23 @@ public class SyncJobService {
         return saved;
     }
 
-    @Transactional
+    /**
+     * Not transactional: draining the job's errors writes them in transactions of their own,
+     * which must not wait for a connection while this call holds one. The save is its own
+     * transaction.
+     */
     public SyncJob completeJob(SyncJob job, int recordsProcessed, int recordsFailed) {
+        int errorsLost = drainErrors(job);
         job.setEndTime(LocalDateTime.now());
         job.setRecordsProcessed(recordsProcessed);
         job.setRecordsFailed(recordsFailed);
-        job.setStatus(recordsFailed > 0 && recordsProcessed == 0 ? "FAILED" : "COMPLETED");
+        if (errorsLost > 0) {
+            // Its error counts would under-report, so the job cannot pass as complete
+            job.setStatus("FAILED");
+            job.setErrorMessage(errorsLost + " sync errors could not be written");
+        } else {
+            job.setStatus(recordsFailed > 0 && recordsProcessed == 0 ? "FAILED" : "COMPLETED");
+        }
         SyncJob saved = syncJobRepository.save(job);
         log.info("Completed sync job {}: processed={}, failed={}, status={}",
                 saved.getId(), recordsProcessed, recordsFailed, saved.getStatus());
@@ -51,8 +67,11 @@ public class SyncJobService {
         return saved;
     }
 
-    @Transactional
+    /**
+     * Not transactional, like {@link #completeJob}.
+     */
     public SyncJob failJob(SyncJob job, String errorMessage) {
+        drainErrors(job);
         job.setEndTime(LocalDateTime.now());
         job.setStatus("FAILED");
         job.setErrorMessage(errorMessage);
@@ -62,6 +81,100 @@ public class SyncJobService {
         return saved;
     }
 
+    /**
+     * Fails the job and records {@code errorType} against it, for failures that are about the
+     * job as a whole rather than a single record.
+     */
+    public SyncJob failJob(SyncJob job, String errorType, String errorMessage) {
+        syncErrorWriter.record(SyncError.builder()
+                .syncJob(job)
+                .errorType(errorType)
+                .errorMessage(errorMessage)
+                .build());
+        return failJob(job, errorMessage);
+    }
+
+    /**
+     * Fails a job whose staging is missing records that were already handed on to be loaded,
+     * recording the shortfall as a STAGING_MISMATCH error.
+     */
+    public SyncJob failStagingMismatch(SyncJob job, int handedOn, int staged, Exception cause) {
+        String message = String.format("Staging wrote %d of the %d records handed on to be loaded%s",
+                staged, handedOn, cause != null ? ": " + cause.getMessage() : "");
+        return failJob(job, "STAGING_MISMATCH", message);
+    }
+
+    private int drainErrors(SyncJob job) {
+        int errorsLost = (int) Math.min(Integer.MAX_VALUE, syncErrorWriter.drain(job.getId()));
+        if (errorsLost > 0) {
+            job.setErrorsLost(errorsLost);
+        }
+        return errorsLost;
+    }
+
+    @Transactional
+    public SyncJob recordPageSize(SyncJob job, int pageSize, String reason) {
+        String entry = pageSize + ": " + reason;
+        job.setPageSize(pageSize);
+        job.setPageSizeLog(job.getPageSizeLog() == null ? entry : job.getPageSizeLog() + "\n" + entry);
+        SyncJob saved = syncJobRepository.save(job);
+        log.debug("Sync job {} page size {} ({})", saved.getId(), pageSize, reason);
+        return saved;
+    }
+
+    @Transactional
+    public SyncJob recordPageCache(SyncJob job, int hits, int misses) {
+        job.setPageCacheHits(hits);
+        job.setPageCacheMisses(misses);
+        SyncJob saved = syncJobRepository.save(job);
+        log.info("Sync job {} page cache: {} not modified, {} downloaded", saved.getId(), hits, misses);
+        return saved;
+    }
+
+    @Transactional
+    public SyncJob recordChangeCounts(SyncJob job, int newRecords, int changedRecords, int unchangedRecords) {
+        job.setRecordsNew(newRecords);
+        job.setRecordsChanged(changedRecords);
+        job.setRecordsUnchanged(unchangedRecords);
+        SyncJob saved = syncJobRepository.save(job);
+        log.info("Sync job {} records: {} new, {} changed, {} unchanged", saved.getId(),
+                newRecords, changedRecords, unchangedRecords);
+        return saved;
+    }
+
+    @Transactional
+    public SyncJob recordStaging(SyncJob job, StagingSession staging) {
+        Double rowsPerSecond = staging.getRowsPerSecond();
+        job.setStagingRowsPerSecond(rowsPerSecond);
+        job.setStagingRawBytes(staging.getRawBytes());
+        job.setStagingStoredBytes(staging.getStoredBytes());
+        SyncJob saved = syncJobRepository.save(job);
+        log.info("Sync job {} staged {} rows at {} rows/s, {} bytes stored for {} bytes of JSON", saved.getId(),
+                staging.getRowsWritten(), rowsPerSecond == null ? "-" : String.format("%.0f", rowsPerSecond),
+                staging.getStoredBytes(), staging.getRawBytes());
+        return saved;
+    }
+
+    /**
+     * High-water mark of the source's most recent completed job, the lower bound for the next
+     * incremental extract.
+     */
+    public Optional<LocalDateTime> findHighWaterMark(String sourceName) {
+        return syncJobRepository
+                .findFirstBySourceNameAndStatusAndHighWaterMarkNotNullOrderByHighWaterMarkDesc(sourceName, "COMPLETED")
+                .map(SyncJob::getHighWaterMark);
+    }
+
+    @Transactional
+    public SyncJob recordWatermark(SyncJob job, LocalDateTime modifiedSince, LocalDateTime highWaterMark) {
+        job.setModifiedSince(modifiedSince);
+        job.setHighWaterMark(highWaterMark);
+        SyncJob saved = syncJobRepository.save(job);
+        log.info("Sync job {} extracted changes since {}, high-water mark {}",
+                saved.getId(), modifiedSince, highWaterMark);
+        return saved;
+    }
+
     @Transactional
     public SyncJob createQueuedJob(String sourceName, String syncType) {
         SyncJob job = SyncJob.builder()
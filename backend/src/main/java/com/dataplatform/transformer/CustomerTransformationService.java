@@ -22,13 +22,22 @@ public class CustomerTransformationService {
             throw new IllegalArgumentException("Failed to parse raw customer JSON: " + ex.getMessage(), ex);
         }
 
+        TransformedCustomer transformed = transform(crm);
+        transformed.setRawData(rawJson);
+        return transformed;
+    }
+
+    /**
+     * Transforms a customer the source already produced as an object. The result carries no copy of
+     * the raw JSON, which stays in staging.
+     */
+    public TransformedCustomer transform(CrmCustomerResponse crm) {
         return TransformedCustomer.builder()
                 .externalId(crm.getId())
                 .name(normalizeString(crm.getName()))
                 .email(normalizeEmail(crm.getEmail()))
                 .phone(normalizePhone(crm.getPhone()))
                 .address(flattenAddress(crm.getAddress()))
-                .rawData(rawJson)
                 .build();
     }
 
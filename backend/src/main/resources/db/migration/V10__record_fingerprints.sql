@@ -0,0 +1,24 @@
+-- Audit: per-source fingerprint index of loaded records
+-- content_hash is the SHA-256 (hex) of the raw JSON last loaded for the record. sync_job_id has no
+-- foreign key so the index outlives the jobs that wrote it.
+CREATE TABLE audit.record_fingerprints (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    source_name VARCHAR(100) NOT NULL,
+    external_id VARCHAR(100) NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    sync_job_id BIGINT,
+    updated_at DATETIME2 DEFAULT GETDATE()
+);
+GO
+
+CREATE UNIQUE INDEX ux_record_fingerprints_key ON audit.record_fingerprints(source_name, external_id);
+GO
+
+ALTER TABLE audit.sync_jobs ADD records_new INT;
+GO
+
+ALTER TABLE audit.sync_jobs ADD records_changed INT;
+GO
+
+ALTER TABLE audit.sync_jobs ADD records_unchanged INT;
+GO
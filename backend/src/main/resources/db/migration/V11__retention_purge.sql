@@ -0,0 +1,21 @@
+-- Retention: purge old staging rows and sync errors by job
+-- A job's rows are deleted in small batches by sync_job_id once the job ended longer ago than the
+-- table's retention; the job itself is kept and marked so it is not visited again.
+-- The staging indexes are keyed on (sync_job_id, id) so a job's rows are found in id order by a seek.
+ALTER TABLE audit.sync_jobs ADD staging_purged_at DATETIME2;
+GO
+
+ALTER TABLE audit.sync_jobs ADD errors_purged_at DATETIME2;
+GO
+
+CREATE INDEX idx_sync_jobs_end_time ON audit.sync_jobs(end_time);
+GO
+
+CREATE INDEX idx_raw_customers_job_id ON staging.raw_customers(sync_job_id, id);
+GO
+
+CREATE INDEX idx_raw_products_job_id ON staging.raw_products(sync_job_id, id);
+GO
+
+CREATE INDEX idx_raw_invoices_job_id ON staging.raw_invoices(sync_job_id, id);
+GO
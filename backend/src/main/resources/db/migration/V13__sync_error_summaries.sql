@@ -0,0 +1,20 @@
+-- Audit: per-job error counts by error type and message template
+-- audit.sync_errors keeps only the first few occurrences of each (job, type, template) as samples;
+-- this table counts all of them.
+CREATE TABLE audit.sync_error_summaries (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    sync_job_id BIGINT NOT NULL,
+    error_type VARCHAR(100) NOT NULL,
+    message_template VARCHAR(500) NOT NULL,
+    error_count INT NOT NULL,
+    sample_count INT NOT NULL,
+    example_message VARCHAR(MAX),
+    first_occurred_at DATETIME2,
+    last_occurred_at DATETIME2,
+    FOREIGN KEY (sync_job_id) REFERENCES audit.sync_jobs(id)
+);
+GO
+
+CREATE UNIQUE INDEX ux_sync_error_summaries_key
+    ON audit.sync_error_summaries(sync_job_id, error_type, message_template);
+GO
@@ -0,0 +1,10 @@
+-- Retention: also purge error summaries and page validators by job
+-- Validators reference the job that last downloaded the page, so they must go before a job can.
+ALTER TABLE audit.sync_jobs ADD error_summaries_purged_at DATETIME2;
+GO
+
+ALTER TABLE audit.sync_jobs ADD page_validators_purged_at DATETIME2;
+GO
+
+CREATE INDEX idx_source_page_validators_job ON audit.source_page_validators(sync_job_id);
+GO
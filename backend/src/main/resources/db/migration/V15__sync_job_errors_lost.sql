@@ -0,0 +1,3 @@
+-- Audit: sync errors of a job that could not be written to sync_errors / sync_error_summaries
+ALTER TABLE audit.sync_jobs ADD errors_lost INT;
+GO
@@ -0,0 +1,6 @@
+-- Audit: page size chosen by the adaptive pagination controller
+ALTER TABLE audit.sync_jobs ADD page_size INT;
+GO
+
+ALTER TABLE audit.sync_jobs ADD page_size_log VARCHAR(MAX);
+GO
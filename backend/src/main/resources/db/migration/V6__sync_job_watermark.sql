@@ -0,0 +1,11 @@
+-- Audit: change-tracking window for incremental syncs
+-- modified_since is the lower bound the job extracted from; high_water_mark is the newest
+-- source modification stamp it staged, which the next incremental job starts from.
+ALTER TABLE audit.sync_jobs ADD modified_since DATETIME2;
+GO
+
+ALTER TABLE audit.sync_jobs ADD high_water_mark DATETIME2;
+GO
+
+CREATE INDEX idx_sync_jobs_source_watermark ON audit.sync_jobs(source_name, status, high_water_mark);
+GO
@@ -0,0 +1,23 @@
+-- Audit: conditional GET validators for source pages
+-- One row per source page (page_key is the request path and query). sync_job_id is the job that
+-- last downloaded the page; its validators are only sent once that job has completed.
+CREATE TABLE audit.source_page_validators (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    source_name VARCHAR(100) NOT NULL,
+    page_key VARCHAR(400) NOT NULL,
+    etag VARCHAR(400),
+    last_modified VARCHAR(100),
+    sync_job_id BIGINT NOT NULL,
+    updated_at DATETIME2 DEFAULT GETDATE(),
+    CONSTRAINT fk_page_validators_job FOREIGN KEY (sync_job_id) REFERENCES audit.sync_jobs(id)
+);
+GO
+
+CREATE UNIQUE INDEX ux_source_page_validators_key ON audit.source_page_validators(source_name, page_key);
+GO
+
+ALTER TABLE audit.sync_jobs ADD page_cache_hits INT;
+GO
+
+ALTER TABLE audit.sync_jobs ADD page_cache_misses INT;
+GO
@@ -0,0 +1,4 @@
+-- Audit: staging throughput
+-- Rows the bulk staging writer inserted per second of time spent writing them.
+ALTER TABLE audit.sync_jobs ADD staging_rows_per_second FLOAT;
+GO
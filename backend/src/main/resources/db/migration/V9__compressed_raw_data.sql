@@ -0,0 +1,18 @@
+-- Staging: optionally compressed raw_data
+-- A compressed row leaves raw_data NULL and keeps the JSON in raw_data_compressed; raw_data_codec
+-- names the codec (GZIP). Rows without a codec are plain text, so existing data stays readable.
+ALTER TABLE staging.raw_customers ADD raw_data_compressed VARBINARY(MAX), raw_data_codec VARCHAR(10);
+GO
+
+ALTER TABLE staging.raw_products ADD raw_data_compressed VARBINARY(MAX), raw_data_codec VARCHAR(10);
+GO
+
+ALTER TABLE staging.raw_invoices ADD raw_data_compressed VARBINARY(MAX), raw_data_codec VARCHAR(10);
+GO
+
+-- Audit: staged raw JSON size before compression and as stored
+ALTER TABLE audit.sync_jobs ADD staging_raw_bytes BIGINT;
+GO
+
+ALTER TABLE audit.sync_jobs ADD staging_stored_bytes BIGINT;
+GO
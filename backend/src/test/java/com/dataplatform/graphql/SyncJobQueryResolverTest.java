@@ -4,14 +4,19 @@ import com.dataplatform.model.RawCustomer;
 import com.dataplatform.model.SyncError;
 import com.dataplatform.model.SyncJob;
 import com.dataplatform.repository.RawCustomerRepository;
+import com.dataplatform.repository.StagedRecordReader;
 import com.dataplatform.repository.SyncErrorRepository;
+import com.dataplatform.repository.SyncErrorSummaryRepository;
+import com.dataplatform.repository.SyncErrorWriter;
 import com.dataplatform.repository.SyncJobRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,6 +24,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,7 +35,13 @@ class SyncJobQueryResolverTest {
     @Mock
     private SyncErrorRepository syncErrorRepository;
     @Mock
+    private SyncErrorSummaryRepository syncErrorSummaryRepository;
+    @Mock
+    private SyncErrorWriter syncErrorWriter;
+    @Mock
     private RawCustomerRepository rawCustomerRepository;
+    @Spy
+    private StagedRecordReader stagedRecordReader = new StagedRecordReader(100);
 
     @InjectMocks
     private SyncJobQueryResolver resolver;
@@ -119,13 +131,48 @@ class SyncJobQueryResolverTest {
         SyncError error = SyncError.builder()
                 .id(1L).errorType("VALIDATION_ERROR").errorMessage("bad data")
                 .occurredAt(LocalDateTime.now()).build();
-        when(syncErrorRepository.findBySyncJobIdOrderByOccurredAtDesc(1L))
+        when(syncErrorRepository.findBySyncJobIdOrderByOccurredAtDesc(1L, PageRequest.of(0, 5)))
                 .thenReturn(List.of(error));
 
         List<SyncError> result = resolver.errors(completedJob, 5);
         assertThat(result).hasSize(1);
     }
 
+    @Test
+    void validationStats_topErrorsComeFromTheErrorSummaries() {
+        when(syncErrorSummaryRepository.countByErrorType(1L)).thenReturn(List.of(
+                new Object[]{"VALIDATION_ERROR", 4000L}, new Object[]{"PIPELINE_ERROR", 2L}));
+
+        Map<String, Object> stats = resolver.validationStats(completedJob);
+
+        assertThat(stats.get("topErrors")).isEqualTo(List.of(
+                Map.of("errorType", "VALIDATION_ERROR", "count", 4000),
+                Map.of("errorType", "PIPELINE_ERROR", "count", 2)));
+        verifyNoInteractions(syncErrorRepository);
+    }
+
+    @Test
+    void validationStats_includesCountsNotYetWrittenToTheSummaries() {
+        when(syncErrorSummaryRepository.countByErrorType(1L)).thenReturn(
+                List.<Object[]>of(new Object[]{"VALIDATION_ERROR", 3L}));
+        when(syncErrorWriter.unwrittenCounts(1L)).thenReturn(Map.of("VALIDATION_ERROR", 2L, "PIPELINE_ERROR", 4L));
+
+        Map<String, Object> stats = resolver.validationStats(completedJob);
+
+        assertThat(stats.get("topErrors")).isEqualTo(List.of(
+                Map.of("errorType", "VALIDATION_ERROR", "count", 5),
+                Map.of("errorType", "PIPELINE_ERROR", "count", 4)));
+    }
+
+    @Test
+    void validationStats_reportsErrorsTheJobLost() {
+        completedJob.setErrorsLost(3);
+
+        Map<String, Object> stats = resolver.validationStats(completedJob);
+
+        assertThat(stats.get("lostErrors")).isEqualTo(3);
+    }
+
     @Test
     void syncMetrics_shouldComputeAggregates() {
         when(syncJobRepository.findAllByOrderByStartTimeDesc())
@@ -138,4 +185,16 @@ class SyncJobQueryResolverTest {
         Map<String, Object> last24h = (Map<String, Object>) metrics.get("last24Hours");
         assertThat((int) last24h.get("totalSyncs")).isEqualTo(2);
     }
+
+    @Test
+    void stagingRecords_readsOnlyTheRequestedPageAfterTheGivenId() {
+        when(rawCustomerRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(1L, 40L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(
+                        RawCustomer.builder().id(41L).externalId("C041").rawData("{\"id\":\"C041\"}").build(),
+                        RawCustomer.builder().id(42L).externalId("C042").rawData("{\"id\":\"C042\"}").build()));
+
+        assertThat(resolver.stagingRecords(completedJob, 2, 40L))
+                .extracting(com.dataplatform.dto.StagingRecordDTO::getExternalId)
+                .containsExactly("C041", "C042");
+    }
 }
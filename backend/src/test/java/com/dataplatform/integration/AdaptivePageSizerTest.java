@@ -0,0 +1,84 @@
+package com.dataplatform.integration;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptivePageSizerTest {
+
+    private final List<String> changes = new ArrayList<>();
+
+    private AdaptivePageSizer sizer(int initial, int min, int max) {
+        return new AdaptivePageSizer("CRM", initial, min, max, 1000, 10_000,
+                (size, reason) -> changes.add(size + ": " + reason));
+    }
+
+    @Test
+    void growsAfterTwoHealthyPages_upToMax() {
+        AdaptivePageSizer sizer = sizer(20, 10, 50);
+
+        sizer.recordPage(20, 100, 1000);
+        assertThat(sizer.requestAt(0).size()).isEqualTo(20);
+        sizer.recordPage(20, 100, 1000);
+        assertThat(sizer.requestAt(0).size()).isEqualTo(40);
+        sizer.recordPage(40, 100, 1000);
+        sizer.recordPage(40, 100, 1000);
+
+        assertThat(sizer.requestAt(0).size()).isEqualTo(50);
+        assertThat(changes).hasSize(3).first().isEqualTo("20: initial size");
+    }
+
+    @Test
+    void shrinksOnSlowPage_largePayload_andFailures_downToMin() {
+        AdaptivePageSizer sizer = sizer(80, 15, 200);
+
+        sizer.recordPage(80, 1500, 1000);
+        assertThat(sizer.requestAt(0).size()).isEqualTo(40);
+        sizer.recordPage(40, 100, 20_000);
+        assertThat(sizer.requestAt(0).size()).isEqualTo(20);
+        sizer.recordFailure();
+        sizer.recordPage(20, 100, 1000);
+        assertThat(sizer.requestAt(0).size()).isEqualTo(15);
+
+        assertThat(changes).containsExactly(
+                "80: initial size",
+                "40: page of 80 took 1500ms (target 1000ms)",
+                "20: page of 40 was 20000 bytes (limit 10000)",
+                "15: 1 failed request(s)");
+    }
+
+    @Test
+    void ignoresHealthyPagesRequestedAtAStaleSize() {
+        AdaptivePageSizer sizer = sizer(40, 10, 200);
+        sizer.recordPage(40, 1500, 1000);
+
+        sizer.recordPage(40, 100, 1000);
+        sizer.recordPage(40, 100, 1000);
+
+        assertThat(sizer.requestAt(0).size()).isEqualTo(20);
+    }
+
+    @Test
+    void requestAt_keepsOffsetOnAPageBoundary() {
+        AdaptivePageSizer sizer = sizer(20, 10, 200);
+        sizer.recordPage(20, 100, 1000);
+        sizer.recordPage(20, 100, 1000);
+
+        assertThat(sizer.requestAt(80).size()).isEqualTo(40);
+        assertThat(sizer.requestAt(60).size()).isEqualTo(30);
+        assertThat(sizer.requestAt(20).size()).isEqualTo(20);
+    }
+
+    @Test
+    void requestAt_noBoundaryWithinMinSize_skipsIntoAPageOfTheCurrentSize() {
+        AdaptivePageSizer sizer = sizer(20, 15, 200);
+        sizer.recordFailure();
+        sizer.recordPage(20, 100, 1000);
+
+        assertThat(sizer.requestAt(20)).isEqualTo(new AdaptivePageSizer.PageRequest(1, 15, 5));
+        assertThat(sizer.requestAt(30)).isEqualTo(new AdaptivePageSizer.PageRequest(2, 15, 0));
+    }
+}
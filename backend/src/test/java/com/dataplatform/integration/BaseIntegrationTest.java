@@ -48,6 +48,9 @@ public abstract class BaseIntegrationTest {
     @BeforeEach
     void cleanDatabase() {
         jdbcTemplate.execute("DELETE FROM audit.sync_errors");
+        jdbcTemplate.execute("DELETE FROM audit.sync_error_summaries");
+        jdbcTemplate.execute("DELETE FROM audit.source_page_validators");
+        jdbcTemplate.execute("DELETE FROM audit.record_fingerprints");
         jdbcTemplate.execute("DELETE FROM staging.raw_customers");
         jdbcTemplate.execute("DELETE FROM staging.raw_products");
         jdbcTemplate.execute("DELETE FROM staging.raw_invoices");
@@ -0,0 +1,102 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.SourceMetricsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedResponseFilterTest {
+
+    private static final URI URL = URI.create("http://crm.test/api/customers?page=0&size=20");
+    private static final String BODY = "{\"content\":[" + "{\"id\":\"CRM-001\",\"name\":\"Alice\"},".repeat(50)
+            + "{\"id\":\"CRM-051\",\"name\":\"Bob\"}],\"totalPages\":1}";
+
+    private IntegrationMetrics metrics;
+    private CompressedResponseFilter filter;
+    private AtomicReference<ClientRequest> sent;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new IntegrationMetrics();
+        filter = new CompressedResponseFilter("CRM", metrics);
+        sent = new AtomicReference<>();
+    }
+
+    @Test
+    void gzipResponse_isDecodedAndBothByteCountsRecorded() throws IOException {
+        byte[] gzipped = gzip(BODY);
+
+        ClientResponse response = exchange(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(gzipped.length))
+                .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(gzipped)))
+                .build());
+
+        assertThat(sent.get().headers().getFirst(HttpHeaders.ACCEPT_ENCODING)).isEqualTo("gzip, deflate");
+        assertThat(response.headers().asHttpHeaders()).doesNotContainKey(HttpHeaders.CONTENT_ENCODING);
+        assertThat(response.bodyToMono(String.class).block()).isEqualTo(BODY);
+        SourceMetricsDTO crm = metrics.getMetrics("CRM");
+        assertThat(crm.getResponses()).isEqualTo(1);
+        assertThat(crm.getCompressedResponses()).isEqualTo(1);
+        assertThat(crm.getWireBytes()).isEqualTo(gzipped.length);
+        assertThat(crm.getDecodedBytes()).isEqualTo(BODY.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void identityResponse_countsSameBytesOnWireAndDecoded() {
+        ClientResponse response = exchange(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(BODY)
+                .build());
+
+        assertThat(response.bodyToMono(String.class).block()).isEqualTo(BODY);
+        SourceMetricsDTO crm = metrics.getMetrics("CRM");
+        assertThat(crm.getCompressedResponses()).isZero();
+        assertThat(crm.getWireBytes()).isEqualTo(crm.getDecodedBytes())
+                .isEqualTo(BODY.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void emptyGzipResponse_isPassedThroughWithoutDecoding() {
+        ClientResponse response = exchange(ClientResponse.create(HttpStatus.NOT_MODIFIED)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .build());
+
+        assertThat(response.bodyToMono(String.class).block()).isNull();
+        assertThat(metrics.getMetrics("CRM").getWireBytes()).isZero();
+    }
+
+    private ClientResponse exchange(ClientResponse upstream) {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URL).build();
+        return filter.filter(request, r -> {
+            sent.set(r);
+            return Mono.just(upstream);
+        }).block();
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+}
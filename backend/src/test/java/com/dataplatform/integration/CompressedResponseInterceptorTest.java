@@ -0,0 +1,120 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.SourceMetricsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class CompressedResponseInterceptorTest {
+
+    private static final String URL = "http://crm.test/api/customers?page=0&size=20";
+    private static final String BODY = "{\"content\":[" + "{\"id\":\"CRM-001\",\"name\":\"Alice\"},".repeat(50)
+            + "{\"id\":\"CRM-051\",\"name\":\"Bob\"}],\"totalPages\":1}";
+
+    private IntegrationMetrics metrics;
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new IntegrationMetrics();
+        restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(new CompressedResponseInterceptor("CRM", metrics));
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    void gzipResponse_isDecodedAndBothByteCountsRecorded() throws IOException {
+        byte[] gzipped = gzip(BODY);
+        server.expect(requestTo(URL))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andRespond(withSuccess(gzipped, MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+        String body = restTemplate.getForObject(URL, String.class);
+
+        assertThat(body).isEqualTo(BODY);
+        SourceMetricsDTO crm = metrics.getMetrics("CRM");
+        assertThat(crm.getResponses()).isEqualTo(1);
+        assertThat(crm.getCompressedResponses()).isEqualTo(1);
+        assertThat(crm.getWireBytes()).isEqualTo(gzipped.length);
+        assertThat(crm.getDecodedBytes()).isEqualTo(BODY.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(crm.getCompressionRatio()).isGreaterThan(1.0);
+    }
+
+    @Test
+    void deflateResponse_zlibAndRawStreamsAreDecoded() throws IOException {
+        server.expect(requestTo(URL))
+                .andRespond(withSuccess(deflate(BODY, false), MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "deflate"));
+        server.expect(requestTo(URL))
+                .andRespond(withSuccess(deflate(BODY, true), MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "deflate"));
+
+        assertThat(restTemplate.getForObject(URL, String.class)).isEqualTo(BODY);
+        assertThat(restTemplate.getForObject(URL, String.class)).isEqualTo(BODY);
+        assertThat(metrics.getMetrics("CRM").getCompressedResponses()).isEqualTo(2);
+    }
+
+    @Test
+    void identityResponse_countsSameBytesOnWireAndDecoded() {
+        server.expect(requestTo(URL)).andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON));
+
+        restTemplate.getForObject(URL, String.class);
+
+        SourceMetricsDTO crm = metrics.getMetrics("CRM");
+        assertThat(crm.getCompressedResponses()).isZero();
+        assertThat(crm.getWireBytes()).isEqualTo(crm.getDecodedBytes());
+        assertThat(crm.getCompressionRatio()).isEqualTo(1.0);
+    }
+
+    @Test
+    void emptyGzipResponse_isReadAsAnEmptyBody() throws IOException {
+        MockClientHttpResponse notModified = new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED);
+        notModified.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        ClientHttpResponse response = new CompressedResponseInterceptor("CRM", metrics).intercept(
+                new MockClientHttpRequest(HttpMethod.GET, URL), new byte[0], (request, body) -> notModified);
+
+        assertThat(response.getBody().readAllBytes()).isEmpty();
+        assertThat(metrics.getMetrics("CRM").getWireBytes()).isZero();
+    }
+
+    private static byte[] gzip(String value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(value.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] deflate(String value, boolean raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out, new Deflater(Deflater.DEFAULT_COMPRESSION, raw))) {
+            deflater.write(value.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,139 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.CrmCustomerResponse;
+import com.dataplatform.dto.RawRecord;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalPagesTest {
+
+    private static final int TOTAL_PAGES = 3;
+    private static final String LAST_MODIFIED = "Wed, 01 Oct 2025 08:00:00 GMT";
+
+    private final WireMockServer server = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+
+    private final RetryScheduler retryScheduler =
+            new RetryScheduler(1, 10, 0.5, 1000, new CircuitBreakerRegistry(100, 1000),
+                    new RateLimiterRegistry(0, 1, 0, 1, 0, 1, 0, 1), new IntegrationMetrics());
+
+    private final RecordingCache cache = new RecordingCache();
+
+    @BeforeEach
+    void setUp() {
+        server.start();
+        for (int page = 0; page < TOTAL_PAGES; page++) {
+            server.stubFor(get(urlPathEqualTo("/api/customers")).withQueryParam("page", equalTo(String.valueOf(page)))
+                    .willReturn(okJson(pageBody(page))
+                            .withHeader("ETag", "W/\"v" + page + "\"")
+                            .withHeader("Last-Modified", LAST_MODIFIED)));
+        }
+        // Page 1 is unchanged since the previous job
+        server.stubFor(get(urlPathEqualTo("/api/customers")).withQueryParam("page", equalTo("1"))
+                .withHeader("If-None-Match", equalTo("W/\"v1\""))
+                .willReturn(aResponse().withStatus(304)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+        retryScheduler.shutdown();
+    }
+
+    @Test
+    void forEachRawPage_notModifiedPage_isHandedOnWithoutContent() {
+        cache.trusted.put("/api/customers?page=0&size=2", new PageCache.Validators("W/\"v0\"", LAST_MODIFIED));
+        cache.trusted.put("/api/customers?page=1&size=2", new PageCache.Validators("W/\"v1\"", LAST_MODIFIED));
+        PagedSourceConnector<CrmCustomerResponse> client = connector(1);
+        List<String> ids = new ArrayList<>();
+
+        int total = client.forEachRawPage(
+                page -> page.forEach(record -> ids.add(record.getExternalId())), (size, reason) -> { }, cache);
+
+        assertThat(total).isEqualTo(4);
+        assertThat(ids).containsExactly("CRM-0", "CRM-1", "CRM-4", "CRM-5");
+        assertThat(cache.notModified).containsExactly("/api/customers?page=1&size=2");
+        assertThat(cache.modified).containsOnlyKeys("/api/customers?page=0&size=2", "/api/customers?page=2&size=2");
+        assertThat(cache.modified.get("/api/customers?page=2&size=2"))
+                .isEqualTo(new PageCache.Validators("W/\"v2\"", LAST_MODIFIED));
+        // Page 0 always comes in full so the totals are current
+        server.verify(getRequestedFor(urlPathEqualTo("/api/customers")).withQueryParam("page", equalTo("0"))
+                .withoutHeader("If-None-Match"));
+        server.verify(getRequestedFor(urlPathEqualTo("/api/customers")).withQueryParam("page", equalTo("1"))
+                .withHeader("If-Modified-Since", equalTo(LAST_MODIFIED)));
+    }
+
+    @Test
+    void rawPages_notModifiedPageIsEmitted_withoutContent() {
+        cache.trusted.put("/api/customers?page=1&size=2", new PageCache.Validators("W/\"v1\"", null));
+        PagedSourceConnector<CrmCustomerResponse> client = connector(2);
+
+        List<List<RawRecord>> pages = client.rawPages((size, reason) -> { }, cache)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(pages).hasSize(TOTAL_PAGES);
+        assertThat(pages.get(1)).isEmpty();
+        assertThat(pages.get(2)).extracting(RawRecord::getExternalId).containsExactly("CRM-4", "CRM-5");
+        assertThat(cache.notModified).containsExactly("/api/customers?page=1&size=2");
+    }
+
+    @Test
+    void fetchRawPage_noValidators_sendsAnUnconditionalRequest() {
+        PagedSourceConnector<CrmCustomerResponse> client = connector(1);
+
+        assertThat(client.fetchRawPage(1, 2, cache).getContent()).hasSize(2);
+        server.verify(getRequestedFor(urlPathEqualTo("/api/customers")).withoutHeader("If-None-Match")
+                .withoutHeader("If-Modified-Since"));
+        assertThat(cache.modified).containsKey("/api/customers?page=1&size=2");
+    }
+
+    private PagedSourceConnector<CrmCustomerResponse> connector(int fetchConcurrency) {
+        return new PagedSourceConnector<>(CrmApiClient.CUSTOMERS, new RestTemplate(), WebClient.create(), retryScheduler,
+                new SourceSettings(server.baseUrl(), 2, 2, 2, 2000, 4_194_304, 3, fetchConcurrency, "BLOCKING"));
+    }
+
+    private static String pageBody(int page) {
+        String content = IntStream.of(page * 2, page * 2 + 1)
+                .mapToObj(i -> "{\"id\":\"CRM-" + i + "\"}")
+                .collect(Collectors.joining(","));
+        return String.format("{\"content\":[%s],\"page\":%d,\"size\":2,\"totalElements\":%d,\"totalPages\":%d}",
+                content, page, TOTAL_PAGES * 2, TOTAL_PAGES);
+    }
+
+    private static final class RecordingCache implements PageCache {
+        private final Map<String, Validators> trusted = new ConcurrentHashMap<>();
+        private final Map<String, Validators> modified = new ConcurrentHashMap<>();
+        private final List<String> notModified = new ArrayList<>();
+
+        @Override
+        public Validators lookup(String pageKey) {
+            return trusted.get(pageKey);
+        }
+
+        @Override
+        public void modified(String pageKey, Validators validators) {
+            modified.put(pageKey, validators);
+        }
+
+        @Override
+        public synchronized void notModified(String pageKey) {
+            notModified.add(pageKey);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.ConnectionPoolStatsDTO;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionPoolMonitorTest {
+
+    private PoolingHttpClientConnectionManager connectionManager;
+    private ConnectionPoolMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(50)
+                .setMaxConnPerRoute(5)
+                .build();
+        HttpRoute crmRoute = new HttpRoute(new HttpHost("http", "crm.test", 3001));
+        HttpRoute erpRoute = new HttpRoute(new HttpHost("http", "erp.test", 3002));
+        connectionManager.setMaxPerRoute(crmRoute, 12);
+        monitor = new ConnectionPoolMonitor(connectionManager, Map.of("CRM", crmRoute, "ERP", erpRoute),
+                Map.of("CRM", 12, "SALESFORCE", 8));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionManager.close();
+    }
+
+    @Test
+    void getStats_reportsPerSourceLimitsAndTotal() {
+        List<ConnectionPoolStatsDTO> stats = monitor.getStats();
+
+        assertThat(stats).extracting(ConnectionPoolStatsDTO::getSourceName)
+                .containsExactly("CRM", "ERP", ConnectionPoolMonitor.TOTAL);
+        assertThat(stats.get(0).getMax()).isEqualTo(12);
+        assertThat(stats.get(0).getRoute()).isEqualTo("http://crm.test:3001");
+        assertThat(stats.get(1).getMax()).isEqualTo(5);
+        assertThat(stats.get(2).getMax()).isEqualTo(50);
+        assertThat(stats).allSatisfy(s -> {
+            assertThat(s.getLeased()).isZero();
+            assertThat(s.getPending()).isZero();
+        });
+    }
+
+    @Test
+    void getStats_unknownSource_returnsNull() {
+        assertThat(monitor.getStats("SALESFORCE")).isNull();
+        assertThat(monitor.getStats("CRM").getMax()).isEqualTo(12);
+    }
+
+    @Test
+    void registerRoute_pointsTheSourceAtItsRuntimeHostWithItsLimit() {
+        monitor.registerRoute("SALESFORCE", "https://myorg.my.salesforce.com");
+
+        ConnectionPoolStatsDTO salesforce = monitor.getStats("SALESFORCE");
+        assertThat(salesforce.getRoute()).isEqualTo("https://myorg.my.salesforce.com:443");
+        assertThat(salesforce.getMax()).isEqualTo(8);
+        assertThat(connectionManager.getMaxPerRoute(ConnectionPoolMonitor.routeFor("https://myorg.my.salesforce.com")))
+                .isEqualTo(8);
+    }
+}
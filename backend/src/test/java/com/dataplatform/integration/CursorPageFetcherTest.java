@@ -0,0 +1,77 @@
+package com.dataplatform.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorPageFetcherTest {
+
+    private static final Map<String, CursorPageFetcher.CursorPage<String, String>> PAGES = Map.of(
+            "start", new CursorPageFetcher.CursorPage<>(List.of("a", "b"), "c2", 5),
+            "c2", new CursorPageFetcher.CursorPage<>(List.of("c", "d"), "c3", 5),
+            "c3", new CursorPageFetcher.CursorPage<>(List.of("e"), null, 5));
+
+    private final RetryScheduler retryScheduler =
+            new RetryScheduler(1, 10, 0.5, 1000, new CircuitBreakerRegistry(100, 1000),
+                    new RateLimiterRegistry(0, 1, 0, 1, 0, 1, 0, 1), new IntegrationMetrics());
+
+    private final SourceRetrier retrier = retryScheduler.forSource("CRM", "CRM", 3);
+
+    @AfterEach
+    void tearDown() {
+        retryScheduler.shutdown();
+    }
+
+    @Test
+    void forEachPage_followsCursorsUntilTheLastPage() {
+        List<String> items = new ArrayList<>();
+
+        int total = CursorPageFetcher.forEachPage(retrier, "events", "start", 2, PAGES::get, items::addAll);
+
+        assertThat(total).isEqualTo(5);
+        assertThat(items).containsExactly("a", "b", "c", "d", "e");
+    }
+
+    @Test
+    void forEachPage_transientFailure_isRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        List<String> items = new ArrayList<>();
+
+        CursorPageFetcher.forEachPage(retrier, "events", "start", 1, cursor -> {
+            if ("c2".equals(cursor) && attempts.getAndIncrement() == 0) {
+                throw new ResourceAccessException("Connection reset");
+            }
+            return PAGES.get(cursor);
+        }, items::addAll);
+
+        assertThat(items).containsExactly("a", "b", "c", "d", "e");
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void forEachPage_handlerFails_stopsTheWalk() {
+        assertThatThrownBy(() -> CursorPageFetcher.forEachPage(retrier, "events", "start", 2, PAGES::get, page -> {
+            throw new IllegalStateException("staging failed");
+        })).hasMessage("staging failed");
+    }
+
+    @Test
+    void pages_reactive_followsCursorsUntilTheLastPage() {
+        List<List<String>> pages = CursorPageFetcher.<String, String>pages(retrier, "events", Mono.just("start"),
+                        cursor -> Mono.justOrEmpty(PAGES.get(cursor)))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(pages).containsExactly(List.of("a", "b"), List.of("c", "d"), List.of("e"));
+    }
+}
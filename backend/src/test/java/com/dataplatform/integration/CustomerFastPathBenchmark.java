@@ -0,0 +1,122 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.CrmCustomerResponse;
+import com.dataplatform.dto.CustomerRecord;
+import com.dataplatform.dto.PaginatedResponse;
+import com.dataplatform.dto.RawRecord;
+import com.dataplatform.model.SyncJob;
+import com.dataplatform.repository.StagingBulkWriter;
+import com.dataplatform.repository.StagingSession;
+import com.dataplatform.repository.StagingTable;
+import com.dataplatform.transformer.CustomerTransformationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Staged vs fast-path customer throughput from the same response bytes; run with -Dtest=CustomerFastPathBenchmark.
+ */
+class CustomerFastPathBenchmark {
+
+    private static final int PAGES = 40;
+    private static final int PAGE_SIZE = 500;
+
+    @Test
+    void compareCustomerFastPath() throws Exception {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:fast-path-benchmark;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(h2);
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS staging");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS staging.raw_customers (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "sync_job_id BIGINT NOT NULL, external_id VARCHAR(100), raw_data CLOB, raw_data_compressed BLOB, "
+                + "raw_data_codec VARCHAR(10), received_at TIMESTAMP)");
+        StagingBulkWriter writer = new StagingBulkWriter(jdbcTemplate, new DataSourceTransactionManager(h2),
+                1000, StagingBulkWriter.MODE_JDBC, "NONE");
+        ObjectMapper objectMapper = new ObjectMapper();
+        CustomerTransformationService transformer = new CustomerTransformationService(objectMapper);
+        List<byte[]> pages = responsePages(objectMapper);
+
+        // Warm-up, then measure each path
+        runStaged(1, pages, writer, jdbcTemplate, transformer);
+        runFastPath(2, pages, writer, transformer);
+        long stagedMs = runStaged(3, pages, writer, jdbcTemplate, transformer);
+        long fastPathMs = runFastPath(4, pages, writer, transformer);
+
+        int customers = PAGES * PAGE_SIZE;
+        System.out.printf("%n%-10s %10s %10s %14s%n", "path", "customers", "wall ms", "customers/s");
+        System.out.printf("%-10s %10d %10d %14.0f%n", "staged", customers, stagedMs, customers * 1000.0 / stagedMs);
+        System.out.printf("%-10s %10d %10d %14.0f%n%n", "fast-path", customers, fastPathMs,
+                customers * 1000.0 / fastPathMs);
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM staging.raw_customers WHERE sync_job_id = 4", Integer.class)).isEqualTo(customers);
+    }
+
+    private static long runStaged(long jobId, List<byte[]> pages, StagingBulkWriter writer,
+                                  JdbcTemplate jdbcTemplate, CustomerTransformationService transformer)
+            throws Exception {
+        long start = System.nanoTime();
+        try (StagingSession staging = writer.open(StagingTable.RAW_CUSTOMERS, SyncJob.builder().id(jobId).build(),
+                (record, ex) -> { })) {
+            for (byte[] page : pages) {
+                staging.add(RawPageParser.parse(page).getContent());
+            }
+        }
+        List<String> staged = jdbcTemplate.queryForList(
+                "SELECT raw_data FROM staging.raw_customers WHERE sync_job_id = ?", String.class, jobId);
+        for (String rawData : staged) {
+            transformer.transform(rawData);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static long runFastPath(long jobId, List<byte[]> pages, StagingBulkWriter writer,
+                                    CustomerTransformationService transformer) throws Exception {
+        ObjectReader itemReader = RawPageParser.itemReader(CrmCustomerResponse.class);
+        long start = System.nanoTime();
+        try (StagingSession staging = writer.openAsync(StagingTable.RAW_CUSTOMERS, SyncJob.builder().id(jobId).build(),
+                (record, ex) -> { })) {
+            for (byte[] page : pages) {
+                List<RawRecord> records = RawPageParser.parse(page, itemReader).getContent();
+                staging.add(records);
+                for (RawRecord record : records) {
+                    transformer.transform(CustomerRecord.of(record).customer());
+                }
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static List<byte[]> responsePages(ObjectMapper objectMapper) throws Exception {
+        List<byte[]> pages = new ArrayList<>();
+        for (int page = 0; page < PAGES; page++) {
+            List<CrmCustomerResponse> customers = new ArrayList<>();
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                String id = "CRM-" + (page * PAGE_SIZE + i);
+                customers.add(CrmCustomerResponse.builder()
+                        .id(id)
+                        .name("  Customer " + id + "  ")
+                        .email("Customer." + id + "@Example.com")
+                        .phone("(555) 010-" + (1000 + i))
+                        .address(CrmCustomerResponse.Address.builder()
+                                .street(i + " Main St").city("Springfield").state("IL").zipCode("62701").build())
+                        .lastUpdated("2024-03-01T08:00:00Z")
+                        .build());
+            }
+            PaginatedResponse<CrmCustomerResponse> response =
+                    new PaginatedResponse<>(customers, page, PAGE_SIZE, (long) PAGES * PAGE_SIZE, PAGES);
+            pages.add(objectMapper.writeValueAsString(response).getBytes(StandardCharsets.UTF_8));
+        }
+        return pages;
+    }
+}
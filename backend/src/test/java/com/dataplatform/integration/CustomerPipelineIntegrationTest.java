@@ -1,16 +1,19 @@
 package com.dataplatform.integration;
 
 import com.dataplatform.dto.CrmCustomerResponse;
+import com.dataplatform.dto.PaginatedResponse;
 import com.dataplatform.dto.SyncJobDTO;
 import com.dataplatform.model.SyncJob;
 import com.dataplatform.repository.*;
 import com.dataplatform.service.CustomerPipelineService;
 import com.dataplatform.service.SyncJobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.assertj.core.api.Assertions.assertThat;
 
 class CustomerPipelineIntegrationTest extends BaseIntegrationTest {
@@ -142,4 +145,28 @@ class CustomerPipelineIntegrationTest extends BaseIntegrationTest {
         assertThat(finalCust.get().getEmail()).isEqualTo("alice@example.com");
         assertThat(finalCust.get().getPhone()).isEqualTo("5551234567");
     }
+
+    @Test
+    void conditionalPages_afterAPartiallyFailedJob_refetchesInsteadOfTaking304() throws Exception {
+        List<CrmCustomerResponse> customers = List.of(
+                WireMockStubs.createCustomer("C001", null, "noname@example.com", "555-1234"),  // invalid
+                WireMockStubs.createCustomer("C002", "Bob Smith", "bob@example.com", "555-5678"));
+        String body = new ObjectMapper().writeValueAsString(new PaginatedResponse<>(customers, 0, 100, 2, 1));
+        wireMockServer.stubFor(get(urlPathEqualTo("/api/customers"))
+                .willReturn(okJson(body).withHeader("ETag", "W/\"v1\"")));
+        wireMockServer.stubFor(get(urlPathEqualTo("/api/customers"))
+                .withHeader("If-None-Match", equalTo("W/\"v1\""))
+                .willReturn(aResponse().withStatus(304)));
+
+        SyncJob first = syncJobService.createJob("CRM", "FULL");
+        SyncJobDTO firstResult = customerPipelineService.runPipelineForJob(first.getId());
+        SyncJob second = syncJobService.createJob("CRM", "FULL");
+        customerPipelineService.runPipelineForJob(second.getId());
+
+        assertThat(firstResult.getRecordsFailed()).isEqualTo(1);
+        // The first job's validators are not trusted, so its failed record is staged and retried again
+        wireMockServer.verify(0, getRequestedFor(urlPathEqualTo("/api/customers"))
+                .withHeader("If-None-Match", equalTo("W/\"v1\"")));
+        assertThat(rawCustomerRepository.findBySyncJobId(second.getId())).hasSize(2);
+    }
 }
@@ -0,0 +1,162 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.CrmCustomerResponse;
+import com.dataplatform.dto.PaginatedResponse;
+import com.dataplatform.dto.RawRecord;
+import com.dataplatform.exception.IntegrationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PagedSourceConnectorTest {
+
+    private static final String BASE_URL = "http://crm.test";
+    private static final int TOTAL_PAGES = 6;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private final RetryScheduler retryScheduler =
+            new RetryScheduler(1, 10, 0.5, 1000, new CircuitBreakerRegistry(100, 1000),
+                    new RateLimiterRegistry(0, 1, 0, 1, 0, 1, 0, 1), new IntegrationMetrics());
+
+    @AfterEach
+    void tearDown() {
+        retryScheduler.shutdown();
+    }
+
+    @Test
+    void fetchAll_sequential_returnsAllPagesInOrder() {
+        stubPages();
+        PagedSourceConnector<CrmCustomerResponse> client = connector(2, 3, 1);
+
+        List<CrmCustomerResponse> customers = client.fetchAll();
+
+        assertThat(customers).extracting(CrmCustomerResponse::getId).containsExactlyElementsOf(expectedIds());
+    }
+
+    @Test
+    void fetchAll_concurrent_keepsPageOrder() {
+        stubPages();
+        PagedSourceConnector<CrmCustomerResponse> client = connector(2, 3, 4);
+
+        List<CrmCustomerResponse> customers = client.fetchAll();
+
+        assertThat(customers).extracting(CrmCustomerResponse::getId).containsExactlyElementsOf(expectedIds());
+        verify(restTemplate, times(TOTAL_PAGES))
+                .exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void fetchAll_concurrentPageFails_throwsIntegrationException() {
+        stubPages();
+        when(restTemplate.exchange(contains("page=3&"), eq(HttpMethod.GET), isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenThrow(new RestClientException("Connection reset"));
+        PagedSourceConnector<CrmCustomerResponse> client = connector(2, 1, 3);
+
+        assertThatThrownBy(client::fetchAll)
+                .isInstanceOf(IntegrationException.class)
+                .hasMessageContaining("Failed to fetch CRM customers page 3");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void forEachRawPage_growsPageSizeWithoutSkippingRecords() {
+        int totalElements = 40;
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)))
+                .thenAnswer(inv -> rawPage(inv.getArgument(0), totalElements));
+        PagedSourceConnector<CrmCustomerResponse> client = connector(8, 3, 3);
+        List<String> ids = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+
+        int total = client.forEachRawPage(
+                page -> page.forEach(record -> ids.add(record.getExternalId())),
+                (pageSize, reason) -> sizes.add(pageSize));
+
+        assertThat(total).isEqualTo(totalElements);
+        assertThat(ids).containsExactlyElementsOf(
+                IntStream.range(0, totalElements).mapToObj(i -> "CRM-" + i).toList());
+        assertThat(sizes).containsExactly(2, 4, 8);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void forEachRawPage_shrinkingOffABoundary_dropsTheRecordsAlreadyFetched() {
+        int totalElements = 10;
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)))
+                .thenThrow(new RestClientException("Connection reset"))
+                .thenAnswer(inv -> rawPage(inv.getArgument(0), totalElements));
+        PagedSourceConnector<CrmCustomerResponse> client = new PagedSourceConnector<>(CrmApiClient.CUSTOMERS,
+                restTemplate, null, retryScheduler,
+                new SourceSettings(BASE_URL, 4, 3, 4, 2000, 4_194_304, 3, 1, "BLOCKING"));
+        List<String> ids = new ArrayList<>();
+
+        int total = client.forEachRawPage(
+                page -> page.forEach(record -> ids.add(record.getExternalId())), (pageSize, reason) -> { });
+
+        // The failure shrinks the size to 3 at offset 4, so page 1 of 3 is fetched and CRM-3 dropped
+        assertThat(total).isEqualTo(totalElements);
+        assertThat(ids).containsExactlyElementsOf(
+                IntStream.range(0, totalElements).mapToObj(i -> "CRM-" + i).toList());
+        verify(restTemplate).execute(contains("page=1&size=3"), eq(HttpMethod.GET), any(RequestCallback.class),
+                any(ResponseExtractor.class));
+    }
+
+    private static PaginatedResponse<RawRecord> rawPage(String url, int totalElements) {
+        int page = Integer.parseInt(url.replaceAll(".*page=(\\d+).*", "$1"));
+        int size = Integer.parseInt(url.replaceAll(".*size=(\\d+).*", "$1"));
+        List<RawRecord> content = IntStream.range(page * size, Math.min((page + 1) * size, totalElements))
+                .mapToObj(i -> new RawRecord("CRM-" + i, "{\"id\":\"CRM-" + i + "\"}"))
+                .toList();
+        return new PaginatedResponse<>(content, page, size, totalElements, (totalElements + size - 1) / size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubPages() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenAnswer(inv -> {
+                    String url = inv.getArgument(0);
+                    int page = Integer.parseInt(url.replaceAll(".*page=(\\d+).*", "$1"));
+                    // Later pages answer faster so out-of-order completion is likely
+                    Thread.sleep((TOTAL_PAGES - page) * 10L);
+                    List<CrmCustomerResponse> content = List.of(customer(page * 2), customer(page * 2 + 1));
+                    return new ResponseEntity<>(
+                            new PaginatedResponse<>(content, page, 2, TOTAL_PAGES * 2L, TOTAL_PAGES),
+                            HttpStatus.OK);
+                });
+    }
+
+    private PagedSourceConnector<CrmCustomerResponse> connector(int maxPageSize, int maxRetries, int fetchConcurrency) {
+        return new PagedSourceConnector<>(CrmApiClient.CUSTOMERS, restTemplate, null, retryScheduler,
+                new SourceSettings(BASE_URL, 2, 2, maxPageSize, 2000, 4_194_304, maxRetries, fetchConcurrency, "BLOCKING"));
+    }
+
+    private List<String> expectedIds() {
+        return IntStream.range(0, TOTAL_PAGES * 2).mapToObj(i -> "CRM-" + i).toList();
+    }
+
+    private CrmCustomerResponse customer(int index) {
+        return CrmCustomerResponse.builder().id("CRM-" + index).name("Customer " + index).build();
+    }
+}
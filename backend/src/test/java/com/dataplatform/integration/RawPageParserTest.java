@@ -0,0 +1,75 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.CrmCustomerResponse;
+import com.dataplatform.dto.PaginatedResponse;
+import com.dataplatform.dto.RawRecord;
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class RawPageParserTest {
+
+    @Test
+    void parse_slicesEachRecordVerbatimAndReadsPaging() throws Exception {
+        String first = "{\"id\":\"CRM-1\",\"name\":\"Zoë\",\"address\":{\"id\":\"ADDR-9\",\"city\":\"Springfield\"}}";
+        String second = "{ \"name\" : \"Bob\", \"tags\" : [1, {\"id\": 2}], \"id\" : \"CRM-2\" }";
+        String body = "{\"page\":1,\"content\":[" + first + ",\n  " + second + "],"
+                + "\"size\":2,\"totalElements\":5,\"totalPages\":3,\"sort\":{\"sorted\":false}}";
+
+        PaginatedResponse<RawRecord> page = RawPageParser.parse(body.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(page.getPage()).isEqualTo(1);
+        assertThat(page.getSize()).isEqualTo(2);
+        assertThat(page.getTotalElements()).isEqualTo(5L);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+        assertThat(page.getContent()).containsExactly(
+                new RawRecord("CRM-1", first),
+                new RawRecord("CRM-2", second));
+    }
+
+    @Test
+    void parse_numericOrMissingId() throws Exception {
+        String body = "{\"content\":[{\"id\":42,\"sku\":\"A\"},{\"sku\":\"B\"}],\"totalPages\":1}";
+
+        PaginatedResponse<RawRecord> page = RawPageParser.parse(body.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(page.getContent()).extracting(RawRecord::getExternalId).containsExactly("42", null);
+        assertThat(page.getContent().get(1).getRawData()).isEqualTo("{\"sku\":\"B\"}");
+    }
+
+    @Test
+    void parse_withAnItemReader_bindsEachRecordInTheSamePass() throws Exception {
+        String good = "{\"id\":\"CRM-1\",\"name\":\"Alice\",\"extra\":true}";
+        String bad = "{\"id\":\"CRM-2\",\"address\":\"not an object\"}";
+        String body = "{\"content\":[" + good + "," + bad + "],\"totalPages\":1}";
+
+        PaginatedResponse<RawRecord> page = RawPageParser.parse(body.getBytes(StandardCharsets.UTF_8),
+                RawPageParser.itemReader(CrmCustomerResponse.class));
+
+        assertThat(page.getContent()).extracting(RawRecord::getExternalId, RawRecord::getRawData)
+                .containsExactly(tuple("CRM-1", good), tuple("CRM-2", bad));
+        assertThat(page.getContent().get(0).getItem())
+                .isEqualTo(CrmCustomerResponse.builder().id("CRM-1").name("Alice").build());
+        assertThat(page.getContent().get(1).getItem()).isNull();
+    }
+
+    @Test
+    void parse_emptyContent() throws Exception {
+        PaginatedResponse<RawRecord> page = RawPageParser.parse(
+                "{\"content\":[],\"page\":0,\"totalPages\":0}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getTotalPages()).isZero();
+    }
+
+    @Test
+    void parse_rejectsNonObjectBody() {
+        assertThatThrownBy(() -> RawPageParser.parse("[1,2]".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(JsonParseException.class);
+    }
+}
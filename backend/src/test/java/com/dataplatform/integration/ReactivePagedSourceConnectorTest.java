@@ -0,0 +1,141 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.CrmCustomerResponse;
+import com.dataplatform.dto.RawRecord;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ReactivePagedSourceConnectorTest {
+
+    private static final int TOTAL_PAGES = 6;
+
+    private final WireMockServer server = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+
+    private final RetryScheduler retryScheduler =
+            new RetryScheduler(1, 10, 0.5, 1000, new CircuitBreakerRegistry(100, 1000),
+                    new RateLimiterRegistry(0, 1, 0, 1, 0, 1, 0, 1), new IntegrationMetrics());
+
+    @BeforeEach
+    void setUp() {
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+        retryScheduler.shutdown();
+    }
+
+    @Test
+    void rawPages_concurrent_emitsPagesInOrder() {
+        for (int page = 0; page < TOTAL_PAGES; page++) {
+            // Later pages answer faster so out-of-order completion is likely
+            stubPage(page, (TOTAL_PAGES - page) * 20);
+        }
+
+        List<String> ids = client(4).rawPages((size, reason) -> { })
+                .flatMapIterable(page -> page)
+                .map(RawRecord::getExternalId)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(ids).containsExactlyElementsOf(
+                IntStream.range(0, TOTAL_PAGES * 2).mapToObj(i -> "CRM-" + i).toList());
+        server.verify(TOTAL_PAGES, getRequestedFor(urlPathEqualTo("/api/customers")));
+    }
+
+    @Test
+    void rawPages_slowSubscriber_holdsBackFurtherRequests() {
+        for (int page = 0; page < TOTAL_PAGES; page++) {
+            stubPage(page, 0);
+        }
+
+        StepVerifier.create(client(2).rawPages((size, reason) -> { }), 1)
+                .expectNextCount(1)
+                .thenAwait(Duration.ofMillis(300))
+                // Page 0 plus the two pages fetched ahead; nothing more until the subscriber asks
+                .then(() -> server.verify(3, getRequestedFor(urlPathEqualTo("/api/customers"))))
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(TOTAL_PAGES - 1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void rawPages_transientFailure_isRetried() {
+        stubPage(0, 0);
+        server.stubFor(get(urlPathEqualTo("/api/customers")).withQueryParam("page", equalTo("1"))
+                .inScenario("page 1").whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(503))
+                .willSetStateTo("recovered"));
+        server.stubFor(get(urlPathEqualTo("/api/customers")).withQueryParam("page", equalTo("1"))
+                .inScenario("page 1").whenScenarioStateIs("recovered")
+                .willReturn(okJson(pageBody(1))));
+        for (int page = 2; page < TOTAL_PAGES; page++) {
+            stubPage(page, 0);
+        }
+
+        Long records = client(2).rawPages((size, reason) -> { })
+                .flatMapIterable(page -> page)
+                .count()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(records).isEqualTo(TOTAL_PAGES * 2L);
+        server.verify(2, getRequestedFor(urlPathEqualTo("/api/customers")).withQueryParam("page", equalTo("1")));
+    }
+
+    @Test
+    void forEachRawPage_reactiveMode_stillFetchesOverTheRestTemplate() {
+        for (int page = 0; page < TOTAL_PAGES; page++) {
+            stubPage(page, 0);
+        }
+        WebClient webClient = mock(WebClient.class);
+        PagedSourceConnector<CrmCustomerResponse> connector = new PagedSourceConnector<>(CrmApiClient.CUSTOMERS,
+                new RestTemplate(), webClient, retryScheduler, settings(2, "REACTIVE"));
+
+        int total = connector.forEachRawPage(page -> { }, (pageSize, reason) -> { });
+
+        assertThat(connector.isReactive()).isTrue();
+        assertThat(total).isEqualTo(TOTAL_PAGES * 2);
+        verifyNoInteractions(webClient);
+    }
+
+    private PagedSourceConnector<CrmCustomerResponse> client(int fetchConcurrency) {
+        return new PagedSourceConnector<>(CrmApiClient.CUSTOMERS, null, WebClient.create(), retryScheduler,
+                settings(fetchConcurrency, "BLOCKING"));
+    }
+
+    private SourceSettings settings(int fetchConcurrency, String clientMode) {
+        return new SourceSettings(server.baseUrl(), 2, 2, 2, 2000, 4_194_304, 3, fetchConcurrency, clientMode);
+    }
+
+    private void stubPage(int page, int delayMs) {
+        server.stubFor(get(urlPathEqualTo("/api/customers")).withQueryParam("page", equalTo(String.valueOf(page)))
+                .willReturn(okJson(pageBody(page)).withFixedDelay(delayMs)));
+    }
+
+    private static String pageBody(int page) {
+        String content = IntStream.of(page * 2, page * 2 + 1)
+                .mapToObj(i -> "{\"id\":\"CRM-" + i + "\",\"name\":\"Customer " + i + "\"}")
+                .collect(Collectors.joining(","));
+        return String.format("{\"content\":[%s],\"page\":%d,\"size\":2,\"totalElements\":%d,\"totalPages\":%d}",
+                content, page, TOTAL_PAGES * 2, TOTAL_PAGES);
+    }
+}
@@ -0,0 +1,91 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.SalesforceContact;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveSalesforceApiClientTest {
+
+    private static final String QUERY_PATH = "/services/data/v59.0/query";
+    private static final String NEXT_PATH = QUERY_PATH + "/01gNEXT-2000";
+
+    @Mock
+    private SalesforceAuthService authService;
+
+    private final WireMockServer server = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+
+    private final RetryScheduler retryScheduler =
+            new RetryScheduler(1, 10, 0.5, 1000, new CircuitBreakerRegistry(100, 1000),
+                    new RateLimiterRegistry(0, 1, 0, 1, 0, 1, 0, 1), new IntegrationMetrics());
+
+    private ReactiveSalesforceApiClient client;
+
+    @BeforeEach
+    void setUp() {
+        server.start();
+        lenient().when(authService.getInstanceUrl()).thenReturn(server.baseUrl());
+        client = new ReactiveSalesforceApiClient(WebClient.create(), authService, retryScheduler, "v59.0", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+        retryScheduler.shutdown();
+    }
+
+    @Test
+    void contactPages_followsNextRecordsUrl() {
+        when(authService.getAccessToken()).thenReturn("test-token");
+        server.stubFor(get(urlPathEqualTo(QUERY_PATH)).withQueryParam("q", containing("FROM Contact"))
+                .willReturn(okJson("{\"totalSize\":2,\"done\":false,\"nextRecordsUrl\":\"" + NEXT_PATH + "\","
+                        + "\"records\":[{\"Id\":\"003A\",\"FirstName\":\"Alice\"}]}")));
+        server.stubFor(get(urlPathEqualTo(NEXT_PATH))
+                .willReturn(okJson("{\"totalSize\":2,\"done\":true,"
+                        + "\"records\":[{\"Id\":\"003B\",\"FirstName\":\"Bob\"}]}")));
+
+        List<List<SalesforceContact>> pages = client.contactPages("SELECT Id, FirstName FROM Contact")
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(pages).hasSize(2);
+        assertThat(pages.get(0)).extracting(SalesforceContact::getId).containsExactly("003A");
+        assertThat(pages.get(1)).extracting(SalesforceContact::getId).containsExactly("003B");
+        server.verify(getRequestedFor(urlPathEqualTo(NEXT_PATH))
+                .withHeader("Authorization", equalTo("Bearer test-token")));
+    }
+
+    @Test
+    void contactPages_on401_refreshesTokenAndRetries() {
+        when(authService.getAccessToken()).thenReturn("old-token");
+        when(authService.refreshToken("old-token")).thenReturn("new-token");
+        server.stubFor(get(urlPathEqualTo(QUERY_PATH)).withHeader("Authorization", equalTo("Bearer old-token"))
+                .willReturn(aResponse().withStatus(401)));
+        server.stubFor(get(urlPathEqualTo(QUERY_PATH)).withHeader("Authorization", equalTo("Bearer new-token"))
+                .willReturn(okJson("{\"totalSize\":1,\"done\":true,\"records\":[{\"Id\":\"003A\"}]}")));
+
+        List<List<SalesforceContact>> pages = client.contactPages("SELECT Id FROM Contact")
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(pages).hasSize(1);
+        assertThat(pages.get(0)).extracting(SalesforceContact::getId).containsExactly("003A");
+        verify(authService).refreshToken("old-token");
+    }
+}
@@ -0,0 +1,61 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.RetentionStatusDTO;
+import com.dataplatform.model.SyncJob;
+import com.dataplatform.service.RetentionPurgeService;
+import com.dataplatform.service.SyncJobService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {"app.retention.batch-size=2", "app.retention.max-jobs-per-run=1"})
+class RetentionPurgeIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private RetentionPurgeService retentionPurgeService;
+
+    @Autowired
+    private SyncJobService syncJobService;
+
+    @Test
+    void runOnce_deletesInTopBatchesAndReportsLagOfTheJobLeftWaiting() {
+        SyncJob oldest = endedDaysAgo(45);
+        SyncJob waiting = endedDaysAgo(35);
+        SyncJob recent = endedDaysAgo(1);
+        stage(oldest, 5);
+        stage(waiting, 2);
+        stage(recent, 3);
+
+        retentionPurgeService.runOnce();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM staging.raw_customers WHERE sync_job_id = ?",
+                Integer.class, oldest.getId())).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM staging.raw_customers", Integer.class))
+                .isEqualTo(5);
+        RetentionStatusDTO customers = retentionPurgeService.getStatus().stream()
+                .filter(status -> status.getTableName().equals("staging.raw_customers"))
+                .findFirst().orElseThrow();
+        assertThat(customers.getLastRunRows()).isEqualTo(5);
+        assertThat(customers.getTotalRows()).isGreaterThanOrEqualTo(5);
+        assertThat(customers.getPendingJobs()).isEqualTo(1);
+        assertThat(customers.getLagSeconds()).isBetween(5 * 86_400L - 60, 5 * 86_400L);
+    }
+
+    private SyncJob endedDaysAgo(int days) {
+        SyncJob job = syncJobService.createJob("CRM", "FULL");
+        jdbcTemplate.update("UPDATE audit.sync_jobs SET status = 'COMPLETED', end_time = ? WHERE id = ?",
+                LocalDateTime.now().minusDays(days), job.getId());
+        return job;
+    }
+
+    private void stage(SyncJob job, int rows) {
+        for (int i = 0; i < rows; i++) {
+            jdbcTemplate.update("INSERT INTO staging.raw_customers (sync_job_id, external_id, raw_data) VALUES (?, ?, ?)",
+                    job.getId(), "C" + i, "{\"id\":\"C" + i + "\"}");
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.exception.CircuitOpenException;
+import com.dataplatform.exception.IntegrationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RetrySchedulerTest {
+
+    private static final RateLimiterRegistry UNLIMITED = new RateLimiterRegistry(0, 1, 0, 1, 0, 1, 0, 1);
+
+    private final IntegrationMetrics metrics = new IntegrationMetrics();
+
+    private final RetryScheduler scheduler =
+            scheduler(100, 1000, 0.5, new CircuitBreakerRegistry(100, 1000), UNLIMITED);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void delayFor_growsExponentiallyWithJitterAndCaps() {
+        RestClientException ex = new RestClientException("Connection reset");
+
+        assertThat(scheduler.delayFor(1, ex)).isBetween(50L, 100L);
+        assertThat(scheduler.delayFor(2, ex)).isBetween(100L, 200L);
+        assertThat(scheduler.delayFor(3, ex)).isBetween(200L, 400L);
+        assertThat(scheduler.delayFor(10, ex)).isBetween(500L, 1000L);
+    }
+
+    @Test
+    void delayFor_honoursRetryAfterOn429_cappedAtMax() {
+        assertThat(scheduler.delayFor(1, tooManyRequests("3"))).isEqualTo(3000L);
+        assertThat(scheduler.delayFor(1, tooManyRequests("120"))).isEqualTo(5000L);
+        assertThat(scheduler.delayFor(1, tooManyRequests("soon"))).isBetween(50L, 100L);
+    }
+
+    @Test
+    void isRetryable_onlyTransientFailures() {
+        assertThat(RetryScheduler.isRetryable(new RestClientException("timeout"))).isTrue();
+        assertThat(RetryScheduler.isRetryable(tooManyRequests("1"))).isTrue();
+        assertThat(RetryScheduler.isRetryable(
+                HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null))).isTrue();
+        assertThat(RetryScheduler.isRetryable(
+                HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null))).isFalse();
+        assertThat(RetryScheduler.isRetryable(new IllegalStateException("bug"))).isFalse();
+    }
+
+    @Test
+    void isRetryable_webClientFailures() {
+        assertThat(RetryScheduler.isRetryable(
+                WebClientResponseException.create(503, "Service Unavailable", null, null, null))).isTrue();
+        assertThat(RetryScheduler.isRetryable(
+                WebClientResponseException.create(404, "Not Found", null, null, null))).isFalse();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "2");
+        assertThat(scheduler.delayFor(1, WebClientResponseException.create(429, "Too Many Requests", headers, null,
+                null))).isEqualTo(2000L);
+    }
+
+    @Test
+    void mono_retriesNonBlockingAttemptsOnTheTimer() {
+        RetryScheduler fast = scheduler(1, 1, 0, new CircuitBreakerRegistry(100, 1000), UNLIMITED);
+        try {
+            AtomicInteger attempts = new AtomicInteger();
+            SourceRetrier retrier = fast.forSource("CRM", "CRM", 3);
+
+            Mono<String> page = retrier.mono("CRM customers page 0", () -> attempts.incrementAndGet() < 3
+                    ? Mono.error(WebClientResponseException.create(502, "Bad Gateway", null, null, null))
+                    : Mono.just("page 0"));
+
+            assertThat(page.block(Duration.ofSeconds(2))).isEqualTo("page 0");
+            assertThat(attempts).hasValue(3);
+        } finally {
+            fast.shutdown();
+        }
+    }
+
+    @Test
+    void mono_nonRetryableWebClientError_failsWithoutRetrying() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> page = scheduler.forSource("ERP", "ERP", 3).mono("ERP products page 0", () -> {
+            attempts.incrementAndGet();
+            return Mono.error(WebClientResponseException.create(403, "Forbidden", null, null, null));
+        });
+
+        assertThatThrownBy(() -> page.block(Duration.ofSeconds(2)))
+                .isInstanceOf(IntegrationException.class)
+                .hasMessageStartingWith("Failed to fetch ERP products page 0: 403");
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void submit_retriesOnTheTimerWithoutHoldingTheWorker() throws Exception {
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        RetryScheduler fast = scheduler(200, 200, 0, new CircuitBreakerRegistry(100, 1000), UNLIMITED);
+        try {
+            AtomicInteger attempts = new AtomicInteger();
+            SourceRetrier retrier = fast.forSource("CRM", "CRM", 3);
+            CompletableFuture<String> retrying = retrier.submit("CRM customers page 1", worker, () -> {
+                if (attempts.incrementAndGet() < 3) {
+                    throw new RestClientException("Connection reset");
+                }
+                return "page 1";
+            });
+
+            // The only worker is free while page 1 backs off, so another fetch runs straight away
+            String other = worker.submit(() -> "page 2").get(100, TimeUnit.MILLISECONDS);
+
+            assertThat(other).isEqualTo("page 2");
+            assertThat(retrying.get(2, TimeUnit.SECONDS)).isEqualTo("page 1");
+            assertThat(attempts).hasValue(3);
+        } finally {
+            fast.shutdown();
+            worker.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_afterMaxAttempts_throwsIntegrationException() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> scheduler.forSource("ERP", "ERP", 2).execute("ERP products page 2", () -> {
+            attempts.incrementAndGet();
+            throw new RestClientException("Connection refused");
+        }))
+                .isInstanceOf(IntegrationException.class)
+                .hasMessage("Failed to fetch ERP products page 2 after 2 attempts");
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void execute_nonRetryableError_failsWithoutRetrying() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> scheduler.forSource("ERP", "ERP", 3).execute("ERP products page 0", () -> {
+            attempts.incrementAndGet();
+            throw HttpClientErrorException.create(HttpStatus.FORBIDDEN, "Forbidden", null, null, null);
+        }))
+                .isInstanceOf(IntegrationException.class)
+                .hasMessageStartingWith("Failed to fetch ERP products page 0: 403");
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void execute_openCircuit_failsFastWithoutCallingTheSource() {
+        RetryScheduler tripping = scheduler(1, 1, 0, new CircuitBreakerRegistry(2, 60_000), UNLIMITED);
+        try {
+            SourceRetrier retrier = tripping.forSource("ERP", "ERP", 5);
+            AtomicInteger attempts = new AtomicInteger();
+
+            assertThatThrownBy(() -> retrier.execute("ERP products page 0", () -> {
+                attempts.incrementAndGet();
+                throw new RestClientException("Connection refused");
+            })).isInstanceOf(CircuitOpenException.class);
+            assertThat(attempts).hasValue(2);
+
+            assertThatThrownBy(() -> retrier.execute("ERP products page 0", () -> {
+                attempts.incrementAndGet();
+                return "never";
+            })).isInstanceOf(CircuitOpenException.class).hasMessageContaining("ERP circuit is open");
+            assertThat(attempts).hasValue(2);
+        } finally {
+            tripping.shutdown();
+        }
+    }
+
+    @Test
+    void execute_emptyBucket_waitsForAPermitAndRecordsTheWait() {
+        // 10 permits/s with a burst of 1: the first call is free, the second waits ~100ms
+        RetryScheduler limited = scheduler(1, 1, 0, new CircuitBreakerRegistry(100, 1000),
+                new RateLimiterRegistry(10, 1, 0, 1, 0, 1, 0, 1));
+        try {
+            SourceRetrier retrier = limited.forSource("CRM", "CRM", 1);
+
+            retrier.execute("CRM customers page 0", () -> "page 0");
+            long start = System.nanoTime();
+            retrier.execute("CRM customers page 1", () -> "page 1");
+            long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertThat(waitedMs).isGreaterThanOrEqualTo(50L);
+            assertThat(metrics.getMetrics("CRM").getThrottledRequests()).isEqualTo(1);
+            assertThat(metrics.getMetrics("CRM").getLimiterWaitMs()).isBetween(50L, 100L);
+            assertThat(metrics.getMetrics("ERP").getThrottledRequests()).isZero();
+        } finally {
+            limited.shutdown();
+        }
+    }
+
+    private RetryScheduler scheduler(long initialBackoffMs,
+                                     long maxBackoffMs,
+                                     double jitter,
+                                     CircuitBreakerRegistry circuitBreakers,
+                                     RateLimiterRegistry rateLimiters) {
+        return new RetryScheduler(initialBackoffMs, maxBackoffMs, jitter, 5000, circuitBreakers, rateLimiters, metrics);
+    }
+
+    private HttpClientErrorException tooManyRequests(String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        return HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null);
+    }
+}
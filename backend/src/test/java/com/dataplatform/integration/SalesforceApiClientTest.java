@@ -4,6 +4,7 @@ import com.dataplatform.dto.SalesforceContact;
 import com.dataplatform.dto.SalesforceQueryResult;
 import com.dataplatform.exception.IntegrationException;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -17,7 +18,12 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -33,11 +39,35 @@ class SalesforceApiClientTest {
     @Mock
     private SalesforceAuthService authService;
 
+    @Mock
+    private SalesforceBulkQueryClient bulkQueryClient;
+
+    @Mock
+    private ReactiveSalesforceApiClient reactiveClient;
+
     private SalesforceApiClient apiClient;
 
+    private final RetryScheduler retryScheduler =
+            new RetryScheduler(1, 10, 0.5, 1000, new CircuitBreakerRegistry(100, 1000),
+                    new RateLimiterRegistry(0, 1, 0, 1, 0, 1, 0, 1), new IntegrationMetrics());
+
     @BeforeEach
     void setUp() {
-        apiClient = new SalesforceApiClient(restTemplate, authService, "v59.0", 3);
+        apiClient = client("REST");
+    }
+
+    private SalesforceApiClient client(String extractionMode) {
+        return client(extractionMode, 2);
+    }
+
+    private SalesforceApiClient client(String extractionMode, int maxBufferedBatches) {
+        return new SalesforceApiClient(restTemplate, authService, bulkQueryClient, retryScheduler, "v59.0", 3,
+                extractionMode, 1000, maxBufferedBatches, reactiveClient, "BLOCKING");
+    }
+
+    @AfterEach
+    void tearDown() {
+        retryScheduler.shutdown();
     }
 
     @Test
@@ -86,7 +116,7 @@ class SalesforceApiClientTest {
     @Test
     void fetchContacts_on401_refreshesTokenAndRetries() {
         when(authService.getInstanceUrl()).thenReturn("https://myorg.my.salesforce.com");
-        when(authService.getAccessToken()).thenReturn("old-token", "new-token");
+        when(authService.getAccessToken()).thenReturn("old-token");
 
         SalesforceContact contact = SalesforceContact.builder().id("001").firstName("Test").lastName("User").build();
         SalesforceQueryResult result = SalesforceQueryResult.builder()
@@ -95,12 +125,12 @@ class SalesforceApiClientTest {
         when(restTemplate.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(SalesforceQueryResult.class)))
                 .thenThrow(HttpClientErrorException.create(HttpStatus.UNAUTHORIZED, "Unauthorized", null, null, null))
                 .thenReturn(new ResponseEntity<>(result, HttpStatus.OK));
-        when(authService.refreshToken()).thenReturn("new-token");
+        when(authService.refreshToken("old-token")).thenReturn("new-token");
 
         List<SalesforceContact> contacts = apiClient.fetchContacts();
 
         assertThat(contacts).hasSize(1);
-        verify(authService).refreshToken();
+        verify(authService).refreshToken("old-token");
     }
 
     @Test
@@ -128,4 +158,147 @@ class SalesforceApiClientTest {
 
         assertThat(contacts).isEmpty();
     }
+
+    @Test
+    void fetchContactPages_autoModeBelowThreshold_usesRestQuery() {
+        when(authService.getInstanceUrl()).thenReturn("https://myorg.my.salesforce.com");
+        when(authService.getAccessToken()).thenReturn("test-token");
+
+        SalesforceContact contact = SalesforceContact.builder().id("001").firstName("Alice").build();
+        when(restTemplate.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(SalesforceQueryResult.class)))
+                .thenReturn(new ResponseEntity<>(SalesforceQueryResult.builder().totalSize(999).done(true)
+                        .records(List.of()).build(), HttpStatus.OK))
+                .thenReturn(new ResponseEntity<>(SalesforceQueryResult.builder().totalSize(1).done(true)
+                        .records(List.of(contact)).build(), HttpStatus.OK));
+
+        List<SalesforceContact> contacts = new ArrayList<>();
+        int fetched = client("AUTO").fetchContactPages(contacts::addAll);
+
+        assertThat(fetched).isEqualTo(1);
+        assertThat(contacts).extracting(SalesforceContact::getId).containsExactly("001");
+        verifyNoInteractions(bulkQueryClient);
+    }
+
+    @Test
+    void fetchContactPages_autoModeAtThreshold_usesBulkQueryJob() {
+        when(authService.getInstanceUrl()).thenReturn("https://myorg.my.salesforce.com");
+        when(authService.getAccessToken()).thenReturn("test-token");
+        when(restTemplate.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(SalesforceQueryResult.class)))
+                .thenReturn(new ResponseEntity<>(SalesforceQueryResult.builder().totalSize(1000).done(true)
+                        .records(List.of()).build(), HttpStatus.OK));
+        when(bulkQueryClient.fetchContactPages(anyString(), any())).thenReturn(1000);
+
+        int fetched = client("AUTO").fetchContactPages(page -> { });
+
+        assertThat(fetched).isEqualTo(1000);
+        verify(bulkQueryClient).fetchContactPages(startsWith("SELECT Id, FirstName"), any());
+        verify(restTemplate, times(1)).exchange(
+                argThat((URI uri) -> uri.toString().contains("COUNT")), eq(HttpMethod.GET), any(), eq(SalesforceQueryResult.class));
+    }
+
+    @Test
+    void fetchContactPages_bulkMode_skipsTheCountQuery() {
+        when(bulkQueryClient.fetchContactPages(anyString(), any())).thenReturn(0);
+
+        client("bulk").fetchContactPages(page -> { });
+
+        verify(bulkQueryClient).fetchContactPages(anyString(), any());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void fetchContactPages_modifiedSince_filtersOnSystemModstamp() {
+        when(authService.getInstanceUrl()).thenReturn("https://myorg.my.salesforce.com");
+        when(authService.getAccessToken()).thenReturn("test-token");
+        when(restTemplate.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(SalesforceQueryResult.class)))
+                .thenReturn(new ResponseEntity<>(SalesforceQueryResult.builder().totalSize(0).done(true)
+                        .records(List.of()).build(), HttpStatus.OK));
+
+        apiClient.fetchContactPages(LocalDateTime.of(2024, 3, 2, 9, 30), page -> { });
+
+        verify(restTemplate).exchange(
+                argThat((URI uri) -> uri.getQuery().endsWith("FROM Contact WHERE SystemModstamp >= 2024-03-02T09:30:00.000Z")),
+                eq(HttpMethod.GET), any(), eq(SalesforceQueryResult.class));
+    }
+
+    @Test
+    void parseTimestamp_normalizesToUtc() {
+        assertThat(SalesforceApiClient.parseTimestamp("2024-01-15T10:30:00.000+0000"))
+                .isEqualTo(LocalDateTime.of(2024, 1, 15, 10, 30));
+        assertThat(SalesforceApiClient.parseTimestamp("2024-01-15T10:30:00.000-05:00"))
+                .isEqualTo(LocalDateTime.of(2024, 1, 15, 15, 30));
+        assertThat(SalesforceApiClient.parseTimestamp("2024-01-15T10:30:00Z"))
+                .isEqualTo(LocalDateTime.of(2024, 1, 15, 10, 30));
+        assertThat(SalesforceApiClient.parseTimestamp(null)).isNull();
+    }
+
+    @Test
+    void fetchContactPages_requestsNextBatchWhileCurrentOneIsStaged() throws Exception {
+        stubTwoPages();
+
+        CountDownLatch secondRequested = new CountDownLatch(1);
+        doAnswer(inv -> {
+            secondRequested.countDown();
+            return new ResponseEntity<>(SalesforceQueryResult.builder().totalSize(2).done(true)
+                    .records(List.of(SalesforceContact.builder().id("002").build())).build(), HttpStatus.OK);
+        }).when(restTemplate).exchange(argThat((URI uri) -> uri.getPath().endsWith("/next-page")),
+                eq(HttpMethod.GET), any(HttpEntity.class), eq(SalesforceQueryResult.class));
+
+        List<Boolean> prefetched = new ArrayList<>();
+        apiClient.fetchContactPages(page -> {
+            if (page.get(0).getId().equals("001")) {
+                prefetched.add(await(secondRequested));
+            }
+        });
+
+        assertThat(prefetched).containsExactly(true);
+    }
+
+    @Test
+    void fetchContactPages_singleBufferedBatch_waitsForStagingBeforeFetchingMore() {
+        stubTwoPages();
+        AtomicInteger requestsWhileStagingFirst = new AtomicInteger(-1);
+        doAnswer(inv -> new ResponseEntity<>(SalesforceQueryResult.builder().totalSize(2).done(true)
+                .records(List.of(SalesforceContact.builder().id("002").build())).build(), HttpStatus.OK))
+                .when(restTemplate).exchange(argThat((URI uri) -> uri.getPath().endsWith("/next-page")),
+                        eq(HttpMethod.GET), any(HttpEntity.class), eq(SalesforceQueryResult.class));
+
+        int fetched = client("REST", 1).fetchContactPages(page -> {
+            if (page.get(0).getId().equals("001")) {
+                sleepQuietly(100);
+                requestsWhileStagingFirst.set(mockingDetails(restTemplate).getInvocations().size());
+            }
+        });
+
+        assertThat(fetched).isEqualTo(2);
+        assertThat(requestsWhileStagingFirst).hasValue(1);
+    }
+
+    private void stubTwoPages() {
+        when(authService.getInstanceUrl()).thenReturn("https://myorg.my.salesforce.com");
+        when(authService.getAccessToken()).thenReturn("test-token");
+        SalesforceQueryResult page1 = SalesforceQueryResult.builder()
+                .totalSize(2).done(false).nextRecordsUrl("/services/data/v59.0/query/next-page")
+                .records(List.of(SalesforceContact.builder().id("001").build())).build();
+        lenient().when(restTemplate.exchange(argThat((URI uri) -> !uri.getPath().endsWith("/next-page")),
+                        eq(HttpMethod.GET), any(HttpEntity.class), eq(SalesforceQueryResult.class)))
+                .thenReturn(new ResponseEntity<>(page1, HttpStatus.OK));
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -10,6 +10,17 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
@@ -22,15 +33,24 @@ class SalesforceAuthServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private ConnectionPoolMonitor connectionPoolMonitor;
+
+    private final IntegrationMetrics metrics = new IntegrationMetrics();
+
     private SalesforceAuthService authService;
 
     @BeforeEach
     void setUp() {
         authService = new SalesforceAuthService(
                 restTemplate,
+                metrics,
+                connectionPoolMonitor,
                 "https://login.salesforce.com",
                 "test-client-id",
-                "test-client-secret");
+                "test-client-secret",
+                7200,
+                300);
     }
 
     @Test
@@ -53,6 +73,7 @@ class SalesforceAuthServiceTest {
         assertThat(token2).isEqualTo("access-token-123");
 
         verify(restTemplate, times(1)).postForObject(any(String.class), any(), any());
+        verify(connectionPoolMonitor).registerRoute("SALESFORCE", "https://myorg.my.salesforce.com");
     }
 
     @Test
@@ -107,4 +128,88 @@ class SalesforceAuthServiceTest {
                 .isInstanceOf(IntegrationException.class)
                 .hasMessageContaining("missing access_token");
     }
+
+    @Test
+    void getAccessToken_concurrentCallers_shareOneTokenRequest() throws Exception {
+        CountDownLatch requestStarted = new CountDownLatch(1);
+        CountDownLatch releaseResponse = new CountDownLatch(1);
+        when(restTemplate.postForObject(any(String.class), any(), eq(SalesforceTokenResponse.class)))
+                .thenAnswer(inv -> {
+                    requestStarted.countDown();
+                    releaseResponse.await(5, TimeUnit.SECONDS);
+                    return token("shared-token");
+                });
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> tokens = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tokens.add(callers.submit(authService::getAccessToken));
+            }
+            assertThat(requestStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(50);
+            releaseResponse.countDown();
+
+            for (Future<String> token : tokens) {
+                assertThat(token.get(5, TimeUnit.SECONDS)).isEqualTo("shared-token");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(restTemplate, times(1)).postForObject(any(String.class), any(), any());
+        assertThat(metrics.getMetrics("SALESFORCE").getTokenRefreshes()).isEqualTo(1);
+    }
+
+    @Test
+    void refreshToken_forAlreadyReplacedToken_doesNotRequestAgain() {
+        when(restTemplate.postForObject(any(String.class), any(), eq(SalesforceTokenResponse.class)))
+                .thenReturn(token("token-1"), token("token-2"));
+
+        String rejected = authService.getAccessToken();
+        assertThat(authService.refreshToken(rejected)).isEqualTo("token-2");
+        // A second job that also got a 401 with token-1 picks up token-2 without another request
+        assertThat(authService.refreshToken(rejected)).isEqualTo("token-2");
+
+        verify(restTemplate, times(2)).postForObject(any(String.class), any(), any());
+        assertThat(metrics.getMetrics("SALESFORCE").getTokenRefreshesLastHour()).isEqualTo(2);
+    }
+
+    @Test
+    void getAccessToken_refreshesAheadOfExpiry() {
+        Instant issued = Instant.parse("2024-03-01T08:00:00Z");
+        authService.setClock(Clock.fixed(issued, ZoneOffset.UTC));
+        when(restTemplate.postForObject(any(String.class), any(), eq(SalesforceTokenResponse.class)))
+                .thenReturn(token("token-1"), token("token-2"));
+
+        assertThat(authService.getAccessToken()).isEqualTo("token-1");
+
+        // 7200s TTL, refreshed 300s ahead
+        authService.setClock(Clock.fixed(issued.plusSeconds(6899), ZoneOffset.UTC));
+        assertThat(authService.getAccessToken()).isEqualTo("token-1");
+        authService.setClock(Clock.fixed(issued.plusSeconds(6900), ZoneOffset.UTC));
+        assertThat(authService.getAccessToken()).isEqualTo("token-2");
+    }
+
+    @Test
+    void getAccessToken_failedEarlyRefresh_keepsUsingTheValidToken() {
+        Instant issued = Instant.parse("2024-03-01T08:00:00Z");
+        authService.setClock(Clock.fixed(issued, ZoneOffset.UTC));
+        when(restTemplate.postForObject(any(String.class), any(), eq(SalesforceTokenResponse.class)))
+                .thenReturn(token("token-1"))
+                .thenThrow(new RestClientException("Connection refused"));
+
+        authService.getAccessToken();
+        authService.setClock(Clock.fixed(issued.plusSeconds(7000), ZoneOffset.UTC));
+
+        assertThat(authService.getAccessToken()).isEqualTo("token-1");
+        authService.setClock(Clock.fixed(issued.plusSeconds(7200), ZoneOffset.UTC));
+        assertThatThrownBy(() -> authService.getAccessToken()).isInstanceOf(IntegrationException.class);
+    }
+
+    private SalesforceTokenResponse token(String accessToken) {
+        return SalesforceTokenResponse.builder()
+                .accessToken(accessToken)
+                .instanceUrl("https://myorg.my.salesforce.com")
+                .build();
+    }
 }
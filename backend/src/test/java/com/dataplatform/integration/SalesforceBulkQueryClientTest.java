@@ -0,0 +1,139 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.dto.SalesforceContact;
+import com.dataplatform.exception.IntegrationException;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class SalesforceBulkQueryClientTest {
+
+    private static final String JOBS_PATH = "/services/data/v59.0/jobs/query";
+    private static final String SOQL = "SELECT Id, FirstName, LastName, Email FROM Contact";
+
+    @Mock
+    private SalesforceAuthService authService;
+
+    private final WireMockServer server = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+
+    private final RetryScheduler retryScheduler =
+            new RetryScheduler(1, 10, 0.5, 1000, new CircuitBreakerRegistry(100, 1000),
+                    new RateLimiterRegistry(0, 1, 0, 1, 0, 1, 0, 1), new IntegrationMetrics());
+
+    private SalesforceBulkQueryClient bulkClient;
+
+    @BeforeEach
+    void setUp() {
+        server.start();
+        lenient().when(authService.getInstanceUrl()).thenReturn(server.baseUrl());
+        lenient().when(authService.getAccessToken()).thenReturn("test-token");
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory());
+        bulkClient = new SalesforceBulkQueryClient(restTemplate, authService, retryScheduler,
+                "v59.0", 3, 1, 5000, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+        retryScheduler.shutdown();
+    }
+
+    @Test
+    void fetchContactPages_createsPollsAndStreamsEveryResultSet() {
+        stubJobCreated();
+        server.stubFor(get(urlPathEqualTo(JOBS_PATH + "/750X")).inScenario("poll")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(okJson("{\"id\":\"750X\",\"state\":\"InProgress\"}"))
+                .willSetStateTo("done"));
+        server.stubFor(get(urlPathEqualTo(JOBS_PATH + "/750X")).inScenario("poll")
+                .whenScenarioStateIs("done")
+                .willReturn(okJson("{\"id\":\"750X\",\"state\":\"JobComplete\",\"numberRecordsProcessed\":3}")));
+        server.stubFor(get(urlPathEqualTo(JOBS_PATH + "/750X/results"))
+                .withQueryParam("maxRecords", equalTo("2"))
+                .withQueryParam("locator", absent())
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "text/csv")
+                        .withHeader("Sforce-Locator", "Mg")
+                        .withBody("\"Id\",\"FirstName\",\"LastName\",\"Email\"\n"
+                                + "\"003A\",\"Alice\",\"Johnson\",\"alice@sf.com\"\n"
+                                + "\"003B\",\"Bob\",\"Smith, Jr.\",\"\"\n")));
+        server.stubFor(get(urlPathEqualTo(JOBS_PATH + "/750X/results"))
+                .withQueryParam("locator", equalTo("Mg"))
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Content-Type", "text/csv")
+                        .withHeader("Sforce-Locator", "null")
+                        .withBody("\"Id\",\"FirstName\",\"LastName\",\"Email\"\n"
+                                + "\"003C\",\"Carol\",\"White\",\"carol@sf.com\"\n")));
+
+        List<List<SalesforceContact>> pages = new ArrayList<>();
+        int fetched = bulkClient.fetchContactPages(SOQL, pages::add);
+
+        assertThat(fetched).isEqualTo(3);
+        assertThat(pages).hasSize(2);
+        assertThat(pages.get(0)).extracting(SalesforceContact::getId).containsExactly("003A", "003B");
+        assertThat(pages.get(0).get(1).getLastName()).isEqualTo("Smith, Jr.");
+        assertThat(pages.get(0).get(1).getEmail()).isNull();
+        assertThat(pages.get(1).get(0).getFirstName()).isEqualTo("Carol");
+        server.verify(postRequestedFor(urlPathEqualTo(JOBS_PATH))
+                .withHeader("Authorization", equalTo("Bearer test-token"))
+                .withRequestBody(matchingJsonPath("$.operation", equalTo("query")))
+                .withRequestBody(matchingJsonPath("$.query", equalTo(SOQL))));
+    }
+
+    @Test
+    void fetchContactPages_failedJob_throwsIntegrationException() {
+        stubJobCreated();
+        server.stubFor(get(urlPathEqualTo(JOBS_PATH + "/750X"))
+                .willReturn(okJson("{\"id\":\"750X\",\"state\":\"Failed\",\"errorMessage\":\"INVALID_FIELD\"}")));
+
+        assertThatThrownBy(() -> bulkClient.fetchContactPages(SOQL, page -> { }))
+                .isInstanceOf(IntegrationException.class)
+                .hasMessage("Salesforce bulk query job 750X failed: INVALID_FIELD");
+        server.verify(0, getRequestedFor(urlPathEqualTo(JOBS_PATH + "/750X/results")));
+    }
+
+    @Test
+    void fetchContactPages_transientResultFailure_isRetried() {
+        stubJobCreated();
+        server.stubFor(get(urlPathEqualTo(JOBS_PATH + "/750X"))
+                .willReturn(okJson("{\"id\":\"750X\",\"state\":\"JobComplete\"}")));
+        server.stubFor(get(urlPathEqualTo(JOBS_PATH + "/750X/results")).inScenario("results")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse().withStatus(503))
+                .willSetStateTo("recovered"));
+        server.stubFor(get(urlPathEqualTo(JOBS_PATH + "/750X/results")).inScenario("results")
+                .whenScenarioStateIs("recovered")
+                .willReturn(aResponse().withStatus(200)
+                        .withHeader("Sforce-Locator", "null")
+                        .withBody("Id,FirstName\n003A,Alice\n")));
+
+        List<SalesforceContact> contacts = new ArrayList<>();
+        bulkClient.fetchContactPages(SOQL, contacts::addAll);
+
+        assertThat(contacts).extracting(SalesforceContact::getId).containsExactly("003A");
+        server.verify(2, getRequestedFor(urlPathEqualTo(JOBS_PATH + "/750X/results")));
+    }
+
+    private void stubJobCreated() {
+        server.stubFor(post(urlPathEqualTo(JOBS_PATH))
+                .willReturn(okJson("{\"id\":\"750X\",\"operation\":\"query\",\"state\":\"UploadComplete\"}")));
+    }
+}
@@ -0,0 +1,42 @@
+package com.dataplatform.integration;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SalesforceCsvReaderTest {
+
+    @Test
+    void nextRow_handlesQuotesEscapesAndEmbeddedLineBreaks() throws IOException {
+        SalesforceCsvReader csv = new SalesforceCsvReader(new StringReader(
+                "\"Id\",\"MailingStreet\",\"Phone\"\n"
+                        + "\"003A\",\"1 Main St\nSuite 2\",\"\"\n"
+                        + "\"003B\",\"12 \"\"Oak\"\" Ave, Apt 4\",555-1234\r\n"));
+
+        assertThat(csv.nextRow()).containsExactly("Id", "MailingStreet", "Phone");
+        assertThat(csv.nextRow()).containsExactly("003A", "1 Main St\nSuite 2", "");
+        assertThat(csv.nextRow()).containsExactly("003B", "12 \"Oak\" Ave, Apt 4", "555-1234");
+        assertThat(csv.nextRow()).isNull();
+    }
+
+    @Test
+    void nextRow_lastRowWithoutLineBreak() throws IOException {
+        SalesforceCsvReader csv = new SalesforceCsvReader(new StringReader("Id,Email\n003A,"));
+
+        assertThat(csv.nextRow()).containsExactly("Id", "Email");
+        assertThat(csv.nextRow()).isEqualTo(List.of("003A", ""));
+        assertThat(csv.nextRow()).isNull();
+    }
+
+    @Test
+    void nextRow_unterminatedQuote_throws() {
+        SalesforceCsvReader csv = new SalesforceCsvReader(new StringReader("\"003A,Alice\n"));
+
+        assertThatThrownBy(csv::nextRow).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,101 @@
+package com.dataplatform.integration;
+
+import com.dataplatform.exception.CircuitOpenException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SourceCircuitBreakerTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final SourceCircuitBreaker breaker = new SourceCircuitBreaker("ERP", 3, 30_000, clock);
+
+    @Test
+    void opensAfterConsecutiveFailures_andFailsFast() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertThat(breaker.getState()).isEqualTo(SourceCircuitBreaker.CLOSED);
+
+        breaker.recordFailure();
+
+        assertThat(breaker.getState()).isEqualTo(SourceCircuitBreaker.OPEN);
+        assertThatThrownBy(breaker::acquirePermission)
+                .isInstanceOf(CircuitOpenException.class)
+                .hasMessageContaining("ERP circuit is open after 3 consecutive failures");
+        assertThat(breaker.snapshot().getRetryAt()).isNotNull();
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+
+        assertThat(breaker.getState()).isEqualTo(SourceCircuitBreaker.CLOSED);
+        assertThat(breaker.snapshot().getConsecutiveFailures()).isEqualTo(1);
+    }
+
+    @Test
+    void halfOpen_allowsOneProbe_thenClosesOnSuccess() {
+        trip();
+        clock.advance(Duration.ofSeconds(30));
+
+        assertThatCode(breaker::acquirePermission).doesNotThrowAnyException();
+        assertThat(breaker.getState()).isEqualTo(SourceCircuitBreaker.HALF_OPEN);
+        assertThatThrownBy(breaker::acquirePermission).isInstanceOf(CircuitOpenException.class);
+
+        breaker.recordSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(SourceCircuitBreaker.CLOSED);
+        assertThat(breaker.snapshot().getOpenedAt()).isNull();
+    }
+
+    @Test
+    void halfOpen_reopensOnFailedProbe() {
+        trip();
+        clock.advance(Duration.ofSeconds(31));
+        breaker.acquirePermission();
+
+        breaker.recordFailure();
+
+        assertThat(breaker.getState()).isEqualTo(SourceCircuitBreaker.OPEN);
+        assertThatThrownBy(breaker::acquirePermission).isInstanceOf(CircuitOpenException.class);
+    }
+
+    private void trip() {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-01-15T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.dataplatform.integration;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SourceRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void reserve_burstIsFreeThenPermitsAreSpacedByTheRate() {
+        SourceRateLimiter limiter = new SourceRateLimiter("CRM", 10, 3, now::get);
+
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isZero();
+        // Callers queue behind each other: 100ms, then 200ms
+        assertThat(limiter.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(limiter.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    void reserve_refillsOverTimeButNeverBeyondTheBurst() {
+        SourceRateLimiter limiter = new SourceRateLimiter("ERP", 10, 2, now::get);
+        limiter.reserve();
+        limiter.reserve();
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isPositive();
+    }
+
+    @Test
+    void reserve_zeroRate_isUnlimited() {
+        SourceRateLimiter limiter = new SourceRateLimiter("ACCOUNTING", 0, 1, now::get);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.reserve()).isZero();
+        }
+        assertThat(limiter.isLimited()).isFalse();
+    }
+}
@@ -0,0 +1,60 @@
+package com.dataplatform.repository;
+
+import com.dataplatform.model.RawCustomer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StagedRecordReaderTest {
+
+    @Mock
+    private RawCustomerRepository repository;
+
+    private final StagedRecordReader reader = new StagedRecordReader(2);
+
+    @Test
+    void forEachChunk_continuesAfterTheLastIdOfEachFullChunk() {
+        PageRequest page = PageRequest.of(0, 2);
+        when(repository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(7L, 0L, page))
+                .thenReturn(List.of(raw(3L), raw(5L)));
+        when(repository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(7L, 5L, page))
+                .thenReturn(List.of(raw(8L)));
+        List<List<Long>> chunks = new ArrayList<>();
+
+        long read = reader.forEachChunk(repository, 7L,
+                chunk -> chunks.add(chunk.stream().map(RawCustomer::getId).toList()));
+
+        assertThat(read).isEqualTo(3);
+        assertThat(chunks).containsExactly(List.of(3L, 5L), List.of(8L));
+        verify(repository, never()).findBySyncJobIdAndIdGreaterThanOrderByIdAsc(7L, 8L, page);
+    }
+
+    @Test
+    void forEachChunk_fullLastChunk_stopsOnTheEmptyOneAfterIt() {
+        PageRequest page = PageRequest.of(0, 2);
+        when(repository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(7L, 0L, page))
+                .thenReturn(List.of(raw(1L), raw(2L)));
+        when(repository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(7L, 2L, page)).thenReturn(List.of());
+        List<Integer> sizes = new ArrayList<>();
+
+        long read = reader.forEachChunk(repository, 7L, chunk -> sizes.add(chunk.size()));
+
+        assertThat(read).isEqualTo(2);
+        assertThat(sizes).containsExactly(2);
+    }
+
+    private static RawCustomer raw(Long id) {
+        return RawCustomer.builder().id(id).externalId("CRM-" + id).rawData("{}").build();
+    }
+}
@@ -0,0 +1,205 @@
+package com.dataplatform.repository;
+
+import com.dataplatform.dto.RawRecord;
+import com.dataplatform.model.RawCustomer;
+import com.dataplatform.model.RawDataCodec;
+import com.dataplatform.model.SyncJob;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StagingBulkWriterTest {
+
+    private final JdbcDataSource dataSource = h2();
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private final List<String> failed = new ArrayList<>();
+
+    private StagingBulkWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS staging");
+        jdbcTemplate.execute("CREATE TABLE staging.raw_customers (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "sync_job_id BIGINT NOT NULL, external_id VARCHAR(100), raw_data CLOB, raw_data_compressed BLOB, "
+                + "raw_data_codec VARCHAR(10), received_at TIMESTAMP)");
+        writer = new StagingBulkWriter(jdbcTemplate, new DataSourceTransactionManager(dataSource), 2, "AUTO", "NONE");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE staging.raw_customers");
+    }
+
+    @Test
+    void add_writesAChunkOnceTheBufferIsFull() {
+        try (StagingSession session = open()) {
+            session.add(List.of(record("CRM-001"), record("CRM-002"), record("CRM-003")));
+
+            assertThat(rowCount()).isEqualTo(2);
+            assertThat(session.getRowsWritten()).isEqualTo(2);
+        }
+
+        assertThat(rowCount()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT sync_job_id FROM staging.raw_customers", Long.class))
+                .containsExactly(7L);
+    }
+
+    @Test
+    void flush_failingChunk_writesTheGoodRowsOneByOneAndReportsTheBadOne() {
+        StagingSession session = open();
+
+        session.add(List.of(record("CRM-001"), record("X".repeat(101))));
+        session.flush();
+
+        assertThat(jdbcTemplate.queryForList("SELECT external_id FROM staging.raw_customers", String.class))
+                .containsExactly("CRM-001");
+        assertThat(failed).containsExactly("X".repeat(101));
+        assertThat(session.getRowsWritten()).isEqualTo(1);
+        assertThat(session.getRowsFailed()).isEqualTo(1);
+    }
+
+    @Test
+    void writtenHandler_isToldOnlyTheRowsThatWereStaged() {
+        List<String> written = new ArrayList<>();
+        StagingSession session = writer.open(StagingTable.RAW_CUSTOMERS, SyncJob.builder().id(7L).build(),
+                (record, ex) -> failed.add(record.getExternalId()),
+                records -> records.forEach(record -> written.add(record.getExternalId())));
+
+        session.add(List.of(record("CRM-001"), record("X".repeat(101)), record("CRM-002")));
+        session.flush();
+
+        assertThat(written).containsExactly("CRM-001", "CRM-002");
+        assertThat(failed).containsExactly("X".repeat(101));
+    }
+
+    @Test
+    void getRowsPerSecond_isNullUntilSomethingIsWritten() {
+        StagingSession session = open();
+        assertThat(session.getRowsPerSecond()).isNull();
+
+        session.add(List.of(record("CRM-001"), record("CRM-002")));
+
+        assertThat(session.getRowsPerSecond()).isPositive();
+    }
+
+    @Test
+    void asyncSession_writesOnABackgroundThreadAndFlushWaitsForIt() {
+        List<String> writerThreads = new ArrayList<>();
+        StagingSession session = writer.openAsync(StagingTable.RAW_CUSTOMERS, SyncJob.builder().id(7L).build(),
+                (record, ex) -> writerThreads.add(Thread.currentThread().getName()));
+
+        session.add(List.of(record("CRM-001"), record("CRM-002"), record("CRM-003"), record("X".repeat(101))));
+        session.close();
+
+        assertThat(rowCount()).isEqualTo(3);
+        assertThat(session.getRowsWritten()).isEqualTo(3);
+        assertThat(session.getRowsFailed()).isEqualTo(1);
+        assertThat(writerThreads).singleElement().asString().startsWith("staging-7-");
+    }
+
+    @Test
+    void asyncSession_earlierChunkFails_flushThrowsAndStopsWriting() {
+        CountDownLatch bothQueued = new CountDownLatch(1);
+        StagingSession session = writer.openAsync(StagingTable.RAW_CUSTOMERS, SyncJob.builder().id(7L).build(),
+                (record, ex) -> failed.add(record.getExternalId()),
+                records -> {
+                    if (records.get(0).getExternalId().equals("CRM-001")) {
+                        awaitQuietly(bothQueued);
+                        throw new IllegalStateException("watermark update failed");
+                    }
+                });
+
+        session.add(List.of(record("CRM-001"), record("CRM-002"), record("CRM-003"), record("CRM-004")));
+        bothQueued.countDown();
+
+        // Only the second chunk is the last write; the first one's failure must still surface
+        assertThatThrownBy(session::close).hasMessage("watermark update failed");
+        assertThat(jdbcTemplate.queryForList("SELECT external_id FROM staging.raw_customers ORDER BY id", String.class))
+                .containsExactly("CRM-001", "CRM-002");
+    }
+
+    @Test
+    void gzipCompression_storesTheJsonCompressedAndReportsTheSavings() {
+        writer = new StagingBulkWriter(jdbcTemplate, new DataSourceTransactionManager(dataSource), 2, "AUTO", "GZIP");
+        String json = "{\"id\":\"CRM-001\",\"notes\":\"" + "repeated text ".repeat(50) + "\"}";
+        StagingSession session = open();
+
+        session.add(List.of(new RawRecord("CRM-001", json), record("CRM-002")));
+
+        RawCustomer stored = jdbcTemplate.queryForObject(
+                "SELECT raw_data, raw_data_compressed, raw_data_codec FROM staging.raw_customers "
+                        + "WHERE external_id = 'CRM-001'",
+                (rs, row) -> RawCustomer.builder()
+                        .rawData(rs.getString(1))
+                        .rawDataCompressed(rs.getBytes(2))
+                        .rawDataCodec(rs.getString(3))
+                        .build());
+        assertThat(stored.getRawDataCodec()).isEqualTo(RawDataCodec.GZIP);
+        assertThat(stored.getRawData()).isEqualTo(json);
+        // Too small to shrink, so kept as plain text
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT raw_data_codec FROM staging.raw_customers WHERE external_id = 'CRM-002'", String.class))
+                .isNull();
+        assertThat(session.getRawBytes()).isEqualTo(json.length() + record("CRM-002").getRawData().length());
+        assertThat(session.getStoredBytes()).isLessThan(session.getRawBytes() / 2);
+    }
+
+    @Test
+    void deflateCompression_roundTripsAndIsSmallerThanGzip() {
+        writer = new StagingBulkWriter(jdbcTemplate, new DataSourceTransactionManager(dataSource), 2, "AUTO", "DEFLATE");
+        String json = "{\"id\":\"CRM-001\",\"notes\":\"" + "repeated text ".repeat(50) + "\"}";
+        StagingSession session = open();
+
+        session.add(List.of(new RawRecord("CRM-001", json), record("CRM-002")));
+
+        RawCustomer stored = jdbcTemplate.queryForObject(
+                "SELECT raw_data, raw_data_compressed, raw_data_codec FROM staging.raw_customers "
+                        + "WHERE external_id = 'CRM-001'",
+                (rs, row) -> RawCustomer.builder()
+                        .rawData(rs.getString(1))
+                        .rawDataCompressed(rs.getBytes(2))
+                        .rawDataCodec(rs.getString(3))
+                        .build());
+        assertThat(stored.getRawDataCodec()).isEqualTo(RawDataCodec.DEFLATE);
+        assertThat(stored.getRawData()).isEqualTo(json);
+        assertThat(stored.getRawDataCompressed().length)
+                .isLessThan(RawDataCodec.encode(json, RawDataCodec.GZIP).storedBytes());
+    }
+
+    private StagingSession open() {
+        SyncJob job = SyncJob.builder().id(7L).build();
+        return writer.open(StagingTable.RAW_CUSTOMERS, job, (record, ex) -> failed.add(record.getExternalId()));
+    }
+
+    private int rowCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM staging.raw_customers", Integer.class);
+    }
+
+    private static RawRecord record(String externalId) {
+        return new RawRecord(externalId, "{\"id\":\"" + externalId + "\"}");
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:staging-writer;DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
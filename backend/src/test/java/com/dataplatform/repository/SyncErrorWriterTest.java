@@ -0,0 +1,227 @@
+package com.dataplatform.repository;
+
+import com.dataplatform.model.SyncError;
+import com.dataplatform.model.SyncJob;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyncErrorWriterTest {
+
+    private final JdbcDataSource dataSource = h2();
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    private final SyncJob job = SyncJob.builder().id(7L).build();
+
+    private SyncErrorWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS audit");
+        jdbcTemplate.execute("CREATE TABLE audit.sync_errors (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "sync_job_id BIGINT NOT NULL, error_type VARCHAR(100), error_message CLOB, failed_record CLOB, "
+                + "occurred_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE audit.sync_error_summaries (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "sync_job_id BIGINT NOT NULL, error_type VARCHAR(100) NOT NULL, message_template VARCHAR(500) NOT NULL, "
+                + "error_count INT NOT NULL, sample_count INT NOT NULL, example_message CLOB, "
+                + "first_occurred_at TIMESTAMP, last_occurred_at TIMESTAMP)");
+        writer = new SyncErrorWriter(jdbcTemplate, new DataSourceTransactionManager(dataSource), 3, 60_000, 100, 2, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdown();
+        jdbcTemplate.execute("DROP TABLE audit.sync_errors");
+        jdbcTemplate.execute("DROP TABLE audit.sync_error_summaries");
+    }
+
+    @Test
+    void record_belowTheBatchSize_waitsForFlush() {
+        writer.record(error("VALIDATION_ERROR", "CRM-001"));
+        writer.record(error("VALIDATION_ERROR", "CRM-002"));
+
+        assertThat(rowCount()).isZero();
+        assertThat(writer.getPending()).isEqualTo(2);
+
+        writer.flush();
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT failed_record FROM audit.sync_errors WHERE sync_job_id = 7 ORDER BY id", String.class))
+                .containsExactly("CRM-001", "CRM-002");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM audit.sync_errors WHERE occurred_at IS NULL", Integer.class)).isZero();
+        assertThat(writer.getPending()).isZero();
+    }
+
+    @Test
+    void record_fullBatch_isWrittenInTheBackground() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            writer.record(error("PIPELINE_ERROR", "failure kind " + (char) ('a' + i), "ERP-00" + i));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (rowCount() < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(rowCount()).isEqualTo(3);
+    }
+
+    @Test
+    void flush_failingBatch_writesTheGoodErrorsAndKeepsTheBadOneUntilItCanBeWritten() {
+        jdbcTemplate.execute("ALTER TABLE audit.sync_errors ADD CONSTRAINT ck_rejected CHECK (error_type <> 'REJECTED')");
+        writer.record(error("VALIDATION_ERROR", "ACC-001"));
+        writer.record(error("REJECTED", "ACC-002"));
+
+        for (int attempt = 0; attempt < SyncErrorWriter.MAX_ATTEMPTS + 1; attempt++) {
+            writer.flush();
+        }
+
+        assertThat(jdbcTemplate.queryForList("SELECT failed_record FROM audit.sync_errors", String.class))
+                .containsExactly("ACC-001");
+        assertThat(writer.getPending()).isEqualTo(1);
+
+        jdbcTemplate.execute("ALTER TABLE audit.sync_errors DROP CONSTRAINT ck_rejected");
+        writer.flush();
+
+        assertThat(writer.getPending()).isZero();
+        assertThat(jdbcTemplate.queryForList("SELECT failed_record FROM audit.sync_errors ORDER BY id", String.class))
+                .containsExactly("ACC-001", "ACC-002");
+    }
+
+    @Test
+    void drain_errorThatCannotBeWritten_isDroppedAndReportedLost() {
+        jdbcTemplate.execute("ALTER TABLE audit.sync_errors ADD CONSTRAINT ck_rejected CHECK (error_type <> 'REJECTED')");
+        writer.record(error("VALIDATION_ERROR", "ACC-001"));
+        writer.record(error("REJECTED", "ACC-002"));
+
+        assertThat(writer.drain(7L)).isEqualTo(1);
+
+        assertThat(writer.getPending()).isZero();
+        assertThat(rowCount()).isEqualTo(1);
+        assertThat(writer.drain(7L)).isZero();
+    }
+
+    @Test
+    void flush_failingSummary_isReportedAsUnwrittenUntilDrainGivesUpOnIt() {
+        jdbcTemplate.execute("ALTER TABLE audit.sync_error_summaries "
+                + "ADD CONSTRAINT ck_summary_rejected CHECK (error_type <> 'REJECTED')");
+        writer.record(error("REJECTED", "ACC-001"));
+        writer.record(error("VALIDATION_ERROR", "ACC-002"));
+        writer.record(error("REJECTED", "ACC-003"));
+
+        for (int attempt = 0; attempt < SyncErrorWriter.MAX_ATTEMPTS + 1; attempt++) {
+            writer.flush();
+        }
+
+        assertThat(writer.unwrittenCounts(7L)).isEqualTo(Map.of("REJECTED", 2L));
+
+        assertThat(writer.drain(7L)).isEqualTo(2);
+
+        assertThat(writer.unwrittenCounts(7L)).isEmpty();
+        assertThat(jdbcTemplate.queryForList("SELECT error_type FROM audit.sync_error_summaries", String.class))
+                .containsExactly("VALIDATION_ERROR");
+    }
+
+    @Test
+    void drain_afterAFailedSummaryIsWritable_writesItAndLosesNothing() {
+        jdbcTemplate.execute("ALTER TABLE audit.sync_error_summaries "
+                + "ADD CONSTRAINT ck_summary_rejected CHECK (error_type <> 'REJECTED')");
+        writer.record(error("REJECTED", "ACC-001"));
+        writer.flush();
+        jdbcTemplate.execute("ALTER TABLE audit.sync_error_summaries DROP CONSTRAINT ck_summary_rejected");
+
+        assertThat(writer.drain(7L)).isZero();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT error_count FROM audit.sync_error_summaries", Integer.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void record_overlongErrorType_isTruncatedToTheColumn() {
+        writer.record(error("X".repeat(150), "ACC-001"));
+
+        writer.drain(7L);
+
+        String truncated = "X".repeat(SyncErrorWriter.MAX_ERROR_TYPE_LENGTH);
+        assertThat(jdbcTemplate.queryForObject("SELECT error_type FROM audit.sync_errors", String.class))
+                .isEqualTo(truncated);
+        assertThat(jdbcTemplate.queryForObject("SELECT error_type FROM audit.sync_error_summaries", String.class))
+                .isEqualTo(truncated);
+    }
+
+    @Test
+    void record_sameKindOfError_isCountedOnceAndSampled() {
+        for (int i = 0; i < 1000; i++) {
+            writer.record(error("VALIDATION_ERROR", "Invalid email format: user" + i + "@example", "CRM-" + i));
+        }
+        writer.record(error("PIPELINE_ERROR", "Connection reset", "CRM-1000"));
+
+        writer.drain(7L);
+
+        assertThat(jdbcTemplate.queryForList("SELECT failed_record FROM audit.sync_errors ORDER BY id", String.class))
+                .containsExactly("CRM-0", "CRM-1", "CRM-1000");
+        assertThat(jdbcTemplate.queryForList("SELECT error_type, message_template, error_count, sample_count "
+                + "FROM audit.sync_error_summaries ORDER BY error_count DESC")).containsExactly(
+                Map.of("ERROR_TYPE", "VALIDATION_ERROR", "MESSAGE_TEMPLATE", "Invalid email format: <email>",
+                        "ERROR_COUNT", 1000, "SAMPLE_COUNT", 2),
+                Map.of("ERROR_TYPE", "PIPELINE_ERROR", "MESSAGE_TEMPLATE", "Connection reset",
+                        "ERROR_COUNT", 1, "SAMPLE_COUNT", 1));
+    }
+
+    @Test
+    void flush_addsLaterOccurrencesToTheWrittenCount() {
+        writer.record(error("VALIDATION_ERROR", "Customer CRM-1 has invalid zip '1234x'", "CRM-1"));
+        writer.flush();
+        writer.record(error("VALIDATION_ERROR", "Customer CRM-2 has invalid zip 'abc'", "CRM-2"));
+        writer.record(error("VALIDATION_ERROR", "Customer CRM-3 has invalid zip ''", "CRM-3"));
+        writer.flush();
+
+        assertThat(jdbcTemplate.queryForMap("SELECT message_template, error_count, sample_count, example_message "
+                + "FROM audit.sync_error_summaries")).isEqualTo(Map.of(
+                "MESSAGE_TEMPLATE", "Customer <n> has invalid zip '?'", "ERROR_COUNT", 3, "SAMPLE_COUNT", 2,
+                "EXAMPLE_MESSAGE", "Customer CRM-1 has invalid zip '1234x'"));
+        assertThat(rowCount()).isEqualTo(2);
+    }
+
+    @Test
+    void record_pastTheTemplateLimit_countsNewMessagesTogether() {
+        for (int i = 0; i < 5; i++) {
+            writer.record(error("PIPELINE_ERROR", "failure kind " + (char) ('a' + i), "ERP-" + i));
+        }
+
+        writer.drain(7L);
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT message_template FROM audit.sync_error_summaries", String.class))
+                .containsExactlyInAnyOrder("failure kind a", "failure kind b", "failure kind c",
+                        SyncErrorWriter.OTHER_MESSAGES);
+        assertThat(jdbcTemplate.queryForObject("SELECT error_count FROM audit.sync_error_summaries "
+                + "WHERE message_template = ?", Integer.class, SyncErrorWriter.OTHER_MESSAGES)).isEqualTo(2);
+    }
+
+    private SyncError error(String errorType, String failedRecord) {
+        return error(errorType, "bad record " + failedRecord, failedRecord);
+    }
+
+    private SyncError error(String errorType, String errorMessage, String failedRecord) {
+        return SyncError.builder().syncJob(job).errorType(errorType).errorMessage(errorMessage)
+                .failedRecord(failedRecord).build();
+    }
+
+    private int rowCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit.sync_errors", Integer.class);
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sync-error-writer;DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+}
@@ -1,26 +1,31 @@
 package com.dataplatform.service;
 
 import com.dataplatform.dto.CrmCustomerResponse;
+import com.dataplatform.dto.CustomerRecord;
+import com.dataplatform.dto.RawRecord;
 import com.dataplatform.dto.SyncJobDTO;
+import com.dataplatform.exception.CircuitOpenException;
 import com.dataplatform.exception.IntegrationException;
+import com.dataplatform.integration.AdaptivePageSizer;
 import com.dataplatform.integration.CrmApiClient;
-import com.dataplatform.model.RawCustomer;
+import com.dataplatform.integration.PageCache;
 import com.dataplatform.model.SyncError;
 import com.dataplatform.model.SyncJob;
-import com.dataplatform.repository.RawCustomerRepository;
-import com.dataplatform.repository.SyncErrorRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dataplatform.repository.StagingBulkWriter;
+import com.dataplatform.repository.StagingSession;
+import com.dataplatform.repository.StagingTable;
+import com.dataplatform.repository.SyncErrorWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -36,19 +41,24 @@ class CustomerIntegrationServiceTest {
     private SyncJobService syncJobService;
 
     @Mock
-    private RawCustomerRepository rawCustomerRepository;
+    private StagingBulkWriter stagingWriter;
 
     @Mock
-    private SyncErrorRepository syncErrorRepository;
+    private StagingSession staging;
 
-    @Spy
-    private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock
+    private SyncErrorWriter syncErrorWriter;
+
+    @Mock
+    private PageCacheService pageCacheService;
 
     @InjectMocks
     private CustomerIntegrationService customerIntegrationService;
 
     private SyncJob runningJob;
 
+    private StagingBulkWriter.FailureHandler failureHandler;
+
     @BeforeEach
     void setUp() {
         runningJob = SyncJob.builder()
@@ -61,6 +71,10 @@ class CustomerIntegrationServiceTest {
                 .recordsProcessed(0)
                 .recordsFailed(0)
                 .build();
+        lenient().when(stagingWriter.open(any(), any(), any())).thenAnswer(inv -> {
+            failureHandler = inv.getArgument(2);
+            return staging;
+        });
     }
 
     private void stubCreateJob() {
@@ -70,43 +84,42 @@ class CustomerIntegrationServiceTest {
     @Test
     void syncCustomers_success_shouldStageAllRecords() {
         stubCreateJob();
-        List<CrmCustomerResponse> customers = List.of(
+        List<RawRecord> customers = List.of(
                 buildCustomer("CRM-001", "Alice"),
                 buildCustomer("CRM-002", "Bob")
         );
-        when(crmApiClient.fetchAllCustomers()).thenReturn(customers);
-        when(rawCustomerRepository.save(any(RawCustomer.class)))
-                .thenAnswer(inv -> inv.getArgument(0));
+        stubPages(customers);
 
         SyncJobDTO result = customerIntegrationService.syncCustomers();
 
-        verify(rawCustomerRepository, times(2)).save(any(RawCustomer.class));
-        verify(syncErrorRepository, never()).save(any());
+        verify(stagingWriter).open(eq(StagingTable.RAW_CUSTOMERS), eq(runningJob), any());
+        verify(staging).add(customers);
+        verify(staging).flush();
+        verify(syncErrorWriter, never()).record(any());
     }
 
     @Test
     void syncCustomers_partialFailure_shouldLogErrors() {
         stubCreateJob();
-        List<CrmCustomerResponse> customers = List.of(
+        List<RawRecord> customers = List.of(
                 buildCustomer("CRM-001", "Alice"),
                 buildCustomer("CRM-002", "Bob")
         );
-        when(crmApiClient.fetchAllCustomers()).thenReturn(customers);
-        when(rawCustomerRepository.save(any(RawCustomer.class)))
-                .thenAnswer(inv -> inv.getArgument(0))
-                .thenThrow(new RuntimeException("DB constraint violation"));
-        when(syncErrorRepository.save(any(SyncError.class)))
-                .thenAnswer(inv -> inv.getArgument(0));
+        stubPages(customers);
+        doAnswer(inv -> {
+            failureHandler.onFailure(customers.get(1), new RuntimeException("DB constraint violation"));
+            return null;
+        }).when(staging).flush();
 
         SyncJobDTO result = customerIntegrationService.syncCustomers();
 
-        verify(syncErrorRepository).save(any(SyncError.class));
+        verify(syncErrorWriter).record(any(SyncError.class));
     }
 
     @Test
     void syncCustomers_apiFails_shouldFailJob() {
         stubCreateJob();
-        when(crmApiClient.fetchAllCustomers())
+        when(crmApiClient.forEachRawPage(any(), any(), any(), anyBoolean()))
                 .thenThrow(new IntegrationException("Connection refused"));
         when(syncJobService.failJob(any(), anyString())).thenAnswer(inv -> {
             runningJob.setStatus("FAILED");
@@ -117,47 +130,176 @@ class CustomerIntegrationServiceTest {
         SyncJobDTO result = customerIntegrationService.syncCustomers();
 
         verify(syncJobService).failJob(eq(runningJob), contains("Connection refused"));
-        verify(rawCustomerRepository, never()).save(any());
+        verify(staging, never()).add(any());
+    }
+
+    @Test
+    void syncCustomers_circuitOpen_shouldFailJobWithCircuitOpenError() {
+        stubCreateJob();
+        when(crmApiClient.forEachRawPage(any(), any(), any(), anyBoolean()))
+                .thenThrow(new CircuitOpenException("CRM", "CRM circuit is open after 5 consecutive failures"));
+        when(syncJobService.failJob(any(), anyString(), anyString())).thenReturn(runningJob);
+
+        customerIntegrationService.syncCustomers();
+
+        verify(syncJobService).failJob(eq(runningJob), eq("CIRCUIT_OPEN"), contains("CRM circuit is open"));
+        verify(syncJobService, never()).failJob(any(), anyString());
     }
 
     @Test
     void syncCustomers_emptyResponse_shouldCompleteWithZero() {
         stubCreateJob();
-        when(crmApiClient.fetchAllCustomers()).thenReturn(Collections.emptyList());
+        stubPages();
 
         SyncJobDTO result = customerIntegrationService.syncCustomers();
 
-        verify(rawCustomerRepository, never()).save(any());
+        verify(staging, never()).add(any());
     }
 
     @Test
     void syncCustomersForJob_shouldUseExistingJob() {
-        List<CrmCustomerResponse> customers = List.of(
+        List<RawRecord> customers = List.of(
                 buildCustomer("CRM-001", "Alice")
         );
-        when(crmApiClient.fetchAllCustomers()).thenReturn(customers);
-        when(rawCustomerRepository.save(any(RawCustomer.class)))
-                .thenAnswer(inv -> inv.getArgument(0));
+        stubPages(customers);
 
         SyncJobDTO result = customerIntegrationService.syncCustomersForJob(runningJob);
 
         verify(syncJobService, never()).createJob(any(), any());
-        verify(rawCustomerRepository).save(any(RawCustomer.class));
-    }
-
-    private CrmCustomerResponse buildCustomer(String id, String name) {
-        return CrmCustomerResponse.builder()
-                .id(id)
-                .name(name)
-                .email(name.toLowerCase() + "@example.com")
-                .phone("555-0100")
-                .address(CrmCustomerResponse.Address.builder()
-                        .street("123 Main St")
-                        .city("Springfield")
-                        .state("IL")
-                        .zipCode("62701")
-                        .build())
-                .lastUpdated("2024-01-15T10:30:00Z")
-                .build();
+        verify(staging).add(customers);
+    }
+
+    @Test
+    void syncCustomersForJob_stagesEachPageAsItArrives() {
+        when(crmApiClient.forEachRawPage(any(), any(), any(), anyBoolean())).thenAnswer(inv -> {
+            Consumer<List<RawRecord>> handler = inv.getArgument(0);
+            handler.accept(List.of(buildCustomer("CRM-001", "Alice"), buildCustomer("CRM-002", "Bob")));
+            verify(staging).add(argThat(page -> page.size() == 2));
+            handler.accept(List.of(buildCustomer("CRM-003", "Carol")));
+            throw new IntegrationException("Page 2 timed out");
+        });
+        when(syncJobService.failJob(any(), anyString())).thenAnswer(inv -> {
+            runningJob.setStatus("FAILED");
+            return runningJob;
+        });
+
+        SyncJobDTO result = customerIntegrationService.syncCustomersForJob(runningJob);
+
+        assertThat(result.getStatus()).isEqualTo("FAILED");
+        verify(staging, times(2)).add(any());
+        verify(staging).close();
+        verify(syncJobService).failJob(eq(runningJob), contains("Page 2 timed out"));
+    }
+
+    @Test
+    void syncCustomersForJob_recordsPageSizeChangesOnJob() {
+        when(crmApiClient.forEachRawPage(any(), any(), any(), anyBoolean())).thenAnswer(inv -> {
+            AdaptivePageSizer.Listener listener = inv.getArgument(1);
+            listener.onPageSizeChange(20, "initial size");
+            listener.onPageSizeChange(40, "page of 20 took 80ms and 9000 bytes");
+            return 0;
+        });
+
+        customerIntegrationService.syncCustomersForJob(runningJob);
+
+        verify(syncJobService).recordPageSize(runningJob, 20, "initial size");
+        verify(syncJobService).recordPageSize(runningJob, 40, "page of 20 took 80ms and 9000 bytes");
+    }
+
+    @Test
+    void syncCustomersForJob_fetchesThroughTheJobsPageCacheAndSavesIt() {
+        PageCache pageCache = mock(PageCache.class);
+        when(pageCacheService.open(runningJob)).thenReturn(pageCache);
+        stubPages(List.of(buildCustomer("CRM-001", "Alice")), List.of());
+
+        customerIntegrationService.syncCustomersForJob(runningJob);
+
+        verify(crmApiClient).forEachRawPage(any(), any(), same(pageCache), eq(false));
+        verify(pageCacheService).save(pageCache);
+        verify(staging, times(2)).add(any());
+    }
+
+    @Test
+    void syncCustomersForJob_recordsStagingRateOnJob() {
+        stubPages(List.of(buildCustomer("CRM-001", "Alice"), buildCustomer("CRM-002", "Bob")));
+
+        customerIntegrationService.syncCustomersForJob(runningJob);
+
+        verify(syncJobService).recordStaging(runningJob, staging);
+    }
+
+    @Test
+    void syncCustomersForJob_fetchFails_doesNotSaveValidators() {
+        when(crmApiClient.forEachRawPage(any(), any(), any(), anyBoolean()))
+                .thenThrow(new IntegrationException("Connection refused"));
+        when(syncJobService.failJob(any(), anyString())).thenReturn(runningJob);
+
+        customerIntegrationService.syncCustomersForJob(runningJob);
+
+        verify(pageCacheService, never()).save(any());
+    }
+
+    @Test
+    void syncCustomersForJob_withDownstream_handsBoundPagesOnWhileStagingInTheBackground() {
+        when(stagingWriter.openAsync(eq(StagingTable.RAW_CUSTOMERS), eq(runningJob), any())).thenReturn(staging);
+        CrmCustomerResponse alice = CrmCustomerResponse.builder().id("CRM-001").name("Alice").build();
+        RawRecord bound = buildCustomer("CRM-001", "Alice");
+        bound.setItem(alice);
+        stubPages(List.of(bound));
+        when(staging.getRowsWritten()).thenReturn(1);
+        List<CustomerRecord> received = new ArrayList<>();
+
+        SyncJobDTO result = customerIntegrationService.syncCustomersForJob(runningJob, received::addAll);
+
+        assertThat(result.getStatus()).isEqualTo("RUNNING");
+        verify(crmApiClient).forEachRawPage(any(), any(), any(), eq(true));
+        verify(staging).add(List.of(bound));
+        verify(stagingWriter, never()).open(any(), any(), any());
+        assertThat(received).containsExactly(new CustomerRecord("CRM-001", bound.getRawData(), alice));
+    }
+
+    @Test
+    void syncCustomersForJob_withDownstreamAndAFailedStagingFlush_failsTheJobWithTheMismatch() {
+        when(stagingWriter.openAsync(eq(StagingTable.RAW_CUSTOMERS), eq(runningJob), any())).thenReturn(staging);
+        stubPages(List.of(buildCustomer("CRM-001", "Alice"), buildCustomer("CRM-002", "Bob")));
+        when(staging.getRowsWritten()).thenReturn(1);
+        doThrow(new IllegalStateException("staging connection lost")).when(staging).flush();
+
+        customerIntegrationService.syncCustomersForJob(runningJob, page -> { });
+
+        verify(syncJobService).failStagingMismatch(eq(runningJob), eq(2), eq(1),
+                argThat(ex -> "staging connection lost".equals(ex.getMessage())));
+        verify(syncJobService, never()).failJob(any(), anyString());
+        verify(pageCacheService, never()).save(any());
+    }
+
+    @Test
+    void syncCustomersForJob_withDownstreamAndRowsStagingRejected_failsTheJobWithTheMismatch() {
+        when(stagingWriter.openAsync(eq(StagingTable.RAW_CUSTOMERS), eq(runningJob), any())).thenReturn(staging);
+        stubPages(List.of(buildCustomer("CRM-001", "Alice"), buildCustomer("CRM-002", "Bob")));
+        when(staging.getRowsWritten()).thenReturn(1);
+
+        customerIntegrationService.syncCustomersForJob(runningJob, page -> { });
+
+        verify(syncJobService).failStagingMismatch(runningJob, 2, 1, null);
+    }
+
+    private RawRecord buildCustomer(String id, String name) {
+        return new RawRecord(id, String.format(
+                "{\"id\":\"%s\",\"name\":\"%s\",\"email\":\"%s@example.com\",\"phone\":\"555-0100\"}",
+                id, name, name.toLowerCase()));
+    }
+
+    @SafeVarargs
+    private void stubPages(List<RawRecord>... pages) {
+        when(crmApiClient.forEachRawPage(any(), any(), any(), anyBoolean())).thenAnswer(inv -> {
+            Consumer<List<RawRecord>> handler = inv.getArgument(0);
+            int total = 0;
+            for (List<RawRecord> page : pages) {
+                handler.accept(page);
+                total += page.size();
+            }
+            return total;
+        });
     }
 }
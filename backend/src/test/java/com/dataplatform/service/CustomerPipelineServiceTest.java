@@ -1,25 +1,28 @@
 package com.dataplatform.service;
 
+import com.dataplatform.dto.CrmCustomerResponse;
+import com.dataplatform.dto.CustomerRecord;
 import com.dataplatform.dto.SyncJobDTO;
 import com.dataplatform.dto.TransformedCustomer;
 import com.dataplatform.dto.ValidationResult;
 import com.dataplatform.model.RawCustomer;
-import com.dataplatform.model.SyncError;
 import com.dataplatform.model.SyncJob;
 import com.dataplatform.repository.RawCustomerRepository;
-import com.dataplatform.repository.SyncErrorRepository;
+import com.dataplatform.repository.StagedRecordReader;
+import com.dataplatform.repository.SyncErrorWriter;
 import com.dataplatform.transformer.CustomerTransformationService;
 import com.dataplatform.validator.CustomerValidationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -46,13 +49,15 @@ class CustomerPipelineServiceTest {
     @Mock
     private SyncJobService syncJobService;
 
+    @Mock
+    private RecordFingerprintService fingerprintService;
+
     @Mock
     private RawCustomerRepository rawCustomerRepository;
 
     @Mock
-    private SyncErrorRepository syncErrorRepository;
+    private SyncErrorWriter syncErrorWriter;
 
-    @InjectMocks
     private CustomerPipelineService pipelineService;
 
     private SyncJob runningJob;
@@ -60,6 +65,7 @@ class CustomerPipelineServiceTest {
 
     @BeforeEach
     void setUp() {
+        pipelineService = pipelineService(false);
         runningJob = SyncJob.builder()
                 .id(1L)
                 .sourceName("CRM")
@@ -79,16 +85,19 @@ class CustomerPipelineServiceTest {
                 .recordsProcessed(2)
                 .recordsFailed(0)
                 .build();
+        lenient().when(fingerprintService.open(any()))
+                .thenAnswer(inv -> new RecordFingerprints(inv.getArgument(0), false, ids -> Map.of()));
     }
 
     @Test
     void runFullPipeline_allSuccess_shouldLoadAllRecords() {
         when(customerIntegrationService.syncCustomers()).thenReturn(stagingResult);
         when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
-        when(rawCustomerRepository.findBySyncJobId(1L)).thenReturn(List.of(
-                buildRawCustomer("CRM-001", "{\"id\":\"CRM-001\",\"name\":\"Alice\"}"),
-                buildRawCustomer("CRM-002", "{\"id\":\"CRM-002\",\"name\":\"Bob\"}")
-        ));
+        when(rawCustomerRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any()))
+                .thenReturn(List.of(
+                        buildRawCustomer("CRM-001", "{\"id\":\"CRM-001\",\"name\":\"Alice\"}"),
+                        buildRawCustomer("CRM-002", "{\"id\":\"CRM-002\",\"name\":\"Bob\"}")
+                ));
         when(transformationService.transform(anyString())).thenReturn(buildTransformed("CRM-001", "Alice"));
         when(validationService.validate(any())).thenReturn(validResult());
         when(syncJobService.completeJob(any(), eq(2), eq(0))).thenAnswer(inv -> {
@@ -101,7 +110,7 @@ class CustomerPipelineServiceTest {
 
         verify(loadService, times(2)).loadCustomer(any(), anyString());
         verify(syncJobService).completeJob(runningJob, 2, 0);
-        verify(syncErrorRepository, never()).save(any());
+        verify(syncErrorWriter, never()).record(any());
     }
 
     @Test
@@ -124,10 +133,11 @@ class CustomerPipelineServiceTest {
     void runFullPipeline_validationFailure_shouldLogErrorAndContinue() {
         when(customerIntegrationService.syncCustomers()).thenReturn(stagingResult);
         when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
-        when(rawCustomerRepository.findBySyncJobId(1L)).thenReturn(List.of(
-                buildRawCustomer("CRM-001", "{\"id\":\"CRM-001\"}"),
-                buildRawCustomer("CRM-002", "{\"id\":\"CRM-002\",\"name\":\"Bob\"}")
-        ));
+        when(rawCustomerRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any()))
+                .thenReturn(List.of(
+                        buildRawCustomer("CRM-001", "{\"id\":\"CRM-001\"}"),
+                        buildRawCustomer("CRM-002", "{\"id\":\"CRM-002\",\"name\":\"Bob\"}")
+                ));
         when(transformationService.transform(anyString())).thenReturn(buildTransformed("CRM-001", null));
         ValidationResult invalid = ValidationResult.builder()
                 .valid(false)
@@ -135,7 +145,6 @@ class CustomerPipelineServiceTest {
                 .build();
         ValidationResult valid = validResult();
         when(validationService.validate(any())).thenReturn(invalid, valid);
-        when(syncErrorRepository.save(any(SyncError.class))).thenAnswer(inv -> inv.getArgument(0));
         when(syncJobService.completeJob(any(), eq(1), eq(1))).thenAnswer(inv -> {
             runningJob.setRecordsProcessed(1);
             runningJob.setRecordsFailed(1);
@@ -145,7 +154,7 @@ class CustomerPipelineServiceTest {
         SyncJobDTO result = pipelineService.runFullPipeline();
 
         verify(loadService, times(1)).loadCustomer(any(), anyString());
-        verify(syncErrorRepository).save(argThat(err -> "VALIDATION_ERROR".equals(err.getErrorType())));
+        verify(syncErrorWriter).record(argThat(err -> "VALIDATION_ERROR".equals(err.getErrorType())));
         verify(syncJobService).completeJob(runningJob, 1, 1);
     }
 
@@ -153,16 +162,16 @@ class CustomerPipelineServiceTest {
     void runFullPipeline_transformFailure_shouldLogErrorAndContinue() {
         when(customerIntegrationService.syncCustomers()).thenReturn(stagingResult);
         when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
-        when(rawCustomerRepository.findBySyncJobId(1L)).thenReturn(List.of(
-                buildRawCustomer("CRM-001", "bad json"),
-                buildRawCustomer("CRM-002", "{\"id\":\"CRM-002\",\"name\":\"Bob\"}")
-        ));
+        when(rawCustomerRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any()))
+                .thenReturn(List.of(
+                        buildRawCustomer("CRM-001", "bad json"),
+                        buildRawCustomer("CRM-002", "{\"id\":\"CRM-002\",\"name\":\"Bob\"}")
+                ));
         when(transformationService.transform("bad json"))
                 .thenThrow(new IllegalArgumentException("Failed to parse"));
         when(transformationService.transform("{\"id\":\"CRM-002\",\"name\":\"Bob\"}"))
                 .thenReturn(buildTransformed("CRM-002", "Bob"));
         when(validationService.validate(any())).thenReturn(validResult());
-        when(syncErrorRepository.save(any(SyncError.class))).thenAnswer(inv -> inv.getArgument(0));
         when(syncJobService.completeJob(any(), eq(1), eq(1))).thenAnswer(inv -> {
             runningJob.setRecordsProcessed(1);
             runningJob.setRecordsFailed(1);
@@ -172,7 +181,7 @@ class CustomerPipelineServiceTest {
         SyncJobDTO result = pipelineService.runFullPipeline();
 
         verify(loadService, times(1)).loadCustomer(any(), anyString());
-        verify(syncErrorRepository).save(argThat(err -> "PIPELINE_ERROR".equals(err.getErrorType())));
+        verify(syncErrorWriter).record(argThat(err -> "PIPELINE_ERROR".equals(err.getErrorType())));
         verify(syncJobService).completeJob(runningJob, 1, 1);
     }
 
@@ -180,14 +189,14 @@ class CustomerPipelineServiceTest {
     void runFullPipeline_loadFailure_shouldLogErrorAndContinue() {
         when(customerIntegrationService.syncCustomers()).thenReturn(stagingResult);
         when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
-        when(rawCustomerRepository.findBySyncJobId(1L)).thenReturn(List.of(
-                buildRawCustomer("CRM-001", "{\"id\":\"CRM-001\",\"name\":\"Alice\"}"),
-                buildRawCustomer("CRM-002", "{\"id\":\"CRM-002\",\"name\":\"Bob\"}")
-        ));
+        when(rawCustomerRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any()))
+                .thenReturn(List.of(
+                        buildRawCustomer("CRM-001", "{\"id\":\"CRM-001\",\"name\":\"Alice\"}"),
+                        buildRawCustomer("CRM-002", "{\"id\":\"CRM-002\",\"name\":\"Bob\"}")
+                ));
         when(transformationService.transform(anyString())).thenReturn(buildTransformed("CRM-001", "Alice"));
         when(validationService.validate(any())).thenReturn(validResult());
         doThrow(new RuntimeException("DB error")).doNothing().when(loadService).loadCustomer(any(), anyString());
-        when(syncErrorRepository.save(any(SyncError.class))).thenAnswer(inv -> inv.getArgument(0));
         when(syncJobService.completeJob(any(), eq(1), eq(1))).thenAnswer(inv -> {
             runningJob.setRecordsProcessed(1);
             runningJob.setRecordsFailed(1);
@@ -196,7 +205,7 @@ class CustomerPipelineServiceTest {
 
         SyncJobDTO result = pipelineService.runFullPipeline();
 
-        verify(syncErrorRepository).save(argThat(err -> "PIPELINE_ERROR".equals(err.getErrorType())));
+        verify(syncErrorWriter).record(argThat(err -> "PIPELINE_ERROR".equals(err.getErrorType())));
         verify(syncJobService).completeJob(runningJob, 1, 1);
     }
 
@@ -204,7 +213,8 @@ class CustomerPipelineServiceTest {
     void runFullPipeline_emptyStaging_shouldCompleteWithZero() {
         when(customerIntegrationService.syncCustomers()).thenReturn(stagingResult);
         when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
-        when(rawCustomerRepository.findBySyncJobId(1L)).thenReturn(Collections.emptyList());
+        when(rawCustomerRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any()))
+                .thenReturn(Collections.emptyList());
         when(syncJobService.completeJob(any(), eq(0), eq(0))).thenAnswer(inv -> {
             runningJob.setRecordsProcessed(0);
             runningJob.setRecordsFailed(0);
@@ -217,6 +227,79 @@ class CustomerPipelineServiceTest {
         verify(syncJobService).completeJob(runningJob, 0, 0);
     }
 
+    @Test
+    void runPipelineForJob_unchangedRecords_skipTransformAndLoad() {
+        String alice = "{\"id\":\"CRM-001\",\"name\":\"Alice\"}";
+        String bob = "{\"id\":\"CRM-002\",\"name\":\"Bob\"}";
+        RecordFingerprints fingerprints = new RecordFingerprints(runningJob, true,
+                ids -> Map.of("CRM-001", RecordFingerprints.hash(alice)));
+        when(fingerprintService.open(runningJob)).thenReturn(fingerprints);
+        when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
+        when(rawCustomerRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any()))
+                .thenReturn(List.of(
+                        buildRawCustomer("CRM-001", alice), buildRawCustomer("CRM-002", bob)));
+        when(transformationService.transform(bob)).thenReturn(buildTransformed("CRM-002", "Bob"));
+        when(validationService.validate(any())).thenReturn(validResult());
+
+        pipelineService.runPipelineForJob(1L);
+
+        verify(transformationService, never()).transform(alice);
+        verify(loadService, times(1)).loadCustomer(any(), anyString());
+        verify(fingerprintService).save(fingerprints);
+        assertThat(fingerprints.getLoaded()).containsOnlyKeys("CRM-002");
+        assertThat(fingerprints.getUnchangedRecords()).isEqualTo(1);
+        verify(syncJobService).completeJob(runningJob, 2, 0);
+    }
+
+    @Test
+    void runPipelineForJob_fastPath_transformsFetchedCustomersWithoutReadingStagingBack() {
+        runningJob.setStatus("RUNNING");
+        pipelineService = pipelineService(true);
+        CrmCustomerResponse alice = CrmCustomerResponse.builder().id("CRM-001").name("Alice").build();
+        when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
+        when(rawCustomerRepository.existsBySyncJobId(1L)).thenReturn(false);
+        when(customerIntegrationService.syncCustomersForJob(eq(runningJob), any())).thenAnswer(inv -> {
+            Consumer<List<CustomerRecord>> downstream = inv.getArgument(1);
+            downstream.accept(List.of(
+                    new CustomerRecord("CRM-001", "{\"id\":\"CRM-001\",\"name\":\"Alice\"}", alice),
+                    new CustomerRecord("CRM-002", "{\"id\":\"CRM-002\",\"name\":\"Bob\"}", null)));
+            return SyncJobDTO.fromEntity(runningJob);
+        });
+        when(transformationService.transform(alice)).thenReturn(buildTransformed("CRM-001", "Alice"));
+        when(transformationService.transform("{\"id\":\"CRM-002\",\"name\":\"Bob\"}"))
+                .thenReturn(buildTransformed("CRM-002", "Bob"));
+        when(validationService.validate(any())).thenReturn(validResult());
+
+        pipelineService.runPipelineForJob(1L);
+
+        verify(transformationService, never()).transform("{\"id\":\"CRM-001\",\"name\":\"Alice\"}");
+        verify(loadService, times(2)).loadCustomer(any(), eq("CRM"));
+        verify(rawCustomerRepository, never()).findBySyncJobIdAndIdGreaterThanOrderByIdAsc(any(), any(), any());
+        verify(syncJobService).completeJob(runningJob, 2, 0);
+    }
+
+    @Test
+    void runPipelineForJob_fastPathStagingFails_doesNotCompleteTheJob() {
+        runningJob.setStatus("RUNNING");
+        pipelineService = pipelineService(true);
+        when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
+        when(rawCustomerRepository.existsBySyncJobId(1L)).thenReturn(false);
+        when(customerIntegrationService.syncCustomersForJob(eq(runningJob), any()))
+                .thenReturn(SyncJobDTO.builder().id(1L).status("FAILED").build());
+
+        SyncJobDTO result = pipelineService.runPipelineForJob(1L);
+
+        assertThat(result.getStatus()).isEqualTo("FAILED");
+        verify(syncJobService, never()).completeJob(any(), anyInt(), anyInt());
+        verify(fingerprintService, never()).save(any());
+    }
+
+    private CustomerPipelineService pipelineService(boolean fastPath) {
+        return new CustomerPipelineService(customerIntegrationService, salesforceIntegrationService,
+                transformationService, validationService, loadService, syncJobService, fingerprintService,
+                rawCustomerRepository, new StagedRecordReader(1000), syncErrorWriter, fastPath);
+    }
+
     private RawCustomer buildRawCustomer(String externalId, String rawData) {
         return RawCustomer.builder()
                 .id(1L)
@@ -1,27 +1,25 @@
 package com.dataplatform.service;
 
-import com.dataplatform.dto.AccountingInvoiceResponse;
+import com.dataplatform.dto.RawRecord;
 import com.dataplatform.dto.SyncJobDTO;
 import com.dataplatform.exception.IntegrationException;
 import com.dataplatform.integration.AccountingApiClient;
-import com.dataplatform.model.RawInvoice;
 import com.dataplatform.model.SyncError;
 import com.dataplatform.model.SyncJob;
-import com.dataplatform.repository.RawInvoiceRepository;
-import com.dataplatform.repository.SyncErrorRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dataplatform.repository.StagingBulkWriter;
+import com.dataplatform.repository.StagingSession;
+import com.dataplatform.repository.StagingTable;
+import com.dataplatform.repository.SyncErrorWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -32,14 +30,16 @@ class InvoiceIntegrationServiceTest {
 
     @Mock private AccountingApiClient accountingApiClient;
     @Mock private SyncJobService syncJobService;
-    @Mock private RawInvoiceRepository rawInvoiceRepository;
-    @Mock private SyncErrorRepository syncErrorRepository;
-    @Spy private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock private StagingBulkWriter stagingWriter;
+    @Mock private StagingSession staging;
+    @Mock private SyncErrorWriter syncErrorWriter;
+    @Mock private PageCacheService pageCacheService;
 
     @InjectMocks
     private InvoiceIntegrationService invoiceIntegrationService;
 
     private SyncJob runningJob;
+    private StagingBulkWriter.FailureHandler failureHandler;
 
     @BeforeEach
     void setUp() {
@@ -47,46 +47,51 @@ class InvoiceIntegrationServiceTest {
                 .id(1L).sourceName("ACCOUNTING").syncType("FULL").status("RUNNING")
                 .startTime(LocalDateTime.now()).createdAt(LocalDateTime.now())
                 .recordsProcessed(0).recordsFailed(0).build();
+        lenient().when(stagingWriter.open(any(), any(), any())).thenAnswer(inv -> {
+            failureHandler = inv.getArgument(2);
+            return staging;
+        });
     }
 
     @Test
     void syncInvoices_success_shouldStageAllRecords() {
         when(syncJobService.createJob("ACCOUNTING", "FULL")).thenReturn(runningJob);
-        List<AccountingInvoiceResponse> invoices = List.of(
+        List<RawRecord> invoices = List.of(
                 buildInvoice("ACC-001", "INV-001"),
                 buildInvoice("ACC-002", "INV-002")
         );
-        when(accountingApiClient.fetchAllInvoices()).thenReturn(invoices);
-        when(rawInvoiceRepository.save(any(RawInvoice.class))).thenAnswer(inv -> inv.getArgument(0));
+        stubPages(invoices);
 
         invoiceIntegrationService.syncInvoices();
 
-        verify(rawInvoiceRepository, times(2)).save(any(RawInvoice.class));
-        verify(syncErrorRepository, never()).save(any());
+        verify(stagingWriter).open(eq(StagingTable.RAW_INVOICES), eq(runningJob), any());
+        verify(staging).add(invoices);
+        verify(staging).flush();
+        verify(syncErrorWriter, never()).record(any());
     }
 
     @Test
     void syncInvoices_partialFailure_shouldLogErrors() {
         when(syncJobService.createJob("ACCOUNTING", "FULL")).thenReturn(runningJob);
-        List<AccountingInvoiceResponse> invoices = List.of(
+        List<RawRecord> invoices = List.of(
                 buildInvoice("ACC-001", "INV-001"),
                 buildInvoice("ACC-002", "INV-002")
         );
-        when(accountingApiClient.fetchAllInvoices()).thenReturn(invoices);
-        when(rawInvoiceRepository.save(any(RawInvoice.class)))
-                .thenAnswer(inv -> inv.getArgument(0))
-                .thenThrow(new RuntimeException("DB constraint violation"));
-        when(syncErrorRepository.save(any(SyncError.class))).thenAnswer(inv -> inv.getArgument(0));
+        stubPages(invoices);
+        doAnswer(inv -> {
+            failureHandler.onFailure(invoices.get(1), new RuntimeException("DB constraint violation"));
+            return null;
+        }).when(staging).flush();
 
         invoiceIntegrationService.syncInvoices();
 
-        verify(syncErrorRepository).save(any(SyncError.class));
+        verify(syncErrorWriter).record(any(SyncError.class));
     }
 
     @Test
     void syncInvoices_apiFails_shouldFailJob() {
         when(syncJobService.createJob("ACCOUNTING", "FULL")).thenReturn(runningJob);
-        when(accountingApiClient.fetchAllInvoices()).thenThrow(new IntegrationException("Connection refused"));
+        when(accountingApiClient.forEachRawPage(any(), any(), any(), anyBoolean())).thenThrow(new IntegrationException("Connection refused"));
         when(syncJobService.failJob(any(), anyString())).thenAnswer(inv -> {
             runningJob.setStatus("FAILED");
             return runningJob;
@@ -95,36 +100,46 @@ class InvoiceIntegrationServiceTest {
         SyncJobDTO result = invoiceIntegrationService.syncInvoices();
 
         verify(syncJobService).failJob(eq(runningJob), contains("Connection refused"));
-        verify(rawInvoiceRepository, never()).save(any());
+        verify(staging, never()).add(any());
     }
 
     @Test
     void syncInvoices_emptyResponse_shouldCompleteWithZero() {
         when(syncJobService.createJob("ACCOUNTING", "FULL")).thenReturn(runningJob);
-        when(accountingApiClient.fetchAllInvoices()).thenReturn(Collections.emptyList());
+        stubPages();
 
         invoiceIntegrationService.syncInvoices();
 
-        verify(rawInvoiceRepository, never()).save(any());
+        verify(staging, never()).add(any());
     }
 
     @Test
     void syncInvoicesForJob_shouldUseExistingJob() {
-        List<AccountingInvoiceResponse> invoices = List.of(buildInvoice("ACC-001", "INV-001"));
-        when(accountingApiClient.fetchAllInvoices()).thenReturn(invoices);
-        when(rawInvoiceRepository.save(any(RawInvoice.class))).thenAnswer(inv -> inv.getArgument(0));
+        List<RawRecord> invoices = List.of(buildInvoice("ACC-001", "INV-001"));
+        stubPages(invoices);
 
         invoiceIntegrationService.syncInvoicesForJob(runningJob);
 
         verify(syncJobService, never()).createJob(any(), any());
-        verify(rawInvoiceRepository).save(any(RawInvoice.class));
+        verify(staging).add(invoices);
+    }
+
+    private RawRecord buildInvoice(String id, String invoiceNumber) {
+        return new RawRecord(id, String.format(
+                "{\"id\":\"%s\",\"invoiceNumber\":\"%s\",\"customerName\":\"Acme Corp\",\"amount\":1500.50}",
+                id, invoiceNumber));
     }
 
-    private AccountingInvoiceResponse buildInvoice(String id, String invoiceNumber) {
-        return AccountingInvoiceResponse.builder()
-                .id(id).invoiceNumber(invoiceNumber).customerName("Acme Corp")
-                .amount(1500.50).currency("USD").status("paid").dueDate("2025-06-15")
-                .lineItems(List.of(Map.of("description", "Item 1", "quantity", 1, "unitPrice", 1500.50)))
-                .build();
+    @SafeVarargs
+    private void stubPages(List<RawRecord>... pages) {
+        when(accountingApiClient.forEachRawPage(any(), any(), any(), anyBoolean())).thenAnswer(inv -> {
+            Consumer<List<RawRecord>> handler = inv.getArgument(0);
+            int total = 0;
+            for (List<RawRecord> page : pages) {
+                handler.accept(page);
+                total += page.size();
+            }
+            return total;
+        });
     }
 }
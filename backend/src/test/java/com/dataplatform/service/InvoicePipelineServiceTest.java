@@ -4,10 +4,10 @@ import com.dataplatform.dto.SyncJobDTO;
 import com.dataplatform.dto.TransformedInvoice;
 import com.dataplatform.dto.ValidationResult;
 import com.dataplatform.model.RawInvoice;
-import com.dataplatform.model.SyncError;
 import com.dataplatform.model.SyncJob;
 import com.dataplatform.repository.RawInvoiceRepository;
-import com.dataplatform.repository.SyncErrorRepository;
+import com.dataplatform.repository.StagedRecordReader;
+import com.dataplatform.repository.SyncErrorWriter;
 import com.dataplatform.transformer.InvoiceTransformationService;
 import com.dataplatform.validator.InvoiceValidationService;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -22,6 +23,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -35,8 +37,10 @@ class InvoicePipelineServiceTest {
     @Mock private InvoiceValidationService validationService;
     @Mock private InvoiceLoadService loadService;
     @Mock private SyncJobService syncJobService;
+    @Mock private RecordFingerprintService fingerprintService;
     @Mock private RawInvoiceRepository rawInvoiceRepository;
-    @Mock private SyncErrorRepository syncErrorRepository;
+    @Spy private StagedRecordReader stagedRecordReader = new StagedRecordReader(1000);
+    @Mock private SyncErrorWriter syncErrorWriter;
 
     @InjectMocks
     private InvoicePipelineService pipelineService;
@@ -54,16 +58,19 @@ class InvoicePipelineServiceTest {
         stagingResult = SyncJobDTO.builder()
                 .id(1L).sourceName("ACCOUNTING").syncType("FULL").status("COMPLETED")
                 .recordsProcessed(2).recordsFailed(0).build();
+        lenient().when(fingerprintService.open(any()))
+                .thenAnswer(inv -> new RecordFingerprints(inv.getArgument(0), false, ids -> Map.of()));
     }
 
     @Test
     void runFullPipeline_allSuccess_shouldLoadAllRecords() {
         when(invoiceIntegrationService.syncInvoices()).thenReturn(stagingResult);
         when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
-        when(rawInvoiceRepository.findBySyncJobId(1L)).thenReturn(List.of(
-                buildRawInvoice("ACC-001", "{\"id\":\"ACC-001\"}"),
-                buildRawInvoice("ACC-002", "{\"id\":\"ACC-002\"}")
-        ));
+        when(rawInvoiceRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any()))
+                .thenReturn(List.of(
+                        buildRawInvoice("ACC-001", "{\"id\":\"ACC-001\"}"),
+                        buildRawInvoice("ACC-002", "{\"id\":\"ACC-002\"}")
+                ));
         when(transformationService.transform(anyString())).thenReturn(buildTransformed("ACC-001"));
         when(validationService.validate(any())).thenReturn(validResult());
         when(syncJobService.completeJob(any(), eq(2), eq(0))).thenReturn(runningJob);
@@ -89,66 +96,67 @@ class InvoicePipelineServiceTest {
     void runFullPipeline_validationFailure_shouldLogErrorAndContinue() {
         when(invoiceIntegrationService.syncInvoices()).thenReturn(stagingResult);
         when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
-        when(rawInvoiceRepository.findBySyncJobId(1L)).thenReturn(List.of(
-                buildRawInvoice("ACC-001", "{\"id\":\"ACC-001\"}"),
-                buildRawInvoice("ACC-002", "{\"id\":\"ACC-002\"}")
-        ));
+        when(rawInvoiceRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any()))
+                .thenReturn(List.of(
+                        buildRawInvoice("ACC-001", "{\"id\":\"ACC-001\"}"),
+                        buildRawInvoice("ACC-002", "{\"id\":\"ACC-002\"}")
+                ));
         when(transformationService.transform(anyString())).thenReturn(buildTransformed("ACC-001"));
         ValidationResult invalid = ValidationResult.builder().valid(false).errors(List.of("customer_name is required")).build();
         when(validationService.validate(any())).thenReturn(invalid, validResult());
-        when(syncErrorRepository.save(any(SyncError.class))).thenAnswer(inv -> inv.getArgument(0));
         when(syncJobService.completeJob(any(), eq(1), eq(1))).thenReturn(runningJob);
 
         pipelineService.runFullPipeline();
 
         verify(loadService, times(1)).loadInvoice(any());
-        verify(syncErrorRepository).save(argThat(err -> "VALIDATION_ERROR".equals(err.getErrorType())));
+        verify(syncErrorWriter).record(argThat(err -> "VALIDATION_ERROR".equals(err.getErrorType())));
     }
 
     @Test
     void runFullPipeline_transformFailure_shouldLogErrorAndContinue() {
         when(invoiceIntegrationService.syncInvoices()).thenReturn(stagingResult);
         when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
-        when(rawInvoiceRepository.findBySyncJobId(1L)).thenReturn(List.of(
-                buildRawInvoice("ACC-001", "bad json"),
-                buildRawInvoice("ACC-002", "{\"id\":\"ACC-002\"}")
-        ));
+        when(rawInvoiceRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any()))
+                .thenReturn(List.of(
+                        buildRawInvoice("ACC-001", "bad json"),
+                        buildRawInvoice("ACC-002", "{\"id\":\"ACC-002\"}")
+                ));
         when(transformationService.transform("bad json")).thenThrow(new IllegalArgumentException("Failed to parse"));
         when(transformationService.transform("{\"id\":\"ACC-002\"}")).thenReturn(buildTransformed("ACC-002"));
         when(validationService.validate(any())).thenReturn(validResult());
-        when(syncErrorRepository.save(any(SyncError.class))).thenAnswer(inv -> inv.getArgument(0));
         when(syncJobService.completeJob(any(), eq(1), eq(1))).thenReturn(runningJob);
 
         pipelineService.runFullPipeline();
 
         verify(loadService, times(1)).loadInvoice(any());
-        verify(syncErrorRepository).save(argThat(err -> "PIPELINE_ERROR".equals(err.getErrorType())));
+        verify(syncErrorWriter).record(argThat(err -> "PIPELINE_ERROR".equals(err.getErrorType())));
     }
 
     @Test
     void runFullPipeline_loadFailure_shouldLogErrorAndContinue() {
         when(invoiceIntegrationService.syncInvoices()).thenReturn(stagingResult);
         when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
-        when(rawInvoiceRepository.findBySyncJobId(1L)).thenReturn(List.of(
-                buildRawInvoice("ACC-001", "{\"id\":\"ACC-001\"}"),
-                buildRawInvoice("ACC-002", "{\"id\":\"ACC-002\"}")
-        ));
+        when(rawInvoiceRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any()))
+                .thenReturn(List.of(
+                        buildRawInvoice("ACC-001", "{\"id\":\"ACC-001\"}"),
+                        buildRawInvoice("ACC-002", "{\"id\":\"ACC-002\"}")
+                ));
         when(transformationService.transform(anyString())).thenReturn(buildTransformed("ACC-001"));
         when(validationService.validate(any())).thenReturn(validResult());
         doThrow(new RuntimeException("DB error")).doNothing().when(loadService).loadInvoice(any());
-        when(syncErrorRepository.save(any(SyncError.class))).thenAnswer(inv -> inv.getArgument(0));
         when(syncJobService.completeJob(any(), eq(1), eq(1))).thenReturn(runningJob);
 
         pipelineService.runFullPipeline();
 
-        verify(syncErrorRepository).save(argThat(err -> "PIPELINE_ERROR".equals(err.getErrorType())));
+        verify(syncErrorWriter).record(argThat(err -> "PIPELINE_ERROR".equals(err.getErrorType())));
     }
 
     @Test
     void runFullPipeline_emptyStaging_shouldCompleteWithZero() {
         when(invoiceIntegrationService.syncInvoices()).thenReturn(stagingResult);
         when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
-        when(rawInvoiceRepository.findBySyncJobId(1L)).thenReturn(Collections.emptyList());
+        when(rawInvoiceRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any()))
+                .thenReturn(Collections.emptyList());
         when(syncJobService.completeJob(any(), eq(0), eq(0))).thenReturn(runningJob);
 
         pipelineService.runFullPipeline();
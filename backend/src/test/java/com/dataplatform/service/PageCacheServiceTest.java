@@ -0,0 +1,85 @@
+package com.dataplatform.service;
+
+import com.dataplatform.integration.PageCache;
+import com.dataplatform.model.SourcePageValidator;
+import com.dataplatform.model.SyncJob;
+import com.dataplatform.repository.SourcePageValidatorRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PageCacheServiceTest {
+
+    @Mock
+    private SourcePageValidatorRepository validatorRepository;
+
+    @Mock
+    private SyncJobService syncJobService;
+
+    private final SyncJob completedJob = job(1L, "COMPLETED");
+    private final SyncJob runningJob = job(3L, "RUNNING");
+
+    @Test
+    void open_asksOnlyForValidatorsOfJobsCompletedWithoutFailures() {
+        when(validatorRepository.findBySourceNameAndSyncJobStatusAndSyncJobRecordsFailed("CRM", "COMPLETED", 0)).thenReturn(List.of(
+                validator("/api/customers?page=1&size=20", "W/\"a\"", completedJob)));
+
+        PageCache cache = service(true).open(runningJob);
+
+        assertThat(cache.lookup("/api/customers?page=1&size=20"))
+                .isEqualTo(new PageCache.Validators("W/\"a\"", null));
+        assertThat(cache.lookup("/api/customers?page=2&size=20")).isNull();
+    }
+
+    @Test
+    void open_disabled_returnsNoCache() {
+        assertThat(service(false).open(runningJob)).isSameAs(PageCache.NONE);
+        verifyNoInteractions(validatorRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void save_upsertsDownloadedValidatorsAndRecordsHitsAndMisses() {
+        SourcePageValidator existing = validator("/api/customers?page=1&size=20", "W/\"a\"", completedJob);
+        when(validatorRepository.findBySourceNameAndSyncJobStatusAndSyncJobRecordsFailed("CRM", "COMPLETED", 0)).thenReturn(List.of(existing));
+        when(validatorRepository.findBySourceName("CRM")).thenReturn(List.of(existing));
+        PageCacheService service = service(true);
+        PageCache cache = service.open(runningJob);
+        cache.notModified("/api/customers?page=1&size=20");
+        cache.modified("/api/customers?page=1&size=20", new PageCache.Validators("W/\"c\"", null));
+        cache.modified("/api/customers?page=3&size=20", new PageCache.Validators(null, "Wed, 01 Oct 2025 08:00:00 GMT"));
+
+        service.save(cache);
+
+        ArgumentCaptor<Iterable<SourcePageValidator>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(validatorRepository).saveAll(saved.capture());
+        List<SourcePageValidator> rows = new ArrayList<>();
+        saved.getValue().forEach(rows::add);
+        assertThat(rows).hasSize(2).allMatch(row -> row.getSyncJob() == runningJob);
+        assertThat(rows).contains(existing);
+        assertThat(existing.getEtag()).isEqualTo("W/\"c\"");
+        verify(syncJobService).recordPageCache(runningJob, 1, 2);
+    }
+
+    private PageCacheService service(boolean enabled) {
+        return new PageCacheService(validatorRepository, syncJobService, enabled);
+    }
+
+    private static SyncJob job(Long id, String status) {
+        return SyncJob.builder().id(id).sourceName("CRM").syncType("FULL").status(status).build();
+    }
+
+    private static SourcePageValidator validator(String pageKey, String etag, SyncJob job) {
+        return SourcePageValidator.builder().sourceName("CRM").pageKey(pageKey).etag(etag).syncJob(job).build();
+    }
+}
@@ -1,26 +1,25 @@
 package com.dataplatform.service;
 
-import com.dataplatform.dto.ErpProductResponse;
+import com.dataplatform.dto.RawRecord;
 import com.dataplatform.dto.SyncJobDTO;
 import com.dataplatform.exception.IntegrationException;
 import com.dataplatform.integration.ErpApiClient;
-import com.dataplatform.model.RawProduct;
 import com.dataplatform.model.SyncError;
 import com.dataplatform.model.SyncJob;
-import com.dataplatform.repository.RawProductRepository;
-import com.dataplatform.repository.SyncErrorRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.dataplatform.repository.StagingBulkWriter;
+import com.dataplatform.repository.StagingSession;
+import com.dataplatform.repository.StagingTable;
+import com.dataplatform.repository.SyncErrorWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -31,14 +30,16 @@ class ProductIntegrationServiceTest {
 
     @Mock private ErpApiClient erpApiClient;
     @Mock private SyncJobService syncJobService;
-    @Mock private RawProductRepository rawProductRepository;
-    @Mock private SyncErrorRepository syncErrorRepository;
-    @Spy private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock private StagingBulkWriter stagingWriter;
+    @Mock private StagingSession staging;
+    @Mock private SyncErrorWriter syncErrorWriter;
+    @Mock private PageCacheService pageCacheService;
 
     @InjectMocks
     private ProductIntegrationService productIntegrationService;
 
     private SyncJob runningJob;
+    private StagingBulkWriter.FailureHandler failureHandler;
 
     @BeforeEach
     void setUp() {
@@ -46,46 +47,51 @@ class ProductIntegrationServiceTest {
                 .id(1L).sourceName("ERP").syncType("FULL").status("RUNNING")
                 .startTime(LocalDateTime.now()).createdAt(LocalDateTime.now())
                 .recordsProcessed(0).recordsFailed(0).build();
+        lenient().when(stagingWriter.open(any(), any(), any())).thenAnswer(inv -> {
+            failureHandler = inv.getArgument(2);
+            return staging;
+        });
     }
 
     @Test
     void syncProducts_success_shouldStageAllRecords() {
         when(syncJobService.createJob("ERP", "FULL")).thenReturn(runningJob);
-        List<ErpProductResponse> products = List.of(
+        List<RawRecord> products = List.of(
                 buildProduct("ERP-001", "Widget"),
                 buildProduct("ERP-002", "Gadget")
         );
-        when(erpApiClient.fetchAllProducts()).thenReturn(products);
-        when(rawProductRepository.save(any(RawProduct.class))).thenAnswer(inv -> inv.getArgument(0));
+        stubPages(products);
 
         productIntegrationService.syncProducts();
 
-        verify(rawProductRepository, times(2)).save(any(RawProduct.class));
-        verify(syncErrorRepository, never()).save(any());
+        verify(stagingWriter).open(eq(StagingTable.RAW_PRODUCTS), eq(runningJob), any());
+        verify(staging).add(products);
+        verify(staging).flush();
+        verify(syncErrorWriter, never()).record(any());
     }
 
     @Test
     void syncProducts_partialFailure_shouldLogErrors() {
         when(syncJobService.createJob("ERP", "FULL")).thenReturn(runningJob);
-        List<ErpProductResponse> products = List.of(
+        List<RawRecord> products = List.of(
                 buildProduct("ERP-001", "Widget"),
                 buildProduct("ERP-002", "Gadget")
         );
-        when(erpApiClient.fetchAllProducts()).thenReturn(products);
-        when(rawProductRepository.save(any(RawProduct.class)))
-                .thenAnswer(inv -> inv.getArgument(0))
-                .thenThrow(new RuntimeException("DB constraint violation"));
-        when(syncErrorRepository.save(any(SyncError.class))).thenAnswer(inv -> inv.getArgument(0));
+        stubPages(products);
+        doAnswer(inv -> {
+            failureHandler.onFailure(products.get(1), new RuntimeException("DB constraint violation"));
+            return null;
+        }).when(staging).flush();
 
         productIntegrationService.syncProducts();
 
-        verify(syncErrorRepository).save(any(SyncError.class));
+        verify(syncErrorWriter).record(any(SyncError.class));
     }
 
     @Test
     void syncProducts_apiFails_shouldFailJob() {
         when(syncJobService.createJob("ERP", "FULL")).thenReturn(runningJob);
-        when(erpApiClient.fetchAllProducts()).thenThrow(new IntegrationException("Connection refused"));
+        when(erpApiClient.forEachRawPage(any(), any(), any(), anyBoolean())).thenThrow(new IntegrationException("Connection refused"));
         when(syncJobService.failJob(any(), anyString())).thenAnswer(inv -> {
             runningJob.setStatus("FAILED");
             return runningJob;
@@ -94,35 +100,46 @@ class ProductIntegrationServiceTest {
         SyncJobDTO result = productIntegrationService.syncProducts();
 
         verify(syncJobService).failJob(eq(runningJob), contains("Connection refused"));
-        verify(rawProductRepository, never()).save(any());
+        verify(staging, never()).add(any());
     }
 
     @Test
     void syncProducts_emptyResponse_shouldCompleteWithZero() {
         when(syncJobService.createJob("ERP", "FULL")).thenReturn(runningJob);
-        when(erpApiClient.fetchAllProducts()).thenReturn(Collections.emptyList());
+        stubPages();
 
         productIntegrationService.syncProducts();
 
-        verify(rawProductRepository, never()).save(any());
+        verify(staging, never()).add(any());
     }
 
     @Test
     void syncProductsForJob_shouldUseExistingJob() {
-        List<ErpProductResponse> products = List.of(buildProduct("ERP-001", "Widget"));
-        when(erpApiClient.fetchAllProducts()).thenReturn(products);
-        when(rawProductRepository.save(any(RawProduct.class))).thenAnswer(inv -> inv.getArgument(0));
+        List<RawRecord> products = List.of(buildProduct("ERP-001", "Widget"));
+        stubPages(products);
 
         productIntegrationService.syncProductsForJob(runningJob);
 
         verify(syncJobService, never()).createJob(any(), any());
-        verify(rawProductRepository).save(any(RawProduct.class));
+        verify(staging).add(products);
+    }
+
+    private RawRecord buildProduct(String id, String name) {
+        return new RawRecord(id, String.format(
+                "{\"id\":\"%s\",\"sku\":\"SKU-%s\",\"name\":\"%s\",\"unitPrice\":29.99,\"quantity\":50}",
+                id, id, name));
     }
 
-    private ErpProductResponse buildProduct(String id, String name) {
-        return ErpProductResponse.builder()
-                .id(id).sku("SKU-" + id).name(name).description("Desc")
-                .category("Electronics").unitPrice(29.99).quantity(50).warehouse("Warehouse-A")
-                .build();
+    @SafeVarargs
+    private void stubPages(List<RawRecord>... pages) {
+        when(erpApiClient.forEachRawPage(any(), any(), any(), anyBoolean())).thenAnswer(inv -> {
+            Consumer<List<RawRecord>> handler = inv.getArgument(0);
+            int total = 0;
+            for (List<RawRecord> page : pages) {
+                handler.accept(page);
+                total += page.size();
+            }
+            return total;
+        });
     }
 }
@@ -4,10 +4,10 @@ import com.dataplatform.dto.SyncJobDTO;
 import com.dataplatform.dto.TransformedProduct;
 import com.dataplatform.dto.ValidationResult;
 import com.dataplatform.model.RawProduct;
-import com.dataplatform.model.SyncError;
 import com.dataplatform.model.SyncJob;
 import com.dataplatform.repository.RawProductRepository;
-import com.dataplatform.repository.SyncErrorRepository;
+import com.dataplatform.repository.StagedRecordReader;
+import com.dataplatform.repository.SyncErrorWriter;
 import com.dataplatform.transformer.ProductTransformationService;
 import com.dataplatform.validator.ProductValidationService;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,14 +15,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -34,8 +37,10 @@ class ProductPipelineServiceTest {
     @Mock private ProductValidationService validationService;
     @Mock private ProductLoadService loadService;
     @Mock private SyncJobService syncJobService;
+    @Mock private RecordFingerprintService fingerprintService;
     @Mock private RawProductRepository rawProductRepository;
-    @Mock private SyncErrorRepository syncErrorRepository;
+    @Spy private StagedRecordReader stagedRecordReader = new StagedRecordReader(1000);
+    @Mock private SyncErrorWriter syncErrorWriter;
 
     @InjectMocks
     private ProductPipelineService pipelineService;
@@ -53,16 +58,19 @@ class ProductPipelineServiceTest {
         stagingResult = SyncJobDTO.builder()
                 .id(1L).sourceName("ERP").syncType("FULL").status("COMPLETED")
                 .recordsProcessed(2).recordsFailed(0).build();
+        lenient().when(fingerprintService.open(any()))
+                .thenAnswer(inv -> new RecordFingerprints(inv.getArgument(0), false, ids -> Map.of()));
     }
 
     @Test
     void runFullPipeline_allSuccess_shouldLoadAllRecords() {
         when(productIntegrationService.syncProducts()).thenReturn(stagingResult);
         when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
-        when(rawProductRepository.findBySyncJobId(1L)).thenReturn(List.of(
-                buildRawProduct("ERP-001", "{\"id\":\"ERP-001\",\"name\":\"Widget\"}"),
-                buildRawProduct("ERP-002", "{\"id\":\"ERP-002\",\"name\":\"Gadget\"}")
-        ));
+        when(rawProductRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any()))
+                .thenReturn(List.of(
+                        buildRawProduct("ERP-001", "{\"id\":\"ERP-001\",\"name\":\"Widget\"}"),
+                        buildRawProduct("ERP-002", "{\"id\":\"ERP-002\",\"name\":\"Gadget\"}")
+                ));
         when(transformationService.transform(anyString())).thenReturn(buildTransformed("ERP-001", "Widget"));
         when(validationService.validate(any())).thenReturn(validResult());
         when(syncJobService.completeJob(any(), eq(2), eq(0))).thenReturn(runningJob);
@@ -73,6 +81,19 @@ class ProductPipelineServiceTest {
         verify(syncJobService).completeJob(runningJob, 2, 0);
     }
 
+    @Test
+    void runPipelineForJob_readingStagedRowsFails_stillReleasesTheJobsErrors() {
+        when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
+        when(rawProductRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any()))
+                .thenThrow(new IllegalStateException("connection closed"));
+
+        assertThatThrownBy(() -> pipelineService.runPipelineForJob(1L))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(syncErrorWriter).drain(1L);
+        verify(syncJobService, never()).completeJob(any(), anyInt(), anyInt());
+    }
+
     @Test
     void runFullPipeline_stagingFails_shouldReturnEarly() {
         SyncJobDTO failedStaging = SyncJobDTO.builder().id(1L).status("FAILED").build();
@@ -88,67 +109,68 @@ class ProductPipelineServiceTest {
     void runFullPipeline_validationFailure_shouldLogErrorAndContinue() {
         when(productIntegrationService.syncProducts()).thenReturn(stagingResult);
         when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
-        when(rawProductRepository.findBySyncJobId(1L)).thenReturn(List.of(
-                buildRawProduct("ERP-001", "{\"id\":\"ERP-001\"}"),
-                buildRawProduct("ERP-002", "{\"id\":\"ERP-002\",\"name\":\"Gadget\"}")
-        ));
+        when(rawProductRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any()))
+                .thenReturn(List.of(
+                        buildRawProduct("ERP-001", "{\"id\":\"ERP-001\"}"),
+                        buildRawProduct("ERP-002", "{\"id\":\"ERP-002\",\"name\":\"Gadget\"}")
+                ));
         when(transformationService.transform(anyString())).thenReturn(buildTransformed("ERP-001", null));
         ValidationResult invalid = ValidationResult.builder().valid(false).errors(List.of("name is required")).build();
         when(validationService.validate(any())).thenReturn(invalid, validResult());
-        when(syncErrorRepository.save(any(SyncError.class))).thenAnswer(inv -> inv.getArgument(0));
         when(syncJobService.completeJob(any(), eq(1), eq(1))).thenReturn(runningJob);
 
         pipelineService.runFullPipeline();
 
         verify(loadService, times(1)).loadProduct(any());
-        verify(syncErrorRepository).save(argThat(err -> "VALIDATION_ERROR".equals(err.getErrorType())));
+        verify(syncErrorWriter).record(argThat(err -> "VALIDATION_ERROR".equals(err.getErrorType())));
     }
 
     @Test
     void runFullPipeline_transformFailure_shouldLogErrorAndContinue() {
         when(productIntegrationService.syncProducts()).thenReturn(stagingResult);
         when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
-        when(rawProductRepository.findBySyncJobId(1L)).thenReturn(List.of(
-                buildRawProduct("ERP-001", "bad json"),
-                buildRawProduct("ERP-002", "{\"id\":\"ERP-002\",\"name\":\"Gadget\"}")
-        ));
+        when(rawProductRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any()))
+                .thenReturn(List.of(
+                        buildRawProduct("ERP-001", "bad json"),
+                        buildRawProduct("ERP-002", "{\"id\":\"ERP-002\",\"name\":\"Gadget\"}")
+                ));
         when(transformationService.transform("bad json")).thenThrow(new IllegalArgumentException("Failed to parse"));
         when(transformationService.transform("{\"id\":\"ERP-002\",\"name\":\"Gadget\"}"))
                 .thenReturn(buildTransformed("ERP-002", "Gadget"));
         when(validationService.validate(any())).thenReturn(validResult());
-        when(syncErrorRepository.save(any(SyncError.class))).thenAnswer(inv -> inv.getArgument(0));
         when(syncJobService.completeJob(any(), eq(1), eq(1))).thenReturn(runningJob);
 
         pipelineService.runFullPipeline();
 
         verify(loadService, times(1)).loadProduct(any());
-        verify(syncErrorRepository).save(argThat(err -> "PIPELINE_ERROR".equals(err.getErrorType())));
+        verify(syncErrorWriter).record(argThat(err -> "PIPELINE_ERROR".equals(err.getErrorType())));
     }
 
     @Test
     void runFullPipeline_loadFailure_shouldLogErrorAndContinue() {
         when(productIntegrationService.syncProducts()).thenReturn(stagingResult);
         when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
-        when(rawProductRepository.findBySyncJobId(1L)).thenReturn(List.of(
-                buildRawProduct("ERP-001", "{\"id\":\"ERP-001\",\"name\":\"Widget\"}"),
-                buildRawProduct("ERP-002", "{\"id\":\"ERP-002\",\"name\":\"Gadget\"}")
-        ));
+        when(rawProductRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any()))
+                .thenReturn(List.of(
+                        buildRawProduct("ERP-001", "{\"id\":\"ERP-001\",\"name\":\"Widget\"}"),
+                        buildRawProduct("ERP-002", "{\"id\":\"ERP-002\",\"name\":\"Gadget\"}")
+                ));
         when(transformationService.transform(anyString())).thenReturn(buildTransformed("ERP-001", "Widget"));
         when(validationService.validate(any())).thenReturn(validResult());
         doThrow(new RuntimeException("DB error")).doNothing().when(loadService).loadProduct(any());
-        when(syncErrorRepository.save(any(SyncError.class))).thenAnswer(inv -> inv.getArgument(0));
         when(syncJobService.completeJob(any(), eq(1), eq(1))).thenReturn(runningJob);
 
         pipelineService.runFullPipeline();
 
-        verify(syncErrorRepository).save(argThat(err -> "PIPELINE_ERROR".equals(err.getErrorType())));
+        verify(syncErrorWriter).record(argThat(err -> "PIPELINE_ERROR".equals(err.getErrorType())));
     }
 
     @Test
     void runFullPipeline_emptyStaging_shouldCompleteWithZero() {
         when(productIntegrationService.syncProducts()).thenReturn(stagingResult);
         when(syncJobService.getJobEntity(1L)).thenReturn(runningJob);
-        when(rawProductRepository.findBySyncJobId(1L)).thenReturn(Collections.emptyList());
+        when(rawProductRepository.findBySyncJobIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any()))
+                .thenReturn(Collections.emptyList());
         when(syncJobService.completeJob(any(), eq(0), eq(0))).thenReturn(runningJob);
 
         pipelineService.runFullPipeline();
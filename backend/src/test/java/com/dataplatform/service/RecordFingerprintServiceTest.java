@@ -0,0 +1,132 @@
+package com.dataplatform.service;
+
+import com.dataplatform.model.RecordFingerprint;
+import com.dataplatform.model.SyncJob;
+import com.dataplatform.repository.RecordFingerprintRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecordFingerprintServiceTest {
+
+    private static final String ALICE = "{\"id\":\"CRM-001\",\"name\":\"Alice\"}";
+    private static final String BOB = "{\"id\":\"CRM-002\",\"name\":\"Bob\"}";
+
+    @Mock
+    private RecordFingerprintRepository fingerprintRepository;
+
+    @Mock
+    private SyncJobService syncJobService;
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(h2());
+    private final SyncJob job = SyncJob.builder().id(5L).sourceName("CRM").status("RUNNING").build();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS audit");
+        jdbcTemplate.execute("CREATE TABLE audit.record_fingerprints (id BIGINT IDENTITY PRIMARY KEY, "
+                + "source_name VARCHAR(100) NOT NULL, external_id VARCHAR(100) NOT NULL, "
+                + "content_hash VARCHAR(64) NOT NULL, sync_job_id BIGINT, updated_at DATETIME2, "
+                + "CONSTRAINT ux_record_fingerprints_key UNIQUE (source_name, external_id))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void classify_comparesTheRawJsonWithTheLastLoadedHashOfTheChunk() {
+        when(fingerprintRepository.findBySourceNameAndExternalIdIn(eq("CRM"), anyCollection())).thenReturn(List.of(
+                fingerprint("CRM-001", ALICE), fingerprint("CRM-002", "{\"id\":\"CRM-002\",\"name\":\"Robert\"}")));
+
+        RecordFingerprints fingerprints = service(true).open(job);
+        fingerprints.prepare(Arrays.asList("CRM-001", "CRM-002", "CRM-003", null));
+
+        assertThat(fingerprints.classify("CRM-001", ALICE)).isEqualTo(RecordFingerprints.UNCHANGED);
+        assertThat(fingerprints.classify("CRM-002", BOB)).isEqualTo(RecordFingerprints.CHANGED);
+        assertThat(fingerprints.classify("CRM-003", "{\"id\":\"CRM-003\"}")).isEqualTo(RecordFingerprints.NEW);
+        assertThat(fingerprints.classify(null, "{}")).isEqualTo(RecordFingerprints.NEW);
+        verify(fingerprintRepository).findBySourceNameAndExternalIdIn("CRM", List.of("CRM-001", "CRM-002", "CRM-003"));
+    }
+
+    @Test
+    void prepare_largeChunk_looksUpInBatchesWithinTheParameterLimit() {
+        when(fingerprintRepository.findBySourceNameAndExternalIdIn(eq("CRM"), anyCollection())).thenReturn(List.of());
+        RecordFingerprints fingerprints = service(true).open(job);
+
+        fingerprints.prepare(IntStream.range(0, RecordFingerprintService.LOOKUP_BATCH + 1)
+                .mapToObj(i -> "CRM-" + i).toList());
+
+        verify(fingerprintRepository, times(2)).findBySourceNameAndExternalIdIn(eq("CRM"), anyCollection());
+    }
+
+    @Test
+    void open_disabled_treatsEveryRecordAsNew() {
+        RecordFingerprints fingerprints = service(false).open(job);
+        fingerprints.prepare(List.of("CRM-001"));
+
+        assertThat(fingerprints.classify("CRM-001", ALICE)).isEqualTo(RecordFingerprints.NEW);
+        verifyNoInteractions(fingerprintRepository);
+    }
+
+    @Test
+    void save_upsertsHashesOfLoadedRecordsAndRecordsTheCounts() {
+        jdbcTemplate.update("INSERT INTO audit.record_fingerprints (source_name, external_id, content_hash, sync_job_id) "
+                + "VALUES ('CRM', 'CRM-002', ?, 4)", RecordFingerprints.hash("{\"id\":\"CRM-002\",\"name\":\"Robert\"}"));
+        when(fingerprintRepository.findBySourceNameAndExternalIdIn(eq("CRM"), anyCollection())).thenReturn(List.of(
+                fingerprint("CRM-001", ALICE), fingerprint("CRM-002", "{\"id\":\"CRM-002\",\"name\":\"Robert\"}")));
+        RecordFingerprintService service = service(true);
+        RecordFingerprints fingerprints = service.open(job);
+        fingerprints.prepare(List.of("CRM-001", "CRM-002", "CRM-003", "CRM-004"));
+        fingerprints.classify("CRM-001", ALICE);
+        fingerprints.classify("CRM-002", BOB);
+        fingerprints.classify("CRM-003", "{\"id\":\"CRM-003\"}");
+        fingerprints.classify("CRM-004", "{\"id\":\"CRM-004\"}");
+        fingerprints.loaded("CRM-002");
+        fingerprints.loaded("CRM-004");
+
+        service.save(fingerprints);
+
+        assertThat(jdbcTemplate.queryForList("SELECT external_id, content_hash, sync_job_id "
+                + "FROM audit.record_fingerprints ORDER BY external_id")).containsExactly(
+                Map.of("EXTERNAL_ID", "CRM-002", "CONTENT_HASH", RecordFingerprints.hash(BOB), "SYNC_JOB_ID", 5L),
+                Map.of("EXTERNAL_ID", "CRM-004", "CONTENT_HASH", RecordFingerprints.hash("{\"id\":\"CRM-004\"}"),
+                        "SYNC_JOB_ID", 5L));
+        verify(syncJobService).recordChangeCounts(job, 2, 1, 1);
+    }
+
+    private RecordFingerprintService service(boolean enabled) {
+        return new RecordFingerprintService(fingerprintRepository, jdbcTemplate, syncJobService, enabled);
+    }
+
+    private static RecordFingerprint fingerprint(String externalId, String rawData) {
+        return RecordFingerprint.builder()
+                .sourceName("CRM")
+                .externalId(externalId)
+                .contentHash(RecordFingerprints.hash(rawData))
+                .build();
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:record-fingerprints;MODE=MSSQLServer;DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+}
@@ -0,0 +1,141 @@
+package com.dataplatform.service;
+
+import com.dataplatform.dto.RetentionStatusDTO;
+import com.dataplatform.model.SyncJob;
+import com.dataplatform.repository.SyncJobRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RetentionPurgeServiceTest {
+
+    @Mock
+    private SyncJobRepository syncJobRepository;
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(h2());
+
+    private RetentionPurgeService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS staging");
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS audit");
+        jdbcTemplate.execute("CREATE TABLE audit.sync_jobs (id BIGINT PRIMARY KEY, "
+                + "staging_purged_at TIMESTAMP, errors_purged_at TIMESTAMP, error_summaries_purged_at TIMESTAMP, "
+                + "page_validators_purged_at TIMESTAMP)");
+        for (String table : List.of("staging.raw_customers", "staging.raw_products", "staging.raw_invoices",
+                "audit.sync_errors", "audit.sync_error_summaries", "audit.source_page_validators")) {
+            jdbcTemplate.execute("CREATE TABLE " + table + " (id BIGINT IDENTITY PRIMARY KEY, "
+                    + "sync_job_id BIGINT NOT NULL)");
+        }
+        jdbcTemplate.update("INSERT INTO audit.sync_jobs (id) VALUES (1), (2)");
+        lenient().when(syncJobRepository.findBySourceNameInAndStagingPurgedAtIsNullAndEndTimeBeforeOrderByEndTimeAsc(
+                anyCollection(), any(), any())).thenReturn(List.of());
+        lenient().when(syncJobRepository.findByErrorsPurgedAtIsNullAndEndTimeBeforeOrderByEndTimeAsc(any(), any()))
+                .thenReturn(List.of());
+        service = new RetentionPurgeService(jdbcTemplate, syncJobRepository, false, 60_000, 2, 0, 10,
+                30, 30, 30, 0, 0, 30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void runOnce_deletesAnExpiredJobsRowsInBatchesAndMarksTheJob() {
+        insertRows("staging.raw_customers", 1L, 5);
+        insertRows("staging.raw_customers", 2L, 3);
+        SyncJob expired = SyncJob.builder().id(1L).sourceName("CRM").endTime(LocalDateTime.now().minusDays(40)).build();
+        when(syncJobRepository.findBySourceNameInAndStagingPurgedAtIsNullAndEndTimeBeforeOrderByEndTimeAsc(
+                eq(List.of("CRM", "SALESFORCE")), any(), any())).thenReturn(List.of(expired), List.of());
+
+        long deleted = service.runOnce();
+
+        assertThat(deleted).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT sync_job_id FROM staging.raw_customers", Long.class))
+                .containsExactly(2L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM audit.sync_jobs WHERE staging_purged_at IS NOT NULL", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT staging_purged_at FROM audit.sync_jobs WHERE id = 1", LocalDateTime.class)).isNotNull();
+    }
+
+    @Test
+    void runOnce_tableWithZeroRetention_isLeftAlone() {
+        insertRows("audit.sync_errors", 1L, 3);
+
+        service.runOnce();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit.sync_errors", Integer.class)).isEqualTo(3);
+    }
+
+    @Test
+    void runOnce_purgesPageValidatorsOfAnExpiredJobSoTheJobCanGo() {
+        insertRows("audit.source_page_validators", 1L, 3);
+        insertRows("audit.source_page_validators", 2L, 1);
+        SyncJob expired = SyncJob.builder().id(1L).sourceName("ERP").endTime(LocalDateTime.now().minusDays(31)).build();
+        when(syncJobRepository.findByPageValidatorsPurgedAtIsNullAndEndTimeBeforeOrderByEndTimeAsc(any(), any()))
+                .thenReturn(List.of(expired), List.of());
+
+        service.runOnce();
+
+        assertThat(jdbcTemplate.queryForList("SELECT sync_job_id FROM audit.source_page_validators", Long.class))
+                .containsExactly(2L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT page_validators_purged_at FROM audit.sync_jobs WHERE id = 1", LocalDateTime.class)).isNotNull();
+    }
+
+    @Test
+    void getStatus_reportsRowsAndLagPerTable() {
+        insertRows("staging.raw_products", 1L, 4);
+        SyncJob purged = SyncJob.builder().id(1L).sourceName("ERP").endTime(LocalDateTime.now().minusDays(45)).build();
+        SyncJob waiting = SyncJob.builder().id(2L).sourceName("ERP").endTime(LocalDateTime.now().minusDays(32)).build();
+        when(syncJobRepository.findBySourceNameInAndStagingPurgedAtIsNullAndEndTimeBeforeOrderByEndTimeAsc(
+                eq(List.of("ERP")), any(), any())).thenReturn(List.of(purged), List.of(waiting));
+        when(syncJobRepository.countBySourceNameInAndStagingPurgedAtIsNullAndEndTimeBefore(eq(List.of("ERP")), any()))
+                .thenReturn(1L);
+
+        service.runOnce();
+
+        RetentionStatusDTO products = service.getStatus().stream()
+                .filter(status -> status.getTableName().equals("staging.raw_products"))
+                .findFirst().orElseThrow();
+        assertThat(products.getLastRunRows()).isEqualTo(4);
+        assertThat(products.getTotalRows()).isEqualTo(4);
+        assertThat(products.getLastRunAt()).isNotNull();
+        assertThat(products.getPendingJobs()).isEqualTo(1);
+        assertThat(products.getLagSeconds()).isBetween(2 * 86_400L - 60, 2 * 86_400L);
+        assertThat(service.getStatus()).extracting(RetentionStatusDTO::getTableName).containsExactly(
+                "staging.raw_customers", "staging.raw_products", "staging.raw_invoices", "audit.sync_errors",
+                "audit.sync_error_summaries", "audit.source_page_validators");
+    }
+
+    private void insertRows(String table, Long jobId, int rows) {
+        for (int i = 0; i < rows; i++) {
+            jdbcTemplate.update("INSERT INTO " + table + " (sync_job_id) VALUES (?)", jobId);
+        }
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:retention-purge;MODE=MSSQLServer;DB_CLOSE_DELAY=-1");
+        return h2;
+    }
+}
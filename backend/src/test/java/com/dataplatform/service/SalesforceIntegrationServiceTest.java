@@ -1,25 +1,32 @@
 package com.dataplatform.service;
 
+import com.dataplatform.dto.CustomerRecord;
+import com.dataplatform.dto.RawRecord;
 import com.dataplatform.dto.SalesforceContact;
 import com.dataplatform.dto.SyncJobDTO;
 import com.dataplatform.exception.IntegrationException;
 import com.dataplatform.integration.SalesforceApiClient;
-import com.dataplatform.model.RawCustomer;
-import com.dataplatform.model.SyncError;
 import com.dataplatform.model.SyncJob;
-import com.dataplatform.repository.RawCustomerRepository;
-import com.dataplatform.repository.SyncErrorRepository;
+import com.dataplatform.repository.StagingBulkWriter;
+import com.dataplatform.repository.StagingSession;
+import com.dataplatform.repository.StagingTable;
+import com.dataplatform.repository.SyncErrorWriter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -30,8 +37,9 @@ import static org.mockito.Mockito.*;
 class SalesforceIntegrationServiceTest {
 
     @Mock private SalesforceApiClient salesforceApiClient;
-    @Mock private RawCustomerRepository rawCustomerRepository;
-    @Mock private SyncErrorRepository syncErrorRepository;
+    @Mock private StagingBulkWriter stagingWriter;
+    @Mock private StagingSession staging;
+    @Mock private SyncErrorWriter syncErrorWriter;
     @Mock private SyncJobService syncJobService;
     @Spy private ObjectMapper objectMapper = new ObjectMapper();
 
@@ -39,6 +47,9 @@ class SalesforceIntegrationServiceTest {
     private SalesforceIntegrationService service;
 
     private SyncJob job;
+    private StagingBulkWriter.FailureHandler failureHandler;
+    private StagingBulkWriter.WrittenHandler writtenHandler;
+    private final List<RawRecord> added = new ArrayList<>();
 
     @BeforeEach
     void setUp() {
@@ -49,6 +60,17 @@ class SalesforceIntegrationServiceTest {
                 .status("RUNNING")
                 .startTime(LocalDateTime.now())
                 .build();
+        lenient().when(stagingWriter.open(any(), any(), any(), any())).thenAnswer(inv -> {
+            failureHandler = inv.getArgument(2);
+            writtenHandler = inv.getArgument(3);
+            return staging;
+        });
+        // Everything added is written when the session is flushed
+        lenient().doAnswer(inv -> added.addAll(inv.getArgument(0))).when(staging).add(any());
+        lenient().doAnswer(inv -> {
+            writtenHandler.onWritten(List.copyOf(added));
+            return null;
+        }).when(staging).flush();
     }
 
     @Test
@@ -59,14 +81,54 @@ class SalesforceIntegrationServiceTest {
                 SalesforceContact.builder().id("003B").firstName("Bob").lastName("Jones")
                         .email("bob@sf.com").phone("555-5678").build()
         );
-        when(salesforceApiClient.fetchContacts()).thenReturn(contacts);
-        when(rawCustomerRepository.save(any(RawCustomer.class))).thenAnswer(inv -> inv.getArgument(0));
+        stubPages(contacts);
+
+        SyncJobDTO result = service.syncContactsForJob(job);
+
+        assertThat(result.getStatus()).isEqualTo("RUNNING");
+        verify(stagingWriter).open(eq(StagingTable.RAW_CUSTOMERS), eq(job), any(), any());
+        assertThat(stagedRecords()).hasSize(2)
+                .allMatch(rc -> rc.getExternalId() != null && rc.getRawData().contains("name"));
+        verify(staging).flush();
+    }
+
+    @Test
+    void syncContactsForJob_reactiveMode_stagesThePagesOfTheWebClientQuery() {
+        when(salesforceApiClient.isReactive()).thenReturn(true);
+        when(salesforceApiClient.contactPages(null)).thenReturn(Flux.just(
+                List.of(SalesforceContact.builder().id("003A").firstName("Alice").lastName("Smith").build()),
+                List.of(SalesforceContact.builder().id("003B").firstName("Bob").lastName("Jones").build())));
 
         SyncJobDTO result = service.syncContactsForJob(job);
 
         assertThat(result.getStatus()).isEqualTo("RUNNING");
-        verify(rawCustomerRepository, times(2)).save(argThat(rc ->
-                rc.getExternalId() != null && rc.getRawData().contains("name")));
+        assertThat(stagedRecords()).extracting(RawRecord::getExternalId).containsExactly("003A", "003B");
+        verify(salesforceApiClient, never()).fetchContactPages(any(), any());
+    }
+
+    @Test
+    void syncContactsForJob_reactiveModeWithBulkExtraction_stillRunsTheBulkJob() {
+        when(salesforceApiClient.isReactive()).thenReturn(true);
+        when(salesforceApiClient.extractsInBulk(null)).thenReturn(true);
+
+        service.syncContactsForJob(job);
+
+        verify(salesforceApiClient).fetchContactPagesInBulk(isNull(), any());
+        verify(salesforceApiClient, never()).contactPages(any());
+    }
+
+    @Test
+    void syncContactsForJob_withDownstreamAndAFailedStagingFlush_failsTheJobWithTheMismatch() {
+        when(stagingWriter.openAsync(any(), any(), any(), any())).thenReturn(staging);
+        stubPages(List.of(SalesforceContact.builder().id("003A").firstName("Alice").lastName("Smith").build()));
+        doThrow(new IllegalStateException("staging connection lost")).when(staging).flush();
+        List<CustomerRecord> received = new ArrayList<>();
+
+        service.syncContactsForJob(job, received::addAll);
+
+        assertThat(received).hasSize(1);
+        verify(syncJobService).failStagingMismatch(eq(job), eq(1), eq(0), any(IllegalStateException.class));
+        verify(syncJobService, never()).recordWatermark(any(), any(), any());
     }
 
     @Test
@@ -78,24 +140,19 @@ class SalesforceIntegrationServiceTest {
                 .mailingState("CO").mailingPostalCode("80201")
                 .lastModifiedDate("2024-01-15T10:30:00.000+0000")
                 .build();
-        when(salesforceApiClient.fetchContacts()).thenReturn(List.of(contact));
-        when(rawCustomerRepository.save(any(RawCustomer.class))).thenAnswer(inv -> inv.getArgument(0));
+        stubPages(List.of(contact));
 
         service.syncContactsForJob(job);
 
-        verify(rawCustomerRepository).save(argThat(rc -> {
-            String json = rc.getRawData();
-            return json.contains("Carol White")
-                    && json.contains("carol@sf.com")
-                    && json.contains("100 Main St")
-                    && json.contains("Denver")
-                    && "003C".equals(rc.getExternalId());
-        }));
+        RawRecord staged = stagedRecords().get(0);
+        assertThat(staged.getExternalId()).isEqualTo("003C");
+        assertThat(staged.getRawData())
+                .contains("Carol White", "carol@sf.com", "100 Main St", "Denver");
     }
 
     @Test
     void syncContactsForJob_apiFailure_shouldFailJob() {
-        when(salesforceApiClient.fetchContacts()).thenThrow(new IntegrationException("Auth failed"));
+        when(salesforceApiClient.fetchContactPages(any(), any())).thenThrow(new IntegrationException("Auth failed"));
         when(syncJobService.failJob(any(), any())).thenAnswer(inv -> {
             job.setStatus("FAILED");
             return job;
@@ -111,25 +168,130 @@ class SalesforceIntegrationServiceTest {
     void syncContactsForJob_perRecordErrorIsolation() {
         SalesforceContact good = SalesforceContact.builder().id("003A").firstName("Alice").lastName("Smith").build();
         SalesforceContact bad = SalesforceContact.builder().id("003B").firstName("Bad").lastName("Record").build();
-        when(salesforceApiClient.fetchContacts()).thenReturn(List.of(good, bad));
-        when(rawCustomerRepository.save(any(RawCustomer.class)))
-                .thenAnswer(inv -> inv.getArgument(0))
-                .thenThrow(new RuntimeException("DB error"));
+        stubPages(List.of(good, bad));
+        doAnswer(inv -> {
+            failureHandler.onFailure(new RawRecord("003B", "{}"), new RuntimeException("DB error"));
+            return null;
+        }).when(staging).flush();
 
         service.syncContactsForJob(job);
 
-        verify(rawCustomerRepository, times(2)).save(any(RawCustomer.class));
-        verify(syncErrorRepository).save(argThat(err ->
+        assertThat(stagedRecords()).hasSize(2);
+        verify(syncErrorWriter).record(argThat(err ->
                 "STAGING_ERROR".equals(err.getErrorType()) && "003B".equals(err.getFailedRecord())));
     }
 
     @Test
     void syncContactsForJob_emptyResponse() {
-        when(salesforceApiClient.fetchContacts()).thenReturn(List.of());
+        stubPages();
 
         SyncJobDTO result = service.syncContactsForJob(job);
 
         assertThat(result.getStatus()).isEqualTo("RUNNING");
-        verify(rawCustomerRepository, never()).save(any());
+        verify(staging, never()).add(any());
+    }
+
+    @Test
+    void syncContactsForJob_full_extractsEverythingAndRecordsNewestModstamp() {
+        stubPages(List.of(
+                SalesforceContact.builder().id("003A").systemModstamp("2024-03-01T08:00:00.000+0000").build(),
+                SalesforceContact.builder().id("003B").systemModstamp("2024-03-02T09:30:00.000+0000").build()));
+
+        service.syncContactsForJob(job);
+
+        verify(salesforceApiClient).fetchContactPages(isNull(), any());
+        verify(syncJobService, never()).findHighWaterMark(any());
+        verify(syncJobService).recordWatermark(job, null, LocalDateTime.of(2024, 3, 2, 9, 30));
+    }
+
+    @Test
+    void syncContactsForJob_rowThatFailsToStage_doesNotAdvanceTheMark() {
+        stubPages(List.of(
+                SalesforceContact.builder().id("003A").systemModstamp("2024-03-01T08:00:00.000+0000").build(),
+                SalesforceContact.builder().id("003B").systemModstamp("2024-03-02T09:30:00.000+0000").build()));
+        doAnswer(inv -> {
+            failureHandler.onFailure(new RawRecord("003B", "{}"), new RuntimeException("DB error"));
+            writtenHandler.onWritten(List.of(new RawRecord("003A", "{}")));
+            return null;
+        }).when(staging).flush();
+
+        service.syncContactsForJob(job);
+
+        verify(syncJobService).recordWatermark(job, null, LocalDateTime.of(2024, 3, 1, 8, 0));
+    }
+
+    @Test
+    void syncContactsForJob_incremental_extractsChangesSinceLastHighWaterMark() {
+        job.setSyncType("INCREMENTAL");
+        LocalDateTime lastMark = LocalDateTime.of(2024, 3, 2, 9, 30);
+        when(syncJobService.findHighWaterMark("SALESFORCE")).thenReturn(Optional.of(lastMark));
+        stubPages(List.of(
+                SalesforceContact.builder().id("003B").systemModstamp("2024-03-02T09:30:00.000+0000").build(),
+                SalesforceContact.builder().id("003C").systemModstamp("2024-03-05T11:00:00.000+0200").build()));
+
+        service.syncContactsForJob(job);
+
+        verify(salesforceApiClient).fetchContactPages(eq(lastMark), any());
+        verify(syncJobService).recordWatermark(job, lastMark, LocalDateTime.of(2024, 3, 5, 9, 0));
+    }
+
+    @Test
+    void syncContactsForJob_incrementalWithNoChanges_carriesTheMarkForward() {
+        job.setSyncType("INCREMENTAL");
+        LocalDateTime lastMark = LocalDateTime.of(2024, 3, 2, 9, 30);
+        when(syncJobService.findHighWaterMark("SALESFORCE")).thenReturn(Optional.of(lastMark));
+        stubPages();
+
+        service.syncContactsForJob(job);
+
+        verify(syncJobService).recordWatermark(job, lastMark, lastMark);
+    }
+
+    @Test
+    void syncContactsForJob_incrementalWithoutPriorMark_extractsEverything() {
+        job.setSyncType("INCREMENTAL");
+        when(syncJobService.findHighWaterMark("SALESFORCE")).thenReturn(Optional.empty());
+        stubPages();
+
+        service.syncContactsForJob(job);
+
+        verify(salesforceApiClient).fetchContactPages(isNull(), any());
+    }
+
+    @Test
+    void syncContactsForJob_withDownstream_handsOnNormalizedContactsAndStagesInTheBackground() {
+        when(stagingWriter.openAsync(eq(StagingTable.RAW_CUSTOMERS), eq(job), any(), any())).thenAnswer(inv -> {
+            writtenHandler = inv.getArgument(3);
+            return staging;
+        });
+        stubPages(List.of(SalesforceContact.builder().id("003A").firstName("Alice").lastName("Smith").build()));
+        List<CustomerRecord> received = new ArrayList<>();
+
+        service.syncContactsForJob(job, received::addAll);
+
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0).customer().getName()).isEqualTo("Alice Smith");
+        assertThat(received.get(0).rawData()).isEqualTo(stagedRecords().get(0).getRawData());
+        verify(stagingWriter, never()).open(any(), any(), any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<RawRecord> stagedRecords() {
+        ArgumentCaptor<List<RawRecord>> pages = ArgumentCaptor.forClass(List.class);
+        verify(staging, atLeastOnce()).add(pages.capture());
+        return pages.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    @SafeVarargs
+    private void stubPages(List<SalesforceContact>... pages) {
+        when(salesforceApiClient.fetchContactPages(any(), any())).thenAnswer(inv -> {
+            Consumer<List<SalesforceContact>> handler = inv.getArgument(1);
+            int total = 0;
+            for (List<SalesforceContact> page : pages) {
+                handler.accept(page);
+                total += page.size();
+            }
+            return total;
+        });
     }
 }
@@ -0,0 +1,78 @@
+package com.dataplatform.service;
+
+import com.dataplatform.dto.RawRecord;
+import com.dataplatform.integration.AdaptivePageSizer;
+import com.dataplatform.integration.PageCache;
+import com.dataplatform.integration.PagedSourceConnector;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+class SourcePagesTest {
+
+    private final AdaptivePageSizer.Listener pageSizeListener = (pageSize, reason) -> { };
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void forEachRawPage_reactiveConnector_handlesThePagesInOrderOffTheCallingThread() {
+        PagedSourceConnector<Object> connector = mock(PagedSourceConnector.class);
+        when(connector.isReactive()).thenReturn(true);
+        when(connector.rawPages(pageSizeListener, PageCache.NONE, false))
+                .thenReturn(Flux.just(List.of(raw("A"), raw("B")), List.of(raw("C"))));
+        List<String> handled = new ArrayList<>();
+        List<String> threads = new ArrayList<>();
+
+        int total = SourcePages.forEachRawPage(connector, page -> {
+            page.forEach(record -> handled.add(record.getExternalId()));
+            threads.add(Thread.currentThread().getName());
+        }, pageSizeListener, PageCache.NONE, false);
+
+        assertThat(total).isEqualTo(3);
+        assertThat(handled).containsExactly("A", "B", "C");
+        assertThat(threads).allMatch(name -> name.startsWith("boundedElastic"));
+        verify(connector, never()).forEachRawPage(any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void forEachRawPage_blockingConnector_isHandedThePageHandler() {
+        PagedSourceConnector<Object> connector = mock(PagedSourceConnector.class);
+        Consumer<List<RawRecord>> pageHandler = page -> { };
+        when(connector.forEachRawPage(pageHandler, pageSizeListener, PageCache.NONE, true)).thenReturn(5);
+
+        assertThat(SourcePages.forEachRawPage(connector, pageHandler, pageSizeListener, PageCache.NONE, true))
+                .isEqualTo(5);
+        verify(connector, never()).rawPages(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void forEach_failingHandler_rethrowsAndRequestsNoFurtherPages() {
+        AtomicInteger emitted = new AtomicInteger();
+        Flux<List<Integer>> pages = Flux.range(0, 100)
+                .map(List::of)
+                .doOnNext(page -> emitted.incrementAndGet());
+
+        assertThatThrownBy(() -> SourcePages.forEach(pages, page -> {
+            if (page.get(0) == 1) {
+                throw new IllegalStateException("staging failed");
+            }
+        })).isInstanceOf(IllegalStateException.class).hasMessage("staging failed");
+
+        // The page being handled plus the one requested ahead of it
+        assertThat(emitted.get()).isLessThanOrEqualTo(3);
+    }
+
+    private static RawRecord raw(String externalId) {
+        return new RawRecord(externalId, "{}");
+    }
+}
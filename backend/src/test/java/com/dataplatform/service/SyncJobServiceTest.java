@@ -7,10 +7,12 @@ import com.dataplatform.graphql.SyncJobEventPublisher;
 import com.dataplatform.model.SyncError;
 import com.dataplatform.model.SyncJob;
 import com.dataplatform.repository.SyncErrorRepository;
+import com.dataplatform.repository.SyncErrorWriter;
 import com.dataplatform.repository.SyncJobRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -22,6 +24,8 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -34,6 +38,9 @@ class SyncJobServiceTest {
     @Mock
     private SyncErrorRepository syncErrorRepository;
 
+    @Mock
+    private SyncErrorWriter syncErrorWriter;
+
     @Mock
     private SyncJobEventPublisher eventPublisher;
 
@@ -83,6 +90,9 @@ class SyncJobServiceTest {
         assertThat(result.getRecordsProcessed()).isEqualTo(100);
         assertThat(result.getRecordsFailed()).isEqualTo(5);
         assertThat(result.getEndTime()).isNotNull();
+        InOrder order = inOrder(syncErrorWriter, syncJobRepository);
+        order.verify(syncErrorWriter).drain(1L);
+        order.verify(syncJobRepository).save(sampleJob);
     }
 
     @Test
@@ -94,6 +104,18 @@ class SyncJobServiceTest {
         assertThat(result.getStatus()).isEqualTo("FAILED");
     }
 
+    @Test
+    void completeJob_withErrorsThatCouldNotBeWritten_shouldFailAndRecordHowMany() {
+        when(syncErrorWriter.drain(1L)).thenReturn(4L);
+        when(syncJobRepository.save(any(SyncJob.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        SyncJob result = syncJobService.completeJob(sampleJob, 100, 5);
+
+        assertThat(result.getStatus()).isEqualTo("FAILED");
+        assertThat(result.getErrorsLost()).isEqualTo(4);
+        assertThat(result.getErrorMessage()).isEqualTo("4 sync errors could not be written");
+    }
+
     @Test
     void failJob_shouldSetFailedWithMessage() {
         when(syncJobRepository.save(any(SyncJob.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -103,6 +125,7 @@ class SyncJobServiceTest {
         assertThat(result.getStatus()).isEqualTo("FAILED");
         assertThat(result.getErrorMessage()).isEqualTo("Connection refused");
         assertThat(result.getEndTime()).isNotNull();
+        verify(syncErrorWriter).drain(1L);
     }
 
     @Test
@@ -218,4 +241,36 @@ class SyncJobServiceTest {
 
         verify(eventPublisher).publish(any(SyncJob.class));
     }
+
+    @Test
+    void recordPageSize_shouldSetSizeAndAppendReason() {
+        when(syncJobRepository.save(any(SyncJob.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        syncJobService.recordPageSize(sampleJob, 20, "initial size");
+        SyncJob result = syncJobService.recordPageSize(sampleJob, 40, "page of 20 took 80ms and 9000 bytes");
+
+        assertThat(result.getPageSize()).isEqualTo(40);
+        assertThat(result.getPageSizeLog()).isEqualTo("20: initial size\n40: page of 20 took 80ms and 9000 bytes");
+    }
+
+    @Test
+    void failJob_withErrorType_shouldRecordErrorAndFail() {
+        when(syncJobRepository.save(any(SyncJob.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        SyncJob result = syncJobService.failJob(sampleJob, "CIRCUIT_OPEN", "CRM circuit is open");
+
+        assertThat(result.getStatus()).isEqualTo("FAILED");
+        assertThat(result.getErrorMessage()).isEqualTo("CRM circuit is open");
+        verify(syncErrorWriter).record(argThat(error ->
+                "CIRCUIT_OPEN".equals(error.getErrorType()) && error.getSyncJob() == sampleJob));
+    }
+
+    @Test
+    void findHighWaterMark_usesLatestCompletedJobForSource() {
+        sampleJob.setHighWaterMark(LocalDateTime.of(2024, 3, 2, 9, 30));
+        when(syncJobRepository.findFirstBySourceNameAndStatusAndHighWaterMarkNotNullOrderByHighWaterMarkDesc(
+                "SALESFORCE", "COMPLETED")).thenReturn(Optional.of(sampleJob));
+
+        assertThat(syncJobService.findHighWaterMark("SALESFORCE")).contains(LocalDateTime.of(2024, 3, 2, 9, 30));
+    }
 }
@@ -35,6 +35,19 @@ class CustomerTransformationServiceTest {
         assertThat(result.getRawData()).isNotNull();
     }
 
+    @Test
+    void transform_typedCustomer_matchesTheJsonPathWithoutCopyingRawData() throws Exception {
+        CrmCustomerResponse customer = buildCustomer("CRM-001", "  Alice Smith  ",
+                "  Alice@Example.COM  ", "(555) 123-4567", "123 Main St", "Springfield", "IL", "62701");
+        TransformedCustomer fromJson = transformationService.transform(objectMapper.writeValueAsString(customer));
+
+        TransformedCustomer result = transformationService.transform(customer);
+
+        assertThat(result.getRawData()).isNull();
+        fromJson.setRawData(null);
+        assertThat(result).isEqualTo(fromJson);
+    }
+
     @Test
     void transform_nullPhone_shouldReturnNullPhone() throws Exception {
         String json = objectMapper.writeValueAsString(buildCustomer("CRM-002", "Bob", "bob@test.com",
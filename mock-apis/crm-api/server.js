@@ -56,6 +56,13 @@ app.get('/api/customers', (req, res) => {
   const totalElements = customers.length;
   const totalPages = Math.ceil(totalElements / size);
 
+  // Newest change on the page, so clients can revalidate it with If-Modified-Since
+  // (express already answers If-None-Match against its ETag)
+  const lastUpdated = content.reduce((newest, c) => (c.lastUpdated > newest ? c.lastUpdated : newest), '');
+  if (lastUpdated) {
+    res.set('Last-Modified', new Date(lastUpdated).toUTCString());
+  }
+
   res.json({
     content,
     page,